@@ -0,0 +1,388 @@
+/*
+ * Copyright 2026 CoreMedia AG
+ *
+ * This file is part of Joala.
+ *
+ * Joala is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Joala is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Joala.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package net.joala.condition;
+
+import com.google.common.base.Function;
+import com.google.common.base.MoreObjects;
+import com.google.common.base.Predicates;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Iterables;
+import net.joala.condition.timing.DeceleratingWait;
+import net.joala.condition.timing.IgnorableStateQueryException;
+import net.joala.condition.timing.WaitFailStrategy;
+import net.joala.condition.timing.WaitTimeoutFailStrategy;
+import net.joala.expression.ExpressionEvaluationException;
+import net.joala.time.DeadlineContext;
+import net.joala.time.Timeout;
+import org.hamcrest.Description;
+import org.hamcrest.Matcher;
+import org.hamcrest.SelfDescribing;
+import org.hamcrest.TypeSafeMatcher;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.Nonnegative;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * <p>
+ * Condition which waits until each of a large set of keys, like the IDs of thousands of entities, reaches a state
+ * matched by the same matcher. Instead of one condition per key, the states of all keys are retrieved by one batch
+ * query per round. Keys which are satisfied once are not queried anymore, so that the working set shrinks from round
+ * to round.
+ * </p>
+ * <p>
+ * Keys must not be {@code null}, values may be. The batch query may omit keys from its result; these keys stay
+ * unsatisfied. If the batch query fails with an
+ * {@link ExpressionEvaluationException} or an {@link IgnorableStateQueryException}, the round is retried.
+ * </p>
+ * <p>
+ * The progress is logged on debug level and may be observed by a {@link ProgressListener}. On timeout the number
+ * of unsatisfied keys and some of them together with their last values are reported.
+ * </p>
+ *
+ * @param <K> type of the keys
+ * @param <V> type of the values
+ * @since 10/18/26
+ */
+public class BulkCondition<K, V> {
+  private static final Logger LOG = LoggerFactory.getLogger(BulkCondition.class);
+
+  static final int MAX_REPORTED_KEYS = 20;
+
+  private static final WaitFailStrategy TIMEOUT_FAIL_STRATEGY = new WaitTimeoutFailStrategy();
+  private static final WaitFailStrategy ASSUMPTION_FAIL_STRATEGY = new WaitAssumptionFailStrategy();
+  private static final WaitFailStrategy ASSERTION_FAIL_STRATEGY = new WaitAssertionFailStrategy();
+
+  @Nonnull
+  private final Timeout timeout;
+  @Nonnull
+  private final Set<K> keys;
+  @Nonnull
+  private final Function<? super Set<K>, ? extends Map<K, ? extends V>> batchQuery;
+  @Nonnull
+  private final Matcher<? super V> matcher;
+  @Nonnegative
+  private double factor = 1.0;
+  @Nullable
+  private String message;
+  @Nullable
+  private ProgressListener<? super K> progressListener;
+
+  /**
+   * <p>
+   * Create a bulk condition.
+   * </p>
+   *
+   * @param timeout    the timeout
+   * @param keys       the keys to wait for; must not contain {@code null}
+   * @param batchQuery query for the current values of the given keys
+   * @param matcher    matcher each value has to match
+   * @throws IllegalArgumentException if the keys contain {@code null}
+   */
+  public BulkCondition(@Nonnull final Timeout timeout,
+                       @Nonnull final Collection<? extends K> keys,
+                       @Nonnull final Function<? super Set<K>, ? extends Map<K, ? extends V>> batchQuery,
+                       @Nonnull final Matcher<? super V> matcher) {
+    checkNotNull(timeout, "Timeout must not be null.");
+    checkNotNull(keys, "Keys must not be null.");
+    checkNotNull(batchQuery, "Batch query must not be null.");
+    checkNotNull(matcher, "Matcher must not be null.");
+    // not Collection.contains(null), which fails for some collections
+    checkArgument(Iterables.all(keys, Predicates.notNull()), "Keys must not contain null: %s", keys);
+    this.timeout = timeout;
+    this.keys = ImmutableSet.copyOf(keys);
+    this.batchQuery = batchQuery;
+    this.matcher = matcher;
+  }
+
+  /**
+   * <p>
+   * Wait until the values of all keys match.
+   * </p>
+   *
+   * @return the matching values of all keys
+   * @throws net.joala.condition.timing.WaitTimeoutException if not all keys got satisfied in time
+   */
+  @Nonnull
+  public Map<K, V> await() {
+    return until(TIMEOUT_FAIL_STRATEGY);
+  }
+
+  /**
+   * <p>
+   * Assume that the values of all keys match, i. e. skip the test otherwise.
+   * </p>
+   */
+  public void assumeSatisfied() {
+    until(ASSUMPTION_FAIL_STRATEGY);
+  }
+
+  /**
+   * <p>
+   * Assert that the values of all keys match.
+   * </p>
+   */
+  public void assertSatisfied() {
+    until(ASSERTION_FAIL_STRATEGY);
+  }
+
+  /**
+   * <p>
+   * Factor to apply to the timeout.
+   * </p>
+   *
+   * @param newFactor the factor
+   * @return self-reference
+   */
+  @Nonnull
+  public BulkCondition<K, V> withTimeoutFactor(@Nonnegative final double newFactor) {
+    this.factor = newFactor;
+    return this;
+  }
+
+  /**
+   * <p>
+   * Message to add on failure.
+   * </p>
+   *
+   * @param newMessage the message; {@code null} for none
+   * @return self-reference
+   */
+  @Nonnull
+  public BulkCondition<K, V> withMessage(@Nullable final String newMessage) {
+    this.message = newMessage;
+    return this;
+  }
+
+  /**
+   * <p>
+   * Listener to inform after each round.
+   * </p>
+   *
+   * @param newProgressListener the listener; {@code null} for none
+   * @return self-reference
+   */
+  @Nonnull
+  public BulkCondition<K, V> withProgressListener(@Nullable final ProgressListener<? super K> newProgressListener) {
+    this.progressListener = newProgressListener;
+    return this;
+  }
+
+  @Nonnull
+  private Map<K, V> until(@Nonnull final WaitFailStrategy failStrategy) {
+    final Round<K, V> round = new Round<>(keys, matcher, progressListener);
+    new DeceleratingWait(DeadlineContext.capped(timeout), factor, failStrategy).until(message, round, new RoundFunction<>(batchQuery), new SatisfiedMatcher<>(keys.size(), matcher));
+    return round.getSatisfied();
+  }
+
+  @Override
+  public String toString() {
+    return MoreObjects.toStringHelper(this)
+                      .add("timeout", timeout)
+                      .add("keys", keys.size())
+                      .add("batchQuery", batchQuery)
+                      .add("matcher", matcher)
+                      .add("factor", factor)
+                      .add("message", message)
+                      .add("progressListener", progressListener)
+                      .toString();
+  }
+
+  /**
+   * <p>
+   * Listener for the progress of bulk conditions.
+   * </p>
+   *
+   * @param <K> type of the keys
+   */
+  public interface ProgressListener<K> {
+    /**
+     * <p>
+     * Called after each round.
+     * </p>
+     *
+     * @param satisfied   number of satisfied keys
+     * @param total       total number of keys
+     * @param unsatisfied the keys which are still unsatisfied; only valid during this call
+     */
+    void progress(@Nonnegative int satisfied, @Nonnegative int total, @Nonnull Set<? extends K> unsatisfied);
+  }
+
+  /**
+   * <p>
+   * State of one wait: the satisfied keys with their values and the last values of the unsatisfied keys.
+   * </p>
+   */
+  private static final class Round<K, V> {
+    @Nonnull
+    private final Matcher<? super V> matcher;
+    @Nullable
+    private final ProgressListener<? super K> progressListener;
+    @Nonnull
+    private final Set<K> unsatisfied;
+    @Nonnull
+    private final Map<K, V> satisfied;
+    @Nonnull
+    private final Map<K, V> lastValues = new HashMap<>();
+    private int count;
+
+    private Round(@Nonnull final Set<K> keys,
+                  @Nonnull final Matcher<? super V> matcher,
+                  @Nullable final ProgressListener<? super K> progressListener) {
+      this.matcher = matcher;
+      this.progressListener = progressListener;
+      unsatisfied = new LinkedHashSet<>(keys);
+      satisfied = new LinkedHashMap<>(keys.size());
+    }
+
+    private void update(@Nonnull final Map<K, ? extends V> values) {
+      count++;
+      for (final Iterator<K> iterator = unsatisfied.iterator(); iterator.hasNext(); ) {
+        final K key = iterator.next();
+        if (values.containsKey(key)) {
+          final V value = values.get(key);
+          if (matcher.matches(value)) {
+            iterator.remove();
+            lastValues.remove(key);
+            satisfied.put(key, value);
+          } else {
+            lastValues.put(key, value);
+          }
+        }
+      }
+      final int total = satisfied.size() + unsatisfied.size();
+      LOG.debug("Round {}: {} of {} keys satisfied.", count, satisfied.size(), total);
+      if (progressListener != null) {
+        progressListener.progress(satisfied.size(), total, unsatisfied);
+      }
+    }
+
+    @Nonnull
+    private Map<K, V> getSatisfied() {
+      // values may be null, e.g. if waiting for deleted entities
+      return Collections.unmodifiableMap(new LinkedHashMap<>(satisfied));
+    }
+
+    @Override
+    public String toString() {
+      return MoreObjects.toStringHelper(this)
+                        .add("count", count)
+                        .add("satisfied", satisfied.size())
+                        .add("unsatisfied", unsatisfied.size())
+                        .toString();
+    }
+  }
+
+  private static final class RoundFunction<K, V> implements Function<Round<K, V>, Round<K, V>>, SelfDescribing {
+    @Nonnull
+    private final Function<? super Set<K>, ? extends Map<K, ? extends V>> batchQuery;
+
+    private RoundFunction(@Nonnull final Function<? super Set<K>, ? extends Map<K, ? extends V>> batchQuery) {
+      this.batchQuery = batchQuery;
+    }
+
+    @Override
+    public Round<K, V> apply(final Round<K, V> input) {
+      final Map<K, ? extends V> values;
+      try {
+        values = batchQuery.apply(ImmutableSet.copyOf(input.unsatisfied));
+      } catch (ExpressionEvaluationException e) {
+        throw IgnorableStateQueryException.stackless(this, e);
+      }
+      input.update(values == null ? ImmutableMap.<K, V>of() : values);
+      return input;
+    }
+
+    @Override
+    public void describeTo(final Description description) {
+      description.appendText("batch query ").appendValue(batchQuery);
+    }
+
+    @Override
+    public String toString() {
+      return MoreObjects.toStringHelper(this)
+                        .add("batchQuery", batchQuery)
+                        .toString();
+    }
+  }
+
+  private static final class SatisfiedMatcher<K, V> extends TypeSafeMatcher<Round<K, V>> {
+    @Nonnegative
+    private final int total;
+    @Nonnull
+    private final Matcher<? super V> matcher;
+
+    private SatisfiedMatcher(@Nonnegative final int total, @Nonnull final Matcher<? super V> matcher) {
+      this.total = total;
+      this.matcher = matcher;
+    }
+
+    @Override
+    protected boolean matchesSafely(final Round<K, V> item) {
+      return item.unsatisfied.isEmpty();
+    }
+
+    @Override
+    public void describeTo(final Description description) {
+      description.appendText("all ").appendValue(total).appendText(" keys with values ").appendDescriptionOf(matcher);
+    }
+
+    @Override
+    protected void describeMismatchSafely(final Round<K, V> item, final Description mismatchDescription) {
+      mismatchDescription.appendValue(item.unsatisfied.size())
+                         .appendText(" of ")
+                         .appendValue(total)
+                         .appendText(" keys still unsatisfied after ")
+                         .appendValue(item.count)
+                         .appendText(" rounds:");
+      int reported = 0;
+      for (final K key : item.unsatisfied) {
+        if (reported == MAX_REPORTED_KEYS) {
+          mismatchDescription.appendText("\n       ... and ")
+                             .appendValue(item.unsatisfied.size() - reported)
+                             .appendText(" more");
+          break;
+        }
+        mismatchDescription.appendText("\n       - ").appendValue(key);
+        if (item.lastValues.containsKey(key)) {
+          mismatchDescription.appendText(": ");
+          matcher.describeMismatch(item.lastValues.get(key), mismatchDescription);
+        } else {
+          mismatchDescription.appendText(": missing");
+        }
+        reported++;
+      }
+    }
+  }
+}
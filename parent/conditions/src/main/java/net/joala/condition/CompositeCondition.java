@@ -0,0 +1,268 @@
+/*
+ * Copyright 2026 CoreMedia AG
+ *
+ * This file is part of Joala.
+ *
+ * Joala is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Joala is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Joala.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package net.joala.condition;
+
+import com.google.common.base.Function;
+import com.google.common.base.MoreObjects;
+import com.google.common.collect.ImmutableList;
+import net.joala.condition.timing.DeceleratingWait;
+import net.joala.condition.timing.WaitFailStrategy;
+import net.joala.condition.timing.WaitTimeoutFailStrategy;
+import net.joala.time.DeadlineContext;
+import net.joala.time.Timeout;
+import org.hamcrest.Description;
+import org.hamcrest.SelfDescribing;
+import org.hamcrest.TypeSafeMatcher;
+
+import javax.annotation.Nonnegative;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.List;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * <p>
+ * Condition which waits for several {@link Expectation expectations} at once. All members are polled
+ * round-robin in one loop against a single shared deadline, so that waiting for N conditions takes at most one
+ * timeout instead of N timeouts. Members which are satisfied once are not polled anymore.
+ * </p>
+ * <p>
+ * Depending on how the composite got created, it is satisfied if {@link Conditions#allOf(Timeout, Expectation[]) all}
+ * or if {@link Conditions#anyOf(Timeout, Expectation[]) any} of its members are satisfied. On failure only the
+ * members which were still unsatisfied are reported.
+ * </p>
+ * <p>
+ * The members are evaluated by {@link Condition#get()}; their own timeouts, messages and runnables to run before
+ * or after waiting are not used.
+ * </p>
+ *
+ * @since 10/18/26
+ */
+public class CompositeCondition {
+  private static final WaitFailStrategy TIMEOUT_FAIL_STRATEGY = new WaitTimeoutFailStrategy();
+  private static final WaitFailStrategy ASSUMPTION_FAIL_STRATEGY = new WaitAssumptionFailStrategy();
+  private static final WaitFailStrategy ASSERTION_FAIL_STRATEGY = new WaitAssertionFailStrategy();
+
+  @Nonnull
+  private final Timeout timeout;
+  @Nonnull
+  private final List<Expectation<?>> expectations;
+  private final boolean all;
+  @Nonnegative
+  private double factor = 1.0;
+  @Nullable
+  private String message;
+
+  CompositeCondition(@Nonnull final Timeout timeout, @Nonnull final Collection<Expectation<?>> expectations, final boolean all) {
+    checkNotNull(timeout, "Timeout must not be null.");
+    checkNotNull(expectations, "Expectations must not be null.");
+    checkArgument(!expectations.isEmpty(), "At least one expectation required.");
+    this.timeout = timeout;
+    this.expectations = ImmutableList.copyOf(expectations);
+    this.all = all;
+  }
+
+  /**
+   * <p>
+   * Wait until the composite is satisfied.
+   * </p>
+   *
+   * @return the members which got satisfied; for composites of any member these might be less than all members
+   * @throws net.joala.condition.timing.WaitTimeoutException if the composite did not get satisfied in time
+   */
+  @Nonnull
+  public List<Expectation<?>> await() {
+    return until(TIMEOUT_FAIL_STRATEGY);
+  }
+
+  /**
+   * <p>
+   * Assume that the composite gets satisfied, i. e. skip the test otherwise.
+   * </p>
+   */
+  public void assumeSatisfied() {
+    until(ASSUMPTION_FAIL_STRATEGY);
+  }
+
+  /**
+   * <p>
+   * Assert that the composite gets satisfied.
+   * </p>
+   */
+  public void assertSatisfied() {
+    until(ASSERTION_FAIL_STRATEGY);
+  }
+
+  /**
+   * <p>
+   * Factor to apply to the timeout.
+   * </p>
+   *
+   * @param newFactor the factor
+   * @return self-reference
+   */
+  @Nonnull
+  public CompositeCondition withTimeoutFactor(@Nonnegative final double newFactor) {
+    this.factor = newFactor;
+    return this;
+  }
+
+  /**
+   * <p>
+   * Message to add on failure.
+   * </p>
+   *
+   * @param newMessage the message; {@code null} for none
+   * @return self-reference
+   */
+  @Nonnull
+  public CompositeCondition withMessage(@Nullable final String newMessage) {
+    this.message = newMessage;
+    return this;
+  }
+
+  @Nonnull
+  private List<Expectation<?>> until(@Nonnull final WaitFailStrategy failStrategy) {
+    final Poll poll = new Poll(expectations, all);
+    new DeceleratingWait(DeadlineContext.capped(timeout), factor, failStrategy).until(message, poll, new PollFunction(all), new SatisfiedMatcher(all));
+    return poll.getSatisfied();
+  }
+
+  @Override
+  public String toString() {
+    return MoreObjects.toStringHelper(this)
+                      .add("timeout", timeout)
+                      .add("expectations", expectations)
+                      .add("all", all)
+                      .add("factor", factor)
+                      .add("message", message)
+                      .toString();
+  }
+
+  /**
+   * <p>
+   * State of one wait for the composite: which members are satisfied and how the others failed last.
+   * </p>
+   */
+  private static final class Poll {
+    private final boolean all;
+    @Nonnull
+    private final List<Expectation<?>> satisfied = new ArrayList<>();
+    @Nonnull
+    private final List<Expectation<?>> unsatisfied;
+    @Nonnull
+    private final List<Expectation<?>.Evaluation> mismatches = new ArrayList<>();
+
+    private Poll(@Nonnull final List<Expectation<?>> expectations, final boolean all) {
+      this.all = all;
+      unsatisfied = new LinkedList<>(expectations);
+    }
+
+    /**
+     * Evaluate all unsatisfied members once; for any-of stop at the first satisfied member.
+     */
+    private void evaluate() {
+      mismatches.clear();
+      for (final Iterator<Expectation<?>> iterator = unsatisfied.iterator(); iterator.hasNext(); ) {
+        final Expectation<?> expectation = iterator.next();
+        final Expectation<?>.Evaluation evaluation = expectation.evaluate();
+        if (evaluation.isSatisfied()) {
+          iterator.remove();
+          satisfied.add(expectation);
+          if (!all) {
+            return;
+          }
+        } else {
+          mismatches.add(evaluation);
+        }
+      }
+    }
+
+    private boolean isSatisfied() {
+      return all ? unsatisfied.isEmpty() : !satisfied.isEmpty();
+    }
+
+    @Nonnull
+    private List<Expectation<?>> getSatisfied() {
+      return ImmutableList.copyOf(satisfied);
+    }
+
+    @Override
+    public String toString() {
+      return MoreObjects.toStringHelper(this)
+                        .add("all", all)
+                        .add("satisfied", satisfied.size())
+                        .add("unsatisfied", unsatisfied.size())
+                        .toString();
+    }
+  }
+
+  private static final class PollFunction implements Function<Poll, Poll>, SelfDescribing {
+    private final boolean all;
+
+    private PollFunction(final boolean all) {
+      this.all = all;
+    }
+
+    @Override
+    public Poll apply(final Poll input) {
+      input.evaluate();
+      return input;
+    }
+
+    @Override
+    public void describeTo(final Description description) {
+      description.appendText(all ? "polling all of the expectations" : "polling any of the expectations");
+    }
+  }
+
+  private static final class SatisfiedMatcher extends TypeSafeMatcher<Poll> {
+    private final boolean all;
+
+    private SatisfiedMatcher(final boolean all) {
+      this.all = all;
+    }
+
+    @Override
+    protected boolean matchesSafely(final Poll item) {
+      return item.isSatisfied();
+    }
+
+    @Override
+    public void describeTo(final Description description) {
+      description.appendText(all ? "all expectations satisfied" : "any expectation satisfied");
+    }
+
+    @Override
+    protected void describeMismatchSafely(final Poll item, final Description mismatchDescription) {
+      mismatchDescription.appendText("still unsatisfied:");
+      for (final Expectation<?>.Evaluation mismatch : item.mismatches) {
+        mismatchDescription.appendText("\n       - ");
+        mismatch.describeMismatch(mismatchDescription);
+      }
+    }
+  }
+}
@@ -27,6 +27,7 @@ import org.hamcrest.Matcher;
 import javax.annotation.Nonnegative;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * A test condition to wait for using a given timeout. If the condition does not become true within
@@ -69,6 +70,25 @@ public interface Condition<T> {
    */
   T await(@Nonnull Matcher<? super T> matcher);
 
+  /**
+   * <p>
+   * Wait for the condition value until it fulfills the given matcher without blocking the calling thread.
+   * </p>
+   * <p>
+   * By default runs {@link #await(Matcher)} in the {@link java.util.concurrent.ForkJoinPool#commonPool() common pool}.
+   * Implementations should override this method to wait without blocking any thread.
+   * </p>
+   *
+   * @param matcher matcher to use
+   * @return future which will be completed with the value which fulfills the given matcher or
+   * completed exceptionally with a {@link WaitTimeoutException} if a value could not be retrieved in time
+   * @since 10/18/26
+   */
+  @Nonnull
+  default CompletableFuture<T> awaitAsync(@Nonnull final Matcher<? super T> matcher) {
+    return CompletableFuture.supplyAsync(() -> await(matcher));
+  }
+
   /**
    * <p>
    * Assumes that the condition evaluates to the expected value within a given time.
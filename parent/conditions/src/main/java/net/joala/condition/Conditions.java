@@ -0,0 +1,151 @@
+/*
+ * Copyright 2026 CoreMedia AG
+ *
+ * This file is part of Joala.
+ *
+ * Joala is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Joala is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Joala.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package net.joala.condition;
+
+import net.joala.time.Timeout;
+import org.hamcrest.Matcher;
+import org.hamcrest.core.IsAnything;
+
+import javax.annotation.Nonnull;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+import static org.hamcrest.core.IsEqual.equalTo;
+
+/**
+ * <p>
+ * Combinators to wait for several conditions within one timeout. Instead of
+ * </p>
+ * <pre>{@code
+ * first.await(matcher1);
+ * second.await(matcher2);
+ * }</pre>
+ * <p>
+ * which might take twice the timeout, write
+ * </p>
+ * <pre>{@code
+ * allOf(timeout, expect(first, matcher1), expect(second, matcher2)).await();
+ * }</pre>
+ *
+ * @see CompositeCondition
+ * @since 10/18/26
+ */
+public final class Conditions {
+  private Conditions() {
+  }
+
+  /**
+   * <p>
+   * Expect the given condition to reach a state matched by the given matcher.
+   * </p>
+   *
+   * @param condition the condition
+   * @param matcher   the matcher for the state of the condition
+   * @param <T>       value type of the condition
+   * @return expectation
+   */
+  @Nonnull
+  public static <T> Expectation<T> expect(@Nonnull final Condition<T> condition, @Nonnull final Matcher<? super T> matcher) {
+    return new Expectation<>(condition, matcher);
+  }
+
+  /**
+   * <p>
+   * Composite which is satisfied once all expectations are satisfied.
+   * </p>
+   *
+   * @param timeout      the timeout shared by all expectations
+   * @param expectations the expectations
+   * @return composite condition
+   */
+  @Nonnull
+  public static CompositeCondition allOf(@Nonnull final Timeout timeout, @Nonnull final Expectation<?>... expectations) {
+    checkNotNull(expectations, "Expectations must not be null.");
+    return new CompositeCondition(timeout, Arrays.asList(expectations), true);
+  }
+
+  /**
+   * <p>
+   * Composite which is satisfied once all conditions are satisfied. Boolean conditions are satisfied if they
+   * are {@code true}, all other conditions as soon as they can be evaluated.
+   * </p>
+   *
+   * @param timeout    the timeout shared by all conditions
+   * @param conditions the conditions
+   * @return composite condition
+   */
+  @Nonnull
+  public static CompositeCondition allOf(@Nonnull final Timeout timeout, @Nonnull final Condition<?>... conditions) {
+    return new CompositeCondition(timeout, expectations(conditions), true);
+  }
+
+  /**
+   * <p>
+   * Composite which is satisfied once any of the expectations is satisfied.
+   * </p>
+   *
+   * @param timeout      the timeout shared by all expectations
+   * @param expectations the expectations
+   * @return composite condition
+   */
+  @Nonnull
+  public static CompositeCondition anyOf(@Nonnull final Timeout timeout, @Nonnull final Expectation<?>... expectations) {
+    checkNotNull(expectations, "Expectations must not be null.");
+    return new CompositeCondition(timeout, Arrays.asList(expectations), false);
+  }
+
+  /**
+   * <p>
+   * Composite which is satisfied once any of the conditions is satisfied. Boolean conditions are satisfied if they
+   * are {@code true}, all other conditions as soon as they can be evaluated.
+   * </p>
+   *
+   * @param timeout    the timeout shared by all conditions
+   * @param conditions the conditions
+   * @return composite condition
+   */
+  @Nonnull
+  public static CompositeCondition anyOf(@Nonnull final Timeout timeout, @Nonnull final Condition<?>... conditions) {
+    return new CompositeCondition(timeout, expectations(conditions), false);
+  }
+
+  @Nonnull
+  private static List<Expectation<?>> expectations(@Nonnull final Condition<?>[] conditions) {
+    checkNotNull(conditions, "Conditions must not be null.");
+    final List<Expectation<?>> expectations = new ArrayList<>(conditions.length);
+    for (final Condition<?> condition : conditions) {
+      expectations.add(expectation(condition));
+    }
+    return expectations;
+  }
+
+  @Nonnull
+  private static <T> Expectation<T> expectation(@Nonnull final Condition<T> condition) {
+    checkNotNull(condition, "Condition must not be null.");
+    if (condition instanceof BooleanCondition) {
+      @SuppressWarnings("unchecked")
+      final Expectation<T> expectation = (Expectation<T>) expect((BooleanCondition) condition, equalTo(true));
+      return expectation;
+    }
+    return expect(condition, IsAnything.anything());
+  }
+}
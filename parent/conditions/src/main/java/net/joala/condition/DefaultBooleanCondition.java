@@ -19,8 +19,11 @@
 
 package net.joala.condition;
 
+import net.joala.condition.timing.BackoffPolicy;
+import net.joala.condition.timing.WaitFactory;
 import net.joala.expression.Expression;
 import net.joala.time.Timeout;
+import org.hamcrest.Matcher;
 
 import javax.annotation.Nonnegative;
 import javax.annotation.Nonnull;
@@ -88,6 +91,48 @@ public class DefaultBooleanCondition extends DefaultCondition<Boolean> implement
     return this;
   }
 
+  @Override
+  @Nonnull
+  public DefaultBooleanCondition withExecutionMode(@Nonnull final WaitExecutionMode newExecutionMode) {
+    super.withExecutionMode(newExecutionMode);
+    return this;
+  }
+
+  @Override
+  @Nonnull
+  public DefaultBooleanCondition withBackoffPolicy(@Nonnull final BackoffPolicy newBackoffPolicy) {
+    super.withBackoffPolicy(newBackoffPolicy);
+    return this;
+  }
+
+  @Override
+  @Nonnull
+  public DefaultBooleanCondition withWaitFactory(@Nullable final WaitFactory newWaitFactory) {
+    super.withWaitFactory(newWaitFactory);
+    return this;
+  }
+
+  @Override
+  @Nonnull
+  public DefaultBooleanCondition unlessReaches(@Nullable final Matcher<? super Boolean> newTerminalMatcher) {
+    super.unlessReaches(newTerminalMatcher);
+    return this;
+  }
+
+  @Override
+  @Nonnull
+  public DefaultBooleanCondition withSingleFlight() {
+    super.withSingleFlight();
+    return this;
+  }
+
+  @Override
+  @Nonnull
+  public DefaultBooleanCondition withSingleFlight(@Nullable final Object newSingleFlightKey) {
+    super.withSingleFlight(newSingleFlightKey);
+    return this;
+  }
+
   @Override
   @Nonnull
   public DefaultBooleanCondition withTimeoutFactor(@Nonnegative final double newFactor) {
@@ -19,12 +19,21 @@
 
 package net.joala.condition;
 
+import com.google.common.base.Function;
 import com.google.common.base.MoreObjects;
-import net.joala.condition.timing.DeceleratingWait;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import net.joala.condition.timing.AsyncWait;
+import net.joala.condition.timing.BackoffPolicies;
+import net.joala.condition.timing.BackoffPolicy;
+import net.joala.condition.timing.PollScheduler;
+import net.joala.condition.timing.QueryExecutors;
+import net.joala.condition.timing.TerminalStates;
 import net.joala.condition.timing.Wait;
+import net.joala.condition.timing.WaitFactory;
 import net.joala.condition.timing.WaitFailStrategy;
 import net.joala.condition.timing.WaitTimeoutFailStrategy;
 import net.joala.expression.Expression;
+import net.joala.time.DeadlineContext;
 import net.joala.time.Timeout;
 import org.hamcrest.Matcher;
 import org.hamcrest.core.IsAnything;
@@ -32,6 +41,13 @@ import org.hamcrest.core.IsAnything;
 import javax.annotation.Nonnegative;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 
 import static com.google.common.base.Preconditions.checkNotNull;
 import static org.hamcrest.core.IsEqual.equalTo;
@@ -45,6 +61,10 @@ import static org.hamcrest.core.IsEqual.equalTo;
  * To override this class and provide the same syntax for configuration you should override any methods returning
  * a self reference, call the super method and just return {@code this}.
  * </p>
+ * <p>
+ * Within a {@link DeadlineContext} the timeout is capped by the remaining budget of the context. If the budget is
+ * spent already, waiting fails immediately with a {@link net.joala.time.DeadlineExceededException}.
+ * </p>
  *
  * @param <T> result type of {@link #get()}
  * @since 2/24/12
@@ -81,6 +101,26 @@ public class DefaultCondition<T> implements Condition<T>, FailSafeCondition<T> {
   private final Expression<T> expression;
   @Nonnegative
   private double factor = 1.0;
+  @Nonnull
+  private WaitExecutionMode executionMode = WaitExecutionMode.CALLER_THREAD;
+  @Nonnull
+  private BackoffPolicy backoffPolicy = BackoffPolicies.decelerating();
+  @Nullable
+  private WaitFactory waitFactory;
+  @Nullable
+  private Object singleFlightKey;
+  @Nullable
+  private Matcher<? super T> terminalMatcher;
+  /**
+   * Waits of the last evaluations by fail strategy, reused while neither the configuration nor the timeout changes.
+   */
+  @Nonnull
+  private final Map<WaitFailStrategy, CachedWait> cachedWaits = new ConcurrentHashMap<>();
+  /**
+   * State query of the last evaluation, reused while the configuration does not change.
+   */
+  @Nullable
+  private volatile Function<Expression<T>, T> cachedStateQuery;
 
   public DefaultCondition(@Nonnull final Expression<T> expression, @Nonnull final Timeout timeout) {
     checkNotNull(expression, "Expression must not be null.");
@@ -104,6 +144,46 @@ public class DefaultCondition<T> implements Condition<T>, FailSafeCondition<T> {
     return until(matcher, TIMEOUT_FAIL_STRATEGY);
   }
 
+  /**
+   * <p>
+   * Without {@link #withWaitFactory(WaitFactory) wait factory} the expression is evaluated by an
+   * {@link AsyncWait} timed by the {@link PollScheduler#shared() shared poll scheduler} and running on the
+   * {@link QueryExecutors#shared() shared query executor} using the configured backoff policy, so that no
+   * thread is blocked while waiting. The execution mode only controls where the
+   * blocking methods wait and is ignored here. With a wait factory, for example one using
+   * {@link net.joala.condition.timing.WaitProfileStore profiles}, the factory's blocking wait runs on a
+   * shared pool of at most 16 daemon threads. Further waits are queued until a thread gets available;
+   * their timeout starts when they leave the queue.
+   * </p>
+   */
+  @Override
+  @Nonnull
+  public CompletableFuture<T> awaitAsync(@Nonnull final Matcher<? super T> matcher) {
+    final Timeout cappedTimeout = DeadlineContext.capped(timeout);
+    if (waitFactory != null) {
+      final Wait wait = wait(cappedTimeout, TIMEOUT_FAIL_STRATEGY);
+      final CompletableFuture<T> result = new CompletableFuture<>();
+      AwaitExecutorHolder.INSTANCE.execute(DeadlineContext.propagate(() -> {
+        try {
+          result.complete(until(wait, matcher));
+        } catch (RuntimeException | Error e) {
+          result.completeExceptionally(e);
+        }
+      }));
+      return result;
+    }
+    if (runBeforeRunnable != null) {
+      runBeforeRunnable.run();
+    }
+    final CompletableFuture<T> result = new AsyncWait(cappedTimeout, factor, TIMEOUT_FAIL_STRATEGY, backoffPolicy, PollScheduler.shared(), QueryExecutors.shared())
+            .untilAsync(message, expression, stateQuery(), matcher);
+    final Runnable finallyRunnable = runFinallyRunnable;
+    if (finallyRunnable != null) {
+      result.whenComplete((value, failure) -> finallyRunnable.run());
+    }
+    return result;
+  }
+
   @Override
   public void waitUntil(@Nonnull final Matcher<? super T> matcher) {
     //noinspection ResultOfMethodCallIgnored
@@ -116,7 +196,32 @@ public class DefaultCondition<T> implements Condition<T>, FailSafeCondition<T> {
   }
 
   private T until(final Matcher<? super T> matcher, final WaitFailStrategy failStrategy) {
-    return until(new DeceleratingWait(timeout, factor, failStrategy), matcher);
+    return until(wait(DeadlineContext.capped(timeout), failStrategy), matcher);
+  }
+
+  /**
+   * <p>
+   * Get the wait for the given timeout and fail strategy. Waits are stateless, thus a condition which
+   * gets evaluated again and again reuses its wait instead of creating a new one on each evaluation.
+   * Waits are cached per fail strategy, so that alternating between await, assert and assume reuses
+   * them, too. Within a deadline context the capped timeout is stable as long as the context stays the same.
+   * </p>
+   *
+   * @param cappedTimeout the timeout, possibly capped by the current deadline context
+   * @param failStrategy  strategy to use on timeout
+   * @return wait
+   */
+  @Nonnull
+  private Wait wait(@Nonnull final Timeout cappedTimeout, @Nonnull final WaitFailStrategy failStrategy) {
+    final CachedWait cached = cachedWaits.get(failStrategy);
+    if (cached != null && cached.timeout == cappedTimeout) {
+      return cached.wait;
+    }
+    final Wait wait = waitFactory == null
+            ? executionMode.createWait(cappedTimeout, factor, failStrategy, backoffPolicy)
+            : waitFactory.createWait(cappedTimeout, factor, failStrategy);
+    cachedWaits.put(failStrategy, new CachedWait(cappedTimeout, wait));
+    return wait;
   }
 
   private T until(@Nonnull final Wait wait, @Nullable final Matcher<? super T> matcher) {
@@ -124,7 +229,7 @@ public class DefaultCondition<T> implements Condition<T>, FailSafeCondition<T> {
       runBeforeRunnable.run();
     }
     try {
-      return wait.until(message, expression, new ExpressionFunction<>(), matcher);
+      return wait.until(message, expression, stateQuery(), matcher);
     } finally {
       if (runFinallyRunnable != null) {
         runFinallyRunnable.run();
@@ -132,6 +237,17 @@ public class DefaultCondition<T> implements Condition<T>, FailSafeCondition<T> {
     }
   }
 
+  @Nonnull
+  private Function<Expression<T>, T> stateQuery() {
+    Function<Expression<T>, T> stateQuery = cachedStateQuery;
+    if (stateQuery == null) {
+      final Function<Expression<T>, T> expressionFunction = new ExpressionFunction<>(singleFlightKey, timeout, factor);
+      stateQuery = terminalMatcher == null ? expressionFunction : TerminalStates.unlessReaches(expressionFunction, terminalMatcher);
+      cachedStateQuery = stateQuery;
+    }
+    return stateQuery;
+  }
+
   @Override
   public void assumeThat(@Nonnull final Matcher<? super T> matcher) {
     until(matcher, ASSUMPTION_FAIL_STRATEGY);
@@ -170,6 +286,105 @@ public class DefaultCondition<T> implements Condition<T>, FailSafeCondition<T> {
   @Nonnull
   public DefaultCondition<T> withTimeoutFactor(@Nonnegative final double newFactor) {
     this.factor = newFactor;
+    cachedWaits.clear();
+    cachedStateQuery = null;
+    return this;
+  }
+
+  /**
+   * <p>
+   * Defines in which threads to wait and to evaluate the expression.
+   * </p>
+   *
+   * @param newExecutionMode the execution mode
+   * @return self-reference
+   */
+  @Nonnull
+  public DefaultCondition<T> withExecutionMode(@Nonnull final WaitExecutionMode newExecutionMode) {
+    checkNotNull(newExecutionMode, "Execution mode must not be null.");
+    this.executionMode = newExecutionMode;
+    cachedWaits.clear();
+    return this;
+  }
+
+  /**
+   * <p>
+   * Defines the delays between two evaluations of the expression.
+   * </p>
+   *
+   * @param newBackoffPolicy the backoff policy
+   * @return self-reference
+   */
+  @Nonnull
+  public DefaultCondition<T> withBackoffPolicy(@Nonnull final BackoffPolicy newBackoffPolicy) {
+    checkNotNull(newBackoffPolicy, "Backoff policy must not be null.");
+    this.backoffPolicy = newBackoffPolicy;
+    cachedWaits.clear();
+    return this;
+  }
+
+  /**
+   * <p>
+   * Defines a factory for the waits of the blocking methods, for example
+   * {@link net.joala.condition.timing.LowLatencyWait#factory(net.joala.condition.timing.IdleStrategy) low-latency waits}
+   * for in-process state. If set, execution mode and backoff policy are ignored, also by {@link #awaitAsync(Matcher)}.
+   * </p>
+   *
+   * @param newWaitFactory the wait factory; {@code null} to create waits according to execution mode and backoff policy
+   * @return self-reference
+   */
+  @Nonnull
+  public DefaultCondition<T> withWaitFactory(@Nullable final WaitFactory newWaitFactory) {
+    this.waitFactory = newWaitFactory;
+    cachedWaits.clear();
+    return this;
+  }
+
+  /**
+   * <p>
+   * Lets concurrent waits for this condition's expression share evaluations: while one thread evaluates the
+   * expression, other threads waiting for the same expression instance join this evaluation and share its result.
+   * This reduces the load on the backend by the number of threads waiting in parallel.
+   * </p>
+   *
+   * @return self-reference
+   * @see #withSingleFlight(Object)
+   */
+  @Nonnull
+  public DefaultCondition<T> withSingleFlight() {
+    return withSingleFlight(SingleFlight.identityKey(expression));
+  }
+
+  /**
+   * <p>
+   * Lets concurrent waits for conditions with equal keys share evaluations, for example for different
+   * expression instances which query the same state.
+   * </p>
+   *
+   * @param newSingleFlightKey key to share evaluations; {@code null} to evaluate the expression for each wait on its own
+   * @return self-reference
+   */
+  @Nonnull
+  public DefaultCondition<T> withSingleFlight(@Nullable final Object newSingleFlightKey) {
+    this.singleFlightKey = newSingleFlightKey;
+    cachedStateQuery = null;
+    return this;
+  }
+
+  /**
+   * <p>
+   * Stops waiting as soon as the expression reaches a terminal state, from which the expected state cannot be
+   * reached anymore, like a job which failed. The terminal state is reported like a timeout, but without waiting
+   * for the timeout to expire.
+   * </p>
+   *
+   * @param newTerminalMatcher matcher for terminal states; {@code null} to wait until the timeout in any case
+   * @return self-reference
+   */
+  @Nonnull
+  public DefaultCondition<T> unlessReaches(@Nullable final Matcher<? super T> newTerminalMatcher) {
+    this.terminalMatcher = newTerminalMatcher;
+    cachedStateQuery = null;
     return this;
   }
 
@@ -189,8 +404,39 @@ public class DefaultCondition<T> implements Condition<T>, FailSafeCondition<T> {
                       .add("runFinally", runFinallyRunnable)
                       .add("timeout", timeout)
                       .add("factor", factor)
+                      .add("executionMode", executionMode)
+                      .add("backoffPolicy", backoffPolicy)
+                      .add("waitFactory", waitFactory)
+                      .add("singleFlightKey", singleFlightKey)
+                      .add("terminalMatcher", terminalMatcher)
                       .toString();
   }
 
+  private static final class CachedWait {
+    @Nonnull
+    private final Timeout timeout;
+    @Nonnull
+    private final Wait wait;
 
+    private CachedWait(@Nonnull final Timeout timeout, @Nonnull final Wait wait) {
+      this.timeout = timeout;
+      this.wait = wait;
+    }
+  }
+
+  /**
+   * Daemon threads running the blocking waits of {@link #awaitAsync(Matcher)}. Idle threads terminate after a minute.
+   */
+  private static final class AwaitExecutorHolder {
+    private static final int MAX_THREADS = 16;
+    private static final ExecutorService INSTANCE = create();
+
+    private static ExecutorService create() {
+      final ThreadPoolExecutor executor = new ThreadPoolExecutor(MAX_THREADS, MAX_THREADS, 1L, TimeUnit.MINUTES,
+              new LinkedBlockingQueue<>(),
+              new ThreadFactoryBuilder().setDaemon(true).setNameFormat("joala-await-%d").build());
+      executor.allowCoreThreadTimeOut(true);
+      return executor;
+    }
+  }
 }
@@ -19,10 +19,15 @@
 
 package net.joala.condition;
 
+import net.joala.condition.timing.BackoffPolicies;
+import net.joala.condition.timing.BackoffPolicy;
+import net.joala.condition.timing.WaitFactory;
+import net.joala.condition.timing.WaitProfileStore;
 import net.joala.expression.Expression;
 import net.joala.time.Timeout;
 
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 
 import static com.google.common.base.Preconditions.checkNotNull;
 
@@ -36,6 +41,15 @@ import static com.google.common.base.Preconditions.checkNotNull;
 public class DefaultConditionFactory implements ConditionFactory {
   @Nonnull
   private final Timeout timeout;
+  @Nonnull
+  private WaitExecutionMode executionMode = WaitExecutionMode.CALLER_THREAD;
+  @Nonnull
+  private BackoffPolicy backoffPolicy = BackoffPolicies.decelerating();
+  @Nullable
+  private WaitFactory waitFactory;
+  @Nullable
+  private WaitProfileStore profileStore;
+  private boolean singleFlight;
 
   /**
    * <p>
@@ -48,17 +62,102 @@ public class DefaultConditionFactory implements ConditionFactory {
     this.timeout = timeout;
   }
 
+  /**
+   * <p>
+   * Defines in which threads the created conditions wait and evaluate their expressions.
+   * Defaults to {@link WaitExecutionMode#CALLER_THREAD}.
+   * </p>
+   *
+   * @param executionMode the execution mode
+   */
+  public void setExecutionMode(@Nonnull final WaitExecutionMode executionMode) {
+    checkNotNull(executionMode, "Execution mode must not be null");
+    this.executionMode = executionMode;
+  }
+
+  /**
+   * <p>
+   * Defines the delays between two evaluations of the expressions of the created conditions.
+   * Defaults to {@link BackoffPolicies#decelerating()}.
+   * </p>
+   *
+   * @param backoffPolicy the backoff policy
+   */
+  public void setBackoffPolicy(@Nonnull final BackoffPolicy backoffPolicy) {
+    checkNotNull(backoffPolicy, "Backoff policy must not be null");
+    this.backoffPolicy = backoffPolicy;
+  }
+
+  /**
+   * <p>
+   * Defines a factory for the waits of the created conditions, for example
+   * {@link net.joala.condition.timing.LowLatencyWait#factory(net.joala.condition.timing.IdleStrategy) low-latency waits}.
+   * If set, execution mode and backoff policy are ignored by the blocking methods of the conditions.
+   * Defaults to {@code null}.
+   * </p>
+   *
+   * @param waitFactory the wait factory; {@code null} to create waits according to execution mode and backoff policy
+   */
+  public void setWaitFactory(@Nullable final WaitFactory waitFactory) {
+    this.waitFactory = waitFactory;
+  }
+
+  /**
+   * <p>
+   * Defines a store of learned profiles of the created conditions. Conditions with a profile delay
+   * their first evaluation and their subsequent evaluations according to the times they took to
+   * succeed in previous runs; conditions without profile use the backoff policy. If set, the execution
+   * mode is ignored by the blocking methods of the conditions. An explicit wait factory takes precedence.
+   * Defaults to {@code null}.
+   * </p>
+   *
+   * @param profileStore the profile store; {@code null} to not use profiles
+   * @see #setWaitFactory(WaitFactory)
+   */
+  public void setProfileStore(@Nullable final WaitProfileStore profileStore) {
+    this.profileStore = profileStore;
+  }
+
+  /**
+   * <p>
+   * Defines if concurrent waits for the same expression instance share their evaluations.
+   * Defaults to {@code false}.
+   * </p>
+   *
+   * @param singleFlight {@code true} to join evaluations of the same expression in flight
+   * @see DefaultCondition#withSingleFlight()
+   */
+  public void setSingleFlight(final boolean singleFlight) {
+    this.singleFlight = singleFlight;
+  }
+
   @Nonnull
   @Override
   public BooleanCondition booleanCondition(@Nonnull final Expression<Boolean> expression) {
     checkNotNull(expression, "Expression must not be null");
-    return new DefaultBooleanCondition(expression, timeout);
+    final DefaultBooleanCondition condition = new DefaultBooleanCondition(expression, timeout)
+            .withExecutionMode(executionMode)
+            .withBackoffPolicy(backoffPolicy)
+            .withWaitFactory(effectiveWaitFactory());
+    return singleFlight ? condition.withSingleFlight() : condition;
   }
 
   @Nonnull
   @Override
   public <T> Condition<T> condition(@Nonnull final Expression<T> expression) {
     checkNotNull(expression, "Expression must not be null");
-    return new DefaultCondition<>(expression, timeout);
+    final DefaultCondition<T> condition = new DefaultCondition<>(expression, timeout)
+            .withExecutionMode(executionMode)
+            .withBackoffPolicy(backoffPolicy)
+            .withWaitFactory(effectiveWaitFactory());
+    return singleFlight ? condition.withSingleFlight() : condition;
+  }
+
+  @Nullable
+  private WaitFactory effectiveWaitFactory() {
+    if (waitFactory == null && profileStore != null) {
+      return profileStore.waitFactory(backoffPolicy);
+    }
+    return waitFactory;
   }
 }
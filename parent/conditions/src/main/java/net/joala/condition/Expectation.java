@@ -0,0 +1,147 @@
+/*
+ * Copyright 2026 CoreMedia AG
+ *
+ * This file is part of Joala.
+ *
+ * Joala is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Joala is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Joala.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package net.joala.condition;
+
+import com.google.common.base.MoreObjects;
+import net.joala.expression.ExpressionEvaluationException;
+import org.hamcrest.Description;
+import org.hamcrest.Matcher;
+import org.hamcrest.SelfDescribing;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * <p>
+ * A condition together with the state it is expected to reach. Expectations are the members of
+ * {@link CompositeCondition composite conditions}.
+ * </p>
+ *
+ * @param <T> value type of the condition
+ * @see Conditions
+ * @since 10/18/26
+ */
+public final class Expectation<T> implements SelfDescribing {
+  @Nonnull
+  private final Condition<T> condition;
+  @Nonnull
+  private final Matcher<? super T> matcher;
+
+  Expectation(@Nonnull final Condition<T> condition, @Nonnull final Matcher<? super T> matcher) {
+    checkNotNull(condition, "Condition must not be null.");
+    checkNotNull(matcher, "Matcher must not be null.");
+    this.condition = condition;
+    this.matcher = matcher;
+  }
+
+  /**
+   * <p>
+   * Evaluate the condition once.
+   * </p>
+   *
+   * @return result of the evaluation
+   */
+  @Nonnull
+  Evaluation evaluate() {
+    try {
+      final T value = condition.get();
+      return new Evaluation(matcher.matches(value), value, null);
+    } catch (ExpressionEvaluationException e) {
+      return new Evaluation(false, null, e);
+    }
+  }
+
+  @Nonnull
+  public Condition<T> getCondition() {
+    return condition;
+  }
+
+  @Nonnull
+  public Matcher<? super T> getMatcher() {
+    return matcher;
+  }
+
+  @Override
+  public void describeTo(final Description description) {
+    description.appendValue(condition)
+               .appendText(" to be ")
+               .appendDescriptionOf(matcher);
+  }
+
+  @Override
+  public String toString() {
+    return MoreObjects.toStringHelper(this)
+                      .add("condition", condition)
+                      .add("matcher", matcher)
+                      .toString();
+  }
+
+  /**
+   * <p>
+   * Result of one evaluation of an expectation.
+   * </p>
+   */
+  final class Evaluation {
+    private final boolean satisfied;
+    @Nullable
+    private final T value;
+    @Nullable
+    private final ExpressionEvaluationException failure;
+
+    private Evaluation(final boolean satisfied, @Nullable final T value, @Nullable final ExpressionEvaluationException failure) {
+      this.satisfied = satisfied;
+      this.value = value;
+      this.failure = failure;
+    }
+
+    boolean isSatisfied() {
+      return satisfied;
+    }
+
+    /**
+     * <p>
+     * Describe why the expectation is not satisfied.
+     * </p>
+     *
+     * @param description description to append to
+     */
+    void describeMismatch(@Nonnull final Description description) {
+      description.appendDescriptionOf(Expectation.this);
+      if (failure == null) {
+        description.appendText(", but ");
+        matcher.describeMismatch(value, description);
+      } else {
+        description.appendText(", but failed to evaluate: ")
+                   .appendText(String.valueOf(failure.getMessage()));
+      }
+    }
+
+    @Override
+    public String toString() {
+      return MoreObjects.toStringHelper(this)
+                        .add("satisfied", satisfied)
+                        .add("value", value)
+                        .add("failure", failure)
+                        .toString();
+    }
+  }
+}
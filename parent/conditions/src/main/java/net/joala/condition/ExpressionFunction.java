@@ -23,21 +23,57 @@ import com.google.common.base.Function;
 import net.joala.condition.timing.IgnorableStateQueryException;
 import net.joala.expression.Expression;
 import net.joala.expression.ExpressionEvaluationException;
+import net.joala.time.DeadlineContext;
+import net.joala.time.Timeout;
 
+import javax.annotation.Nonnegative;
 import javax.annotation.Nullable;
+import java.util.concurrent.TimeUnit;
 
 import static com.google.common.base.Preconditions.checkNotNull;
 
 /**
  * <p>
  * A function to evaluate an expression. It especially wraps exceptions of type
- * {@link ExpressionEvaluationException} into {@link IgnorableStateQueryException}.
+ * {@link ExpressionEvaluationException} into {@link IgnorableStateQueryException#stackless(Function, Throwable) stackless}
+ * {@link IgnorableStateQueryException}s.
+ * </p>
+ * <p>
+ * If created with a single-flight key, concurrent evaluations with equal keys are deduplicated
+ * by {@link SingleFlight}.
  * </p>
  *
  * @param <T> the type of the value the expression returns
  * @since 9/18/12
  */
 final class ExpressionFunction<T> implements Function<Expression<T>, T> {
+  @Nullable
+  private final Object singleFlightKey;
+  @Nullable
+  private final Timeout maxJoin;
+  @Nonnegative
+  private final double maxJoinFactor;
+
+  ExpressionFunction() {
+    this(null, null, 1d);
+  }
+
+  /**
+   * <p>
+   * Function which joins concurrent evaluations with equal keys. Joining an evaluation is bounded by the given
+   * timeout, which is further capped by the current {@link DeadlineContext}, if any.
+   * </p>
+   *
+   * @param singleFlightKey key to deduplicate concurrent evaluations; {@code null} to evaluate on every call
+   * @param maxJoin         maximum time to wait for the evaluation of another thread; {@code null} for no limit
+   * @param maxJoinFactor   factor to apply to the maximum join time
+   */
+  ExpressionFunction(@Nullable final Object singleFlightKey, @Nullable final Timeout maxJoin, @Nonnegative final double maxJoinFactor) {
+    this.singleFlightKey = singleFlightKey;
+    this.maxJoin = maxJoin;
+    this.maxJoinFactor = maxJoinFactor;
+  }
+
   /**
    * <p>
    * Evaluates expression and makes any {@link ExpressionEvaluationException} ignorable.
@@ -51,9 +87,21 @@ final class ExpressionFunction<T> implements Function<Expression<T>, T> {
   public T apply(final Expression<T> input) {
     checkNotNull(input, "Expression must not be null.");
     try {
-      return input.get();
+      if (singleFlightKey == null) {
+        return input.get();
+      }
+      return SingleFlight.shared().evaluate(singleFlightKey, input::get, maxJoinNanos());
     } catch (ExpressionEvaluationException e) {
-      throw new IgnorableStateQueryException(this, e);
+      throw IgnorableStateQueryException.stackless(this, e);
+    }
+  }
+
+  private long maxJoinNanos() {
+    long maxJoinNanos = maxJoin == null ? Long.MAX_VALUE : maxJoin.in(TimeUnit.NANOSECONDS, maxJoinFactor);
+    final DeadlineContext context = DeadlineContext.current();
+    if (context != null) {
+      maxJoinNanos = Math.min(maxJoinNanos, context.remaining(TimeUnit.NANOSECONDS));
     }
+    return maxJoinNanos;
   }
 }
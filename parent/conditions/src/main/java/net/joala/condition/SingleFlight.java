@@ -0,0 +1,213 @@
+/*
+ * Copyright 2026 CoreMedia AG
+ *
+ * This file is part of Joala.
+ *
+ * Joala is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Joala is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Joala.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package net.joala.condition;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.MoreObjects;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+import net.joala.expression.ExpressionEvaluationException;
+
+import javax.annotation.Nonnegative;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+import static com.google.common.base.Throwables.throwIfUnchecked;
+import static java.lang.Thread.currentThread;
+
+/**
+ * <p>
+ * Deduplicates concurrent evaluations with the same key: while one thread evaluates, any other thread
+ * evaluating with an equal key joins the evaluation in flight and shares its result or failure instead
+ * of evaluating on its own. Once an evaluation is done, the next one starts from scratch, so results
+ * are never cached.
+ * </p>
+ * <p>
+ * If for example dozens of parallel tests wait for the same expression, the backend gets queried only
+ * once at a time instead of once per waiting thread.
+ * </p>
+ *
+ * @since 10/18/26
+ */
+final class SingleFlight {
+  private static final SingleFlight SHARED = new SingleFlight();
+
+  @Nonnull
+  private final ConcurrentMap<Object, Flight> flights = new ConcurrentHashMap<>();
+
+  /**
+   * <p>
+   * The single-flight group shared by all conditions.
+   * </p>
+   *
+   * @return shared single-flight group
+   */
+  @Nonnull
+  static SingleFlight shared() {
+    return SHARED;
+  }
+
+  /**
+   * <p>
+   * Key which is equal only to keys of the very same object, for objects like expressions whose equality
+   * does not tell if they evaluate the same.
+   * </p>
+   *
+   * @param object object to get the key for
+   * @return identity key
+   */
+  @Nonnull
+  static Object identityKey(@Nonnull final Object object) {
+    checkNotNull(object, "Object must not be null.");
+    return new IdentityKey(object);
+  }
+
+  /**
+   * <p>
+   * Evaluate or join the evaluation in flight with an equal key.
+   * </p>
+   *
+   * @param key        key of the evaluation
+   * @param evaluation the evaluation to run if none is in flight
+   * @param <T>        result type of the evaluation
+   * @return the result of the evaluation
+   * @throws ExpressionEvaluationException if the thread got interrupted while joining an evaluation; the interrupt flag is preserved
+   * @see #evaluate(Object, Supplier, long)
+   */
+  <T> T evaluate(@Nonnull final Object key, @Nonnull final Supplier<T> evaluation) {
+    return evaluate(key, evaluation, Long.MAX_VALUE);
+  }
+
+  /**
+   * <p>
+   * Evaluate or join the evaluation in flight with an equal key, but do not wait longer than the given time
+   * for the joined evaluation, so that a slow evaluation of another thread does not delay this thread beyond
+   * its deadline.
+   * </p>
+   *
+   * @param key          key of the evaluation
+   * @param evaluation   the evaluation to run if none is in flight
+   * @param maxJoinNanos maximum time to wait for an evaluation in flight
+   * @param <T>          result type of the evaluation
+   * @return the result of the evaluation
+   * @throws ExpressionEvaluationException if the joined evaluation did not complete in time or if the thread got
+   *                                       interrupted while joining it; the interrupt flag is preserved
+   */
+  @SuppressWarnings("unchecked")
+  <T> T evaluate(@Nonnull final Object key, @Nonnull final Supplier<T> evaluation, @Nonnegative final long maxJoinNanos) {
+    checkNotNull(key, "Key must not be null.");
+    checkNotNull(evaluation, "Evaluation must not be null.");
+    final Flight own = new Flight();
+    final Flight inFlight = flights.putIfAbsent(key, own);
+    if (inFlight != null) {
+      return (T) inFlight.join(maxJoinNanos);
+    }
+    try {
+      final T result = evaluation.get();
+      own.result.complete(result);
+      return result;
+    } catch (RuntimeException | Error e) {
+      own.result.completeExceptionally(e);
+      throw e;
+    } finally {
+      flights.remove(key, own);
+    }
+  }
+
+  /**
+   * <p>
+   * Number of threads which joined the evaluation in flight with the given key.
+   * </p>
+   *
+   * @param key key of the evaluation
+   * @return number of joined threads; 0 if no evaluation is in flight
+   */
+  @VisibleForTesting
+  int joined(@Nonnull final Object key) {
+    final Flight flight = flights.get(key);
+    return flight == null ? 0 : flight.joined.get();
+  }
+
+  @Override
+  public String toString() {
+    return MoreObjects.toStringHelper(this)
+                      .add("flights", flights.keySet())
+                      .toString();
+  }
+
+  private static final class Flight {
+    @Nonnull
+    private final CompletableFuture<Object> result = new CompletableFuture<>();
+    @Nonnull
+    private final AtomicInteger joined = new AtomicInteger();
+
+    @Nullable
+    private Object join(@Nonnegative final long maxJoinNanos) {
+      joined.incrementAndGet();
+      try {
+        return result.get(maxJoinNanos, TimeUnit.NANOSECONDS);
+      } catch (TimeoutException e) {
+        throw new ExpressionEvaluationException("Joined evaluation did not complete in time.", e);
+      } catch (InterruptedException e) {
+        // Leave it to the wait to report the cancellation.
+        currentThread().interrupt();
+        throw new ExpressionEvaluationException("Interrupted while joining evaluation.", e);
+      } catch (ExecutionException e) {
+        final Throwable cause = e.getCause();
+        throwIfUnchecked(cause);
+        throw new UncheckedExecutionException(cause);
+      }
+    }
+  }
+
+  private static final class IdentityKey {
+    @Nonnull
+    private final Object object;
+
+    private IdentityKey(@Nonnull final Object object) {
+      this.object = object;
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+      return this == o || o instanceof IdentityKey && ((IdentityKey) o).object == object;
+    }
+
+    @Override
+    public int hashCode() {
+      return System.identityHashCode(object);
+    }
+
+    @Override
+    public String toString() {
+      return MoreObjects.toStringHelper(this)
+                        .add("object", object)
+                        .toString();
+    }
+  }
+}
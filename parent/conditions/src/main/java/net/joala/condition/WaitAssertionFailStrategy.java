@@ -20,12 +20,15 @@
 package net.joala.condition;
 
 import net.joala.condition.timing.AbstractWaitFailStrategy;
+import net.joala.condition.timing.MatcherExecute.AssertionErrorStrategy;
+import net.joala.condition.timing.PollHistory;
 import org.hamcrest.Matcher;
 
 import javax.annotation.Nonnegative;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 
+import static net.joala.condition.timing.MatcherExecute.match;
 import static org.hamcrest.MatcherAssert.assertThat;
 
 /**
@@ -42,10 +45,17 @@ public class WaitAssertionFailStrategy extends AbstractWaitFailStrategy {
                    @Nonnull final Object input,
                    @Nonnull final Throwable exception,
                    @Nonnegative final long consumedMillis) {
-    assertThat(
-            addTimeoutDescription(reason, function, input, consumedMillis),
-            exception,
-            new WaitFailNoExceptionMatcher(function));
+    failWithException(reason, function, input, exception, consumedMillis, null);
+  }
+
+  @Override
+  public void fail(@Nullable final String reason,
+                   @Nonnull final Object function,
+                   @Nonnull final Object input,
+                   @Nonnull final Throwable exception,
+                   @Nonnegative final long consumedMillis,
+                   @Nonnull final PollHistory history) {
+    failWithException(reason, function, input, exception, consumedMillis, history);
   }
 
   @Override
@@ -55,6 +65,29 @@ public class WaitAssertionFailStrategy extends AbstractWaitFailStrategy {
                        @Nullable final T lastValue,
                        @Nonnull final Matcher<? super T> matcher,
                        @Nonnegative final long consumedMillis) {
-    assertThat(addTimeoutDescription(reason, function, input, consumedMillis), lastValue, matcher);
+    match(addTimeoutDescription(reason, function, input, consumedMillis), lastValue, matcher, new AssertionErrorStrategy());
+  }
+
+  @Override
+  public <T> void fail(@Nullable final String reason,
+                       @Nonnull final Object function,
+                       @Nonnull final Object input,
+                       @Nullable final T lastValue,
+                       @Nonnull final Matcher<? super T> matcher,
+                       @Nonnegative final long consumedMillis,
+                       @Nonnull final PollHistory history) {
+    match(addTimeoutDescription(reason, function, input, consumedMillis, history), lastValue, matcher, new AssertionErrorStrategy());
+  }
+
+  private void failWithException(@Nullable final String reason,
+                                 @Nonnull final Object function,
+                                 @Nonnull final Object input,
+                                 @Nonnull final Throwable exception,
+                                 @Nonnegative final long consumedMillis,
+                                 @Nullable final PollHistory history) {
+    assertThat(
+            addTimeoutDescription(reason, function, input, consumedMillis, history),
+            exception,
+            new WaitFailNoExceptionMatcher(function));
   }
 }
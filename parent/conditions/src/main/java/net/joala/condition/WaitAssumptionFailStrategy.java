@@ -19,8 +19,13 @@
 
 package net.joala.condition;
 
+import com.google.common.base.Supplier;
+import com.google.common.base.Suppliers;
 import net.joala.condition.timing.AbstractWaitFailStrategy;
+import net.joala.condition.timing.PollHistory;
 import net.joala.matcher.decorator.EnhanceDescriptionBy;
+import org.hamcrest.BaseMatcher;
+import org.hamcrest.Description;
 import org.hamcrest.Matcher;
 
 import javax.annotation.Nonnegative;
@@ -43,12 +48,17 @@ public class WaitAssumptionFailStrategy extends AbstractWaitFailStrategy {
                    @Nonnull final Object input,
                    @Nonnull final Throwable exception,
                    @Nonnegative final long consumedMillis) {
-    // enhanceDescriptionBy: Workaround, see https://github.com/KentBeck/junit/pull/489
-    assumeThat(
-            exception,
-            EnhanceDescriptionBy.enhanceDescriptionBy(
-                    addTimeoutDescription(reason, function, input, consumedMillis),
-                    new WaitFailNoExceptionMatcher(function)));
+    failWithException(reason, function, input, exception, consumedMillis, null);
+  }
+
+  @Override
+  public void fail(@Nullable final String reason,
+                   @Nonnull final Object function,
+                   @Nonnull final Object input,
+                   @Nonnull final Throwable exception,
+                   @Nonnegative final long consumedMillis,
+                   @Nonnull final PollHistory history) {
+    failWithException(reason, function, input, exception, consumedMillis, history);
   }
 
   @Override
@@ -58,9 +68,82 @@ public class WaitAssumptionFailStrategy extends AbstractWaitFailStrategy {
                        @Nullable final T lastValue,
                        @Nonnull final Matcher<? super T> matcher,
                        @Nonnegative final long consumedMillis) {
+    failWithValue(reason, function, input, lastValue, matcher, consumedMillis, null);
+  }
+
+  @Override
+  public <T> void fail(@Nullable final String reason,
+                       @Nonnull final Object function,
+                       @Nonnull final Object input,
+                       @Nullable final T lastValue,
+                       @Nonnull final Matcher<? super T> matcher,
+                       @Nonnegative final long consumedMillis,
+                       @Nonnull final PollHistory history) {
+    failWithValue(reason, function, input, lastValue, matcher, consumedMillis, history);
+  }
+
+  private void failWithException(@Nullable final String reason,
+                                 @Nonnull final Object function,
+                                 @Nonnull final Object input,
+                                 @Nonnull final Throwable exception,
+                                 @Nonnegative final long consumedMillis,
+                                 @Nullable final PollHistory history) {
     // enhanceDescriptionBy: Workaround, see https://github.com/KentBeck/junit/pull/489
+    assumeThat(
+            exception,
+            EnhanceDescriptionBy.enhanceDescriptionBy(
+                    addTimeoutDescription(reason, function, input, consumedMillis, history),
+                    new WaitFailNoExceptionMatcher(function)));
+  }
+
+  private <T> void failWithValue(@Nullable final String reason,
+                                 @Nonnull final Object function,
+                                 @Nonnull final Object input,
+                                 @Nullable final T lastValue,
+                                 @Nonnull final Matcher<? super T> matcher,
+                                 @Nonnegative final long consumedMillis,
+                                 @Nullable final PollHistory history) {
+    // enhanceDescriptionBy: Workaround, see https://github.com/KentBeck/junit/pull/489
+    // The violated assumption is usually thrown away, thus only describe it on request.
     assumeThat(
             lastValue,
-            EnhanceDescriptionBy.enhanceDescriptionBy(addTimeoutDescription(reason, function, input, consumedMillis), matcher));
+            new LazilyEnhancedDescription<>(lazyTimeoutDescription(Suppliers.ofInstance(reason), function, input, consumedMillis, history), matcher));
+  }
+
+  /**
+   * <p>
+   * Like {@link EnhanceDescriptionBy} but renders the enhancement only on request.
+   * </p>
+   *
+   * @param <T> type of the matched values
+   */
+  private static final class LazilyEnhancedDescription<T> extends BaseMatcher<T> {
+    @Nonnull
+    private final Supplier<String> enhancement;
+    @Nonnull
+    private final Matcher<? super T> matcher;
+
+    private LazilyEnhancedDescription(@Nonnull final Supplier<String> enhancement, @Nonnull final Matcher<? super T> matcher) {
+      this.enhancement = enhancement;
+      this.matcher = matcher;
+    }
+
+    @Override
+    public boolean matches(final Object item) {
+      return matcher.matches(item);
+    }
+
+    @Override
+    public void describeMismatch(final Object item, final Description description) {
+      matcher.describeMismatch(item, description);
+    }
+
+    @Override
+    public void describeTo(final Description description) {
+      matcher.describeTo(description);
+      description.appendText(" (");
+      description.appendText(enhancement.get());
+      description.appendText(")");
+    }
   }
 }
@@ -0,0 +1,115 @@
+/*
+ * Copyright 2026 CoreMedia AG
+ *
+ * This file is part of Joala.
+ *
+ * Joala is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Joala is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Joala.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package net.joala.condition;
+
+import net.joala.condition.timing.AsyncWait;
+import net.joala.condition.timing.BackoffPolicy;
+import net.joala.condition.timing.DeceleratingWait;
+import net.joala.condition.timing.PollScheduler;
+import net.joala.condition.timing.QueryExecutors;
+import net.joala.condition.timing.VirtualThreadWait;
+import net.joala.condition.timing.Wait;
+import net.joala.condition.timing.WaitFailStrategy;
+import net.joala.time.Timeout;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.Nonnegative;
+import javax.annotation.Nonnull;
+
+/**
+ * <p>
+ * Defines in which threads conditions wait and evaluate their expressions. Regardless of the mode
+ * the blocking API of {@link Condition} stays the same.
+ * </p>
+ * <p>
+ * Except for {@link #CALLER_THREAD} the expressions are evaluated in other threads than the waiting one.
+ * The {@link net.joala.time.DeadlineContext} of the waiting thread is propagated, but its other
+ * {@link ThreadLocal}s are not visible to the expressions.
+ * </p>
+ *
+ * @since 10/18/26
+ */
+public enum WaitExecutionMode {
+  /**
+   * Wait in the calling thread, which sleeps between two evaluations. This is the default.
+   */
+  CALLER_THREAD {
+    @Nonnull
+    @Override
+    Wait createWait(@Nonnull final Timeout timeout,
+                    @Nonnegative final double factor,
+                    @Nonnull final WaitFailStrategy failStrategy,
+                    @Nonnull final BackoffPolicy backoffPolicy) {
+      return new DeceleratingWait(timeout, factor, failStrategy, backoffPolicy);
+    }
+  },
+  /**
+   * Time the evaluations with the {@link PollScheduler#shared() shared poll scheduler} and evaluate the
+   * expression on the {@link QueryExecutors#shared() shared query executor} while the calling thread is blocked.
+   */
+  SCHEDULED {
+    @Nonnull
+    @Override
+    Wait createWait(@Nonnull final Timeout timeout,
+                    @Nonnegative final double factor,
+                    @Nonnull final WaitFailStrategy failStrategy,
+                    @Nonnull final BackoffPolicy backoffPolicy) {
+      return new AsyncWait(timeout, factor, failStrategy, backoffPolicy, PollScheduler.shared(), QueryExecutors.shared());
+    }
+  },
+  /**
+   * Run each wait and its evaluations on a virtual thread while the calling thread is blocked.
+   * Requires a Java 21 runtime; falls back to {@link #SCHEDULED} otherwise.
+   */
+  VIRTUAL_THREAD {
+    @Nonnull
+    @Override
+    Wait createWait(@Nonnull final Timeout timeout,
+                    @Nonnegative final double factor,
+                    @Nonnull final WaitFailStrategy failStrategy,
+                    @Nonnull final BackoffPolicy backoffPolicy) {
+      if (VirtualThreadWait.isAvailable()) {
+        return new VirtualThreadWait(CALLER_THREAD.createWait(timeout, factor, failStrategy, backoffPolicy));
+      }
+      LOG.debug("Virtual threads not available. Falling back to {}.", SCHEDULED);
+      return SCHEDULED.createWait(timeout, factor, failStrategy, backoffPolicy);
+    }
+  };
+
+  private static final Logger LOG = LoggerFactory.getLogger(WaitExecutionMode.class);
+
+  /**
+   * <p>
+   * Create the wait to use in this mode.
+   * </p>
+   *
+   * @param timeout       the timeout
+   * @param factor        factor to apply to the timeout
+   * @param failStrategy  strategy to use on timeout
+   * @param backoffPolicy policy for the delays between two evaluations
+   * @return wait
+   */
+  @Nonnull
+  abstract Wait createWait(@Nonnull Timeout timeout,
+                           @Nonnegative double factor,
+                           @Nonnull WaitFailStrategy failStrategy,
+                           @Nonnull BackoffPolicy backoffPolicy);
+}
@@ -19,6 +19,8 @@
 
 package net.joala.condition.timing;
 
+import com.google.common.base.Supplier;
+import com.google.common.base.Suppliers;
 import net.joala.time.TimeFormat;
 import org.hamcrest.Description;
 import org.hamcrest.StringDescription;
@@ -28,6 +30,7 @@ import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import java.util.concurrent.TimeUnit;
 
+import static com.google.common.base.Preconditions.checkNotNull;
 import static net.joala.matcher.DescriptionUtil.describeTo;
 
 /**
@@ -35,10 +38,25 @@ import static net.joala.matcher.DescriptionUtil.describeTo;
  * Abstract implementation of {@link WaitFailStrategy}. Provides some commonly used
  * methods for fail strategy implementations.
  * </p>
+ * <p>
+ * Each part of a failure message, like the description of the input or of the last value, is truncated to
+ * {@link #MAX_DESCRIPTION_LENGTH} characters, so that huge values do not blow up the heap or the logs.
+ * </p>
+ * <p>
+ * If the wait passes a {@link PollHistory}, implementations pass it on to
+ * {@link #addTimeoutDescription(String, Object, Object, long, PollHistory)}, so that the timeout
+ * description ends with the history.
+ * </p>
  *
  * @since 8/27/12
  */
 public abstract class AbstractWaitFailStrategy implements WaitFailStrategy {
+  /**
+   * Maximum number of characters of each part of a failure message.
+   *
+   * @since 10/18/26
+   */
+  public static final int MAX_DESCRIPTION_LENGTH = 10_000;
 
   /**
    * <p>
@@ -57,15 +75,121 @@ public abstract class AbstractWaitFailStrategy implements WaitFailStrategy {
                                          @Nonnull final Object function,
                                          @Nonnull final Object input,
                                          @Nonnegative final long consumedMillis) {
+    return addTimeoutDescription(message, function, input, consumedMillis, null);
+  }
+
+  /**
+   * <p>
+   * Like {@link #addTimeoutDescription(String, Object, Object, long)} but ends with the given poll history.
+   * </p>
+   *
+   * @param message        original (plain) message
+   * @param function       function evaluated
+   * @param input          the input to the function
+   * @param consumedMillis how long it took until timeout
+   * @param history        history of the most recent polls; {@code null} if not recorded
+   * @return enhanced description
+   * @since 10/18/26
+   */
+  @Nonnull
+  protected String addTimeoutDescription(@Nullable final String message,
+                                         @Nonnull final Object function,
+                                         @Nonnull final Object input,
+                                         @Nonnegative final long consumedMillis,
+                                         @Nullable final PollHistory history) {
     final Description description = new StringDescription();
-    description.appendText(message == null ? "Failed to evaluate." : message);
+    description.appendText(message == null ? "Failed to evaluate." : TruncatingDescription.truncate(message, MAX_DESCRIPTION_LENGTH));
     description.appendText(" - after ");
     description.appendText(TimeFormat.format(consumedMillis, TimeUnit.MILLISECONDS));
     description.appendText(" evaluating ");
-    describeTo(description, function);
+    description.appendText(describe(function));
     description.appendText(" on ");
-    describeTo(description, input);
+    description.appendText(describe(input));
+    if (history != null) {
+      description.appendText(" - ");
+      description.appendText(describe(history));
+    }
+    return description.toString();
+  }
+
+  /**
+   * <p>
+   * Like {@link #addTimeoutDescription(String, Object, Object, long)} but only renders the description once
+   * it is requested, and only once. Thus failures which are thrown away, like expected timeouts, do not pay
+   * for describing possibly huge inputs.
+   * </p>
+   *
+   * @param message        supplies the original (plain) message; may supply {@code null}
+   * @param function       function evaluated
+   * @param input          the input to the function
+   * @param consumedMillis how long it took until timeout
+   * @return supplier of the enhanced description
+   * @since 10/18/26
+   */
+  @Nonnull
+  protected Supplier<String> lazyTimeoutDescription(@Nonnull final Supplier<String> message,
+                                                    @Nonnull final Object function,
+                                                    @Nonnull final Object input,
+                                                    @Nonnegative final long consumedMillis) {
+    return lazyTimeoutDescription(message, function, input, consumedMillis, null);
+  }
+
+  /**
+   * <p>
+   * Like {@link #lazyTimeoutDescription(Supplier, Object, Object, long)} but ends with the given poll history.
+   * </p>
+   *
+   * @param message        supplies the original (plain) message; may supply {@code null}
+   * @param function       function evaluated
+   * @param input          the input to the function
+   * @param consumedMillis how long it took until timeout
+   * @param history        history of the most recent polls; {@code null} if not recorded
+   * @return supplier of the enhanced description
+   * @since 10/18/26
+   */
+  @Nonnull
+  protected Supplier<String> lazyTimeoutDescription(@Nonnull final Supplier<String> message,
+                                                    @Nonnull final Object function,
+                                                    @Nonnull final Object input,
+                                                    @Nonnegative final long consumedMillis,
+                                                    @Nullable final PollHistory history) {
+    checkNotNull(message, "Message supplier must not be null.");
+    return Suppliers.memoize(() -> addTimeoutDescription(message.get(), function, input, consumedMillis, history));
+  }
+
+  @Nonnull
+  private static String describe(@Nullable final Object obj) {
+    final Description description = new TruncatingDescription(MAX_DESCRIPTION_LENGTH);
+    describeTo(description, obj);
     return description.toString();
   }
 
+  /**
+   * <p>
+   * Fails with a {@link WaitCancelledException}.
+   * </p>
+   */
+  @Override
+  public void cancelled(@Nullable final String reason,
+                        @Nonnull final Object function,
+                        @Nonnull final Object input,
+                        @Nonnegative final long consumedMillis) {
+    throw new WaitCancelledException(addTimeoutDescription(cancelledMessage(reason), function, input, consumedMillis));
+  }
+
+  @Nonnull
+  static String terminalMessage(@Nullable final String reason) {
+    return reason == null ? "Terminal state reached." : "Terminal state reached: " + reason;
+  }
+
+  @Nonnull
+  static String stalledMessage(@Nullable final String reason, @Nonnegative final long stallMillis) {
+    final String stalled = "No progress within " + TimeFormat.format(stallMillis, TimeUnit.MILLISECONDS);
+    return reason == null ? stalled + '.' : stalled + ": " + reason;
+  }
+
+  @Nonnull
+  static String cancelledMessage(@Nullable final String reason) {
+    return reason == null ? "Wait cancelled." : "Wait cancelled: " + reason;
+  }
 }
@@ -0,0 +1,537 @@
+/*
+ * Copyright 2026 CoreMedia AG
+ *
+ * This file is part of Joala.
+ *
+ * Joala is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Joala is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Joala.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package net.joala.condition.timing;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Function;
+import com.google.common.base.MoreObjects;
+import net.joala.time.DeadlineContext;
+import net.joala.time.Timeout;
+import net.joala.time.TimeoutImpl;
+import org.hamcrest.Matcher;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.Nonnegative;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * <p>
+ * A non-blocking variant of {@link DeceleratingWait}. Instead of parking the calling thread while
+ * waiting, each evaluation of the state query is scheduled on a {@link PollScheduler}, by default the
+ * {@link PollScheduler#shared() shared} one, and the result is signalled through a {@link CompletableFuture}.
+ * Thus many concurrent waits only occupy threads while they actually query the state.
+ * </p>
+ * <p>
+ * By default the scheduler is only used for timing and the state queries run on the
+ * {@link QueryExecutors#shared() shared query executor}, so that slow state queries cannot starve the
+ * few worker threads of the shared scheduler. Waits created with an explicit scheduler and without
+ * query executor run their state queries on the worker threads of that scheduler. In either case the
+ * state queries do not run in the waiting thread: its {@link DeadlineContext} is propagated, but other
+ * {@link ThreadLocal}s are not visible to the state queries.
+ * </p>
+ * <p>
+ * Polling uses the same {@link BackoffPolicy} as {@link DeceleratingWait}, but delays are rounded
+ * up to the tick duration of the scheduler. On timeout the {@link WaitFailStrategy} is called just
+ * as for the blocking wait; any exception it raises completes the future exceptionally.
+ * </p>
+ * <p>
+ * Cancelling the returned future or the {@link CancellationToken} passed to the wait stops any
+ * further evaluation of the state query.
+ * </p>
+ *
+ * @since 10/18/26
+ */
+public class AsyncWait implements Wait {
+  private static final Logger LOG = LoggerFactory.getLogger(AsyncWait.class);
+
+  @Nonnull
+  private final Timeout timeout;
+  @Nonnegative
+  private final double timeoutFactor;
+  @Nonnull
+  private final WaitFailStrategy failStrategy;
+  @Nonnull
+  private final BackoffPolicy backoffPolicy;
+  @Nonnull
+  private final PollScheduler scheduler;
+  @Nullable
+  private final Executor queryExecutor;
+
+  public AsyncWait() {
+    this(new TimeoutImpl(DeceleratingWait.DEFAULT_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS));
+  }
+
+  public AsyncWait(@Nonnull final Timeout timeout) {
+    this(timeout, new WaitTimeoutFailStrategy());
+  }
+
+  public AsyncWait(@Nonnull final Timeout timeout, @Nonnegative final double timeoutFactor) {
+    this(timeout, timeoutFactor, new WaitTimeoutFailStrategy());
+  }
+
+  public AsyncWait(@Nonnull final Timeout timeout, @Nonnull final WaitFailStrategy failStrategy) {
+    this(timeout, 1d, failStrategy);
+  }
+
+  public AsyncWait(@Nonnull final Timeout timeout, @Nonnegative final double timeoutFactor, @Nonnull final WaitFailStrategy failStrategy) {
+    this(timeout, timeoutFactor, failStrategy, BackoffPolicies.decelerating(), PollScheduler.shared(), QueryExecutors.shared());
+  }
+
+  /**
+   * <p>
+   * Create a wait which schedules its evaluations on the given scheduler and runs them on its worker threads.
+   * </p>
+   *
+   * @param timeout       the timeout
+   * @param timeoutFactor factor to apply to the timeout
+   * @param failStrategy  strategy to use on timeout
+   * @param scheduler     scheduler to run the state queries on
+   */
+  public AsyncWait(@Nonnull final Timeout timeout,
+                   @Nonnegative final double timeoutFactor,
+                   @Nonnull final WaitFailStrategy failStrategy,
+                   @Nonnull final PollScheduler scheduler) {
+    this(timeout, timeoutFactor, failStrategy, BackoffPolicies.decelerating(), scheduler);
+  }
+
+  /**
+   * <p>
+   * Create a wait which schedules its evaluations on the given scheduler using the given backoff policy
+   * and runs them on the worker threads of the scheduler.
+   * </p>
+   *
+   * @param timeout       the timeout
+   * @param timeoutFactor factor to apply to the timeout
+   * @param failStrategy  strategy to use on timeout
+   * @param backoffPolicy policy for the delays between two evaluations
+   * @param scheduler     scheduler to run the state queries on
+   */
+  public AsyncWait(@Nonnull final Timeout timeout,
+                   @Nonnegative final double timeoutFactor,
+                   @Nonnull final WaitFailStrategy failStrategy,
+                   @Nonnull final BackoffPolicy backoffPolicy,
+                   @Nonnull final PollScheduler scheduler) {
+    this(timeout, timeoutFactor, failStrategy, backoffPolicy, scheduler, null);
+  }
+
+  /**
+   * <p>
+   * Create a wait which only uses the given scheduler for timing and runs its evaluations on the given
+   * query executor.
+   * </p>
+   *
+   * @param timeout       the timeout
+   * @param timeoutFactor factor to apply to the timeout
+   * @param failStrategy  strategy to use on timeout
+   * @param backoffPolicy policy for the delays between two evaluations
+   * @param scheduler     scheduler to time the evaluations
+   * @param queryExecutor executor to run the state queries on; {@code null} to run them on the worker
+   *                      threads of the scheduler
+   * @see QueryExecutors#shared()
+   */
+  public AsyncWait(@Nonnull final Timeout timeout,
+                   @Nonnegative final double timeoutFactor,
+                   @Nonnull final WaitFailStrategy failStrategy,
+                   @Nonnull final BackoffPolicy backoffPolicy,
+                   @Nonnull final PollScheduler scheduler,
+                   @Nullable final Executor queryExecutor) {
+    checkNotNull(backoffPolicy, "Backoff policy must not be null.");
+    checkNotNull(scheduler, "Scheduler must not be null.");
+    this.timeout = timeout;
+    this.timeoutFactor = timeoutFactor;
+    this.failStrategy = failStrategy;
+    this.backoffPolicy = backoffPolicy;
+    this.scheduler = scheduler;
+    this.queryExecutor = queryExecutor;
+  }
+
+  /**
+   * Return the current value of a monotonic clock in nanoseconds. Overwrite for tests.
+   *
+   * @return the current time; only meaningful compared to other values of this method
+   */
+  @VisibleForTesting
+  protected long nowNanos() {
+    return System.nanoTime();
+  }
+
+  /**
+   * <p>
+   * Asynchronously wait until the given input passes its state query without ignorable exception.
+   * </p>
+   *
+   * @param input      the input to pass to the query function
+   * @param stateQuery the function to query the state of input
+   * @param <F>        the input type
+   * @param <T>        the return type of the state query
+   * @return future completed with the result of the successful state query
+   * @see #untilAsync(String, Object, Function, Matcher)
+   */
+  @Nonnull
+  public final <F, T> CompletableFuture<T> untilAsync(@Nonnull final F input, @Nonnull final Function<? super F, T> stateQuery) {
+    return untilAsync(null, input, stateQuery, null);
+  }
+
+  /**
+   * <p>
+   * Asynchronously wait until an expectation is met.
+   * </p>
+   *
+   * @param input      the input to pass to the query function
+   * @param stateQuery the function to query the state of input
+   * @param matcher    the matcher to validate the result of the query; {@code null} to match any returned value
+   * @param <F>        the input type
+   * @param <T>        the return type of the state query
+   * @return future completed with the result of the successful state query
+   * @see #untilAsync(String, Object, Function, Matcher)
+   */
+  @Nonnull
+  public final <F, T> CompletableFuture<T> untilAsync(@Nonnull final F input,
+                                                      @Nonnull final Function<? super F, T> stateQuery,
+                                                      @Nullable final Matcher<? super T> matcher) {
+    return untilAsync(null, input, stateQuery, matcher);
+  }
+
+  /**
+   * <p>
+   * Asynchronously wait until an expectation is met. The first evaluation is scheduled immediately,
+   * subsequent evaluations are scheduled with delays as defined by the backoff policy.
+   * </p>
+   *
+   * @param message    the message to print on failure; {@code null} for no additional message
+   * @param input      the input to pass to the query function
+   * @param stateQuery the function to query the state of input
+   * @param matcher    the matcher to validate the result of the query; {@code null} to match any returned value
+   * @param <F>        the input type
+   * @param <T>        the return type of the state query
+   * @return future completed with the result of the successful state query or completed exceptionally
+   * with the exception raised by the {@link WaitFailStrategy}
+   */
+  @Nonnull
+  public final <F, T> CompletableFuture<T> untilAsync(@Nullable final String message,
+                                                      @Nonnull final F input,
+                                                      @Nonnull final Function<? super F, T> stateQuery,
+                                                      @Nullable final Matcher<? super T> matcher) {
+    return untilAsync(message, input, stateQuery, matcher, null);
+  }
+
+  /**
+   * <p>
+   * Asynchronously wait until an expectation is met or the given token gets cancelled. On cancellation
+   * no further evaluation is scheduled and the future is completed exceptionally with the exception
+   * raised by {@link WaitFailStrategy#cancelled(String, Object, Object, long)}.
+   * </p>
+   *
+   * @param message      the message to print on failure; {@code null} for no additional message
+   * @param input        the input to pass to the query function
+   * @param stateQuery   the function to query the state of input
+   * @param matcher      the matcher to validate the result of the query; {@code null} to match any returned value
+   * @param cancellation token to cancel the wait; {@code null} if only cancelled via the future
+   * @param <F>          the input type
+   * @param <T>          the return type of the state query
+   * @return future completed with the result of the successful state query or completed exceptionally
+   * with the exception raised by the {@link WaitFailStrategy}
+   */
+  @Nonnull
+  public <F, T> CompletableFuture<T> untilAsync(@Nullable final String message,
+                                                @Nonnull final F input,
+                                                @Nonnull final Function<? super F, T> stateQuery,
+                                                @Nullable final Matcher<? super T> matcher,
+                                                @Nullable final CancellationToken cancellation) {
+    return startPoll(message, input, stateQuery, matcher, cancellation).future;
+  }
+
+  @Nonnull
+  private <F, T> Poll<F, T> startPoll(@Nullable final String message,
+                                      @Nonnull final F input,
+                                      @Nonnull final Function<? super F, T> stateQuery,
+                                      @Nullable final Matcher<? super T> matcher,
+                                      @Nullable final CancellationToken cancellation) {
+    final long startTimeNanos = nowNanos();
+    final long timeoutNanos = timeout.in(TimeUnit.NANOSECONDS, timeoutFactor);
+    if (LOG.isDebugEnabled()) {
+      LOG.debug("Start asynchronously waiting for:");
+      LOG.debug("  state query: .... {}", stateQuery);
+      LOG.debug("  matcher: ........ {}", matcher);
+      LOG.debug("  timeout (ms): ... {}", TimeUnit.NANOSECONDS.toMillis(timeoutNanos));
+    }
+    final CompletableFuture<T> future = new CompletableFuture<>();
+    final Poll<F, T> poll = new Poll<>(message, input, stateQuery, matcher, future, startTimeNanos, startTimeNanos + timeoutNanos);
+    if (cancellation != null) {
+      final Runnable onCancel = poll::cancelled;
+      cancellation.addListener(onCancel);
+      future.whenComplete((result, failure) -> cancellation.removeListener(onCancel));
+    }
+    future.whenComplete((result, failure) -> poll.cancel());
+    poll.start();
+    return poll;
+  }
+
+  @Override
+  public final <F, T> T until(@Nonnull final F input, @Nonnull final Function<? super F, T> stateQuery) {
+    return until(null, input, stateQuery, null);
+  }
+
+  @Override
+  public final <F, T> T until(@Nonnull final F input, @Nonnull final Function<? super F, T> stateQuery, @Nullable final Matcher<? super T> matcher) {
+    return until(null, input, stateQuery, matcher);
+  }
+
+  /**
+   * <p>
+   * Blocks until the asynchronous wait is done. If the waiting thread gets interrupted the wait is
+   * cancelled.
+   * </p>
+   */
+  @Override
+  public <F, T> T until(@Nullable final String message,
+                        @Nonnull final F input,
+                        @Nonnull final Function<? super F, T> stateQuery,
+                        @Nullable final Matcher<? super T> matcher) {
+    return until(message, input, stateQuery, matcher, null);
+  }
+
+  /**
+   * <p>
+   * Blocks until the asynchronous wait is done. If the waiting thread gets interrupted the wait is
+   * cancelled and the cancellation is reported to {@link WaitFailStrategy#cancelled(String, Object, Object, long)}.
+   * </p>
+   */
+  @Override
+  public <F, T> T until(@Nullable final String message,
+                        @Nonnull final F input,
+                        @Nonnull final Function<? super F, T> stateQuery,
+                        @Nullable final Matcher<? super T> matcher,
+                        @Nullable final CancellationToken cancellation) {
+    final Poll<F, T> poll = startPoll(message, input, stateQuery, matcher, cancellation);
+    return WaitFutures.await(poll.future, poll::cancelled);
+  }
+
+  @Override
+  public String toString() {
+    return MoreObjects.toStringHelper(this)
+                      .add("timeout", timeout)
+                      .add("timeoutFactor", timeoutFactor)
+                      .add("failStrategy", failStrategy)
+                      .add("backoffPolicy", backoffPolicy)
+                      .add("scheduler", scheduler)
+                      .add("queryExecutor", queryExecutor)
+                      .toString();
+  }
+
+  /**
+   * <p>
+   * A single asynchronous wait. Each run evaluates the state query once and either completes the
+   * future or schedules itself again.
+   * </p>
+   *
+   * @param <F> the input type
+   * @param <T> the return type of the state query
+   */
+  private final class Poll<F, T> implements Runnable {
+    @Nullable
+    private final String message;
+    @Nonnull
+    private final F input;
+    @Nonnull
+    private final Function<? super F, T> stateQuery;
+    @Nullable
+    private final Matcher<? super T> matcher;
+    @Nonnull
+    private final CompletableFuture<T> future;
+    private final long startTimeNanos;
+    private final long deadlineTimeNanos;
+    private final BackoffPolicy.Backoff backoff = backoffPolicy.start();
+    /**
+     * This poll, running in the deadline context of the thread which started the wait.
+     */
+    @Nonnull
+    private final Runnable task = DeadlineContext.propagate(this);
+    /**
+     * Run by the scheduler when the poll is due.
+     */
+    @Nonnull
+    private final Runnable due = queryExecutor == null ? task : this::dispatch;
+    @Nullable
+    private IgnorableStateQueryException lastException;
+    @Nullable
+    private T lastState;
+    @Nullable
+    private volatile PollScheduler.ScheduledPoll scheduled;
+    @Nullable
+    private final WaitObservation observation;
+
+    private Poll(@Nullable final String message,
+                 @Nonnull final F input,
+                 @Nonnull final Function<? super F, T> stateQuery,
+                 @Nullable final Matcher<? super T> matcher,
+                 @Nonnull final CompletableFuture<T> future,
+                 final long startTimeNanos,
+                 final long deadlineTimeNanos) {
+      this.message = message;
+      this.input = input;
+      this.stateQuery = stateQuery;
+      this.matcher = matcher;
+      this.future = future;
+      this.startTimeNanos = startTimeNanos;
+      this.deadlineTimeNanos = deadlineTimeNanos;
+      observation = WaitListeners.observe(message, stateQuery, input, startTimeNanos, deadlineTimeNanos - startTimeNanos, timeoutFactor);
+    }
+
+    private void start() {
+      final long initialDelayNanos = backoff.initialDelayNanos();
+      schedule(initialDelayNanos > 0L ? DeceleratingWait.boundedDelayNanos(initialDelayNanos, deadlineTimeNanos, startTimeNanos) : 0L);
+    }
+
+    @Override
+    public void run() {
+      if (future.isDone()) {
+        return;
+      }
+      try {
+        poll();
+      } catch (RuntimeException | Error e) {
+        future.completeExceptionally(e);
+      }
+    }
+
+    private void poll() {
+      final long beforeEvaluationTimeNanos = nowNanos();
+      boolean evaluated = false;
+      if (observation != null) {
+        observation.pollStarted();
+      }
+      try {
+        final T result = stateQuery.apply(input);
+        if (matcher == null || matcher.matches(result)) {
+          if (observation != null) {
+            final long afterEvaluationTimeNanos = nowNanos();
+            observation.polled(afterEvaluationTimeNanos - beforeEvaluationTimeNanos, WaitListener.PollOutcome.MATCHED);
+            observation.succeeded(afterEvaluationTimeNanos);
+          }
+          future.complete(result);
+          return;
+        }
+        lastState = result;
+        evaluated = true;
+      } catch (IgnorableStateQueryException e) {
+        LOG.trace("Ignoring exception for now. Might rethrow later if failed with error.", e);
+        lastException = e;
+        if (observation != null) {
+          observation.exceptionIgnored(e);
+        }
+      } catch (TerminalStateException e) {
+        if (observation != null) {
+          final long afterEvaluationTimeNanos = nowNanos();
+          observation.polled(afterEvaluationTimeNanos - beforeEvaluationTimeNanos, WaitListener.PollOutcome.TERMINAL);
+          observation.aborted(afterEvaluationTimeNanos);
+        }
+        failStrategy.terminal(message, stateQuery, input, e.getState(), e.getTerminalMatcher(), consumedMillis());
+        throw e;
+      } catch (RuntimeException | Error e) {
+        // Unexpected failures of the state query or matcher end the wait, too.
+        if (observation != null) {
+          observation.aborted(nowNanos());
+        }
+        throw e;
+      }
+      final long afterEvaluationTimeNanos = nowNanos();
+      if (observation != null) {
+        observation.polled(afterEvaluationTimeNanos - beforeEvaluationTimeNanos,
+                evaluated ? WaitListener.PollOutcome.MISMATCHED : WaitListener.PollOutcome.IGNORED_EXCEPTION);
+      }
+      if (evaluated) {
+        backoff.observe(afterEvaluationTimeNanos, lastState);
+      }
+      if (afterEvaluationTimeNanos - deadlineTimeNanos > 0L) {
+        failAtDeadline();
+      }
+      final long delay = backoff.nextDelayNanos(afterEvaluationTimeNanos - beforeEvaluationTimeNanos);
+      schedule(DeceleratingWait.boundedDelayNanos(delay, deadlineTimeNanos, afterEvaluationTimeNanos));
+    }
+
+    private void failAtDeadline() {
+      if (observation != null) {
+        observation.timedOut(nowNanos());
+      }
+      final long consumedMillis = consumedMillis();
+      if (lastException == null) {
+        failStrategy.fail(message, stateQuery, input, lastState, matcher, consumedMillis);
+      } else {
+        failStrategy.fail(message, stateQuery, input, lastException, consumedMillis);
+      }
+    }
+
+    private void dispatch() {
+      try {
+        queryExecutor.execute(task);
+      } catch (RejectedExecutionException e) {
+        LOG.debug("Query executor rejected poll. Cancelling wait.", e);
+        cancelled();
+      }
+    }
+
+    private void cancelled() {
+      if (future.isDone()) {
+        return;
+      }
+      if (observation != null) {
+        observation.aborted(nowNanos());
+      }
+      try {
+        failStrategy.cancelled(message, stateQuery, input, consumedMillis());
+        future.completeExceptionally(new WaitCancelledException(AbstractWaitFailStrategy.cancelledMessage(message)));
+      } catch (RuntimeException | Error e) {
+        future.completeExceptionally(e);
+      }
+    }
+
+    private long consumedMillis() {
+      return TimeUnit.NANOSECONDS.toMillis(nowNanos() - startTimeNanos);
+    }
+
+    private void schedule(final long delayNanos) {
+      try {
+        scheduled = scheduler.schedule(due, this::cancelled, delayNanos, TimeUnit.NANOSECONDS);
+      } catch (IllegalStateException e) {
+        if (!scheduler.isShutdown()) {
+          throw e;
+        }
+        LOG.debug("Scheduler has been shut down. Cancelling wait.", e);
+        cancelled();
+      }
+    }
+
+    private void cancel() {
+      final PollScheduler.ScheduledPoll current = scheduled;
+      if (current != null) {
+        current.cancel();
+      }
+    }
+  }
+}
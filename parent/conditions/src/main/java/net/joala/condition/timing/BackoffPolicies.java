@@ -0,0 +1,464 @@
+/*
+ * Copyright 2026 CoreMedia AG
+ *
+ * This file is part of Joala.
+ *
+ * Joala is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Joala is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Joala.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package net.joala.condition.timing;
+
+import com.google.common.base.MoreObjects;
+import com.google.common.math.LongMath;
+
+import javax.annotation.Nonnegative;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.ToDoubleFunction;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * <p>
+ * Built-in implementations of {@link BackoffPolicy}.
+ * </p>
+ *
+ * @since 10/18/26
+ */
+public final class BackoffPolicies {
+  private static final BackoffPolicy DECELERATING =
+          new ExponentialBackoffPolicy(TimeUnit.MILLISECONDS.toNanos(DeceleratingWait.INITIAL_DELAY),
+                                     DeceleratingWait.DECELERATION_FACTOR,
+                                     Long.MAX_VALUE);
+
+  private BackoffPolicies() {
+  }
+
+  /**
+   * <p>
+   * The default policy of {@link DeceleratingWait}: starting with 10 ms the delay grows by 10 % with each
+   * evaluation. The delay is never shorter than the last evaluation took.
+   * </p>
+   *
+   * @return decelerating policy
+   */
+  @Nonnull
+  public static BackoffPolicy decelerating() {
+    return DECELERATING;
+  }
+
+  /**
+   * <p>
+   * Exponentially growing delays up to a maximum delay. With each evaluation the delay is multiplied by the
+   * given factor. The delay is never shorter than the last evaluation took. Delays may be as short as a
+   * few microseconds, which is useful to poll in-process state.
+   * </p>
+   *
+   * @param initialDelay delay after the first evaluation; must be positive
+   * @param factor       factor to multiply the delay with after each evaluation; must be at least 1
+   * @param maxDelay     maximum delay; must not be shorter than the initial delay
+   * @param unit         unit of the delays
+   * @return exponential policy
+   */
+  @Nonnull
+  public static BackoffPolicy exponential(@Nonnegative final long initialDelay,
+                                          final double factor,
+                                          @Nonnegative final long maxDelay,
+                                          @Nonnull final TimeUnit unit) {
+    checkNotNull(unit, "Time unit must not be null.");
+    checkArgument(factor >= 1d, "Factor must be at least 1: %s", factor);
+    checkDelayRange(initialDelay, maxDelay);
+    return new ExponentialBackoffPolicy(checkedNanos(initialDelay, unit), factor, checkedNanos(maxDelay, unit));
+  }
+
+  /**
+   * <p>
+   * Randomized delays as described as <em>decorrelated jitter</em> for exponential backoff: each delay is
+   * chosen randomly between the base delay and three times the previous delay but never exceeds the
+   * maximum delay. Useful to spread the load of many concurrent waits on the same backend.
+   * </p>
+   *
+   * @param baseDelay minimum delay; must be positive
+   * @param maxDelay  maximum delay; must not be shorter than the base delay
+   * @param unit      unit of the delays
+   * @return jitter policy
+   */
+  @Nonnull
+  public static BackoffPolicy decorrelatedJitter(@Nonnegative final long baseDelay,
+                                                 @Nonnegative final long maxDelay,
+                                                 @Nonnull final TimeUnit unit) {
+    checkNotNull(unit, "Time unit must not be null.");
+    checkDelayRange(baseDelay, maxDelay);
+    return new DecorrelatedJitterBackoffPolicy(checkedNanos(baseDelay, unit), checkedNanos(maxDelay, unit));
+  }
+
+  /**
+   * <p>
+   * Delays following the Fibonacci sequence (1, 1, 2, 3, 5, ...) multiplied by the given initial
+   * delay up to a maximum delay. Grows slower than exponential policies with a factor of 2. The delay is
+   * never shorter than the last evaluation took.
+   * </p>
+   *
+   * @param initialDelay delay after the first evaluation; must be positive
+   * @param maxDelay     maximum delay; must not be shorter than the initial delay
+   * @param unit         unit of the delays
+   * @return fibonacci policy
+   */
+  @Nonnull
+  public static BackoffPolicy fibonacci(@Nonnegative final long initialDelay,
+                                        @Nonnegative final long maxDelay,
+                                        @Nonnull final TimeUnit unit) {
+    checkNotNull(unit, "Time unit must not be null.");
+    checkDelayRange(initialDelay, maxDelay);
+    return new FibonacciBackoffPolicy(checkedNanos(initialDelay, unit), checkedNanos(maxDelay, unit));
+  }
+
+  /**
+   * <p>
+   * Start evaluations at a fixed rate, i. e. the time the evaluation took is subtracted from the delay.
+   * If an evaluation takes longer than the period the next evaluation starts immediately.
+   * </p>
+   *
+   * @param period period between the start of two evaluations; must be positive
+   * @param unit   unit of the period
+   * @return fixed-rate policy
+   */
+  @Nonnull
+  public static BackoffPolicy fixedRate(@Nonnegative final long period, @Nonnull final TimeUnit unit) {
+    checkNotNull(unit, "Time unit must not be null.");
+    return new FixedRateBackoffPolicy(checkedPositiveNanos(period, unit));
+  }
+
+  /**
+   * <p>
+   * Wait a fixed delay between the end of one evaluation and the start of the next one.
+   * </p>
+   *
+   * @param delay delay between two evaluations; must be positive
+   * @param unit  unit of the delay
+   * @return fixed-delay policy
+   */
+  @Nonnull
+  public static BackoffPolicy fixedDelay(@Nonnegative final long delay, @Nonnull final TimeUnit unit) {
+    checkNotNull(unit, "Time unit must not be null.");
+    return new FixedDelayBackoffPolicy(checkedPositiveNanos(delay, unit));
+  }
+
+  /**
+   * <p>
+   * Adaptive policy for numeric states which converge roughly linearly towards a target value.
+   * </p>
+   *
+   * @param target   the value the state converges to
+   * @param maxDelay maximum delay, even if the target is predicted to be reached later; must be positive
+   * @param unit     unit of the maximum delay
+   * @return converging policy
+   * @see #converging(Class, ToDoubleFunction, double, long, TimeUnit)
+   */
+  @Nonnull
+  public static BackoffPolicy converging(final double target, @Nonnegative final long maxDelay, @Nonnull final TimeUnit unit) {
+    return converging(Number.class, Number::doubleValue, target, maxDelay, unit);
+  }
+
+  /**
+   * <p>
+   * Adaptive policy for states which converge roughly linearly towards a target value, like queue lengths,
+   * numbers of indexed documents or replication lags. The policy takes samples of the progress of the
+   * recently evaluated states, extrapolates when the target will be reached and sleeps until just before
+   * that time. This reduces the number of evaluations for slowly converging states as well as the
+   * latency to detect the target state once the states converge. As long as no prediction is possible,
+   * the policy behaves like {@link #decelerating()}.
+   * </p>
+   *
+   * @param stateType type of states to take samples from; other states are ignored
+   * @param progress  function to extract the progress value from a state
+   * @param target    the progress value the states converge to
+   * @param maxDelay  maximum delay, even if the target is predicted to be reached later; must be positive
+   * @param unit      unit of the maximum delay
+   * @param <T>       type of states
+   * @return converging policy
+   */
+  @Nonnull
+  public static <T> BackoffPolicy converging(@Nonnull final Class<T> stateType,
+                                             @Nonnull final ToDoubleFunction<? super T> progress,
+                                             final double target,
+                                             @Nonnegative final long maxDelay,
+                                             @Nonnull final TimeUnit unit) {
+    checkNotNull(stateType, "State type must not be null.");
+    checkNotNull(progress, "Progress function must not be null.");
+    checkNotNull(unit, "Time unit must not be null.");
+    return new ConvergingBackoffPolicy<>(stateType, progress, target, checkedPositiveNanos(maxDelay, unit), DECELERATING);
+  }
+
+  /**
+   * <p>
+   * Delay the first evaluation by the given offset and continue with the delays of the given policy.
+   * Useful if the expected state is known to take some time, so that evaluating right away would only
+   * cause load.
+   * </p>
+   *
+   * @param offset delay before the first evaluation
+   * @param unit   unit of the offset
+   * @param policy policy for the delays after the first evaluation
+   * @return offset policy
+   */
+  @Nonnull
+  public static BackoffPolicy offset(@Nonnegative final long offset, @Nonnull final TimeUnit unit, @Nonnull final BackoffPolicy policy) {
+    checkNotNull(unit, "Time unit must not be null.");
+    checkNotNull(policy, "Backoff policy must not be null.");
+    return new OffsetBackoffPolicy(checkedNanos(offset, unit), policy);
+  }
+
+  private static long checkedNanos(final long amount, @Nonnull final TimeUnit unit) {
+    checkArgument(amount >= 0L, "Delay must not be negative: %s", amount);
+    return unit.toNanos(amount);
+  }
+
+  /**
+   * Zero delays would poll busily, thus all policies except for the offset require positive delays.
+   */
+  private static long checkedPositiveNanos(final long amount, @Nonnull final TimeUnit unit) {
+    checkArgument(amount > 0L, "Delay must be positive: %s", amount);
+    return unit.toNanos(amount);
+  }
+
+  private static void checkDelayRange(final long initialDelay, final long maxDelay) {
+    checkArgument(initialDelay > 0L, "Initial delay must be positive: %s", initialDelay);
+    checkArgument(initialDelay <= maxDelay, "Initial delay %s must not exceed max delay %s.", initialDelay, maxDelay);
+  }
+
+  private static final class ExponentialBackoffPolicy implements BackoffPolicy {
+    private final long initialDelayNanos;
+    private final double factor;
+    private final long maxDelayNanos;
+
+    private ExponentialBackoffPolicy(final long initialDelayNanos, final double factor, final long maxDelayNanos) {
+      this.initialDelayNanos = initialDelayNanos;
+      this.factor = factor;
+      this.maxDelayNanos = maxDelayNanos;
+    }
+
+    @Nonnull
+    @Override
+    public Backoff start() {
+      return new Backoff() {
+        private long delay = initialDelayNanos;
+
+        @Override
+        public long nextDelayNanos(final long lastEvaluationNanos) {
+          // Leave at least as much time between two checks as the check itself took.
+          final long result = Math.min(Math.max(delay, lastEvaluationNanos), maxDelayNanos);
+          // Make checks less and less frequently, but wait at least a bit longer next time.
+          delay = Math.min(Math.max(result + 1, (long) (result * factor)), maxDelayNanos);
+          return result;
+        }
+      };
+    }
+
+    @Override
+    public String toString() {
+      return MoreObjects.toStringHelper(this)
+                        .add("initialDelayNanos", initialDelayNanos)
+                        .add("factor", factor)
+                        .add("maxDelayNanos", maxDelayNanos)
+                        .toString();
+    }
+  }
+
+  private static final class DecorrelatedJitterBackoffPolicy implements BackoffPolicy {
+    private final long baseDelayNanos;
+    private final long maxDelayNanos;
+
+    private DecorrelatedJitterBackoffPolicy(final long baseDelayNanos, final long maxDelayNanos) {
+      this.baseDelayNanos = baseDelayNanos;
+      this.maxDelayNanos = maxDelayNanos;
+    }
+
+    @Nonnull
+    @Override
+    public Backoff start() {
+      return new Backoff() {
+        private long delay = baseDelayNanos;
+
+        @Override
+        public long nextDelayNanos(final long lastEvaluationNanos) {
+          final long upperBound = Math.max(baseDelayNanos, Math.min(maxDelayNanos, LongMath.saturatedMultiply(delay, 3L)));
+          delay = upperBound > baseDelayNanos ? ThreadLocalRandom.current().nextLong(baseDelayNanos, upperBound + 1) : baseDelayNanos;
+          return delay;
+        }
+      };
+    }
+
+    @Override
+    public String toString() {
+      return MoreObjects.toStringHelper(this)
+                        .add("baseDelayNanos", baseDelayNanos)
+                        .add("maxDelayNanos", maxDelayNanos)
+                        .toString();
+    }
+  }
+
+  private static final class FibonacciBackoffPolicy implements BackoffPolicy {
+    private final long initialDelayNanos;
+    private final long maxDelayNanos;
+
+    private FibonacciBackoffPolicy(final long initialDelayNanos, final long maxDelayNanos) {
+      this.initialDelayNanos = initialDelayNanos;
+      this.maxDelayNanos = maxDelayNanos;
+    }
+
+    @Nonnull
+    @Override
+    public Backoff start() {
+      return new Backoff() {
+        private long previous;
+        private long current = initialDelayNanos;
+
+        @Override
+        public long nextDelayNanos(final long lastEvaluationNanos) {
+          // Leave at least as much time between two checks as the check itself took.
+          final long result = Math.min(Math.max(current, lastEvaluationNanos), maxDelayNanos);
+          if (current < maxDelayNanos) {
+            final long next = LongMath.saturatedAdd(previous, current);
+            previous = current;
+            current = next;
+          }
+          return result;
+        }
+      };
+    }
+
+    @Override
+    public String toString() {
+      return MoreObjects.toStringHelper(this)
+                        .add("initialDelayNanos", initialDelayNanos)
+                        .add("maxDelayNanos", maxDelayNanos)
+                        .toString();
+    }
+  }
+
+  private static final class FixedRateBackoffPolicy implements BackoffPolicy, BackoffPolicy.Backoff {
+    private final long periodNanos;
+
+    private FixedRateBackoffPolicy(final long periodNanos) {
+      this.periodNanos = periodNanos;
+    }
+
+    @Nonnull
+    @Override
+    public Backoff start() {
+      return this;
+    }
+
+    @Override
+    public long nextDelayNanos(final long lastEvaluationNanos) {
+      return Math.max(0L, periodNanos - lastEvaluationNanos);
+    }
+
+    @Override
+    public String toString() {
+      return MoreObjects.toStringHelper(this)
+                        .add("periodNanos", periodNanos)
+                        .toString();
+    }
+  }
+
+  private static final class FixedDelayBackoffPolicy implements BackoffPolicy, BackoffPolicy.Backoff {
+    private final long delayNanos;
+
+    private FixedDelayBackoffPolicy(final long delayNanos) {
+      this.delayNanos = delayNanos;
+    }
+
+    @Nonnull
+    @Override
+    public Backoff start() {
+      return this;
+    }
+
+    @Override
+    public long nextDelayNanos(final long lastEvaluationNanos) {
+      return delayNanos;
+    }
+
+    @Override
+    public String toString() {
+      return MoreObjects.toStringHelper(this)
+                        .add("delayNanos", delayNanos)
+                        .toString();
+    }
+  }
+
+  private static final class OffsetBackoffPolicy implements BackoffPolicy {
+    private final long offsetNanos;
+    @Nonnull
+    private final BackoffPolicy policy;
+
+    private OffsetBackoffPolicy(final long offsetNanos, @Nonnull final BackoffPolicy policy) {
+      this.offsetNanos = offsetNanos;
+      this.policy = policy;
+    }
+
+    @Nonnull
+    @Override
+    public Backoff start() {
+      return new OffsetBackoff(offsetNanos, policy.start());
+    }
+
+    @Override
+    public String toString() {
+      return MoreObjects.toStringHelper(this)
+                        .add("offsetNanos", offsetNanos)
+                        .add("policy", policy)
+                        .toString();
+    }
+  }
+
+  private static final class OffsetBackoff implements BackoffPolicy.Backoff {
+    private final long offsetNanos;
+    @Nonnull
+    private final BackoffPolicy.Backoff backoff;
+
+    private OffsetBackoff(final long offsetNanos, @Nonnull final BackoffPolicy.Backoff backoff) {
+      this.offsetNanos = offsetNanos;
+      this.backoff = backoff;
+    }
+
+    @Override
+    public long initialDelayNanos() {
+      return offsetNanos;
+    }
+
+    @Override
+    public long nextDelayNanos(final long lastEvaluationNanos) {
+      return backoff.nextDelayNanos(lastEvaluationNanos);
+    }
+
+    @Override
+    public void observe(final long timeNanos, @Nullable final Object state) {
+      backoff.observe(timeNanos, state);
+    }
+
+    @Override
+    public String toString() {
+      return MoreObjects.toStringHelper(this)
+                        .add("offsetNanos", offsetNanos)
+                        .add("backoff", backoff)
+                        .toString();
+    }
+  }
+}
@@ -0,0 +1,94 @@
+/*
+ * Copyright 2026 CoreMedia AG
+ *
+ * This file is part of Joala.
+ *
+ * Joala is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Joala is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Joala.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package net.joala.condition.timing;
+
+import javax.annotation.Nonnegative;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+/**
+ * <p>
+ * Policy which defines how long a wait pauses between two subsequent evaluations of its state query.
+ * Tuning the policy allows to trade the load caused by polling against the latency to detect that
+ * the expected state has been reached.
+ * </p>
+ * <p>
+ * Policies are immutable and may be shared by several waits. For each wait the policy
+ * {@link #start() starts} a new {@link Backoff} which holds the state of this very wait.
+ * </p>
+ *
+ * @see BackoffPolicies
+ * @since 10/18/26
+ */
+public interface BackoffPolicy {
+  /**
+   * <p>
+   * Start the backoff for a new wait.
+   * </p>
+   *
+   * @return backoff for a single wait
+   */
+  @Nonnull
+  Backoff start();
+
+  /**
+   * <p>
+   * The backoff of a single wait. Only used by one thread at a time.
+   * </p>
+   */
+  interface Backoff {
+    /**
+     * <p>
+     * Delay before the first evaluation. Policies which know that the expected state cannot be
+     * reached right away may skip early evaluations. Defaults to no delay.
+     * </p>
+     *
+     * @return nanoseconds to wait before the first evaluation
+     */
+    @Nonnegative
+    default long initialDelayNanos() {
+      return 0L;
+    }
+
+    /**
+     * <p>
+     * Calculate the delay before the next evaluation.
+     * </p>
+     *
+     * @param lastEvaluationNanos how long the last evaluation of the state query took, in nanoseconds
+     * @return nanoseconds to wait before the next evaluation
+     */
+    @Nonnegative
+    long nextDelayNanos(@Nonnegative long lastEvaluationNanos);
+
+    /**
+     * <p>
+     * Called for each state which got evaluated but did not match yet, before the next delay is
+     * calculated. Adaptive policies may use the states to predict when the expected state will be
+     * reached. Does nothing by default.
+     * </p>
+     *
+     * @param timeNanos time when the evaluation finished as returned by {@link System#nanoTime()}
+     * @param state     the evaluated state
+     */
+    default void observe(final long timeNanos, @Nullable final Object state) {
+    }
+  }
+}
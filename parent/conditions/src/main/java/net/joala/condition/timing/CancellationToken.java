@@ -0,0 +1,135 @@
+/*
+ * Copyright 2026 CoreMedia AG
+ *
+ * This file is part of Joala.
+ *
+ * Joala is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Joala is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Joala.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package net.joala.condition.timing;
+
+import com.google.common.base.MoreObjects;
+
+import javax.annotation.Nonnull;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * <p>
+ * Token to cancel waits from outside, for example when shutting down a test run. Pass the token to
+ * {@link Wait#until(String, Object, com.google.common.base.Function, org.hamcrest.Matcher, CancellationToken)}
+ * and call {@link #cancel()} from any thread. A waiting thread stops sleeping immediately, does not
+ * evaluate its state query again and reports the cancellation through
+ * {@link WaitFailStrategy#cancelled(String, Object, Object, long)}.
+ * </p>
+ * <p>
+ * A token can be shared by any number of waits. Once cancelled it stays cancelled.
+ * </p>
+ *
+ * @since 10/18/26
+ */
+public final class CancellationToken {
+  @Nonnull
+  private final CountDownLatch cancelled = new CountDownLatch(1);
+  @Nonnull
+  private final Collection<Runnable> listeners = new ArrayList<>();
+
+  /**
+   * <p>
+   * Cancel all waits using this token. Subsequent calls have no effect.
+   * </p>
+   */
+  public void cancel() {
+    final Collection<Runnable> toNotify;
+    synchronized (listeners) {
+      if (isCancelled()) {
+        return;
+      }
+      cancelled.countDown();
+      toNotify = new ArrayList<>(listeners);
+      listeners.clear();
+    }
+    for (final Runnable listener : toNotify) {
+      listener.run();
+    }
+  }
+
+  /**
+   * <p>
+   * Signals if the token got cancelled.
+   * </p>
+   *
+   * @return {@code true} if cancelled
+   */
+  public boolean isCancelled() {
+    return cancelled.getCount() == 0L;
+  }
+
+  /**
+   * <p>
+   * Sleep until the given time passed or the token got cancelled.
+   * </p>
+   *
+   * @param timeout the maximum time to sleep
+   * @param unit    the unit of the timeout
+   * @return {@code true} if the token got cancelled
+   * @throws InterruptedException if the current thread got interrupted
+   */
+  boolean await(final long timeout, @Nonnull final TimeUnit unit) throws InterruptedException {
+    return cancelled.await(timeout, unit);
+  }
+
+  /**
+   * <p>
+   * Register a listener to run on cancellation. If the token is already cancelled the listener
+   * runs immediately.
+   * </p>
+   *
+   * @param listener the listener to run
+   */
+  void addListener(@Nonnull final Runnable listener) {
+    checkNotNull(listener, "Listener must not be null.");
+    synchronized (listeners) {
+      if (!isCancelled()) {
+        listeners.add(listener);
+        return;
+      }
+    }
+    listener.run();
+  }
+
+  /**
+   * <p>
+   * Remove a listener which is no longer interested in cancellation.
+   * </p>
+   *
+   * @param listener the listener to remove
+   */
+  void removeListener(@Nonnull final Runnable listener) {
+    synchronized (listeners) {
+      listeners.remove(listener);
+    }
+  }
+
+  @Override
+  public String toString() {
+    return MoreObjects.toStringHelper(this)
+                      .add("cancelled", isCancelled())
+                      .toString();
+  }
+}
@@ -0,0 +1,170 @@
+/*
+ * Copyright 2026 CoreMedia AG
+ *
+ * This file is part of Joala.
+ *
+ * Joala is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Joala is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Joala.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package net.joala.condition.timing;
+
+import jdk.jfr.EventType;
+import jdk.jfr.FlightRecorder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.Nonnegative;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+/**
+ * <p>
+ * Emits the Flight Recorder events {@link ConditionWaitEvent} and {@link ConditionPollEvent}.
+ * </p>
+ * <p>
+ * As long as the Flight Recorder has not been initialized, checking for recordings is a single volatile
+ * read. The event types get registered on the first check after initialization; from then on events are
+ * only created while a recording has enabled them. Thus waits do not allocate anything for the events
+ * unless they are recorded.
+ * </p>
+ *
+ * @since 10/18/26
+ */
+final class ConditionEvents {
+  private static final Logger LOG = LoggerFactory.getLogger(ConditionEvents.class);
+  private static final boolean AVAILABLE = isFlightRecorderAvailable();
+
+  private ConditionEvents() {
+  }
+
+  /**
+   * <p>
+   * Signals if any of the events is currently recorded.
+   * </p>
+   *
+   * @return {@code true} if waits or polls are recorded
+   */
+  static boolean isRecorded() {
+    return isInitialized() && (Types.WAIT.isEnabled() || Types.POLL.isEnabled());
+  }
+
+  /**
+   * <p>
+   * Begin the event for a wait.
+   * </p>
+   *
+   * @param message      message of the wait
+   * @param timeoutNanos timeout of the wait with the factor applied
+   * @param factor       timeout factor
+   * @return the begun event; {@code null} if waits are not recorded
+   */
+  @Nullable
+  static ConditionWaitEvent beginWait(@Nullable final String message, @Nonnegative final long timeoutNanos, final double factor) {
+    if (!isInitialized() || !Types.WAIT.isEnabled()) {
+      return null;
+    }
+    final ConditionWaitEvent event = new ConditionWaitEvent();
+    event.message = message;
+    event.timeout = timeoutNanos;
+    event.factor = factor;
+    event.begin();
+    return event;
+  }
+
+  /**
+   * <p>
+   * End and commit the event for a wait.
+   * </p>
+   *
+   * @param event   the event; {@code null} if waits are not recorded
+   * @param outcome how the wait ended
+   * @param polls   number of polls
+   */
+  static void commitWait(@Nullable final ConditionWaitEvent event, @Nonnull final String outcome, @Nonnegative final int polls) {
+    if (event != null) {
+      event.end();
+      if (event.shouldCommit()) {
+        event.outcome = outcome;
+        event.polls = polls;
+        event.commit();
+      }
+    }
+  }
+
+  /**
+   * <p>
+   * Begin the event for a poll.
+   * </p>
+   *
+   * @param message message of the wait
+   * @return the begun event; {@code null} if polls are not recorded
+   */
+  @Nullable
+  static ConditionPollEvent beginPoll(@Nullable final String message) {
+    if (!isInitialized() || !Types.POLL.isEnabled()) {
+      return null;
+    }
+    final ConditionPollEvent event = new ConditionPollEvent();
+    event.message = message;
+    event.begin();
+    return event;
+  }
+
+  /**
+   * <p>
+   * End and commit the event for a poll.
+   * </p>
+   *
+   * @param event   the event; {@code null} if polls are not recorded
+   * @param poll    number of the poll within its wait
+   * @param outcome outcome of the poll
+   */
+  static void commitPoll(@Nullable final ConditionPollEvent event, @Nonnegative final int poll, @Nonnull final WaitListener.PollOutcome outcome) {
+    if (event != null) {
+      event.end();
+      if (event.shouldCommit()) {
+        event.poll = poll;
+        event.outcome = outcome.name();
+        event.commit();
+      }
+    }
+  }
+
+  private static boolean isInitialized() {
+    return AVAILABLE && FlightRecorder.isInitialized();
+  }
+
+  private static boolean isFlightRecorderAvailable() {
+    try {
+      Class.forName("jdk.jfr.FlightRecorder", false, ConditionEvents.class.getClassLoader());
+      return true;
+    } catch (ClassNotFoundException | LinkageError e) {
+      LOG.debug("Flight Recorder is not available in this runtime.", e);
+      return false;
+    }
+  }
+
+  /**
+   * <p>
+   * Holder of the event types, so that they only get registered once the Flight Recorder is initialized.
+   * </p>
+   */
+  private static final class Types {
+    private static final EventType WAIT = EventType.getEventType(ConditionWaitEvent.class);
+    private static final EventType POLL = EventType.getEventType(ConditionPollEvent.class);
+
+    private Types() {
+    }
+  }
+}
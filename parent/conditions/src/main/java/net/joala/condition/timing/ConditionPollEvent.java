@@ -0,0 +1,59 @@
+/*
+ * Copyright 2026 CoreMedia AG
+ *
+ * This file is part of Joala.
+ *
+ * Joala is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Joala is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Joala.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package net.joala.condition.timing;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * <p>
+ * Flight Recorder event spanning a single state query of a wait. Polls happen often, thus this event
+ * comes without stack trace; the enclosing {@link ConditionWaitEvent} has one.
+ * </p>
+ *
+ * @see ConditionEvents
+ * @since 10/18/26
+ */
+@Name(ConditionPollEvent.NAME)
+@Label("Condition Poll")
+@Category({"Joala", "Conditions"})
+@Description("Query the state of a condition.")
+@StackTrace(false)
+final class ConditionPollEvent extends Event {
+  /**
+   * Name of the event type.
+   */
+  static final String NAME = "net.joala.ConditionPoll";
+
+  @Label("Message")
+  String message;
+
+  @Label("Poll")
+  @Description("Number of the poll within its wait, starting with 1")
+  int poll;
+
+  @Label("Outcome")
+  @Description("MATCHED, MISMATCHED, IGNORED_EXCEPTION or TERMINAL")
+  String outcome;
+}
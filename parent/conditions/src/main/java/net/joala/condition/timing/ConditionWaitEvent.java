@@ -0,0 +1,69 @@
+/*
+ * Copyright 2026 CoreMedia AG
+ *
+ * This file is part of Joala.
+ *
+ * Joala is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Joala is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Joala.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package net.joala.condition.timing;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Timespan;
+
+/**
+ * <p>
+ * Flight Recorder event spanning a whole wait, from its start until it succeeded, timed out or got
+ * aborted. Together with {@link ConditionPollEvent}s it shows how much of the time a thread spent
+ * waiting is spent in state queries and how much in sleeping between polls.
+ * </p>
+ *
+ * @see ConditionEvents
+ * @since 10/18/26
+ */
+@Name(ConditionWaitEvent.NAME)
+@Label("Condition Wait")
+@Category({"Joala", "Conditions"})
+@Description("Wait until a condition is met.")
+final class ConditionWaitEvent extends Event {
+  /**
+   * Name of the event type.
+   */
+  static final String NAME = "net.joala.ConditionWait";
+  static final String SUCCEEDED = "SUCCEEDED";
+  static final String TIMED_OUT = "TIMED_OUT";
+  static final String ABORTED = "ABORTED";
+
+  @Label("Message")
+  String message;
+
+  @Label("Outcome")
+  @Description("SUCCEEDED, TIMED_OUT or ABORTED")
+  String outcome;
+
+  @Label("Timeout")
+  @Description("Timeout of the wait with the timeout factor applied")
+  @Timespan(Timespan.NANOSECONDS)
+  long timeout;
+
+  @Label("Timeout Factor")
+  double factor;
+
+  @Label("Polls")
+  int polls;
+}
@@ -0,0 +1,175 @@
+/*
+ * Copyright 2026 CoreMedia AG
+ *
+ * This file is part of Joala.
+ *
+ * Joala is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Joala is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Joala.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package net.joala.condition.timing;
+
+import com.google.common.base.MoreObjects;
+
+import javax.annotation.Nonnegative;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.concurrent.TimeUnit;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * <p>
+ * Backoff policy for states which converge roughly linearly towards a target value, like queue lengths,
+ * numbers of indexed documents or replication lags. It remembers the most recent samples of
+ * {@code (time, value)}, fits a line through them and sleeps until just before the time when the
+ * line reaches the target value. As long as no such prediction is possible, e.g. because there are
+ * not enough samples yet or the value does not move towards the target, the fallback policy decides.
+ * </p>
+ *
+ * @param <T> type of the states to take samples from
+ * @see BackoffPolicies#converging(Class, ToDoubleFunction, double, long, java.util.concurrent.TimeUnit)
+ * @since 10/18/26
+ */
+final class ConvergingBackoffPolicy<T> implements BackoffPolicy {
+  /**
+   * Number of recent samples to use for prediction.
+   */
+  static final int SAMPLE_COUNT = 8;
+  /**
+   * Fraction of the predicted time to sleep, so that the next evaluation happens just before the target is reached.
+   */
+  static final double ETA_FRACTION = 0.9d;
+  /**
+   * Shortest predicted delay, so that waits do not busy-poll when the target is almost reached.
+   */
+  static final long MIN_DELAY_NANOS = TimeUnit.MILLISECONDS.toNanos(1L);
+
+  @Nonnull
+  private final Class<T> stateType;
+  @Nonnull
+  private final ToDoubleFunction<? super T> progress;
+  private final double target;
+  @Nonnegative
+  private final long maxDelayNanos;
+  @Nonnull
+  private final BackoffPolicy fallback;
+
+  ConvergingBackoffPolicy(@Nonnull final Class<T> stateType,
+                          @Nonnull final ToDoubleFunction<? super T> progress,
+                          final double target,
+                          @Nonnegative final long maxDelayNanos,
+                          @Nonnull final BackoffPolicy fallback) {
+    this.stateType = stateType;
+    this.progress = progress;
+    this.target = target;
+    this.maxDelayNanos = maxDelayNanos;
+    this.fallback = fallback;
+  }
+
+  @Nonnull
+  @Override
+  public Backoff start() {
+    return new ConvergingBackoff(fallback.start());
+  }
+
+  @Override
+  public String toString() {
+    return MoreObjects.toStringHelper(this)
+                      .add("stateType", stateType)
+                      .add("progress", progress)
+                      .add("target", target)
+                      .add("maxDelayNanos", maxDelayNanos)
+                      .add("fallback", fallback)
+                      .toString();
+  }
+
+  private final class ConvergingBackoff implements Backoff {
+    @Nonnull
+    private final Backoff fallbackBackoff;
+    private final long[] times = new long[SAMPLE_COUNT];
+    private final double[] values = new double[SAMPLE_COUNT];
+    private int count;
+    private int next;
+
+    private ConvergingBackoff(@Nonnull final Backoff fallbackBackoff) {
+      this.fallbackBackoff = fallbackBackoff;
+    }
+
+    @Override
+    public void observe(final long timeNanos, @Nullable final Object state) {
+      if (!stateType.isInstance(state)) {
+        return;
+      }
+      final double value = progress.applyAsDouble(stateType.cast(state));
+      if (Double.isNaN(value) || Double.isInfinite(value)) {
+        return;
+      }
+      times[next] = timeNanos;
+      values[next] = value;
+      next = (next + 1) % SAMPLE_COUNT;
+      count = Math.min(count + 1, SAMPLE_COUNT);
+    }
+
+    @Override
+    public long nextDelayNanos(final long lastEvaluationNanos) {
+      // Keep the fallback in sync, even if its delay is not used.
+      final long fallbackDelay = fallbackBackoff.nextDelayNanos(lastEvaluationNanos);
+      final long predictedDelay = predictDelayNanos();
+      if (predictedDelay < 0L) {
+        return fallbackDelay;
+      }
+      // Do not poll more often than the state can be evaluated.
+      return Math.max(predictedDelay, Math.max(MIN_DELAY_NANOS, lastEvaluationNanos));
+    }
+
+    /**
+     * <p>
+     * Predict the delay until just before the target is reached by a least squares fit of the samples.
+     * </p>
+     *
+     * @return predicted delay; negative if no prediction is possible
+     */
+    private long predictDelayNanos() {
+      if (count < 2) {
+        return -1L;
+      }
+      final int last = (next + SAMPLE_COUNT - 1) % SAMPLE_COUNT;
+      // Use times relative to the last sample to keep numbers small.
+      double meanTime = 0d;
+      double meanValue = 0d;
+      for (int i = 0; i < count; i++) {
+        meanTime += times[i] - times[last];
+        meanValue += values[i];
+      }
+      meanTime /= count;
+      meanValue /= count;
+      double covariance = 0d;
+      double variance = 0d;
+      for (int i = 0; i < count; i++) {
+        final double deltaTime = times[i] - times[last] - meanTime;
+        covariance += deltaTime * (values[i] - meanValue);
+        variance += deltaTime * deltaTime;
+      }
+      if (variance == 0d) {
+        return -1L;
+      }
+      final double slope = covariance / variance;
+      final double remaining = target - values[last];
+      if (slope == 0d || remaining == 0d || Math.signum(slope) != Math.signum(remaining)) {
+        return -1L;
+      }
+      final double etaNanos = remaining / slope;
+      return Math.min(Math.round(etaNanos * ETA_FRACTION), maxDelayNanos);
+    }
+  }
+}
@@ -22,6 +22,9 @@ package net.joala.condition.timing;
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Function;
 import com.google.common.base.MoreObjects;
+import net.joala.time.Sleeper;
+import net.joala.time.SystemTimeSource;
+import net.joala.time.TimeSource;
 import net.joala.time.Timeout;
 import net.joala.time.TimeoutImpl;
 import org.hamcrest.Matcher;
@@ -31,8 +34,11 @@ import org.slf4j.LoggerFactory;
 import javax.annotation.Nonnegative;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
+import java.util.Objects;
 import java.util.concurrent.TimeUnit;
 
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
 import static java.lang.Thread.currentThread;
 
 /**
@@ -46,6 +52,32 @@ import static java.lang.Thread.currentThread;
  * The expected number of checks grows logarithmically with
  * the wait duration, while the wait duration remains within a constant factor of the
  * actual time until the condition holds true.
+ * </p><p>
+ * The delays between two checks can be tuned by passing a different {@link BackoffPolicy}.
+ * </p><p>
+ * Deadlines are measured with the monotonic {@link System#nanoTime()}, so that jumps of the wall clock
+ * do not affect the wait. Tests may pass a different {@link TimeSource} and {@link Sleeper}, like a
+ * {@link net.joala.time.VirtualTimeSource}, to run timeouts without really sleeping. The wait does not
+ * oversleep the deadline and supports delays down to some microseconds, which allows to poll in-process
+ * state like queues or caches at a fine granularity.
+ * </p><p>
+ * The wait ends promptly if the waiting thread gets interrupted or if its {@link CancellationToken}
+ * gets cancelled. The interrupt flag is preserved. It also ends on the first evaluation which observes a
+ * {@link TerminalStates terminal state}.
+ * </p><p>
+ * Registered {@link WaitListener}s observe the start, each poll and the end of the wait. While the
+ * Flight Recorder records them, each wait and each poll is reported as event, too.
+ * </p><p>
+ * By default a slow state query may keep the wait busy beyond its deadline. Pass a {@link QueryTimeout}
+ * to bound each state query by the remaining time plus some slack.
+ * </p><p>
+ * For states which take a varying time to converge, like migrations, pass a stall timeout. The wait then
+ * fails as soon as the queried state did not change within the stall timeout, while a state which keeps
+ * changing may take up to the timeout, which becomes the hard maximum. States are compared by
+ * {@link Object#equals(Object)}, failed evaluations do not count as progress.
+ * </p><p>
+ * To tell how the state evolved when a wait fails, enable a {@link PollHistory}
+ * {@link #withPollHistory(int, int) poll history}. It is passed to the fail strategy on timeout.
  * </p>
  */
 // This class was in part derived from org.openqa.selenium.support.ui.FluentWait,
@@ -59,13 +91,26 @@ public class DeceleratingWait implements Wait {
   static final long INITIAL_DELAY = 10L;
   @VisibleForTesting
   static final double DECELERATION_FACTOR = 1.1;
-  private static final long SLEEP_NOT_MUCH_LONGER_OFFSET_MILLIS = 100L;
   @Nonnull
   private final Timeout timeout;
   @Nonnegative
   private final double timeoutFactor;
   @Nonnull
   private final WaitFailStrategy failStrategy;
+  @Nonnull
+  private final BackoffPolicy backoffPolicy;
+  @Nonnull
+  private final TimeSource timeSource;
+  @Nonnull
+  private final Sleeper sleeper;
+  @Nullable
+  private final QueryTimeout queryTimeout;
+  @Nullable
+  private final Timeout stallTimeout;
+  @Nonnegative
+  private final int historyPolls;
+  @Nonnegative
+  private final int historyStates;
 
   public DeceleratingWait() {
     this(new TimeoutImpl(DEFAULT_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS));
@@ -84,30 +129,231 @@ public class DeceleratingWait implements Wait {
   }
 
   public DeceleratingWait(@Nonnull final Timeout timeout, @Nonnegative final double timeoutFactor, @Nonnull final WaitFailStrategy failStrategy) {
+    this(timeout, timeoutFactor, failStrategy, BackoffPolicies.decelerating());
+  }
+
+  public DeceleratingWait(@Nonnull final Timeout timeout, @Nonnull final BackoffPolicy backoffPolicy) {
+    this(timeout, 1d, new WaitTimeoutFailStrategy(), backoffPolicy);
+  }
+
+  public DeceleratingWait(@Nonnull final Timeout timeout,
+                          @Nonnegative final double timeoutFactor,
+                          @Nonnull final WaitFailStrategy failStrategy,
+                          @Nonnull final BackoffPolicy backoffPolicy) {
+    this(timeout, timeoutFactor, failStrategy, backoffPolicy, SystemTimeSource.INSTANCE, SystemTimeSource.INSTANCE);
+  }
+
+  /**
+   * <p>
+   * Create a wait which measures and spends time using the given time source and sleeper, for example
+   * a {@link net.joala.time.VirtualTimeSource} to test timeouts without really sleeping.
+   * </p>
+   *
+   * @param timeout       the timeout
+   * @param timeoutFactor factor to apply to the timeout
+   * @param failStrategy  strategy to use on timeout
+   * @param backoffPolicy policy for the delays between two evaluations
+   * @param timeSource    source of the time to measure the deadline
+   * @param sleeper       sleeper to pause between two evaluations
+   */
+  public DeceleratingWait(@Nonnull final Timeout timeout,
+                          @Nonnegative final double timeoutFactor,
+                          @Nonnull final WaitFailStrategy failStrategy,
+                          @Nonnull final BackoffPolicy backoffPolicy,
+                          @Nonnull final TimeSource timeSource,
+                          @Nonnull final Sleeper sleeper) {
+    this(timeout, timeoutFactor, failStrategy, backoffPolicy, timeSource, sleeper, null);
+  }
+
+  /**
+   * <p>
+   * Create a wait which bounds each state query by the given query timeout.
+   * </p>
+   *
+   * @param timeout       the timeout
+   * @param timeoutFactor factor to apply to the timeout
+   * @param failStrategy  strategy to use on timeout
+   * @param backoffPolicy policy for the delays between two evaluations
+   * @param timeSource    source of the time to measure the deadline
+   * @param sleeper       sleeper to pause between two evaluations
+   * @param queryTimeout  bounds the duration of each state query; {@code null} to let state queries run unbounded
+   */
+  public DeceleratingWait(@Nonnull final Timeout timeout,
+                          @Nonnegative final double timeoutFactor,
+                          @Nonnull final WaitFailStrategy failStrategy,
+                          @Nonnull final BackoffPolicy backoffPolicy,
+                          @Nonnull final TimeSource timeSource,
+                          @Nonnull final Sleeper sleeper,
+                          @Nullable final QueryTimeout queryTimeout) {
+    this(timeout, timeoutFactor, failStrategy, backoffPolicy, timeSource, sleeper, queryTimeout, null);
+  }
+
+  /**
+   * <p>
+   * Create a wait which fails early if the queried state stops changing.
+   * </p>
+   *
+   * @param timeout       the hard maximum timeout
+   * @param timeoutFactor factor to apply to the timeout and to the stall timeout
+   * @param failStrategy  strategy to use on timeout
+   * @param backoffPolicy policy for the delays between two evaluations
+   * @param timeSource    source of the time to measure the deadline
+   * @param sleeper       sleeper to pause between two evaluations
+   * @param queryTimeout  bounds the duration of each state query; {@code null} to let state queries run unbounded
+   * @param stallTimeout  time without state change after which to fail; {@code null} to only fail at the timeout
+   */
+  public DeceleratingWait(@Nonnull final Timeout timeout,
+                          @Nonnegative final double timeoutFactor,
+                          @Nonnull final WaitFailStrategy failStrategy,
+                          @Nonnull final BackoffPolicy backoffPolicy,
+                          @Nonnull final TimeSource timeSource,
+                          @Nonnull final Sleeper sleeper,
+                          @Nullable final QueryTimeout queryTimeout,
+                          @Nullable final Timeout stallTimeout) {
+    this(timeout, timeoutFactor, failStrategy, backoffPolicy, timeSource, sleeper, queryTimeout, stallTimeout, 0, 0);
+  }
+
+  private DeceleratingWait(@Nonnull final Timeout timeout,
+                           @Nonnegative final double timeoutFactor,
+                           @Nonnull final WaitFailStrategy failStrategy,
+                           @Nonnull final BackoffPolicy backoffPolicy,
+                           @Nonnull final TimeSource timeSource,
+                           @Nonnull final Sleeper sleeper,
+                           @Nullable final QueryTimeout queryTimeout,
+                           @Nullable final Timeout stallTimeout,
+                           @Nonnegative final int historyPolls,
+                           @Nonnegative final int historyStates) {
+    checkNotNull(backoffPolicy, "Backoff policy must not be null.");
+    checkNotNull(timeSource, "Time source must not be null.");
+    checkNotNull(sleeper, "Sleeper must not be null.");
     this.timeout = timeout;
     this.timeoutFactor = timeoutFactor;
     this.failStrategy = failStrategy;
+    this.backoffPolicy = backoffPolicy;
+    this.timeSource = timeSource;
+    this.sleeper = sleeper;
+    this.queryTimeout = queryTimeout;
+    this.stallTimeout = stallTimeout;
+    this.historyPolls = historyPolls;
+    this.historyStates = historyStates;
+  }
+
+  /**
+   * <p>
+   * Copy of this wait which keeps a {@link PollHistory} of the given capacities. On timeout the history
+   * is passed to the fail strategy, which includes it in the failure message. The memory of the history
+   * does not depend on the length of the wait.
+   * </p>
+   *
+   * @param polls  number of most recent polls to keep timestamps, durations and outcomes of
+   * @param states number of most recent distinct states to keep
+   * @return wait with poll history
+   */
+  @Nonnull
+  public DeceleratingWait withPollHistory(@Nonnegative final int polls, @Nonnegative final int states) {
+    checkArgument(polls >= 0, "Number of polls must not be negative: %s", polls);
+    checkArgument(states >= 0, "Number of states must not be negative: %s", states);
+    return new DeceleratingWait(timeout, timeoutFactor, failStrategy, backoffPolicy, timeSource, sleeper, queryTimeout, stallTimeout, polls, states);
+  }
+
+  /**
+   * <p>
+   * Factory for decelerating waits using the given backoff policy, time source and sleeper, for example
+   * to let conditions run on virtual time.
+   * </p>
+   *
+   * @param backoffPolicy policy for the delays between two evaluations
+   * @param timeSource    source of the time to measure the deadline
+   * @param sleeper       sleeper to pause between two evaluations
+   * @return wait factory
+   */
+  @Nonnull
+  public static WaitFactory factory(@Nonnull final BackoffPolicy backoffPolicy,
+                                    @Nonnull final TimeSource timeSource,
+                                    @Nonnull final Sleeper sleeper) {
+    checkNotNull(backoffPolicy, "Backoff policy must not be null.");
+    checkNotNull(timeSource, "Time source must not be null.");
+    checkNotNull(sleeper, "Sleeper must not be null.");
+    return new DeceleratingWaitFactory(backoffPolicy, timeSource, sleeper, null, null, 0, 0);
+  }
+
+  /**
+   * <p>
+   * Factory for decelerating waits using the given backoff policy which bound each state query
+   * by the given query timeout.
+   * </p>
+   *
+   * @param backoffPolicy policy for the delays between two evaluations
+   * @param queryTimeout  bounds the duration of each state query
+   * @return wait factory
+   */
+  @Nonnull
+  public static WaitFactory factory(@Nonnull final BackoffPolicy backoffPolicy, @Nonnull final QueryTimeout queryTimeout) {
+    checkNotNull(backoffPolicy, "Backoff policy must not be null.");
+    checkNotNull(queryTimeout, "Query timeout must not be null.");
+    return new DeceleratingWaitFactory(backoffPolicy, SystemTimeSource.INSTANCE, SystemTimeSource.INSTANCE, queryTimeout, null, 0, 0);
+  }
+
+  /**
+   * <p>
+   * Factory for progress aware decelerating waits. The timeout of the created waits is the hard maximum,
+   * while the waits fail as soon as the queried state did not change within the stall timeout.
+   * </p>
+   *
+   * @param backoffPolicy policy for the delays between two evaluations
+   * @param stallTimeout  time without state change after which to fail
+   * @return wait factory
+   */
+  @Nonnull
+  public static WaitFactory progressAware(@Nonnull final BackoffPolicy backoffPolicy, @Nonnull final Timeout stallTimeout) {
+    checkNotNull(backoffPolicy, "Backoff policy must not be null.");
+    checkNotNull(stallTimeout, "Stall timeout must not be null.");
+    return new DeceleratingWaitFactory(backoffPolicy, SystemTimeSource.INSTANCE, SystemTimeSource.INSTANCE, null, stallTimeout, 0, 0);
+  }
+
+  /**
+   * <p>
+   * Factory for decelerating waits using the given backoff policy which keep a poll history of the
+   * given capacities.
+   * </p>
+   *
+   * @param backoffPolicy policy for the delays between two evaluations
+   * @param polls         number of most recent polls to keep timestamps, durations and outcomes of
+   * @param states        number of most recent distinct states to keep
+   * @return wait factory
+   * @see #withPollHistory(int, int)
+   */
+  @Nonnull
+  public static WaitFactory historyRecording(@Nonnull final BackoffPolicy backoffPolicy,
+                                             @Nonnegative final int polls,
+                                             @Nonnegative final int states) {
+    checkNotNull(backoffPolicy, "Backoff policy must not be null.");
+    checkArgument(polls >= 0, "Number of polls must not be negative: %s", polls);
+    checkArgument(states >= 0, "Number of states must not be negative: %s", states);
+    return new DeceleratingWaitFactory(backoffPolicy, SystemTimeSource.INSTANCE, SystemTimeSource.INSTANCE, null, null, polls, states);
   }
 
   /**
-   * Return the current time in milliseconds. Overwrite for tests.
+   * Return the current value of the time source in nanoseconds.
    *
-   * @return the current time
+   * @return the current time; only meaningful compared to other values of this method
    */
   @VisibleForTesting
-  protected long nowMillis() {
-    return System.currentTimeMillis();
+  protected long nowNanos() {
+    return timeSource.nanoTime();
   }
 
   /**
-   * Sleep the given number of milliseconds.
+   * Sleep the given number of nanoseconds using the sleeper. Waits with a {@link CancellationToken}
+   * which use the system sleeper do not call this method but wait on the token instead, so that
+   * cancelling the token ends the sleep right away.
    *
-   * @param millis how long to sleep
+   * @param nanos how long to sleep
    * @throws InterruptedException if the current thread has been interrupted
    */
   @VisibleForTesting
-  protected void sleep(final long millis) throws InterruptedException {
-    Thread.sleep(millis);
+  protected void sleepNanos(final long nanos) throws InterruptedException {
+    sleeper.sleep(nanos);
   }
 
   @Override
@@ -125,66 +371,218 @@ public class DeceleratingWait implements Wait {
                         @Nonnull final F input,
                         @Nonnull final Function<? super F, T> stateQuery,
                         @Nullable final Matcher<? super T> matcher) {
-    // Compute the deadlineTimeMillis until which we want to wait.
-    final long startTimeMillis = nowMillis();
-    final long timeoutMillis = timeout.in(TimeUnit.MILLISECONDS, timeoutFactor);
-    final long deadlineTimeMillis = startTimeMillis + timeoutMillis;
+    return until(message, input, stateQuery, matcher, null);
+  }
+
+  @Override
+  public <F, T> T until(@Nullable final String message,
+                        @Nonnull final F input,
+                        @Nonnull final Function<? super F, T> stateQuery,
+                        @Nullable final Matcher<? super T> matcher,
+                        @Nullable final CancellationToken cancellation) {
+    // Compute the deadline until which we want to wait.
+    final long startTimeNanos = nowNanos();
+    final long timeoutNanos = timeout.in(TimeUnit.NANOSECONDS, timeoutFactor);
+    final long deadlineTimeNanos = startTimeNanos + timeoutNanos;
+    final long stallNanos = stallTimeout == null ? timeoutNanos : stallTimeout.in(TimeUnit.NANOSECONDS, timeoutFactor);
+    // Without any state change the wait ends at the stall deadline.
+    long stallDeadlineTimeNanos = startTimeNanos + stallNanos;
     if (LOG.isDebugEnabled()) {
       LOG.debug("Start waiting for:");
       LOG.debug("  state query: .... {}", stateQuery);
       LOG.debug("  matcher: ........ {}", matcher);
-      LOG.debug("  timeout (ms): ... {}", timeoutMillis);
+      LOG.debug("  timeout (ms): ... {}", TimeUnit.NANOSECONDS.toMillis(timeoutNanos));
+      LOG.debug("  stall (ms): ..... {}", stallTimeout == null ? null : TimeUnit.NANOSECONDS.toMillis(stallNanos));
+      LOG.debug("  backoff: ........ {}", backoffPolicy);
+    }
+    final BackoffPolicy.Backoff backoff = backoffPolicy.start();
+    final WaitObservation observation = WaitListeners.observe(message, stateQuery, input, startTimeNanos, timeoutNanos, timeoutFactor);
+    final PollHistory history = historyPolls > 0 || historyStates > 0 ? new PollHistory(historyPolls, historyStates) : null;
+    final long initialDelayNanos = backoff.initialDelayNanos();
+    if (initialDelayNanos > 0L) {
+      try {
+        sleepNanos(boundedDelayNanos(initialDelayNanos, earlier(deadlineTimeNanos, stallDeadlineTimeNanos), startTimeNanos), cancellation);
+      } catch (InterruptedException e) {
+        LOG.debug("Interrupted while waiting.", e);
+        currentThread().interrupt();
+      }
     }
-    // At first, wait 10ms between checks.
-    long delay = INITIAL_DELAY;
     // We keep track of the last exception to be able to rethrow it.
     IgnorableStateQueryException lastException = null;
     T lastState = null;
+    boolean observed = false;
     while (true) {
+      if (isCancelled(cancellation)) {
+        cancel(message, stateQuery, input, startTimeNanos, observation);
+      }
       // Measure the time that the evaluation takes.
-      final long beforeEvaluationTimeMillis = nowMillis();
+      final long beforeEvaluationTimeNanos = nowNanos();
+      boolean evaluated = false;
+      boolean progressed = false;
+      if (observation != null) {
+        observation.pollStarted();
+      }
       try {
         // Evaluate and report the result unless it is null, false, or an exception.
-        final T result = stateQuery.apply(input);
+        final T result = evaluate(input, stateQuery, earlier(deadlineTimeNanos, stallDeadlineTimeNanos) - beforeEvaluationTimeNanos);
         if (matcher == null || matcher.matches(result)) {
+          if (observation != null) {
+            final long afterEvaluationTimeNanos = nowNanos();
+            observation.polled(afterEvaluationTimeNanos - beforeEvaluationTimeNanos, WaitListener.PollOutcome.MATCHED);
+            observation.succeeded(afterEvaluationTimeNanos);
+          }
           return result;
         }
+        progressed = stallTimeout != null && (!observed || !Objects.equals(result, lastState));
+        observed = true;
         lastState = result;
+        evaluated = true;
       } catch (IgnorableStateQueryException e) {
         // Remember the exception for rethrowing.
         LOG.trace("Ignoring exception for now. Might rethrow later if failed with error.", e);
         lastException = e;
+        if (observation != null) {
+          observation.exceptionIgnored(e);
+        }
+      } catch (TerminalStateException e) {
+        if (observation != null) {
+          observation.polled(nowNanos() - beforeEvaluationTimeNanos, WaitListener.PollOutcome.TERMINAL);
+        }
+        terminate(message, stateQuery, input, e, startTimeNanos, observation);
+      } catch (InterruptedException e) {
+        LOG.debug("Interrupted while evaluating.", e);
+        currentThread().interrupt();
+        cancel(message, stateQuery, input, startTimeNanos, observation);
+      } catch (RuntimeException | Error e) {
+        // Unexpected failures of the state query or matcher end the wait, too.
+        if (observation != null) {
+          observation.aborted(nowNanos());
+        }
+        throw e;
+      }
+      final long afterEvaluationTimeNanos = nowNanos();
+      if (observation != null) {
+        observation.polled(afterEvaluationTimeNanos - beforeEvaluationTimeNanos,
+                evaluated ? WaitListener.PollOutcome.MISMATCHED : WaitListener.PollOutcome.IGNORED_EXCEPTION);
+      }
+      if (history != null) {
+        history.polled(beforeEvaluationTimeNanos - startTimeNanos, afterEvaluationTimeNanos - beforeEvaluationTimeNanos,
+                evaluated ? WaitListener.PollOutcome.MISMATCHED : WaitListener.PollOutcome.IGNORED_EXCEPTION);
+        if (evaluated) {
+          history.evaluated(beforeEvaluationTimeNanos - startTimeNanos, lastState);
+        }
+      }
+      if (evaluated) {
+        backoff.observe(afterEvaluationTimeNanos, lastState);
+      }
+      if (progressed) {
+        stallDeadlineTimeNanos = afterEvaluationTimeNanos + stallNanos;
       }
-      final long afterEvaluationTimeMillis = nowMillis();
-      // Are we past the deadlineTimeMillis?
-      if (afterEvaluationTimeMillis > deadlineTimeMillis) {
-        failAtDeadline(message, stateQuery, input, lastException, lastState, matcher, startTimeMillis);
+      // Are we past the deadline? Compare differences as nano time may overflow.
+      if (afterEvaluationTimeNanos - deadlineTimeNanos > 0L) {
+        failAtDeadline(message, stateQuery, input, lastException, lastState, matcher, startTimeNanos, observation, history);
+      }
+      if (afterEvaluationTimeNanos - stallDeadlineTimeNanos > 0L) {
+        failAtDeadline(AbstractWaitFailStrategy.stalledMessage(message, TimeUnit.NANOSECONDS.toMillis(stallNanos)),
+                stateQuery, input, lastException, lastState, matcher, startTimeNanos, observation, history);
+      }
+      final long delay = backoff.nextDelayNanos(afterEvaluationTimeNanos - beforeEvaluationTimeNanos);
+      try {
+        sleepNanos(boundedDelayNanos(delay, earlier(deadlineTimeNanos, stallDeadlineTimeNanos), afterEvaluationTimeNanos), cancellation);
+      } catch (InterruptedException e) {
+        LOG.debug("Interrupted while waiting.", e);
+        currentThread().interrupt();
       }
-      delay = sleepAndRecalculateDelay(delay, deadlineTimeMillis, beforeEvaluationTimeMillis, afterEvaluationTimeMillis);
     }
   }
 
-  private long sleepAndRecalculateDelay(final long previousDelay, final long deadlineTimeMillis, final long beforeEvaluationTimeMillis, final long afterEvaluationTimeMillis) {
-    long newDelay = previousDelay;
-    // Leave at least as much time between two checks as the check itself took.
-    final long lastDuration = afterEvaluationTimeMillis - beforeEvaluationTimeMillis;
-    if (lastDuration > newDelay) {
-      newDelay = lastDuration;
+  /**
+   * Evaluate the state query, bounded by the query timeout if any.
+   *
+   * @param input          the input to pass to the state query
+   * @param stateQuery     the state query
+   * @param remainingNanos time until the deadline
+   * @return the result of the state query
+   * @throws InterruptedException if the current thread has been interrupted while waiting for a bounded state query
+   */
+  private <F, T> T evaluate(@Nonnull final F input,
+                            @Nonnull final Function<? super F, T> stateQuery,
+                            final long remainingNanos) throws InterruptedException {
+    if (queryTimeout == null) {
+      return stateQuery.apply(input);
     }
+    return queryTimeout.apply(input, stateQuery, remainingNanos);
+  }
 
-    // Wait, but not much longer than until the deadlineTimeMillis and at least a millisecond.
-    try {
-      sleep(Math.max(1, Math.min(newDelay, deadlineTimeMillis + SLEEP_NOT_MUCH_LONGER_OFFSET_MILLIS - afterEvaluationTimeMillis)));
-    } catch (InterruptedException e) {
-      LOG.error("Unexpected interruption.", e);
-      currentThread().interrupt();
+  /**
+   * Sleep, but wake up as soon as the given token gets cancelled. The system sleeper cannot be woken up
+   * by the token, thus real sleeps wait on the token directly, bypassing {@link #sleepNanos(long)}.
+   * Other sleepers, like virtual time sources, are called via {@link #sleepNanos(long)} and cancellation
+   * is detected after they return.
+   *
+   * @param nanos        how long to sleep
+   * @param cancellation token to listen to; {@code null} to just sleep
+   * @throws InterruptedException if the current thread has been interrupted
+   */
+  private void sleepNanos(final long nanos, @Nullable final CancellationToken cancellation) throws InterruptedException {
+    // Only real sleeps can be interrupted by the token.
+    if (cancellation == null || sleeper != SystemTimeSource.INSTANCE) {
+      sleepNanos(nanos);
+    } else {
+      cancellation.await(nanos, TimeUnit.NANOSECONDS);
     }
+  }
 
-    // Make checks less and less frequently.
-    // Increase the wait period using the deceleration factor, but
-    // wait at least one millisecond longer next time.
-    newDelay = Math.max(newDelay + 1, (long) (newDelay * DECELERATION_FACTOR));
-    return newDelay;
+  private static boolean isCancelled(@Nullable final CancellationToken cancellation) {
+    return currentThread().isInterrupted() || cancellation != null && cancellation.isCancelled();
+  }
+
+  private <F, T> void cancel(@Nullable final String message,
+                             @Nonnull final Function<? super F, T> stateQuery,
+                             @Nonnull final F input,
+                             final long startTimeNanos,
+                             @Nullable final WaitObservation observation) {
+    final long nowNanos = nowNanos();
+    if (observation != null) {
+      observation.aborted(nowNanos);
+    }
+    final long consumedMillis = TimeUnit.NANOSECONDS.toMillis(nowNanos - startTimeNanos);
+    LOG.debug("Wait cancelled after {} ms.", consumedMillis);
+    failStrategy.cancelled(message, stateQuery, input, consumedMillis);
+    throw new WaitCancelledException(AbstractWaitFailStrategy.cancelledMessage(message));
+  }
+
+  private <F, T> void terminate(@Nullable final String message,
+                                @Nonnull final Function<? super F, T> stateQuery,
+                                @Nonnull final F input,
+                                @Nonnull final TerminalStateException exception,
+                                final long startTimeNanos,
+                                @Nullable final WaitObservation observation) {
+    final long nowNanos = nowNanos();
+    if (observation != null) {
+      observation.aborted(nowNanos);
+    }
+    final long consumedMillis = TimeUnit.NANOSECONDS.toMillis(nowNanos - startTimeNanos);
+    LOG.debug("Terminal state reached after {} ms.", consumedMillis);
+    failStrategy.terminal(message, stateQuery, input, exception.getState(), exception.getTerminalMatcher(), consumedMillis);
+    throw exception;
+  }
+
+  /**
+   * Wait, but not longer than until the deadline, so that the last evaluation happens right at the deadline.
+   * Waits at least a nanosecond, so that time sources which only advance while sleeping pass the deadline.
+   *
+   * @param delay                    the delay to wait
+   * @param deadlineTimeNanos        the deadline of the wait
+   * @param afterEvaluationTimeNanos timestamp after the last evaluation
+   * @return nanoseconds to sleep
+   */
+  static long boundedDelayNanos(final long delay, final long deadlineTimeNanos, final long afterEvaluationTimeNanos) {
+    return Math.max(1L, Math.min(delay, deadlineTimeNanos - afterEvaluationTimeNanos));
+  }
+
+  private static long earlier(final long timeNanos, final long otherTimeNanos) {
+    return timeNanos - otherTimeNanos < 0L ? timeNanos : otherTimeNanos;
   }
 
   private <F, T> void failAtDeadline(@Nullable final String message,
@@ -193,9 +591,21 @@ public class DeceleratingWait implements Wait {
                                      @Nullable final IgnorableStateQueryException lastException,
                                      @Nullable final T lastState,
                                      @Nonnull final Matcher<? super T> matcher,
-                                     @Nonnegative final long startTimeMillis) {
-    final long consumedMillis = nowMillis() - startTimeMillis;
-    if (lastException == null) {
+                                     final long startTimeNanos,
+                                     @Nullable final WaitObservation observation,
+                                     @Nullable final PollHistory history) {
+    final long nowNanos = nowNanos();
+    if (observation != null) {
+      observation.timedOut(nowNanos);
+    }
+    final long consumedMillis = TimeUnit.NANOSECONDS.toMillis(nowNanos - startTimeNanos);
+    if (history != null) {
+      if (lastException == null) {
+        failStrategy.fail(message, stateQuery, input, lastState, matcher, consumedMillis, history);
+      } else {
+        failStrategy.fail(message, stateQuery, input, lastException, consumedMillis, history);
+      }
+    } else if (lastException == null) {
       failStrategy.fail(message, stateQuery, input, lastState, matcher, consumedMillis);
     } else {
       failStrategy.fail(message, stateQuery, input, lastException, consumedMillis);
@@ -208,6 +618,66 @@ public class DeceleratingWait implements Wait {
                       .add("timeout", timeout)
                       .add("timeoutFactor", timeoutFactor)
                       .add("failStrategy", failStrategy)
+                      .add("backoffPolicy", backoffPolicy)
+                      .add("timeSource", timeSource)
+                      .add("sleeper", sleeper)
+                      .add("queryTimeout", queryTimeout)
+                      .add("stallTimeout", stallTimeout)
+                      .add("historyPolls", historyPolls)
+                      .add("historyStates", historyStates)
                       .toString();
   }
+
+  private static final class DeceleratingWaitFactory implements WaitFactory {
+    @Nonnull
+    private final BackoffPolicy backoffPolicy;
+    @Nonnull
+    private final TimeSource timeSource;
+    @Nonnull
+    private final Sleeper sleeper;
+    @Nullable
+    private final QueryTimeout queryTimeout;
+    @Nullable
+    private final Timeout stallTimeout;
+    @Nonnegative
+    private final int historyPolls;
+    @Nonnegative
+    private final int historyStates;
+
+    private DeceleratingWaitFactory(@Nonnull final BackoffPolicy backoffPolicy,
+                                    @Nonnull final TimeSource timeSource,
+                                    @Nonnull final Sleeper sleeper,
+                                    @Nullable final QueryTimeout queryTimeout,
+                                    @Nullable final Timeout stallTimeout,
+                                    @Nonnegative final int historyPolls,
+                                    @Nonnegative final int historyStates) {
+      this.backoffPolicy = backoffPolicy;
+      this.timeSource = timeSource;
+      this.sleeper = sleeper;
+      this.queryTimeout = queryTimeout;
+      this.stallTimeout = stallTimeout;
+      this.historyPolls = historyPolls;
+      this.historyStates = historyStates;
+    }
+
+    @Nonnull
+    @Override
+    public Wait createWait(@Nonnull final Timeout timeout, @Nonnegative final double timeoutFactor, @Nonnull final WaitFailStrategy failStrategy) {
+      return new DeceleratingWait(timeout, timeoutFactor, failStrategy, backoffPolicy, timeSource, sleeper, queryTimeout, stallTimeout,
+              historyPolls, historyStates);
+    }
+
+    @Override
+    public String toString() {
+      return MoreObjects.toStringHelper(this)
+                        .add("backoffPolicy", backoffPolicy)
+                        .add("timeSource", timeSource)
+                        .add("sleeper", sleeper)
+                        .add("queryTimeout", queryTimeout)
+                        .add("stallTimeout", stallTimeout)
+                        .add("historyPolls", historyPolls)
+                        .add("historyStates", historyStates)
+                        .toString();
+    }
+  }
 }
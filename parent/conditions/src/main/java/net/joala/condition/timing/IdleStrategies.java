@@ -0,0 +1,228 @@
+/*
+ * Copyright 2026 CoreMedia AG
+ *
+ * This file is part of Joala.
+ *
+ * Joala is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Joala is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Joala.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package net.joala.condition.timing;
+
+import com.google.common.base.MoreObjects;
+
+import javax.annotation.Nonnegative;
+import javax.annotation.Nonnull;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * <p>
+ * Built-in implementations of {@link IdleStrategy}, ordered from lowest latency and highest CPU cost to
+ * highest latency and lowest CPU cost. The wake latency is the time from the state reaching its expected
+ * value until the next evaluation starts, in addition to the time the evaluation itself takes.
+ * </p>
+ * <table>
+ * <caption>Characteristics of idle strategies</caption>
+ * <tr><th>Strategy</th><th>CPU cost while waiting</th><th>Wake latency</th></tr>
+ * <tr><td>{@link #busySpin()}</td><td>one full core</td><td>nanoseconds</td></tr>
+ * <tr><td>{@link #yielding()}</td><td>one full core unless other threads are runnable</td>
+ * <td>below a microsecond up to a scheduler time slice</td></tr>
+ * <tr><td>{@link #spinThenPark(int, long, TimeUnit)}</td><td>one core during the spins, then hardly any</td>
+ * <td>nanoseconds during the spins, then up to the maximum park time</td></tr>
+ * <tr><td>{@link #park(long, TimeUnit)}</td><td>hardly any</td>
+ * <td>the park time plus the timer slack of the OS, typically 50 µs</td></tr>
+ * </table>
+ * <p>
+ * Spinning strategies are meant for in-process state which changes within microseconds, like counters or
+ * queues fed by other threads. Do not use them for states which take milliseconds or longer to change, and
+ * never use them for remote state.
+ * </p>
+ *
+ * @since 10/18/26
+ */
+public final class IdleStrategies {
+  private static final IdleStrategy BUSY_SPIN = new BusySpinIdleStrategy();
+  private static final IdleStrategy YIELDING = new YieldingIdleStrategy();
+  private static final long MIN_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(1L);
+
+  private IdleStrategies() {
+  }
+
+  /**
+   * <p>
+   * Spin on the CPU, hinting the processor about the spin loop via {@link Thread#onSpinWait()}.
+   * Lowest latency at the cost of one full core.
+   * </p>
+   *
+   * @return busy-spin strategy
+   */
+  @Nonnull
+  public static IdleStrategy busySpin() {
+    return BUSY_SPIN;
+  }
+
+  /**
+   * <p>
+   * Give up the CPU to other runnable threads via {@link Thread#yield()}. Still consumes a full core if
+   * no other thread is runnable, but does not starve the threads which are expected to change the state.
+   * </p>
+   *
+   * @return yielding strategy
+   */
+  @Nonnull
+  public static IdleStrategy yielding() {
+    return YIELDING;
+  }
+
+  /**
+   * <p>
+   * Spin for a bounded number of evaluations, then park the thread. Park times start at one microsecond
+   * and double with each evaluation up to the maximum park time. Good default for in-process state which
+   * is expected to change soon but might take longer.
+   * </p>
+   *
+   * @param maxSpins number of evaluations to spin before parking
+   * @param maxPark  maximum park time
+   * @param unit     unit of the maximum park time
+   * @return spin-then-park strategy
+   */
+  @Nonnull
+  public static IdleStrategy spinThenPark(@Nonnegative final int maxSpins, @Nonnegative final long maxPark, @Nonnull final TimeUnit unit) {
+    checkArgument(maxSpins >= 0, "Number of spins must not be negative: %s", maxSpins);
+    return new SpinThenParkIdleStrategy(maxSpins, Math.max(MIN_PARK_NANOS, checkedNanos(maxPark, unit)));
+  }
+
+  /**
+   * <p>
+   * Park the thread for a fixed time between two evaluations.
+   * </p>
+   *
+   * @param parkTime how long to park
+   * @param unit     unit of the park time
+   * @return park strategy
+   */
+  @Nonnull
+  public static IdleStrategy park(@Nonnegative final long parkTime, @Nonnull final TimeUnit unit) {
+    return new ParkIdleStrategy(checkedNanos(parkTime, unit));
+  }
+
+  private static long checkedNanos(final long amount, @Nonnull final TimeUnit unit) {
+    checkNotNull(unit, "Time unit must not be null.");
+    checkArgument(amount >= 0L, "Park time must not be negative: %s", amount);
+    return unit.toNanos(amount);
+  }
+
+  private static final class BusySpinIdleStrategy implements IdleStrategy, IdleStrategy.Idler {
+    @Nonnull
+    @Override
+    public Idler start() {
+      return this;
+    }
+
+    @Override
+    public void idle(@Nonnegative final long maxNanos) {
+      Thread.onSpinWait();
+    }
+
+    @Override
+    public String toString() {
+      return MoreObjects.toStringHelper(this).toString();
+    }
+  }
+
+  private static final class YieldingIdleStrategy implements IdleStrategy, IdleStrategy.Idler {
+    @Nonnull
+    @Override
+    public Idler start() {
+      return this;
+    }
+
+    @Override
+    public void idle(@Nonnegative final long maxNanos) {
+      Thread.yield();
+    }
+
+    @Override
+    public String toString() {
+      return MoreObjects.toStringHelper(this).toString();
+    }
+  }
+
+  private static final class SpinThenParkIdleStrategy implements IdleStrategy {
+    private final int maxSpins;
+    private final long maxParkNanos;
+
+    private SpinThenParkIdleStrategy(final int maxSpins, final long maxParkNanos) {
+      this.maxSpins = maxSpins;
+      this.maxParkNanos = maxParkNanos;
+    }
+
+    @Nonnull
+    @Override
+    public Idler start() {
+      return new Idler() {
+        private int spins;
+        private long parkNanos = MIN_PARK_NANOS;
+
+        @Override
+        public void idle(@Nonnegative final long maxNanos) {
+          if (spins < maxSpins) {
+            spins++;
+            Thread.onSpinWait();
+          } else {
+            LockSupport.parkNanos(this, Math.min(parkNanos, maxNanos));
+            parkNanos = parkNanos > maxParkNanos >> 1 ? maxParkNanos : parkNanos << 1;
+          }
+        }
+      };
+    }
+
+    @Override
+    public String toString() {
+      return MoreObjects.toStringHelper(this)
+                        .add("maxSpins", maxSpins)
+                        .add("maxParkNanos", maxParkNanos)
+                        .toString();
+    }
+  }
+
+  private static final class ParkIdleStrategy implements IdleStrategy, IdleStrategy.Idler {
+    private final long parkNanos;
+
+    private ParkIdleStrategy(final long parkNanos) {
+      this.parkNanos = parkNanos;
+    }
+
+    @Nonnull
+    @Override
+    public Idler start() {
+      return this;
+    }
+
+    @Override
+    public void idle(@Nonnegative final long maxNanos) {
+      LockSupport.parkNanos(this, Math.min(parkNanos, maxNanos));
+    }
+
+    @Override
+    public String toString() {
+      return MoreObjects.toStringHelper(this)
+                        .add("parkNanos", parkNanos)
+                        .toString();
+    }
+  }
+}
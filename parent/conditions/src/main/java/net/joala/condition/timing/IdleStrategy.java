@@ -0,0 +1,67 @@
+/*
+ * Copyright 2026 CoreMedia AG
+ *
+ * This file is part of Joala.
+ *
+ * Joala is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Joala is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Joala.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package net.joala.condition.timing;
+
+import javax.annotation.Nonnegative;
+import javax.annotation.Nonnull;
+
+/**
+ * <p>
+ * Strategy how a {@link LowLatencyWait} idles between two evaluations of its state query. Other than a
+ * {@link BackoffPolicy} an idle strategy does not compute delays but trades CPU time for the latency to
+ * detect that the expected state has been reached.
+ * </p>
+ * <p>
+ * Strategies are immutable and may be shared by several waits. For each wait the strategy
+ * {@link #start() starts} a new {@link Idler} which holds the state of this very wait.
+ * </p>
+ *
+ * @see IdleStrategies
+ * @since 10/18/26
+ */
+public interface IdleStrategy {
+  /**
+   * <p>
+   * Start idling for a new wait.
+   * </p>
+   *
+   * @return idler for a single wait
+   */
+  @Nonnull
+  Idler start();
+
+  /**
+   * <p>
+   * The idler of a single wait. Only used by one thread at a time.
+   * </p>
+   */
+  interface Idler {
+    /**
+     * <p>
+     * Idle after an evaluation which did not match. Must return early if the current thread
+     * gets interrupted and must not idle longer than the given time, so that the wait does not
+     * oversleep its deadline.
+     * </p>
+     *
+     * @param maxNanos maximum time to idle in nanoseconds; positive
+     */
+    void idle(@Nonnegative long maxNanos);
+  }
+}
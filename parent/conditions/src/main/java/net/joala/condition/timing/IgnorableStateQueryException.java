@@ -40,6 +40,12 @@ import static net.joala.matcher.DescriptionUtil.describeTo;
  * or taken as failure message if no extra message is provided. Otherwise its {@link Object#toString()} method
  * will be called.
  * </p>
+ * <p>
+ * Waits may raise and drop this exception on every poll. State queries which just wrap another exception
+ * should use {@link #stackless(Function, Throwable)}: the stack trace of the wrapped cause tells where the query
+ * failed, so filling in another stack trace on each poll is wasted effort. The message is only built once
+ * it is requested.
+ * </p>
  *
  * @see Wait
  * @since 9/14/12
@@ -48,6 +54,10 @@ public class IgnorableStateQueryException extends RuntimeException {
   private static final String CHECK_QUERY_FUNCTION_MUST_NOT_BE_NULL = "Query function must not be null";
   @Nonnull
   private final Function<?, ?> stateQuery;
+  /**
+   * Take the message from the cause like {@link Throwable#Throwable(Throwable)} does, but only on request.
+   */
+  private final boolean messageFromCause;
 
   /**
    * <p>
@@ -60,6 +70,7 @@ public class IgnorableStateQueryException extends RuntimeException {
     super();
     checkNotNull(stateQuery, CHECK_QUERY_FUNCTION_MUST_NOT_BE_NULL);
     this.stateQuery = stateQuery;
+    messageFromCause = false;
   }
 
   /**
@@ -74,6 +85,7 @@ public class IgnorableStateQueryException extends RuntimeException {
     super(cause);
     checkNotNull(stateQuery, CHECK_QUERY_FUNCTION_MUST_NOT_BE_NULL);
     this.stateQuery = stateQuery;
+    messageFromCause = false;
   }
 
   /**
@@ -88,6 +100,7 @@ public class IgnorableStateQueryException extends RuntimeException {
     super(message);
     checkNotNull(stateQuery, CHECK_QUERY_FUNCTION_MUST_NOT_BE_NULL);
     this.stateQuery = stateQuery;
+    messageFromCause = false;
   }
 
   /**
@@ -103,16 +116,50 @@ public class IgnorableStateQueryException extends RuntimeException {
     super(message, cause);
     checkNotNull(stateQuery, CHECK_QUERY_FUNCTION_MUST_NOT_BE_NULL);
     this.stateQuery = stateQuery;
+    messageFromCause = false;
+  }
+
+  /**
+   * <p>
+   * Constructor with query and cause which does not fill in its own stack trace.
+   * </p>
+   *
+   * @param stateQuery query raising this exception
+   * @param cause      exception which caused the failure on state query
+   * @param ignored    only distinguishes this constructor
+   */
+  private IgnorableStateQueryException(@Nonnull final Function<?, ?> stateQuery, @Nullable final Throwable cause, final boolean ignored) {
+    super(null, cause, true, false);
+    checkNotNull(stateQuery, CHECK_QUERY_FUNCTION_MUST_NOT_BE_NULL);
+    this.stateQuery = stateQuery;
+    messageFromCause = cause != null;
+  }
+
+  /**
+   * <p>
+   * Create an exception which wraps the given cause without filling in its own stack trace. Apart from the
+   * missing stack trace the exception equals one created by
+   * {@link #IgnorableStateQueryException(Function, Throwable)}.
+   * </p>
+   *
+   * @param stateQuery query raising this exception
+   * @param cause      exception which caused the failure on state query
+   * @return exception without stack trace
+   * @since 10/18/26
+   */
+  @Nonnull
+  public static IgnorableStateQueryException stackless(@Nonnull final Function<?, ?> stateQuery, @Nullable final Throwable cause) {
+    return new IgnorableStateQueryException(stateQuery, cause, false);
   }
 
   @Override
   public String getMessage() {
-    return buildMessage(stateQuery, super.getMessage());
+    return buildMessage(stateQuery, messageFromCause ? getCause().toString() : super.getMessage());
   }
 
   @Override
   public String getLocalizedMessage() {
-    return buildMessage(stateQuery, super.getLocalizedMessage());
+    return buildMessage(stateQuery, messageFromCause ? getCause().toString() : super.getLocalizedMessage());
   }
 
   /**
@@ -0,0 +1,139 @@
+/*
+ * Copyright 2026 CoreMedia AG
+ *
+ * This file is part of Joala.
+ *
+ * Joala is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Joala is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Joala.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package net.joala.condition.timing;
+
+import com.google.common.base.MoreObjects;
+
+import javax.annotation.Nonnegative;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+/**
+ * <p>
+ * Lock-free histogram of non-negative values in the spirit of HDR histograms: each power of two is split
+ * into {@value #SUB_BUCKETS} linear sub-buckets, so that percentiles are reported with a relative error of
+ * at most 12.5% while the histogram takes constant memory for the whole range of {@code long}.
+ * Recording does not allocate.
+ * </p>
+ *
+ * @since 10/18/26
+ */
+final class LogLinearHistogram {
+  private static final int SUB_BUCKET_BITS = 3;
+  private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+  private static final int BUCKETS = Long.SIZE << SUB_BUCKET_BITS;
+
+  private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+  private final LongAdder count = new LongAdder();
+  private final LongAdder sum = new LongAdder();
+  private final LongAccumulator max = new LongAccumulator(Math::max, 0L);
+
+  /**
+   * <p>
+   * Record the given value. Negative values are recorded as zero.
+   * </p>
+   *
+   * @param value value to record
+   */
+  void record(final long value) {
+    final long recorded = Math.max(0L, value);
+    counts.incrementAndGet(index(recorded));
+    count.increment();
+    sum.add(recorded);
+    max.accumulate(recorded);
+  }
+
+  @Nonnegative
+  long count() {
+    return count.sum();
+  }
+
+  @Nonnegative
+  long sum() {
+    return sum.sum();
+  }
+
+  @Nonnegative
+  long max() {
+    return max.get();
+  }
+
+  /**
+   * <p>
+   * Get the value at the given percentile, that is the upper bound of the bucket containing it.
+   * </p>
+   *
+   * @param percentile percentile between 0 and 100
+   * @return value at the percentile; 0 if nothing got recorded
+   */
+  @Nonnegative
+  long percentile(final double percentile) {
+    checkArgument(percentile >= 0d && percentile <= 100d, "Percentile must be between 0 and 100: %s", percentile);
+    final long total = count();
+    if (total == 0L) {
+      return 0L;
+    }
+    final long rank = Math.max(1L, (long) Math.ceil(percentile / 100d * total));
+    long cumulated = 0L;
+    for (int i = 0; i < BUCKETS; i++) {
+      cumulated += counts.get(i);
+      if (cumulated >= rank) {
+        return Math.min(upperBound(i), max());
+      }
+    }
+    return max();
+  }
+
+  static int index(final long value) {
+    if (value < SUB_BUCKETS) {
+      return (int) value;
+    }
+    final int exponent = Long.SIZE - 1 - Long.numberOfLeadingZeros(value);
+    final int subBucket = (int) (value >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+    return ((exponent - SUB_BUCKET_BITS + 1) << SUB_BUCKET_BITS) + subBucket;
+  }
+
+  static long lowerBound(final int index) {
+    if (index < SUB_BUCKETS) {
+      return index;
+    }
+    final int exponent = (index >> SUB_BUCKET_BITS) + SUB_BUCKET_BITS - 1;
+    final long subBucket = index & (SUB_BUCKETS - 1);
+    return (SUB_BUCKETS + subBucket) << (exponent - SUB_BUCKET_BITS);
+  }
+
+  static long upperBound(final int index) {
+    final long nextLowerBound = lowerBound(index + 1);
+    // The last bucket ends at the maximum long value.
+    return nextLowerBound <= 0L ? Long.MAX_VALUE : nextLowerBound - 1L;
+  }
+
+  @Override
+  public String toString() {
+    return MoreObjects.toStringHelper(this)
+                      .add("count", count())
+                      .add("sum", sum())
+                      .add("max", max())
+                      .toString();
+  }
+}
@@ -0,0 +1,252 @@
+/*
+ * Copyright 2026 CoreMedia AG
+ *
+ * This file is part of Joala.
+ *
+ * Joala is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Joala is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Joala.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package net.joala.condition.timing;
+
+import com.google.common.base.Function;
+import com.google.common.base.MoreObjects;
+import net.joala.time.SystemTimeSource;
+import net.joala.time.TimeSource;
+import net.joala.time.Timeout;
+import org.hamcrest.Matcher;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.Nonnegative;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.concurrent.TimeUnit;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+import static java.lang.Thread.currentThread;
+
+/**
+ * <p>
+ * A wait for in-process state which changes within microseconds, like an {@code AtomicLong} reaching
+ * a value or a ring buffer being drained. Instead of sleeping for milliseconds between two evaluations
+ * as {@link DeceleratingWait} does, it idles as defined by an {@link IdleStrategy}, i. e. it spins,
+ * yields or parks for short periods. See {@link IdleStrategies} for the CPU cost and wake latency of
+ * the built-in strategies.
+ * </p>
+ * <p>
+ * The wait ends promptly if the waiting thread gets interrupted or if its {@link CancellationToken}
+ * gets cancelled. The interrupt flag is preserved. Idling never exceeds the deadline of the wait.
+ * </p>
+ *
+ * @since 10/18/26
+ */
+public class LowLatencyWait implements Wait {
+  private static final Logger LOG = LoggerFactory.getLogger(LowLatencyWait.class);
+
+  @Nonnull
+  private final Timeout timeout;
+  @Nonnegative
+  private final double timeoutFactor;
+  @Nonnull
+  private final WaitFailStrategy failStrategy;
+  @Nonnull
+  private final IdleStrategy idleStrategy;
+  @Nonnull
+  private final TimeSource timeSource;
+
+  public LowLatencyWait(@Nonnull final Timeout timeout, @Nonnull final IdleStrategy idleStrategy) {
+    this(timeout, 1d, new WaitTimeoutFailStrategy(), idleStrategy);
+  }
+
+  public LowLatencyWait(@Nonnull final Timeout timeout,
+                        @Nonnegative final double timeoutFactor,
+                        @Nonnull final WaitFailStrategy failStrategy,
+                        @Nonnull final IdleStrategy idleStrategy) {
+    this(timeout, timeoutFactor, failStrategy, idleStrategy, SystemTimeSource.INSTANCE);
+  }
+
+  /**
+   * <p>
+   * Create a wait which measures time using the given time source.
+   * </p>
+   *
+   * @param timeout       the timeout
+   * @param timeoutFactor factor to apply to the timeout
+   * @param failStrategy  strategy to use on timeout
+   * @param idleStrategy  how to idle between two evaluations
+   * @param timeSource    source of the time to measure the deadline
+   */
+  public LowLatencyWait(@Nonnull final Timeout timeout,
+                        @Nonnegative final double timeoutFactor,
+                        @Nonnull final WaitFailStrategy failStrategy,
+                        @Nonnull final IdleStrategy idleStrategy,
+                        @Nonnull final TimeSource timeSource) {
+    checkNotNull(timeout, "Timeout must not be null.");
+    checkNotNull(failStrategy, "Fail strategy must not be null.");
+    checkNotNull(idleStrategy, "Idle strategy must not be null.");
+    checkNotNull(timeSource, "Time source must not be null.");
+    this.timeout = timeout;
+    this.timeoutFactor = timeoutFactor;
+    this.failStrategy = failStrategy;
+    this.idleStrategy = idleStrategy;
+    this.timeSource = timeSource;
+  }
+
+  /**
+   * <p>
+   * Factory for low-latency waits using the given idle strategy, for example to be used by conditions.
+   * </p>
+   *
+   * @param idleStrategy how to idle between two evaluations
+   * @return wait factory
+   */
+  @Nonnull
+  public static WaitFactory factory(@Nonnull final IdleStrategy idleStrategy) {
+    checkNotNull(idleStrategy, "Idle strategy must not be null.");
+    return new LowLatencyWaitFactory(idleStrategy);
+  }
+
+  @Override
+  public final <F, T> T until(@Nonnull final F input, @Nonnull final Function<? super F, T> stateQuery) {
+    return until(null, input, stateQuery, null);
+  }
+
+  @Override
+  public final <F, T> T until(@Nonnull final F input, @Nonnull final Function<? super F, T> stateQuery, @Nullable final Matcher<? super T> matcher) {
+    return until(null, input, stateQuery, matcher);
+  }
+
+  @Override
+  public final <F, T> T until(@Nullable final String message,
+                              @Nonnull final F input,
+                              @Nonnull final Function<? super F, T> stateQuery,
+                              @Nullable final Matcher<? super T> matcher) {
+    return until(message, input, stateQuery, matcher, null);
+  }
+
+  @Override
+  public <F, T> T until(@Nullable final String message,
+                        @Nonnull final F input,
+                        @Nonnull final Function<? super F, T> stateQuery,
+                        @Nullable final Matcher<? super T> matcher,
+                        @Nullable final CancellationToken cancellation) {
+    final long startTimeNanos = timeSource.nanoTime();
+    final long timeoutNanos = timeout.in(TimeUnit.NANOSECONDS, timeoutFactor);
+    final long deadlineTimeNanos = startTimeNanos + timeoutNanos;
+    final IdleStrategy.Idler idler = idleStrategy.start();
+    final WaitObservation observation = WaitListeners.observe(message, stateQuery, input, startTimeNanos, timeoutNanos, timeoutFactor);
+    IgnorableStateQueryException lastException = null;
+    T lastState = null;
+    while (true) {
+      if (currentThread().isInterrupted() || cancellation != null && cancellation.isCancelled()) {
+        final long nowNanos = timeSource.nanoTime();
+        if (observation != null) {
+          observation.aborted(nowNanos);
+        }
+        final long consumedMillis = TimeUnit.NANOSECONDS.toMillis(nowNanos - startTimeNanos);
+        LOG.debug("Wait cancelled after {} ms.", consumedMillis);
+        failStrategy.cancelled(message, stateQuery, input, consumedMillis);
+        throw new WaitCancelledException(AbstractWaitFailStrategy.cancelledMessage(message));
+      }
+      final long beforeEvaluationTimeNanos = timeSource.nanoTime();
+      boolean evaluated = false;
+      if (observation != null) {
+        observation.pollStarted();
+      }
+      try {
+        final T result = stateQuery.apply(input);
+        if (matcher == null || matcher.matches(result)) {
+          if (observation != null) {
+            final long afterEvaluationTimeNanos = timeSource.nanoTime();
+            observation.polled(afterEvaluationTimeNanos - beforeEvaluationTimeNanos, WaitListener.PollOutcome.MATCHED);
+            observation.succeeded(afterEvaluationTimeNanos);
+          }
+          return result;
+        }
+        lastState = result;
+        evaluated = true;
+      } catch (IgnorableStateQueryException e) {
+        LOG.trace("Ignoring exception for now. Might rethrow later if failed with error.", e);
+        lastException = e;
+        if (observation != null) {
+          observation.exceptionIgnored(e);
+        }
+      } catch (TerminalStateException e) {
+        final long nowNanos = timeSource.nanoTime();
+        if (observation != null) {
+          observation.polled(nowNanos - beforeEvaluationTimeNanos, WaitListener.PollOutcome.TERMINAL);
+          observation.aborted(nowNanos);
+        }
+        failStrategy.terminal(message, stateQuery, input, e.getState(), e.getTerminalMatcher(), TimeUnit.NANOSECONDS.toMillis(nowNanos - startTimeNanos));
+        throw e;
+      } catch (RuntimeException | Error e) {
+        // Unexpected failures of the state query or matcher end the wait, too.
+        if (observation != null) {
+          observation.aborted(timeSource.nanoTime());
+        }
+        throw e;
+      }
+      final long afterEvaluationTimeNanos = timeSource.nanoTime();
+      if (observation != null) {
+        observation.polled(afterEvaluationTimeNanos - beforeEvaluationTimeNanos,
+                evaluated ? WaitListener.PollOutcome.MISMATCHED : WaitListener.PollOutcome.IGNORED_EXCEPTION);
+      }
+      if (afterEvaluationTimeNanos - deadlineTimeNanos > 0L) {
+        if (observation != null) {
+          observation.timedOut(afterEvaluationTimeNanos);
+        }
+        final long consumedMillis = TimeUnit.NANOSECONDS.toMillis(afterEvaluationTimeNanos - startTimeNanos);
+        if (lastException == null) {
+          failStrategy.fail(message, stateQuery, input, lastState, matcher, consumedMillis);
+        } else {
+          failStrategy.fail(message, stateQuery, input, lastException, consumedMillis);
+        }
+      }
+      idler.idle(DeceleratingWait.boundedDelayNanos(Long.MAX_VALUE, deadlineTimeNanos, afterEvaluationTimeNanos));
+    }
+  }
+
+  @Override
+  public String toString() {
+    return MoreObjects.toStringHelper(this)
+                      .add("timeout", timeout)
+                      .add("timeoutFactor", timeoutFactor)
+                      .add("failStrategy", failStrategy)
+                      .add("idleStrategy", idleStrategy)
+                      .add("timeSource", timeSource)
+                      .toString();
+  }
+
+  private static final class LowLatencyWaitFactory implements WaitFactory {
+    @Nonnull
+    private final IdleStrategy idleStrategy;
+
+    private LowLatencyWaitFactory(@Nonnull final IdleStrategy idleStrategy) {
+      this.idleStrategy = idleStrategy;
+    }
+
+    @Nonnull
+    @Override
+    public Wait createWait(@Nonnull final Timeout timeout, @Nonnegative final double timeoutFactor, @Nonnull final WaitFailStrategy failStrategy) {
+      return new LowLatencyWait(timeout, timeoutFactor, failStrategy, idleStrategy);
+    }
+
+    @Override
+    public String toString() {
+      return MoreObjects.toStringHelper(this)
+                        .add("idleStrategy", idleStrategy)
+                        .toString();
+    }
+  }
+}
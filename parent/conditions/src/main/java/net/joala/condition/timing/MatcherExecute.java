@@ -19,12 +19,15 @@
 
 package net.joala.condition.timing;
 
+import com.google.common.base.Supplier;
 import org.hamcrest.Description;
 import org.hamcrest.Matcher;
-import org.hamcrest.StringDescription;
+
+import javax.annotation.Nonnull;
 
 /**
- * Utility class to format matcher descriptions.
+ * Utility class to format matcher descriptions. Descriptions are only rendered if the fail strategy requests
+ * them and get truncated to {@link AbstractWaitFailStrategy#MAX_DESCRIPTION_LENGTH} characters.
  *
  * @since 2013-05-08
  */
@@ -34,19 +37,48 @@ public final class MatcherExecute {
 
   public static <T> void match(final String reason, final T actual, final Matcher<? super T> matcher, final FailStrategy failStrategy) {
     if (!matcher.matches(actual)) {
-        final Description description = new StringDescription();
-        description.appendText(reason)
-                   .appendText("\nExpected: ")
-                   .appendDescriptionOf(matcher)
-                   .appendText("\n     but: ");
-        matcher.describeMismatch(actual, description);
-
-        failStrategy.fail(description.toString());
+      failStrategy.fail(new MismatchDescription<>(reason, actual, matcher));
     }
   }
 
   public interface FailStrategy {
     void fail(String message);
+
+    /**
+     * <p>
+     * Fail with a message which is rendered on request. Strategies which throw exceptions that
+     * might be thrown away should override this method to defer rendering the message.
+     * </p>
+     *
+     * @param message supplier of the message
+     * @since 10/18/26
+     */
+    default void fail(@Nonnull final Supplier<String> message) {
+      fail(message.get());
+    }
+  }
+
+  private static final class MismatchDescription<T> implements Supplier<String> {
+    private final String reason;
+    private final T actual;
+    private final Matcher<? super T> matcher;
+
+    private MismatchDescription(final String reason, final T actual, final Matcher<? super T> matcher) {
+      this.reason = reason;
+      this.actual = actual;
+      this.matcher = matcher;
+    }
+
+    @Override
+    public String get() {
+      final Description description = new TruncatingDescription(AbstractWaitFailStrategy.MAX_DESCRIPTION_LENGTH);
+      description.appendText(reason)
+                 .appendText("\nExpected: ")
+                 .appendDescriptionOf(matcher)
+                 .appendText("\n     but: ");
+      matcher.describeMismatch(actual, description);
+      return description.toString();
+    }
   }
 
   public static final class AssertionErrorStrategy implements FailStrategy {
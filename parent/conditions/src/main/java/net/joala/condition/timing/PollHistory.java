@@ -0,0 +1,193 @@
+/*
+ * Copyright 2026 CoreMedia AG
+ *
+ * This file is part of Joala.
+ *
+ * Joala is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Joala is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Joala.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package net.joala.condition.timing;
+
+import com.google.common.base.MoreObjects;
+import net.joala.matcher.DescriptionUtil;
+import net.joala.time.TimeFormat;
+import org.hamcrest.Description;
+import org.hamcrest.SelfDescribing;
+
+import javax.annotation.Nonnegative;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+/**
+ * <p>
+ * Fixed-capacity history of the most recent polls of a wait, to tell in failure messages how the
+ * queried state evolved. For each poll the history keeps when it started, how long the state query took
+ * and its outcome in primitive ring buffers. Additionally it keeps the most recent distinct states, i. e.
+ * each state which differs from the one before, together with the poll which observed it first.
+ * </p>
+ * <p>
+ * The memory of the history only depends on its capacities, not on the length of the wait. States are
+ * only described when the history is described, and each of them is truncated to
+ * {@value #MAX_STATE_LENGTH} characters.
+ * </p>
+ *
+ * @see DeceleratingWait#withPollHistory(int, int)
+ * @since 10/18/26
+ */
+public final class PollHistory implements SelfDescribing {
+  /**
+   * Maximum number of characters of the description of each state.
+   */
+  public static final int MAX_STATE_LENGTH = 200;
+  private static final WaitListener.PollOutcome[] OUTCOMES = WaitListener.PollOutcome.values();
+
+  private final long[] pollStartNanos;
+  private final long[] pollDurationNanos;
+  private final byte[] pollOutcomes;
+  private final Object[] states;
+  private final long[] stateStartNanos;
+  private final int[] statePolls;
+  @Nonnegative
+  private int polls;
+  @Nonnegative
+  private int distinctStates;
+
+  /**
+   * <p>
+   * History with the given capacities.
+   * </p>
+   *
+   * @param pollCapacity  number of most recent polls to keep
+   * @param stateCapacity number of most recent distinct states to keep
+   */
+  PollHistory(@Nonnegative final int pollCapacity, @Nonnegative final int stateCapacity) {
+    checkArgument(pollCapacity >= 0, "Poll capacity must not be negative: %s", pollCapacity);
+    checkArgument(stateCapacity >= 0, "State capacity must not be negative: %s", stateCapacity);
+    pollStartNanos = new long[pollCapacity];
+    pollDurationNanos = new long[pollCapacity];
+    pollOutcomes = new byte[pollCapacity];
+    states = new Object[stateCapacity];
+    stateStartNanos = new long[stateCapacity];
+    statePolls = new int[stateCapacity];
+  }
+
+  /**
+   * <p>
+   * Record a poll.
+   * </p>
+   *
+   * @param startNanos    start of the poll relative to the start of the wait
+   * @param durationNanos duration of the state query
+   * @param outcome       outcome of the poll
+   */
+  void polled(final long startNanos, final long durationNanos, @Nonnull final WaitListener.PollOutcome outcome) {
+    if (pollStartNanos.length > 0) {
+      final int index = polls % pollStartNanos.length;
+      pollStartNanos[index] = startNanos;
+      pollDurationNanos[index] = durationNanos;
+      pollOutcomes[index] = (byte) outcome.ordinal();
+    }
+    polls++;
+  }
+
+  /**
+   * <p>
+   * Record the state evaluated by the latest poll, if it differs from the previous distinct state.
+   * </p>
+   *
+   * @param startNanos start of the poll relative to the start of the wait
+   * @param state      the evaluated state
+   */
+  void evaluated(final long startNanos, @Nullable final Object state) {
+    if (states.length == 0) {
+      return;
+    }
+    if (distinctStates > 0 && Objects.equals(states[(distinctStates - 1) % states.length], state)) {
+      return;
+    }
+    final int index = distinctStates % states.length;
+    states[index] = state;
+    stateStartNanos[index] = startNanos;
+    statePolls[index] = polls;
+    distinctStates++;
+  }
+
+  /**
+   * @return number of recorded polls, including the ones which are not kept anymore
+   */
+  @Nonnegative
+  public int getPolls() {
+    return polls;
+  }
+
+  /**
+   * @return number of distinct states, including the ones which are not kept anymore
+   */
+  @Nonnegative
+  public int getDistinctStates() {
+    return distinctStates;
+  }
+
+  @Override
+  public void describeTo(@Nonnull final Description description) {
+    final int keptPolls = Math.min(polls, pollStartNanos.length);
+    description.appendText(String.format("last %d of %d polls: [", keptPolls, polls));
+    for (int i = polls - keptPolls; i < polls; i++) {
+      final int index = i % pollStartNanos.length;
+      if (i > polls - keptPolls) {
+        description.appendText(", ");
+      }
+      description.appendText(String.format("#%d at %s took %s %s",
+              i + 1,
+              formatNanos(pollStartNanos[index]),
+              formatNanos(pollDurationNanos[index]),
+              OUTCOMES[pollOutcomes[index]]));
+    }
+    final int keptStates = Math.min(distinctStates, states.length);
+    description.appendText(String.format("], last %d of %d distinct states: [", keptStates, distinctStates));
+    for (int i = distinctStates - keptStates; i < distinctStates; i++) {
+      final int index = i % states.length;
+      if (i > distinctStates - keptStates) {
+        description.appendText(", ");
+      }
+      description.appendText(String.format("#%d at %s: ", statePolls[index], formatNanos(stateStartNanos[index])));
+      final Description stateDescription = new TruncatingDescription(MAX_STATE_LENGTH);
+      DescriptionUtil.describeTo(stateDescription, states[index]);
+      description.appendText(stateDescription.toString());
+    }
+    description.appendText("]");
+  }
+
+  private static String formatNanos(final long nanos) {
+    return TimeFormat.format(Math.max(0L, nanos), TimeUnit.NANOSECONDS);
+  }
+
+  @Override
+  public String toString() {
+    return MoreObjects.toStringHelper(this)
+                      .add("polls", polls)
+                      .add("distinctStates", distinctStates)
+                      .add("pollStartNanos", pollStartNanos.length)
+                      .add("pollDurationNanos", pollDurationNanos.length)
+                      .add("pollOutcomes", pollOutcomes.length)
+                      .add("states", states.length)
+                      .add("stateStartNanos", stateStartNanos.length)
+                      .add("statePolls", statePolls.length)
+                      .toString();
+  }
+}
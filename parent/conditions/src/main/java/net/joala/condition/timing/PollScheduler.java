@@ -0,0 +1,435 @@
+/*
+ * Copyright 2026 CoreMedia AG
+ *
+ * This file is part of Joala.
+ *
+ * Joala is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Joala is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Joala.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package net.joala.condition.timing;
+
+import com.google.common.base.MoreObjects;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.Nonnegative;
+import javax.annotation.Nonnull;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+import static com.google.common.base.Preconditions.checkState;
+
+/**
+ * <p>
+ * Scheduler for polls of waits based on a hashed timer wheel. Scheduling the next poll of a wait is
+ * an O(1) operation: the poll is handed over to a single ticker thread which sorts it into the
+ * bucket of the wheel matching its deadline. On each tick the ticker thread expires the polls of
+ * one bucket and hands them over to a small fixed pool of worker threads which run the state queries.
+ * </p>
+ * <p>
+ * Polls are never run before their deadline. The resolution of deadlines is one tick, which
+ * defaults to one millisecond. While no poll is pending the ticker thread sleeps until the next
+ * poll gets scheduled.
+ * </p>
+ * <p>
+ * For monitoring the scheduler reports its {@link #queueDepth() queue depth} and the
+ * {@link #tickLag(TimeUnit) tick lag}, i.e. how late the ticker thread processed its last tick.
+ * A steadily growing tick lag signals that the ticker thread cannot keep up.
+ * </p>
+ *
+ * @see #shared()
+ * @since 10/18/26
+ */
+public class PollScheduler {
+  private static final Logger LOG = LoggerFactory.getLogger(PollScheduler.class);
+
+  static final long DEFAULT_TICK_MILLIS = 1L;
+  static final int DEFAULT_WHEEL_SIZE = 512;
+
+  private static final int PENDING = 0;
+  private static final int CANCELLED = 1;
+  private static final int EXPIRED = 2;
+
+  private static final AtomicInteger INSTANCE_COUNTER = new AtomicInteger();
+  private static final Runnable NO_OP = () -> {
+  };
+
+  @Nonnegative
+  private final long tickNanos;
+  private final int mask;
+  @Nonnull
+  private final List<List<Entry>> wheel;
+  @Nonnull
+  private final Queue<Entry> newEntries = new ConcurrentLinkedQueue<>();
+  @Nonnull
+  private final ExecutorService workers;
+  @Nonnull
+  private final Thread ticker;
+  @Nonnull
+  private final AtomicLong queueDepth = new AtomicLong();
+  private final long startNanos;
+  private volatile long tickLagNanos;
+  private volatile boolean shutdown;
+  /**
+   * Signals that the ticker thread sleeps because no poll is pending.
+   */
+  private volatile boolean idle;
+  /**
+   * The current tick; only accessed by the ticker thread.
+   */
+  private long tick;
+
+  /**
+   * <p>
+   * Create a scheduler with the given tick duration, number of buckets and number of worker threads.
+   * </p>
+   *
+   * @param tickDuration duration of one tick; the resolution of deadlines
+   * @param unit         unit of the tick duration
+   * @param wheelSize    number of buckets of the wheel; will be rounded up to a power of two
+   * @param workerCount  number of threads to run the scheduled polls
+   */
+  public PollScheduler(@Nonnegative final long tickDuration,
+                       @Nonnull final TimeUnit unit,
+                       @Nonnegative final int wheelSize,
+                       @Nonnegative final int workerCount) {
+    checkNotNull(unit, "Time unit must not be null.");
+    checkArgument(tickDuration > 0L, "Tick duration must be positive: %s", tickDuration);
+    checkArgument(wheelSize > 0, "Wheel size must be positive: %s", wheelSize);
+    checkArgument(workerCount > 0, "Worker count must be positive: %s", workerCount);
+    int normalizedWheelSize = 1;
+    while (normalizedWheelSize < wheelSize) {
+      normalizedWheelSize <<= 1;
+    }
+    tickNanos = unit.toNanos(tickDuration);
+    mask = normalizedWheelSize - 1;
+    wheel = new ArrayList<>(normalizedWheelSize);
+    for (int i = 0; i < normalizedWheelSize; i++) {
+      wheel.add(new ArrayList<>());
+    }
+    final int instance = INSTANCE_COUNTER.incrementAndGet();
+    workers = Executors.newFixedThreadPool(workerCount,
+            new ThreadFactoryBuilder().setDaemon(true).setNameFormat("joala-poll-" + instance + "-worker-%d").build());
+    startNanos = System.nanoTime();
+    ticker = new ThreadFactoryBuilder().setDaemon(true).setNameFormat("joala-poll-" + instance + "-ticker").build()
+            .newThread(this::runTicker);
+    ticker.start();
+  }
+
+  /**
+   * <p>
+   * The scheduler shared by all waits in this JVM which are not configured otherwise. It runs with
+   * daemon threads and is never shut down.
+   * </p>
+   *
+   * @return shared scheduler
+   */
+  @Nonnull
+  public static PollScheduler shared() {
+    return SharedHolder.INSTANCE;
+  }
+
+  /**
+   * <p>
+   * Schedule the given poll. Polls with a delay of zero or less are handed over to the worker threads immediately.
+   * </p>
+   *
+   * @param poll  the poll to run
+   * @param delay delay after which to run the poll
+   * @param unit  unit of the delay
+   * @return handle to cancel the poll
+   * @throws IllegalStateException if the scheduler has been shut down
+   */
+  @Nonnull
+  public ScheduledPoll schedule(@Nonnull final Runnable poll, final long delay, @Nonnull final TimeUnit unit) {
+    return schedule(poll, NO_OP, delay, unit);
+  }
+
+  /**
+   * <p>
+   * Schedule the given poll. If the scheduler gets {@link #shutdown() shut down} before the poll got run,
+   * the given shutdown handler is run instead, for example to complete the wait the poll belongs to.
+   * </p>
+   *
+   * @param poll       the poll to run
+   * @param onShutdown handler to run instead of the poll if the scheduler gets shut down first
+   * @param delay      delay after which to run the poll
+   * @param unit       unit of the delay
+   * @return handle to cancel the poll
+   * @throws IllegalStateException if the scheduler has been shut down
+   */
+  @Nonnull
+  public ScheduledPoll schedule(@Nonnull final Runnable poll,
+                                @Nonnull final Runnable onShutdown,
+                                final long delay,
+                                @Nonnull final TimeUnit unit) {
+    checkNotNull(poll, "Poll must not be null.");
+    checkNotNull(onShutdown, "Shutdown handler must not be null.");
+    checkNotNull(unit, "Time unit must not be null.");
+    checkState(!shutdown, "Scheduler has been shut down.");
+    final Entry entry = new Entry(poll, onShutdown, System.nanoTime() - startNanos + unit.toNanos(Math.max(0L, delay)));
+    queueDepth.incrementAndGet();
+    if (delay > 0L) {
+      newEntries.add(entry);
+      if (shutdown) {
+        // the ticker thread may have drained the new entries already
+        entry.shutDown();
+      } else if (idle) {
+        LockSupport.unpark(ticker);
+      }
+    } else {
+      dispatch(entry);
+    }
+    return entry;
+  }
+
+  /**
+   * <p>
+   * Number of polls waiting for their deadline.
+   * </p>
+   *
+   * @return number of pending polls
+   */
+  @Nonnegative
+  public long queueDepth() {
+    return queueDepth.get();
+  }
+
+  /**
+   * <p>
+   * How late the last tick got processed compared to its due time.
+   * </p>
+   *
+   * @param unit unit of the result
+   * @return lag of the last tick
+   */
+  @Nonnegative
+  public long tickLag(@Nonnull final TimeUnit unit) {
+    return unit.convert(tickLagNanos, TimeUnit.NANOSECONDS);
+  }
+
+  /**
+   * <p>
+   * Stop the scheduler. Pending polls will not be run anymore, instead their shutdown handlers are run
+   * by the ticker thread.
+   * </p>
+   */
+  public void shutdown() {
+    shutdown = true;
+    LockSupport.unpark(ticker);
+    workers.shutdown();
+  }
+
+  /**
+   * <p>
+   * Signals if the scheduler has been shut down.
+   * </p>
+   *
+   * @return {@code true} if the scheduler does not accept polls anymore
+   */
+  public boolean isShutdown() {
+    return shutdown;
+  }
+
+  private void runTicker() {
+    while (!shutdown) {
+      if (queueDepth.get() == 0L) {
+        awaitPendingPolls();
+        continue;
+      }
+      final long tickDeadline = (tick + 1L) * tickNanos;
+      long now = System.nanoTime() - startNanos;
+      while (now < tickDeadline) {
+        LockSupport.parkNanos(this, tickDeadline - now);
+        if (shutdown) {
+          break;
+        }
+        now = System.nanoTime() - startNanos;
+      }
+      if (shutdown) {
+        break;
+      }
+      tickLagNanos = now - tickDeadline;
+      transferNewEntries();
+      expire(wheel.get((int) (tick & mask)), now);
+      tick++;
+    }
+    shutDownPendingPolls();
+  }
+
+  /**
+   * <p>
+   * Sleep until a poll gets scheduled or the scheduler gets shut down. Afterwards, continue with the
+   * current tick instead of catching up with all the ticks which passed in the meantime. This is safe
+   * as the wheel only contains cancelled or already run entries while no poll is pending.
+   * </p>
+   */
+  private void awaitPendingPolls() {
+    idle = true;
+    // Check again after signalling, so that a concurrently scheduled poll does not get missed.
+    while (queueDepth.get() == 0L && !shutdown) {
+      LockSupport.park(this);
+    }
+    idle = false;
+    tick = Math.max(tick, (System.nanoTime() - startNanos) / tickNanos);
+  }
+
+  private void shutDownPendingPolls() {
+    for (final List<Entry> bucket : wheel) {
+      for (final Entry entry : bucket) {
+        entry.shutDown();
+      }
+      bucket.clear();
+    }
+    for (Entry entry = newEntries.poll(); entry != null; entry = newEntries.poll()) {
+      entry.shutDown();
+    }
+  }
+
+  private void transferNewEntries() {
+    for (Entry entry = newEntries.poll(); entry != null; entry = newEntries.poll()) {
+      if (entry.state.get() == PENDING) {
+        final long deadlineTick = entry.deadlineNanos / tickNanos;
+        entry.remainingRounds = (deadlineTick - tick) / wheel.size();
+        wheel.get((int) (Math.max(deadlineTick, tick) & mask)).add(entry);
+      }
+    }
+  }
+
+  private void expire(@Nonnull final List<Entry> bucket, final long now) {
+    int i = 0;
+    while (i < bucket.size()) {
+      final Entry entry = bucket.get(i);
+      if (entry.state.get() != PENDING) {
+        removeAt(bucket, i);
+      } else if (entry.remainingRounds <= 0L && entry.deadlineNanos <= now) {
+        removeAt(bucket, i);
+        dispatch(entry);
+      } else {
+        entry.remainingRounds--;
+        i++;
+      }
+    }
+  }
+
+  private static void removeAt(@Nonnull final List<Entry> bucket, final int index) {
+    final int last = bucket.size() - 1;
+    bucket.set(index, bucket.get(last));
+    bucket.remove(last);
+  }
+
+  private void dispatch(@Nonnull final Entry entry) {
+    if (entry.state.compareAndSet(PENDING, EXPIRED)) {
+      queueDepth.decrementAndGet();
+      try {
+        workers.execute(entry);
+      } catch (RejectedExecutionException e) {
+        LOG.debug("Scheduler has been shut down. Not running poll {}.", entry.poll, e);
+        entry.runShutdownHandler();
+      }
+    }
+  }
+
+  @Override
+  public String toString() {
+    return MoreObjects.toStringHelper(this)
+                      .add("tickNanos", tickNanos)
+                      .add("wheelSize", wheel.size())
+                      .add("queueDepth", queueDepth)
+                      .add("tickLagNanos", tickLagNanos)
+                      .add("shutdown", shutdown)
+                      .toString();
+  }
+
+  /**
+   * <p>
+   * Handle to a scheduled poll.
+   * </p>
+   */
+  public interface ScheduledPoll {
+    /**
+     * <p>
+     * Cancel the poll unless it already got started.
+     * </p>
+     *
+     * @return {@code true} if the poll got cancelled; {@code false} if it is already running or has been cancelled before
+     */
+    boolean cancel();
+  }
+
+  private final class Entry implements ScheduledPoll, Runnable {
+    @Nonnull
+    private final Runnable poll;
+    @Nonnull
+    private final Runnable onShutdown;
+    private final long deadlineNanos;
+    private final AtomicInteger state = new AtomicInteger(PENDING);
+    private long remainingRounds;
+
+    private Entry(@Nonnull final Runnable poll, @Nonnull final Runnable onShutdown, final long deadlineNanos) {
+      this.poll = poll;
+      this.onShutdown = onShutdown;
+      this.deadlineNanos = deadlineNanos;
+    }
+
+    private void shutDown() {
+      if (cancel()) {
+        runShutdownHandler();
+      }
+    }
+
+    private void runShutdownHandler() {
+      try {
+        onShutdown.run();
+      } catch (RuntimeException e) {
+        LOG.warn("Shutdown handler of poll {} failed.", poll, e);
+      }
+    }
+
+    @Override
+    public boolean cancel() {
+      final boolean cancelled = state.compareAndSet(PENDING, CANCELLED);
+      if (cancelled) {
+        queueDepth.decrementAndGet();
+      }
+      return cancelled;
+    }
+
+    @Override
+    public void run() {
+      try {
+        poll.run();
+      } catch (RuntimeException e) {
+        LOG.warn("Poll {} failed.", poll, e);
+      }
+    }
+  }
+
+  private static final class SharedHolder {
+    private static final PollScheduler INSTANCE = new PollScheduler(DEFAULT_TICK_MILLIS, TimeUnit.MILLISECONDS,
+            DEFAULT_WHEEL_SIZE, Math.max(2, Runtime.getRuntime().availableProcessors()));
+  }
+}
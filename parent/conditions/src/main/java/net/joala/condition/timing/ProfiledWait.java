@@ -0,0 +1,117 @@
+/*
+ * Copyright 2026 CoreMedia AG
+ *
+ * This file is part of Joala.
+ *
+ * Joala is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Joala is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Joala.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package net.joala.condition.timing;
+
+import com.google.common.base.Function;
+import com.google.common.base.MoreObjects;
+import net.joala.time.Sleeper;
+import net.joala.time.TimeSource;
+import net.joala.time.Timeout;
+import org.hamcrest.Matcher;
+
+import javax.annotation.Nonnegative;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+/**
+ * <p>
+ * Decelerating wait whose backoff is taken from the profile of the awaited condition in a
+ * {@link WaitProfileStore}. Successful waits are recorded in the store.
+ * </p>
+ *
+ * @since 10/18/26
+ */
+final class ProfiledWait implements Wait {
+  @Nonnull
+  private final WaitProfileStore store;
+  @Nonnull
+  private final Timeout timeout;
+  @Nonnegative
+  private final double timeoutFactor;
+  @Nonnull
+  private final WaitFailStrategy failStrategy;
+  @Nonnull
+  private final BackoffPolicy fallback;
+  @Nonnull
+  private final TimeSource timeSource;
+  @Nonnull
+  private final Sleeper sleeper;
+
+  ProfiledWait(@Nonnull final WaitProfileStore store,
+               @Nonnull final Timeout timeout,
+               @Nonnegative final double timeoutFactor,
+               @Nonnull final WaitFailStrategy failStrategy,
+               @Nonnull final BackoffPolicy fallback,
+               @Nonnull final TimeSource timeSource,
+               @Nonnull final Sleeper sleeper) {
+    this.store = store;
+    this.timeout = timeout;
+    this.timeoutFactor = timeoutFactor;
+    this.failStrategy = failStrategy;
+    this.fallback = fallback;
+    this.timeSource = timeSource;
+    this.sleeper = sleeper;
+  }
+
+  @Override
+  public <F, T> T until(@Nonnull final F input, @Nonnull final Function<? super F, T> stateQuery) {
+    return until(null, input, stateQuery, null);
+  }
+
+  @Override
+  public <F, T> T until(@Nonnull final F input, @Nonnull final Function<? super F, T> stateQuery, @Nullable final Matcher<? super T> matcher) {
+    return until(null, input, stateQuery, matcher);
+  }
+
+  @Override
+  public <F, T> T until(@Nullable final String message,
+                        @Nonnull final F input,
+                        @Nonnull final Function<? super F, T> stateQuery,
+                        @Nullable final Matcher<? super T> matcher) {
+    return until(message, input, stateQuery, matcher, null);
+  }
+
+  @Override
+  public <F, T> T until(@Nullable final String message,
+                        @Nonnull final F input,
+                        @Nonnull final Function<? super F, T> stateQuery,
+                        @Nullable final Matcher<? super T> matcher,
+                        @Nullable final CancellationToken cancellation) {
+    final String key = WaitObservation.key(message, input);
+    final Wait wait = new DeceleratingWait(timeout, timeoutFactor, failStrategy, store.backoffPolicy(key, fallback), timeSource, sleeper);
+    final long startTimeNanos = timeSource.nanoTime();
+    final T result = wait.until(message, input, stateQuery, matcher, cancellation);
+    store.record(key, timeSource.nanoTime() - startTimeNanos);
+    return result;
+  }
+
+  @Override
+  public String toString() {
+    return MoreObjects.toStringHelper(this)
+                      .add("store", store)
+                      .add("timeout", timeout)
+                      .add("timeoutFactor", timeoutFactor)
+                      .add("failStrategy", failStrategy)
+                      .add("fallback", fallback)
+                      .add("timeSource", timeSource)
+                      .add("sleeper", sleeper)
+                      .toString();
+  }
+}
@@ -0,0 +1,57 @@
+/*
+ * Copyright 2026 CoreMedia AG
+ *
+ * This file is part of Joala.
+ *
+ * Joala is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Joala is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Joala.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package net.joala.condition.timing;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+import javax.annotation.Nonnull;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * <p>
+ * Executors to run state queries on. State queries may block for a long time, for example on remote
+ * calls, so they must not run on threads which are meant for timing only, like the worker threads of
+ * the {@link PollScheduler}.
+ * </p>
+ *
+ * @since 10/18/26
+ */
+public final class QueryExecutors {
+  private QueryExecutors() {
+  }
+
+  /**
+   * <p>
+   * A shared, unbounded pool of daemon threads which are cached for reuse. As the threads do not belong
+   * to the waiting thread, {@link ThreadLocal}s of the waiting thread are not visible to the state queries.
+   * </p>
+   *
+   * @return shared executor
+   */
+  @Nonnull
+  public static ExecutorService shared() {
+    return SharedExecutorHolder.INSTANCE;
+  }
+
+  private static final class SharedExecutorHolder {
+    private static final ExecutorService INSTANCE = Executors.newCachedThreadPool(
+            new ThreadFactoryBuilder().setDaemon(true).setNameFormat("joala-query-%d").build());
+  }
+}
@@ -0,0 +1,334 @@
+/*
+ * Copyright 2026 CoreMedia AG
+ *
+ * This file is part of Joala.
+ *
+ * Joala is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Joala is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Joala.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package net.joala.condition.timing;
+
+import com.google.common.base.Function;
+import com.google.common.base.MoreObjects;
+import com.google.common.math.LongMath;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+import net.joala.time.DeadlineContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.Nonnegative;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+import static com.google.common.base.Throwables.throwIfUnchecked;
+
+/**
+ * <p>
+ * Bounds the time a single state query may take. Without it a wait checks its deadline only after the
+ * state query returned, so that for example a hanging HTTP request may keep the wait busy far beyond
+ * its timeout.
+ * </p>
+ * <p>
+ * With a query timeout each state query runs on an executor while the waiting thread waits at most for
+ * the remaining time until the deadline plus some slack. If the query does not respond in time, it gets
+ * interrupted and abandoned, and the wait continues as if the query threw a
+ * {@link StateQueryTimeoutException}. Thus the wait never exceeds its timeout by much more than the slack.
+ * </p>
+ * <p>
+ * Queries which ignore interrupts keep running in the background. The {@link #pooled(long, TimeUnit) pooled}
+ * query timeout uses a cached pool of daemon threads, so that such queries neither block subsequent queries
+ * nor the shutdown of the JVM.
+ * </p>
+ * <p>
+ * For backends with a long latency tail a query timeout may additionally {@link #hedged(double, int) hedge}
+ * state queries: if a state query did not respond within a percentile of the latencies observed so far,
+ * a second query is started in parallel and the first result to arrive is used.
+ * </p>
+ *
+ * @see DeceleratingWait#factory(BackoffPolicy, QueryTimeout)
+ * @since 10/18/26
+ */
+public final class QueryTimeout {
+  private static final Logger LOG = LoggerFactory.getLogger(QueryTimeout.class);
+
+  @Nonnull
+  private final ExecutorService executor;
+  @Nonnegative
+  private final long slackNanos;
+  @Nullable
+  private final Hedging hedging;
+
+  private QueryTimeout(@Nonnull final ExecutorService executor, @Nonnegative final long slackNanos, @Nullable final Hedging hedging) {
+    this.executor = executor;
+    this.slackNanos = slackNanos;
+    this.hedging = hedging;
+  }
+
+  /**
+   * <p>
+   * Query timeout running the state queries on the {@link QueryExecutors#shared() shared} pool of daemon threads.
+   * </p>
+   *
+   * @param slack how long a state query may exceed the deadline of the wait
+   * @param unit  unit of the slack
+   * @return query timeout
+   */
+  @Nonnull
+  public static QueryTimeout pooled(@Nonnegative final long slack, @Nonnull final TimeUnit unit) {
+    return on(QueryExecutors.shared(), slack, unit);
+  }
+
+  /**
+   * <p>
+   * Query timeout running the state queries on the given executor.
+   * </p>
+   *
+   * @param executor executor to run the state queries
+   * @param slack    how long a state query may exceed the deadline of the wait
+   * @param unit     unit of the slack
+   * @return query timeout
+   */
+  @Nonnull
+  public static QueryTimeout on(@Nonnull final ExecutorService executor,
+                                @Nonnegative final long slack,
+                                @Nonnull final TimeUnit unit) {
+    checkNotNull(executor, "Executor must not be null.");
+    checkNotNull(unit, "Time unit must not be null.");
+    checkArgument(slack >= 0L, "Slack must not be negative: %s", slack);
+    return new QueryTimeout(executor, unit.toNanos(slack), null);
+  }
+
+  /**
+   * <p>
+   * Query timeout which additionally hedges slow state queries. Once some latencies have been observed, a state
+   * query which did not respond within the given percentile of the recent latencies gets accompanied by a second
+   * query; the first result to arrive is used and the other query gets interrupted.
+   * </p>
+   * <p>
+   * Latencies are learned from all waits sharing the returned query timeout. At most {@code maxInFlight} hedged
+   * queries run at the same time across these waits, so that hedging does not overload a struggling backend.
+   * </p>
+   *
+   * @param percentile  percentile of the observed latencies after which to hedge, for example {@code 95}
+   * @param maxInFlight maximum number of hedged queries running at the same time
+   * @return hedging query timeout with the same executor and slack
+   */
+  @Nonnull
+  public QueryTimeout hedged(final double percentile, @Nonnegative final int maxInFlight) {
+    checkArgument(percentile > 0d && percentile <= 100d, "Percentile must be within (0, 100]: %s", percentile);
+    checkArgument(maxInFlight > 0, "Maximum number of hedged queries must be positive: %s", maxInFlight);
+    return new QueryTimeout(executor, slackNanos, new Hedging(percentile, maxInFlight));
+  }
+
+  /**
+   * <p>
+   * Run the state query, but wait at most the remaining time plus the slack for its result.
+   * </p>
+   *
+   * @param input          the input to pass to the state query
+   * @param stateQuery     the state query
+   * @param remainingNanos time until the deadline of the wait
+   * @param <F>            the input type
+   * @param <T>            the return type of the state query
+   * @return the result of the state query
+   * @throws StateQueryTimeoutException if the state query did not respond in time
+   * @throws InterruptedException       if the waiting thread got interrupted
+   */
+  <F, T> T apply(@Nonnull final F input,
+                 @Nonnull final Function<? super F, T> stateQuery,
+                 final long remainingNanos) throws InterruptedException {
+    final long budgetNanos = LongMath.saturatedAdd(Math.max(0L, remainingNanos), slackNanos);
+    final long startNanos = System.nanoTime();
+    final BlockingQueue<Attempt<T>> completed = new LinkedBlockingQueue<>();
+    final List<Attempt<T>> attempts = new ArrayList<>(2);
+    try {
+      attempts.add(start(new Attempt<>(input, stateQuery, completed, hedging, false)));
+      Attempt<T> done = null;
+      if (hedging != null) {
+        final long thresholdNanos = hedging.thresholdNanos();
+        if (thresholdNanos < budgetNanos) {
+          done = completed.poll(thresholdNanos, TimeUnit.NANOSECONDS);
+          if (done == null && hedging.tryAcquire()) {
+            hedge(input, stateQuery, completed, attempts);
+          }
+        }
+      }
+      if (done == null) {
+        done = completed.poll(budgetNanos - (System.nanoTime() - startNanos), TimeUnit.NANOSECONDS);
+      }
+      if (done == null) {
+        throw new StateQueryTimeoutException(stateQuery, budgetNanos, TimeUnit.NANOSECONDS);
+      }
+      return done.get();
+    } catch (ExecutionException e) {
+      final Throwable cause = e.getCause();
+      throwIfUnchecked(cause);
+      throw new UncheckedExecutionException(cause);
+    } finally {
+      for (final Attempt<T> attempt : attempts) {
+        attempt.cancel(true);
+      }
+    }
+  }
+
+  @Nonnull
+  private <T> Attempt<T> start(@Nonnull final Attempt<T> attempt) {
+    executor.execute(attempt);
+    return attempt;
+  }
+
+  /**
+   * Start a hedged attempt for which a permit has been acquired. If the executor rejects the attempt, the
+   * permit is released and the query goes on waiting for the first attempt only.
+   */
+  private <F, T> void hedge(@Nonnull final F input,
+                            @Nonnull final Function<? super F, T> stateQuery,
+                            @Nonnull final BlockingQueue<Attempt<T>> completed,
+                            @Nonnull final List<Attempt<T>> attempts) {
+    try {
+      attempts.add(start(new Attempt<>(input, stateQuery, completed, hedging, true)));
+    } catch (RejectedExecutionException e) {
+      LOG.debug("Executor rejected hedged state query.", e);
+      hedging.release();
+    }
+  }
+
+  @Override
+  public String toString() {
+    return MoreObjects.toStringHelper(this)
+                      .add("executor", executor)
+                      .add("slackNanos", slackNanos)
+                      .add("hedging", hedging)
+                      .toString();
+  }
+
+  /**
+   * <p>
+   * One run of a state query. Reports itself to the queue of completed attempts when done, also when cancelled.
+   * Attempts which actually completed report their latency to the hedging, measured from their own start.
+   * </p>
+   */
+  private static final class Attempt<T> extends FutureTask<T> {
+    @Nonnull
+    private final BlockingQueue<Attempt<T>> completed;
+    @Nullable
+    private final Hedging hedging;
+    private final boolean hedged;
+    private final long startNanos = System.nanoTime();
+
+    private <F> Attempt(@Nonnull final F input,
+                        @Nonnull final Function<? super F, T> stateQuery,
+                        @Nonnull final BlockingQueue<Attempt<T>> completed,
+                        @Nullable final Hedging hedging,
+                        final boolean hedged) {
+      super(DeadlineContext.propagate(() -> stateQuery.apply(input)));
+      this.completed = completed;
+      this.hedging = hedging;
+      this.hedged = hedged;
+    }
+
+    @Override
+    protected void done() {
+      if (hedging != null) {
+        if (!isCancelled()) {
+          hedging.record(System.nanoTime() - startNanos);
+        }
+        if (hedged) {
+          hedging.release();
+        }
+      }
+      completed.add(this);
+    }
+  }
+
+  /**
+   * <p>
+   * Learns the latencies of state queries and limits the number of hedged queries in flight.
+   * </p>
+   */
+  private static final class Hedging {
+    private static final int WINDOW_SIZE = 64;
+    private static final int MIN_SAMPLES = 8;
+
+    private final double percentile;
+    @Nonnegative
+    private final int maxInFlight;
+    @Nonnull
+    private final AtomicInteger inFlight = new AtomicInteger();
+    @Nonnull
+    private final long[] latencies = new long[WINDOW_SIZE];
+    private int samples;
+
+    private Hedging(final double percentile, @Nonnegative final int maxInFlight) {
+      this.percentile = percentile;
+      this.maxInFlight = maxInFlight;
+    }
+
+    private synchronized void record(final long latencyNanos) {
+      latencies[samples % WINDOW_SIZE] = latencyNanos;
+      samples++;
+    }
+
+    /**
+     * @return latency after which to hedge; {@link Long#MAX_VALUE} as long as too few latencies are known
+     */
+    private synchronized long thresholdNanos() {
+      if (samples < MIN_SAMPLES) {
+        return Long.MAX_VALUE;
+      }
+      final long[] sorted = Arrays.copyOf(latencies, Math.min(samples, WINDOW_SIZE));
+      Arrays.sort(sorted);
+      final int index = (int) Math.ceil(percentile / 100d * sorted.length) - 1;
+      return sorted[Math.max(0, index)];
+    }
+
+    private boolean tryAcquire() {
+      int current = inFlight.get();
+      while (current < maxInFlight) {
+        if (inFlight.compareAndSet(current, current + 1)) {
+          return true;
+        }
+        current = inFlight.get();
+      }
+      return false;
+    }
+
+    private void release() {
+      inFlight.decrementAndGet();
+    }
+
+    @Override
+    public synchronized String toString() {
+      return MoreObjects.toStringHelper(this)
+                        .add("percentile", percentile)
+                        .add("maxInFlight", maxInFlight)
+                        .add("inFlight", inFlight)
+                        .add("samples", samples)
+                        .toString();
+    }
+  }
+}
@@ -0,0 +1,53 @@
+/*
+ * Copyright 2026 CoreMedia AG
+ *
+ * This file is part of Joala.
+ *
+ * Joala is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Joala is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Joala.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package net.joala.condition.timing;
+
+import com.google.common.base.Function;
+
+import javax.annotation.Nonnegative;
+import javax.annotation.Nonnull;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <p>
+ * Signals that a single state query did not respond within its time budget. As it is
+ * an {@link IgnorableStateQueryException} the wait either retries the query or, if the
+ * deadline has passed, reports it as cause of the timeout.
+ * </p>
+ *
+ * @see QueryTimeout
+ * @since 10/18/26
+ */
+public class StateQueryTimeoutException extends IgnorableStateQueryException {
+  /**
+   * <p>
+   * Constructor with the query which did not respond in time.
+   * </p>
+   *
+   * @param stateQuery query which timed out
+   * @param budget     the time budget the query exceeded
+   * @param unit       unit of the budget
+   */
+  public StateQueryTimeoutException(@Nonnull final Function<?, ?> stateQuery,
+                                    @Nonnegative final long budget,
+                                    @Nonnull final TimeUnit unit) {
+    super(stateQuery, String.format("State query did not respond within %d ms", unit.toMillis(budget)));
+  }
+}
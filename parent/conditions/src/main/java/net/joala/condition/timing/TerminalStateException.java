@@ -0,0 +1,70 @@
+/*
+ * Copyright 2026 CoreMedia AG
+ *
+ * This file is part of Joala.
+ *
+ * Joala is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Joala is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Joala.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package net.joala.condition.timing;
+
+import org.hamcrest.Matcher;
+import org.hamcrest.StringDescription;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * <p>
+ * Signals that a state query observed a terminal state from which the expected state cannot be reached
+ * anymore, like a job which failed. Waits do not retry on this exception but report the terminal state to
+ * {@link WaitFailStrategy#terminal(String, Object, Object, Object, Matcher, long)} right away.
+ * </p>
+ *
+ * @see TerminalStates
+ * @since 10/18/26
+ */
+public class TerminalStateException extends RuntimeException {
+  @Nullable
+  private final transient Object state;
+  @Nonnull
+  private final transient Matcher<?> terminalMatcher;
+
+  /**
+   * <p>
+   * Constructor with the observed state and the matcher which identified it as terminal.
+   * </p>
+   *
+   * @param state           the terminal state
+   * @param terminalMatcher matcher for terminal states
+   */
+  public TerminalStateException(@Nullable final Object state, @Nonnull final Matcher<?> terminalMatcher) {
+    super("Reached terminal state " + StringDescription.toString(terminalMatcher) + ": " + state);
+    checkNotNull(terminalMatcher, "Terminal matcher must not be null.");
+    this.state = state;
+    this.terminalMatcher = terminalMatcher;
+  }
+
+  @Nullable
+  public Object getState() {
+    return state;
+  }
+
+  @Nonnull
+  public Matcher<?> getTerminalMatcher() {
+    return terminalMatcher;
+  }
+}
@@ -0,0 +1,105 @@
+/*
+ * Copyright 2026 CoreMedia AG
+ *
+ * This file is part of Joala.
+ *
+ * Joala is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Joala is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Joala.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package net.joala.condition.timing;
+
+import com.google.common.base.Function;
+import com.google.common.base.MoreObjects;
+import net.joala.matcher.DescriptionUtil;
+import org.hamcrest.Description;
+import org.hamcrest.Matcher;
+import org.hamcrest.SelfDescribing;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * <p>
+ * Lets waits stop early once a terminal state is reached. If for example a job under test failed, it will
+ * never succeed, so there is no point in polling until the timeout:
+ * </p>
+ * <pre>{@code
+ * wait.until(job, unlessReaches(jobState, equalTo(FAILED)), equalTo(SUCCEEDED));
+ * }</pre>
+ *
+ * @see net.joala.condition.DefaultCondition#unlessReaches(Matcher)
+ * @since 10/18/26
+ */
+public final class TerminalStates {
+  private TerminalStates() {
+  }
+
+  /**
+   * <p>
+   * Decorate the given state query so that it raises a {@link TerminalStateException} as soon as it
+   * returns a state matched by the given terminal matcher.
+   * </p>
+   *
+   * @param stateQuery      the state query to decorate
+   * @param terminalMatcher matcher for terminal states
+   * @param <F>             the input type
+   * @param <T>             the return type of the state query
+   * @return decorated state query
+   */
+  @Nonnull
+  public static <F, T> Function<F, T> unlessReaches(@Nonnull final Function<? super F, T> stateQuery,
+                                                    @Nonnull final Matcher<? super T> terminalMatcher) {
+    checkNotNull(stateQuery, "State query must not be null.");
+    checkNotNull(terminalMatcher, "Terminal matcher must not be null.");
+    return new UnlessReachesFunction<>(stateQuery, terminalMatcher);
+  }
+
+  private static final class UnlessReachesFunction<F, T> implements Function<F, T>, SelfDescribing {
+    @Nonnull
+    private final Function<? super F, T> stateQuery;
+    @Nonnull
+    private final Matcher<? super T> terminalMatcher;
+
+    private UnlessReachesFunction(@Nonnull final Function<? super F, T> stateQuery, @Nonnull final Matcher<? super T> terminalMatcher) {
+      this.stateQuery = stateQuery;
+      this.terminalMatcher = terminalMatcher;
+    }
+
+    @Override
+    @Nullable
+    public T apply(@Nullable final F input) {
+      final T state = stateQuery.apply(input);
+      if (terminalMatcher.matches(state)) {
+        throw new TerminalStateException(state, terminalMatcher);
+      }
+      return state;
+    }
+
+    @Override
+    public void describeTo(final Description description) {
+      DescriptionUtil.describeTo(description, stateQuery);
+      description.appendText(" unless reaching ").appendDescriptionOf(terminalMatcher);
+    }
+
+    @Override
+    public String toString() {
+      return MoreObjects.toStringHelper(this)
+                        .add("stateQuery", stateQuery)
+                        .add("terminalMatcher", terminalMatcher)
+                        .toString();
+    }
+  }
+}
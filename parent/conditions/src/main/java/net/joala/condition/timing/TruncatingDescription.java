@@ -0,0 +1,103 @@
+/*
+ * Copyright 2026 CoreMedia AG
+ *
+ * This file is part of Joala.
+ *
+ * Joala is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Joala is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Joala.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package net.joala.condition.timing;
+
+import org.hamcrest.BaseDescription;
+
+import javax.annotation.Nonnegative;
+import javax.annotation.Nullable;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+/**
+ * <p>
+ * Description which keeps at most the given number of characters. Further text gets dropped and is only
+ * reported by the number of truncated characters, so that describing a huge value neither blows up the heap
+ * nor the logs.
+ * </p>
+ *
+ * @since 10/18/26
+ */
+final class TruncatingDescription extends BaseDescription {
+  private final StringBuilder text = new StringBuilder();
+  @Nonnegative
+  private final int maxLength;
+  @Nonnegative
+  private long truncatedLength;
+
+  /**
+   * <p>
+   * Description keeping at most the given number of characters.
+   * </p>
+   *
+   * @param maxLength maximum number of characters to keep
+   */
+  TruncatingDescription(@Nonnegative final int maxLength) {
+    checkArgument(maxLength >= 0, "Maximum length must not be negative: %s", maxLength);
+    this.maxLength = maxLength;
+  }
+
+  /**
+   * <p>
+   * Truncate the given text.
+   * </p>
+   *
+   * @param text      text to truncate
+   * @param maxLength maximum number of characters to keep
+   * @return the text if short enough; its head with a truncation note otherwise
+   */
+  @Nullable
+  static String truncate(@Nullable final String text, @Nonnegative final int maxLength) {
+    if (text == null || text.length() <= maxLength) {
+      return text;
+    }
+    return new TruncatingDescription(maxLength).appendText(text).toString();
+  }
+
+  @Override
+  protected void append(@Nullable final String str) {
+    // Like StringDescription append null as "null".
+    final String value = String.valueOf(str);
+    final int free = maxLength - text.length();
+    if (value.length() <= free) {
+      text.append(value);
+    } else {
+      text.append(value, 0, free);
+      truncatedLength += value.length() - free;
+    }
+  }
+
+  @Override
+  protected void append(final char c) {
+    if (text.length() < maxLength) {
+      text.append(c);
+    } else {
+      truncatedLength++;
+    }
+  }
+
+  @Override
+  public String toString() {
+    if (truncatedLength == 0L) {
+      return text.toString();
+    }
+    return text + "... [" + truncatedLength + " characters truncated]";
+  }
+}
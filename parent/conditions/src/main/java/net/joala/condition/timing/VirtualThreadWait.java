@@ -0,0 +1,153 @@
+/*
+ * Copyright 2026 CoreMedia AG
+ *
+ * This file is part of Joala.
+ *
+ * Joala is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Joala is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Joala.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package net.joala.condition.timing;
+
+import com.google.common.base.Function;
+import com.google.common.base.MoreObjects;
+import net.joala.time.DeadlineContext;
+import org.hamcrest.Matcher;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.lang.reflect.InvocationTargetException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+import static com.google.common.base.Preconditions.checkState;
+
+/**
+ * <p>
+ * Decorator for waits which runs the decorated wait, including all its state queries and sleeps,
+ * on a virtual thread. The calling thread blocks until the decorated wait is done, thus the
+ * API stays the same. A virtual thread which sleeps between two polls does not occupy any
+ * platform thread, so that even tens of thousands of concurrent waits consume hardly any memory.
+ * </p>
+ * <p>
+ * Virtual threads require a Java 21 runtime. They are looked up reflectively, so check
+ * {@link #isAvailable()} before creating instances of this wait.
+ * </p>
+ *
+ * @since 10/18/26
+ */
+public class VirtualThreadWait implements Wait {
+  private static final Logger LOG = LoggerFactory.getLogger(VirtualThreadWait.class);
+
+  @Nullable
+  private static final ExecutorService VIRTUAL_THREAD_EXECUTOR = createVirtualThreadExecutor();
+
+  @Nonnull
+  private final Wait delegate;
+
+  /**
+   * <p>
+   * Decorate the given wait.
+   * </p>
+   *
+   * @param delegate the wait to run on a virtual thread
+   * @throws IllegalStateException if virtual threads are not available in this runtime
+   */
+  public VirtualThreadWait(@Nonnull final Wait delegate) {
+    checkNotNull(delegate, "Wait must not be null.");
+    checkState(isAvailable(), "Virtual threads are not available in this runtime.");
+    this.delegate = delegate;
+  }
+
+  /**
+   * <p>
+   * Signals if the current runtime supports virtual threads.
+   * </p>
+   *
+   * @return {@code true} if virtual threads are available
+   */
+  public static boolean isAvailable() {
+    return VIRTUAL_THREAD_EXECUTOR != null;
+  }
+
+  @Override
+  public final <F, T> T until(@Nonnull final F input, @Nonnull final Function<? super F, T> stateQuery) {
+    return until(null, input, stateQuery, null);
+  }
+
+  @Override
+  public final <F, T> T until(@Nonnull final F input, @Nonnull final Function<? super F, T> stateQuery, @Nullable final Matcher<? super T> matcher) {
+    return until(null, input, stateQuery, matcher);
+  }
+
+  @Override
+  public <F, T> T until(@Nullable final String message,
+                        @Nonnull final F input,
+                        @Nonnull final Function<? super F, T> stateQuery,
+                        @Nullable final Matcher<? super T> matcher) {
+    return until(message, input, stateQuery, matcher, null);
+  }
+
+  /**
+   * <p>
+   * Runs the decorated wait on a virtual thread within the deadline context of the calling thread.
+   * If the calling thread gets interrupted, the decorated wait gets cancelled and reports the cancellation
+   * to its {@link WaitFailStrategy}.
+   * </p>
+   */
+  @Override
+  public <F, T> T until(@Nullable final String message,
+                        @Nonnull final F input,
+                        @Nonnull final Function<? super F, T> stateQuery,
+                        @Nullable final Matcher<? super T> matcher,
+                        @Nullable final CancellationToken cancellation) {
+    final CancellationToken delegateCancellation = new CancellationToken();
+    final Runnable onCancel = delegateCancellation::cancel;
+    if (cancellation != null) {
+      cancellation.addListener(onCancel);
+    }
+    try {
+      //noinspection ConstantConditions; checked on construction
+      return WaitFutures.await(VIRTUAL_THREAD_EXECUTOR.submit(
+              DeadlineContext.propagate(() -> delegate.until(message, input, stateQuery, matcher, delegateCancellation))),
+              onCancel);
+    } finally {
+      if (cancellation != null) {
+        cancellation.removeListener(onCancel);
+      }
+    }
+  }
+
+  @Nullable
+  private static ExecutorService createVirtualThreadExecutor() {
+    try {
+      return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+    } catch (NoSuchMethodException e) {
+      LOG.debug("Virtual threads are not available in this runtime.", e);
+      return null;
+    } catch (IllegalAccessException | InvocationTargetException e) {
+      LOG.warn("Failed to create executor for virtual threads.", e);
+      return null;
+    }
+  }
+
+  @Override
+  public String toString() {
+    return MoreObjects.toStringHelper(this)
+                      .add("delegate", delegate)
+                      .toString();
+  }
+}
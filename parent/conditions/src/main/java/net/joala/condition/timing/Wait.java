@@ -94,4 +94,41 @@ public interface Wait {
                  @Nonnull F input,
                  @Nonnull Function<? super F, T> stateQuery,
                  @Nullable Matcher<? super T> matcher);
+
+  /**
+   * <p>
+   * Wait until an expectation is met or until the wait gets cancelled. The wait gets cancelled if the
+   * waiting thread gets interrupted or if the given token gets cancelled. On cancellation the state query
+   * is not evaluated anymore and the cancellation is reported to
+   * {@link WaitFailStrategy#cancelled(String, Object, Object, long)}.
+   * </p>
+   * <p>
+   * By default only checks the token before the wait starts and then delegates to
+   * {@link #until(String, Object, Function, Matcher)}. Implementations should override this method to
+   * stop waiting as soon as the token gets cancelled.
+   * </p>
+   *
+   * @param message      the message to print on failure; {@code null} for no additional message
+   * @param input        the input to pass to the query function; if implementing {@link SelfDescribing} the
+   *                     description of input will be queried on failure
+   * @param stateQuery   the function to query the state of input; if implementing {@link SelfDescribing} the
+   *                     description of stateQuery will be queried on failure
+   * @param matcher      the matcher to validate the result of the query; {@code null} to match any returned value
+   * @param cancellation token to cancel the wait; {@code null} to only cancel on interrupt
+   * @param <F>          the input type
+   * @param <T>          the return type of the state query
+   * @return the result of the successful state query
+   * @throws WaitCancelledException if the wait got cancelled and the fail strategy did not raise another exception
+   * @since 10/18/26
+   */
+  default <F, T> T until(@Nullable final String message,
+                         @Nonnull final F input,
+                         @Nonnull final Function<? super F, T> stateQuery,
+                         @Nullable final Matcher<? super T> matcher,
+                         @Nullable final CancellationToken cancellation) {
+    if (cancellation != null && cancellation.isCancelled()) {
+      throw new WaitCancelledException(AbstractWaitFailStrategy.cancelledMessage(message));
+    }
+    return until(message, input, stateQuery, matcher);
+  }
 }
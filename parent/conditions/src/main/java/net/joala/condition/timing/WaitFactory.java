@@ -0,0 +1,47 @@
+/*
+ * Copyright 2026 CoreMedia AG
+ *
+ * This file is part of Joala.
+ *
+ * Joala is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Joala is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Joala.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package net.joala.condition.timing;
+
+import net.joala.time.Timeout;
+
+import javax.annotation.Nonnegative;
+import javax.annotation.Nonnull;
+
+/**
+ * <p>
+ * Factory for waits. Allows to replace the waits used by conditions.
+ * </p>
+ *
+ * @since 10/18/26
+ */
+public interface WaitFactory {
+  /**
+   * <p>
+   * Create a wait.
+   * </p>
+   *
+   * @param timeout       the timeout
+   * @param timeoutFactor factor to apply to the timeout
+   * @param failStrategy  strategy to use on timeout
+   * @return wait
+   */
+  @Nonnull
+  Wait createWait(@Nonnull Timeout timeout, @Nonnegative double timeoutFactor, @Nonnull WaitFailStrategy failStrategy);
+}
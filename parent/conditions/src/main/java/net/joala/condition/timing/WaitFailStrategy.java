@@ -25,11 +25,17 @@ import javax.annotation.Nonnegative;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 
+import static org.hamcrest.core.IsNot.not;
+
 /**
  * <p>
  * Strategy what to do if a condition does not get fulfilled within time. Possible options
  * are to signal just the timeout or that an assertion/assumption failed.
  * </p>
+ * <p>
+ * Implementations should extend {@link AbstractWaitFailStrategy} which already provides
+ * a default for {@link #cancelled(String, Object, Object, long) cancellation}.
+ * </p>
  *
  * @since 8/23/12
  */
@@ -67,4 +73,101 @@ public interface WaitFailStrategy {
             @Nonnull Object input,
             @Nonnull Throwable throwable,
             @Nonnegative long consumedMillis);
+
+  /**
+   * <p>
+   * Like {@link #fail(String, Object, Object, Object, Matcher, long)} but with the history of the most recent
+   * polls of the wait. Ignores the history by default.
+   * </p>
+   *
+   * @param reason         reason of the failure
+   * @param function       function evaluated
+   * @param input          original input to the function
+   * @param lastValue      the last value retrieved via function
+   * @param matcher        the matcher which did not match
+   * @param consumedMillis consumed milliseconds
+   * @param history        history of the most recent polls
+   * @param <T>            the value type returned by the function
+   * @since 10/18/26
+   */
+  default <T> void fail(@Nullable final String reason,
+                        @Nonnull final Object function,
+                        @Nonnull final Object input,
+                        @Nullable final T lastValue,
+                        @Nonnull final Matcher<? super T> matcher,
+                        @Nonnegative final long consumedMillis,
+                        @Nonnull final PollHistory history) {
+    fail(reason, function, input, lastValue, matcher, consumedMillis);
+  }
+
+  /**
+   * <p>
+   * Like {@link #fail(String, Object, Object, Throwable, long)} but with the history of the most recent
+   * polls of the wait. Ignores the history by default.
+   * </p>
+   *
+   * @param reason         reason of the failure
+   * @param function       function evaluated
+   * @param input          original input to the function
+   * @param throwable      last exception which got caught
+   * @param consumedMillis consumed milliseconds
+   * @param history        history of the most recent polls
+   * @since 10/18/26
+   */
+  default void fail(@Nullable final String reason,
+                    @Nonnull final Object function,
+                    @Nonnull final Object input,
+                    @Nonnull final Throwable throwable,
+                    @Nonnegative final long consumedMillis,
+                    @Nonnull final PollHistory history) {
+    fail(reason, function, input, throwable, consumedMillis);
+  }
+
+  /**
+   * Signals that a wait got cancelled before the expected value got returned, either because
+   * the waiting thread got interrupted or because the wait's {@link CancellationToken} got cancelled.
+   * The wait ends with a {@link WaitCancelledException} if this method returns normally.
+   * Throws a {@link WaitCancelledException} by default.
+   *
+   * @param reason         reason of the failure
+   * @param function       function evaluated
+   * @param input          original input to the function
+   * @param consumedMillis consumed milliseconds
+   * @since 10/18/26
+   */
+  default void cancelled(@Nullable final String reason,
+                         @Nonnull final Object function,
+                         @Nonnull final Object input,
+                         @Nonnegative final long consumedMillis) {
+    throw new WaitCancelledException(AbstractWaitFailStrategy.cancelledMessage(reason));
+  }
+
+  /**
+   * <p>
+   * Makes a condition fail because a terminal state got reached, from which the expected value cannot be
+   * reached anymore. The wait ends with the {@link TerminalStateException} if this method returns normally.
+   * </p>
+   * <p>
+   * By default fails like {@link #fail(String, Object, Object, Object, Matcher, long)} with a matcher
+   * expecting the terminal state not to be reached.
+   * </p>
+   *
+   * @param reason          reason of the failure
+   * @param function        function evaluated
+   * @param input           original input to the function
+   * @param terminalState   the terminal state which got reached
+   * @param terminalMatcher the matcher which identified the terminal state
+   * @param consumedMillis  consumed milliseconds
+   * @since 10/18/26
+   */
+  default void terminal(@Nullable final String reason,
+                        @Nonnull final Object function,
+                        @Nonnull final Object input,
+                        @Nullable final Object terminalState,
+                        @Nonnull final Matcher<?> terminalMatcher,
+                        @Nonnegative final long consumedMillis) {
+    @SuppressWarnings("unchecked")
+    final Matcher<Object> matcher = (Matcher<Object>) terminalMatcher;
+    fail(AbstractWaitFailStrategy.terminalMessage(reason), function, input, terminalState, not(matcher), consumedMillis);
+  }
 }
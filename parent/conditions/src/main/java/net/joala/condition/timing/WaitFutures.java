@@ -0,0 +1,86 @@
+/*
+ * Copyright 2026 CoreMedia AG
+ *
+ * This file is part of Joala.
+ *
+ * Joala is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Joala is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Joala.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package net.joala.condition.timing;
+
+import com.google.common.util.concurrent.UncheckedExecutionException;
+
+import javax.annotation.Nonnull;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+
+import static com.google.common.base.Throwables.throwIfUnchecked;
+import static com.google.common.util.concurrent.Uninterruptibles.getUninterruptibly;
+import static java.lang.Thread.currentThread;
+
+/**
+ * <p>
+ * Utility to block on futures of waits which run in other threads.
+ * </p>
+ *
+ * @since 10/18/26
+ */
+final class WaitFutures {
+  private WaitFutures() {
+  }
+
+  /**
+   * <p>
+   * Block until the given future is done. If the waiting thread gets interrupted the given cancellation
+   * callback is run, which is expected to report the cancellation to the wait's {@link WaitFailStrategy}
+   * and thereby complete the future. The outcome of the future is then awaited uninterruptibly and the
+   * interrupt flag is restored. Unchecked exceptions and errors which made the future fail are rethrown
+   * as is.
+   * </p>
+   *
+   * @param future      the future to wait for
+   * @param onInterrupt callback to cancel the wait on interrupt
+   * @param <T>         type of the result
+   * @return the result of the future
+   * @throws WaitCancelledException if the waiting thread got interrupted and the fail strategy did not
+   *                                raise another exception
+   */
+  static <T> T await(@Nonnull final Future<T> future, @Nonnull final Runnable onInterrupt) {
+    try {
+      return future.get();
+    } catch (InterruptedException e) {
+      onInterrupt.run();
+      try {
+        return getUninterruptibly(future);
+      } catch (ExecutionException ee) {
+        throw unchecked(ee);
+      } catch (CancellationException ce) {
+        // futures rethrow the wait cancelled exception raised by the fail strategy as is
+        throw ce instanceof WaitCancelledException ? ce : new WaitCancelledException(AbstractWaitFailStrategy.cancelledMessage(null));
+      } finally {
+        currentThread().interrupt();
+      }
+    } catch (ExecutionException e) {
+      throw unchecked(e);
+    }
+  }
+
+  @Nonnull
+  private static RuntimeException unchecked(@Nonnull final ExecutionException e) {
+    final Throwable cause = e.getCause();
+    throwIfUnchecked(cause);
+    return new UncheckedExecutionException(cause);
+  }
+}
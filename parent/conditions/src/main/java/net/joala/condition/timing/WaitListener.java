@@ -0,0 +1,131 @@
+/*
+ * Copyright 2026 CoreMedia AG
+ *
+ * This file is part of Joala.
+ *
+ * Joala is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Joala is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Joala.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package net.joala.condition.timing;
+
+import javax.annotation.Nonnegative;
+import javax.annotation.Nonnull;
+
+/**
+ * <p>
+ * Service provider interface to observe waits, for example to find out which conditions consume the
+ * most time of a test suite. Listeners get registered by {@link WaitListeners#register(WaitListener)} or
+ * as service by {@link java.util.ServiceLoader} and observe all waits of {@link DeceleratingWait} and
+ * {@link AsyncWait}, thus also all waits of conditions.
+ * </p>
+ * <p>
+ * Listeners get called from the waiting threads, concurrently for concurrent waits. As they get called
+ * on each poll they should be cheap and must not block. Exceptions raised by listeners are logged and
+ * otherwise ignored.
+ * </p>
+ *
+ * @since 10/18/26
+ */
+public interface WaitListener {
+  /**
+   * <p>
+   * Outcome of a single poll.
+   * </p>
+   */
+  enum PollOutcome {
+    /**
+     * The state query returned a state which matched.
+     */
+    MATCHED,
+    /**
+     * The state query returned a state which did not match (yet).
+     */
+    MISMATCHED,
+    /**
+     * The state query failed with an ignorable exception.
+     */
+    IGNORED_EXCEPTION,
+    /**
+     * The state query reached a terminal state.
+     */
+    TERMINAL
+  }
+
+  /**
+   * <p>
+   * A wait started.
+   * </p>
+   *
+   * @param wait the started wait
+   */
+  default void waitStarted(@Nonnull final WaitObservation wait) {
+  }
+
+  /**
+   * <p>
+   * The state query got evaluated once.
+   * </p>
+   *
+   * @param wait       the polling wait
+   * @param queryNanos how long the state query took
+   * @param outcome    the outcome of the poll
+   */
+  default void polled(@Nonnull final WaitObservation wait, @Nonnegative final long queryNanos, @Nonnull final PollOutcome outcome) {
+  }
+
+  /**
+   * <p>
+   * The state query failed with an exception which got ignored for now.
+   * </p>
+   *
+   * @param wait      the polling wait
+   * @param exception the ignored exception
+   */
+  default void exceptionIgnored(@Nonnull final WaitObservation wait, @Nonnull final IgnorableStateQueryException exception) {
+  }
+
+  /**
+   * <p>
+   * The wait succeeded.
+   * </p>
+   *
+   * @param wait       the finished wait
+   * @param totalNanos how long the wait took
+   */
+  default void succeeded(@Nonnull final WaitObservation wait, @Nonnegative final long totalNanos) {
+  }
+
+  /**
+   * <p>
+   * The wait reached its deadline without success, including deadlines because of stalled states.
+   * </p>
+   *
+   * @param wait       the finished wait
+   * @param totalNanos how long the wait took
+   */
+  default void timedOut(@Nonnull final WaitObservation wait, @Nonnegative final long totalNanos) {
+  }
+
+  /**
+   * <p>
+   * The wait ended before its deadline without success, because it got cancelled, reached a terminal state or
+   * the state query or matcher failed with an unexpected exception.
+   * </p>
+   *
+   * @param wait       the finished wait
+   * @param totalNanos how long the wait took
+   */
+  default void aborted(@Nonnull final WaitObservation wait, @Nonnegative final long totalNanos) {
+  }
+}
@@ -0,0 +1,228 @@
+/*
+ * Copyright 2026 CoreMedia AG
+ *
+ * This file is part of Joala.
+ *
+ * Joala is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Joala is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Joala.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package net.joala.condition.timing;
+
+import com.google.common.base.MoreObjects;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.Nonnegative;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.ServiceConfigurationError;
+import java.util.ServiceLoader;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * <p>
+ * Registry of the {@link WaitListener}s which observe all waits. On first use it registers all listeners
+ * provided as service by {@link ServiceLoader} and, if the system property {@value #STATISTICS_PROPERTY}
+ * is {@code true}, a {@link WaitTimeRecorder} which prints its summary at JVM exit.
+ * </p>
+ * <p>
+ * Without registered listeners waits do not pay for the instrumentation, unless the Flight Recorder
+ * records the events of waits.
+ * </p>
+ *
+ * @since 10/18/26
+ */
+public final class WaitListeners {
+  /**
+   * System property to enable the wait statistics of {@link WaitTimeRecorder#install()}.
+   */
+  public static final String STATISTICS_PROPERTY = "joala.wait.statistics";
+
+  private static final Logger LOG = LoggerFactory.getLogger(WaitListeners.class);
+  private static final WaitListener[] NO_LISTENERS = {};
+  private static final WaitListener NOTIFIER = new NotifyingWaitListener();
+  /**
+   * Registered listeners. Copied on write, so that notifying does not need to allocate an iterator.
+   */
+  private static volatile WaitListener[] listeners = NO_LISTENERS;
+
+  static {
+    for (final WaitListener listener : loadServices()) {
+      register(listener);
+    }
+    if (Boolean.getBoolean(STATISTICS_PROPERTY)) {
+      WaitTimeRecorder.install();
+    }
+  }
+
+  private WaitListeners() {
+  }
+
+  /**
+   * <p>
+   * Register the given listener to observe all waits. Registering a listener twice has no effect.
+   * </p>
+   *
+   * @param listener listener to register
+   */
+  public static synchronized void register(@Nonnull final WaitListener listener) {
+    checkNotNull(listener, "Listener must not be null.");
+    final List<WaitListener> registered = new ArrayList<>(Arrays.asList(listeners));
+    if (!registered.contains(listener)) {
+      registered.add(listener);
+      listeners = registered.toArray(NO_LISTENERS);
+    }
+  }
+
+  /**
+   * <p>
+   * Stop the given listener from observing waits.
+   * </p>
+   *
+   * @param listener listener to unregister
+   */
+  public static synchronized void unregister(@Nonnull final WaitListener listener) {
+    checkNotNull(listener, "Listener must not be null.");
+    final List<WaitListener> registered = new ArrayList<>(Arrays.asList(listeners));
+    if (registered.remove(listener)) {
+      listeners = registered.toArray(NO_LISTENERS);
+    }
+  }
+
+  /**
+   * <p>
+   * Start observing a wait.
+   * </p>
+   *
+   * @param message        message of the wait
+   * @param stateQuery     state query of the wait
+   * @param input          input of the state query
+   * @param startTimeNanos start time of the wait
+   * @param timeoutNanos   timeout of the wait with the timeout factor applied
+   * @param timeoutFactor  timeout factor of the wait
+   * @return the observation; {@code null} if no listener is registered and no Flight Recorder events are recorded
+   */
+  @Nullable
+  static WaitObservation observe(@Nullable final String message,
+                                 @Nonnull final Object stateQuery,
+                                 @Nonnull final Object input,
+                                 final long startTimeNanos,
+                                 @Nonnegative final long timeoutNanos,
+                                 final double timeoutFactor) {
+    if (listeners.length == 0 && !ConditionEvents.isRecorded()) {
+      return null;
+    }
+    final ConditionWaitEvent waitEvent = ConditionEvents.beginWait(message, timeoutNanos, timeoutFactor);
+    final WaitObservation observation = new WaitObservation(message, stateQuery, input, NOTIFIER, startTimeNanos, timeoutNanos, waitEvent);
+    observation.started();
+    return observation;
+  }
+
+  @Nonnull
+  private static List<WaitListener> loadServices() {
+    final List<WaitListener> services = new ArrayList<>();
+    try {
+      for (final WaitListener listener : ServiceLoader.load(WaitListener.class)) {
+        services.add(listener);
+      }
+    } catch (ServiceConfigurationError e) {
+      LOG.warn("Failed to load wait listeners.", e);
+    }
+    return services;
+  }
+
+  /**
+   * <p>
+   * Notifies all registered listeners. A failing listener neither affects the wait nor other listeners.
+   * </p>
+   */
+  private static final class NotifyingWaitListener implements WaitListener {
+    @Override
+    public void waitStarted(@Nonnull final WaitObservation wait) {
+      for (final WaitListener listener : listeners) {
+        try {
+          listener.waitStarted(wait);
+        } catch (RuntimeException e) {
+          LOG.warn("Wait listener {} failed.", listener, e);
+        }
+      }
+    }
+
+    @Override
+    public void polled(@Nonnull final WaitObservation wait, @Nonnegative final long queryNanos, @Nonnull final PollOutcome outcome) {
+      for (final WaitListener listener : listeners) {
+        try {
+          listener.polled(wait, queryNanos, outcome);
+        } catch (RuntimeException e) {
+          LOG.warn("Wait listener {} failed.", listener, e);
+        }
+      }
+    }
+
+    @Override
+    public void exceptionIgnored(@Nonnull final WaitObservation wait, @Nonnull final IgnorableStateQueryException exception) {
+      for (final WaitListener listener : listeners) {
+        try {
+          listener.exceptionIgnored(wait, exception);
+        } catch (RuntimeException e) {
+          LOG.warn("Wait listener {} failed.", listener, e);
+        }
+      }
+    }
+
+    @Override
+    public void succeeded(@Nonnull final WaitObservation wait, @Nonnegative final long totalNanos) {
+      for (final WaitListener listener : listeners) {
+        try {
+          listener.succeeded(wait, totalNanos);
+        } catch (RuntimeException e) {
+          LOG.warn("Wait listener {} failed.", listener, e);
+        }
+      }
+    }
+
+    @Override
+    public void timedOut(@Nonnull final WaitObservation wait, @Nonnegative final long totalNanos) {
+      for (final WaitListener listener : listeners) {
+        try {
+          listener.timedOut(wait, totalNanos);
+        } catch (RuntimeException e) {
+          LOG.warn("Wait listener {} failed.", listener, e);
+        }
+      }
+    }
+
+    @Override
+    public void aborted(@Nonnull final WaitObservation wait, @Nonnegative final long totalNanos) {
+      for (final WaitListener listener : listeners) {
+        try {
+          listener.aborted(wait, totalNanos);
+        } catch (RuntimeException e) {
+          LOG.warn("Wait listener {} failed.", listener, e);
+        }
+      }
+    }
+
+    @Override
+    public String toString() {
+      return MoreObjects.toStringHelper(this)
+                        .add("listeners", Arrays.asList(listeners))
+                        .toString();
+    }
+  }
+}
@@ -0,0 +1,230 @@
+/*
+ * Copyright 2026 CoreMedia AG
+ *
+ * This file is part of Joala.
+ *
+ * Joala is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Joala is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Joala.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package net.joala.condition.timing;
+
+import com.google.common.base.MoreObjects;
+import org.hamcrest.Description;
+
+import javax.annotation.Nonnegative;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+import static net.joala.matcher.DescriptionUtil.describeTo;
+
+/**
+ * <p>
+ * A single wait as observed by {@link WaitListener}s. Waits poll sequentially, thus the observation
+ * of a wait is only updated by one thread at a time.
+ * </p>
+ * <p>
+ * The observation also emits the Flight Recorder events of the wait while they are recorded.
+ * </p>
+ *
+ * @since 10/18/26
+ */
+public final class WaitObservation {
+  /**
+   * Maximum length of keys derived from the description of the input.
+   */
+  private static final int MAX_KEY_LENGTH = 200;
+
+  @Nullable
+  private final String message;
+  @Nonnull
+  private final Object stateQuery;
+  @Nonnull
+  private final Object input;
+  @Nonnull
+  private final WaitListener listener;
+  private final long startTimeNanos;
+  @Nonnegative
+  private final long timeoutNanos;
+  @Nonnegative
+  private int polls;
+  @Nonnegative
+  private long queryNanos;
+  @Nullable
+  private String key;
+  @Nullable
+  private final ConditionWaitEvent waitEvent;
+  @Nullable
+  private ConditionPollEvent pollEvent;
+
+  WaitObservation(@Nullable final String message,
+                  @Nonnull final Object stateQuery,
+                  @Nonnull final Object input,
+                  @Nonnull final WaitListener listener,
+                  final long startTimeNanos,
+                  @Nonnegative final long timeoutNanos,
+                  @Nullable final ConditionWaitEvent waitEvent) {
+    this.message = message;
+    this.stateQuery = stateQuery;
+    this.input = input;
+    this.listener = listener;
+    this.startTimeNanos = startTimeNanos;
+    this.timeoutNanos = timeoutNanos;
+    this.waitEvent = waitEvent;
+  }
+
+  /**
+   * <p>
+   * The message of the wait, which for conditions is the condition message.
+   * </p>
+   *
+   * @return message; {@code null} if the wait has no message
+   */
+  @Nullable
+  public String getMessage() {
+    return message;
+  }
+
+  /**
+   * @return the state query of the wait
+   */
+  @Nonnull
+  public Object getStateQuery() {
+    return stateQuery;
+  }
+
+  /**
+   * @return the input of the state query, which for conditions is the expression
+   */
+  @Nonnull
+  public Object getInput() {
+    return input;
+  }
+
+  /**
+   * @return timeout of the wait with the timeout factor applied, in nanoseconds
+   */
+  @Nonnegative
+  public long getTimeoutNanos() {
+    return timeoutNanos;
+  }
+
+  /**
+   * @return number of polls so far
+   */
+  @Nonnegative
+  public int getPolls() {
+    return polls;
+  }
+
+  /**
+   * <p>
+   * Time spent in state queries so far. The remaining time of the wait is spent sleeping between polls.
+   * </p>
+   *
+   * @return accumulated duration of all polls so far, in nanoseconds
+   */
+  @Nonnegative
+  public long getQueryNanos() {
+    return queryNanos;
+  }
+
+  /**
+   * <p>
+   * Key to aggregate observations of the same wait: the message if any, otherwise the description of
+   * the input, truncated to a few hundred characters.
+   * </p>
+   *
+   * @return key of the wait
+   */
+  @Nonnull
+  public String getKey() {
+    if (key == null) {
+      key = key(message, input);
+    }
+    return key;
+  }
+
+  /**
+   * <p>
+   * Key of waits with the given message and input.
+   * </p>
+   *
+   * @param message message of the wait
+   * @param input   input of the state query
+   * @return key of the wait
+   * @see #getKey()
+   */
+  @Nonnull
+  static String key(@Nullable final String message, @Nonnull final Object input) {
+    if (message != null) {
+      return message;
+    }
+    final Description description = new TruncatingDescription(MAX_KEY_LENGTH);
+    describeTo(description, input);
+    return description.toString();
+  }
+
+  void started() {
+    listener.waitStarted(this);
+  }
+
+  void pollStarted() {
+    pollEvent = ConditionEvents.beginPoll(message);
+  }
+
+  void polled(final long queryNanos, @Nonnull final WaitListener.PollOutcome outcome) {
+    final long boundedQueryNanos = Math.max(0L, queryNanos);
+    polls++;
+    this.queryNanos += boundedQueryNanos;
+    ConditionEvents.commitPoll(pollEvent, polls, outcome);
+    pollEvent = null;
+    listener.polled(this, boundedQueryNanos, outcome);
+  }
+
+  void exceptionIgnored(@Nonnull final IgnorableStateQueryException exception) {
+    listener.exceptionIgnored(this, exception);
+  }
+
+  void succeeded(final long nowNanos) {
+    ConditionEvents.commitWait(waitEvent, ConditionWaitEvent.SUCCEEDED, polls);
+    listener.succeeded(this, Math.max(0L, nowNanos - startTimeNanos));
+  }
+
+  void timedOut(final long nowNanos) {
+    ConditionEvents.commitWait(waitEvent, ConditionWaitEvent.TIMED_OUT, polls);
+    listener.timedOut(this, Math.max(0L, nowNanos - startTimeNanos));
+  }
+
+  void aborted(final long nowNanos) {
+    ConditionEvents.commitWait(waitEvent, ConditionWaitEvent.ABORTED, polls);
+    listener.aborted(this, Math.max(0L, nowNanos - startTimeNanos));
+  }
+
+  @Override
+  public String toString() {
+    return MoreObjects.toStringHelper(this)
+                      .add("message", message)
+                      .add("stateQuery", stateQuery)
+                      .add("input", input)
+                      .add("listener", listener)
+                      .add("startTimeNanos", startTimeNanos)
+                      .add("timeoutNanos", timeoutNanos)
+                      .add("polls", polls)
+                      .add("queryNanos", queryNanos)
+                      .add("key", key)
+                      .add("waitEvent", waitEvent)
+                      .add("pollEvent", pollEvent)
+                      .toString();
+  }
+}
@@ -0,0 +1,412 @@
+/*
+ * Copyright 2026 CoreMedia AG
+ *
+ * This file is part of Joala.
+ *
+ * Joala is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Joala is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Joala.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package net.joala.condition.timing;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.MoreObjects;
+import net.joala.time.Sleeper;
+import net.joala.time.SystemTimeSource;
+import net.joala.time.TimeSource;
+import net.joala.time.Timeout;
+import net.joala.time.TimeoutImpl;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.Nonnegative;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * <p>
+ * Store of the time-to-success of waits, persisted across test runs in a small properties file keyed by
+ * {@link WaitObservation#getKey() condition message or expression description}. From the observed times
+ * the store derives profiles for later waits of the same condition:
+ * </p>
+ * <ul>
+ * <li>the first evaluation is delayed to shortly before the fastest success observed so far,</li>
+ * <li>the delays start so that the median success is reached after a few evaluations and grow until
+ * the 99th percentile and</li>
+ * <li>the 99th percentile with some headroom is {@link #suggestedTimeout(String) suggested as timeout}.</li>
+ * </ul>
+ * <p>
+ * Conditions without enough observations keep their configured backoff policy. Only successful waits are
+ * recorded and only the most recent {@value #MAX_SAMPLES} per condition, so that profiles follow changes
+ * of the system under test. Use the store via
+ * {@link net.joala.condition.DefaultConditionFactory#setProfileStore(WaitProfileStore)}:
+ * </p>
+ * <pre>{@code
+ * WaitProfileStore store = WaitProfileStore.load(Paths.get("target/joala/wait-profiles.properties"));
+ * store.saveOnExit();
+ * conditionFactory.setProfileStore(store);
+ * }</pre>
+ *
+ * @since 10/18/26
+ */
+public final class WaitProfileStore {
+  /**
+   * Number of successful waits to remember per condition.
+   */
+  public static final int MAX_SAMPLES = 32;
+  /**
+   * Number of successful waits required before a profile is applied.
+   */
+  public static final int MIN_SAMPLES = 3;
+  /**
+   * Fraction of the fastest observed success to delay the first evaluation by.
+   */
+  static final double OFFSET_FRACTION = 0.8d;
+  /**
+   * Number of evaluations after the offset until the median success time is reached.
+   */
+  static final int EVALUATIONS_UNTIL_MEDIAN = 4;
+  /**
+   * Factor to apply to the 99th percentile of the success times for suggested timeouts.
+   */
+  static final double TIMEOUT_HEADROOM = 2d;
+  private static final Logger LOG = LoggerFactory.getLogger(WaitProfileStore.class);
+  private static final int MAX_KEYS = 1000;
+  private static final long MIN_DELAY_NANOS = TimeUnit.MILLISECONDS.toNanos(1L);
+  private static final String SEPARATOR = ",";
+
+  @Nonnull
+  private final Path file;
+  @Nonnull
+  private final ConcurrentMap<String, Samples> samples = new ConcurrentHashMap<>();
+
+  private WaitProfileStore(@Nonnull final Path file) {
+    this.file = file;
+  }
+
+  /**
+   * <p>
+   * Load the store from the given file. If the file does not exist or cannot be read, the store starts
+   * empty.
+   * </p>
+   *
+   * @param file file to load the store from and to save it to
+   * @return the store
+   */
+  @Nonnull
+  public static WaitProfileStore load(@Nonnull final Path file) {
+    checkNotNull(file, "File must not be null.");
+    final WaitProfileStore store = new WaitProfileStore(file);
+    if (Files.isRegularFile(file)) {
+      final Properties properties = new Properties();
+      try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+        properties.load(reader);
+      } catch (IOException | IllegalArgumentException e) {
+        LOG.warn("Failed to load wait profiles from {}. Starting without profiles.", file, e);
+        return store;
+      }
+      for (final String key : properties.stringPropertyNames()) {
+        store.restore(key, properties.getProperty(key));
+      }
+    }
+    return store;
+  }
+
+  /**
+   * <p>
+   * Save the store to its file.
+   * </p>
+   *
+   * @throws IOException if the file cannot be written
+   */
+  public void save() throws IOException {
+    final Properties properties = new Properties();
+    for (final Samples keySamples : samples.values()) {
+      properties.setProperty(keySamples.key, keySamples.serialize());
+    }
+    final Path parent = file.toAbsolutePath().getParent();
+    if (parent != null) {
+      Files.createDirectories(parent);
+    }
+    final Path temporaryFile = file.resolveSibling(file.getFileName() + ".tmp");
+    try (Writer writer = Files.newBufferedWriter(temporaryFile, StandardCharsets.UTF_8)) {
+      properties.store(writer, "Joala wait profiles: milliseconds until success of the most recent waits");
+    }
+    Files.move(temporaryFile, file, StandardCopyOption.REPLACE_EXISTING);
+  }
+
+  /**
+   * <p>
+   * Save the store to its file at JVM exit.
+   * </p>
+   */
+  public void saveOnExit() {
+    Runtime.getRuntime().addShutdownHook(new Thread(new SaveStore(this), "joala-wait-profiles"));
+  }
+
+  /**
+   * <p>
+   * Factory for waits which use the profiles of this store and record their time to success.
+   * </p>
+   *
+   * @param fallback backoff policy for conditions without profile
+   * @return wait factory
+   */
+  @Nonnull
+  public WaitFactory waitFactory(@Nonnull final BackoffPolicy fallback) {
+    return waitFactory(fallback, SystemTimeSource.INSTANCE, SystemTimeSource.INSTANCE);
+  }
+
+  @VisibleForTesting
+  @Nonnull
+  WaitFactory waitFactory(@Nonnull final BackoffPolicy fallback, @Nonnull final TimeSource timeSource, @Nonnull final Sleeper sleeper) {
+    checkNotNull(fallback, "Backoff policy must not be null.");
+    return new ProfiledWaitFactory(this, fallback, timeSource, sleeper);
+  }
+
+  /**
+   * <p>
+   * Backoff policy for the given condition, derived from its profile.
+   * </p>
+   *
+   * @param key      key of the condition
+   * @param fallback policy to use if there are not enough observations of the condition
+   * @return the backoff policy
+   */
+  @Nonnull
+  public BackoffPolicy backoffPolicy(@Nonnull final String key, @Nonnull final BackoffPolicy fallback) {
+    final long[] sorted = sortedSamples(key);
+    if (sorted == null) {
+      return fallback;
+    }
+    final long offsetNanos = (long) (sorted[0] * OFFSET_FRACTION);
+    final long initialDelayNanos = Math.max(MIN_DELAY_NANOS, (percentile(sorted, 50d) - offsetNanos) / EVALUATIONS_UNTIL_MEDIAN);
+    final long maxDelayNanos = Math.max(initialDelayNanos, (percentile(sorted, 99d) - offsetNanos) / EVALUATIONS_UNTIL_MEDIAN);
+    return BackoffPolicies.offset(offsetNanos, TimeUnit.NANOSECONDS,
+            BackoffPolicies.exponential(initialDelayNanos, DeceleratingWait.DECELERATION_FACTOR, maxDelayNanos, TimeUnit.NANOSECONDS));
+  }
+
+  /**
+   * <p>
+   * Suggested timeout for the given condition: the 99th percentile of its time to success with a
+   * headroom of factor {@value #TIMEOUT_HEADROOM}.
+   * </p>
+   *
+   * @param key key of the condition
+   * @return suggested timeout; {@code null} if there are not enough observations of the condition
+   */
+  @Nullable
+  public Timeout suggestedTimeout(@Nonnull final String key) {
+    final long[] sorted = sortedSamples(key);
+    if (sorted == null) {
+      return null;
+    }
+    final long nanos = (long) Math.ceil(percentile(sorted, 99d) * TIMEOUT_HEADROOM);
+    return new TimeoutImpl(Math.max(1L, TimeUnit.NANOSECONDS.toMillis(nanos)), TimeUnit.MILLISECONDS);
+  }
+
+  /**
+   * <p>
+   * Record a successful wait.
+   * </p>
+   *
+   * @param key          key of the condition
+   * @param successNanos time until success
+   */
+  void record(@Nonnull final String key, @Nonnegative final long successNanos) {
+    final Samples keySamples = samples(key);
+    if (keySamples != null) {
+      keySamples.add(Math.max(0L, successNanos));
+    }
+  }
+
+  @Nullable
+  private long[] sortedSamples(@Nonnull final String key) {
+    final Samples keySamples = samples.get(key);
+    if (keySamples == null) {
+      return null;
+    }
+    final long[] sorted = keySamples.snapshot();
+    if (sorted.length < MIN_SAMPLES) {
+      return null;
+    }
+    Arrays.sort(sorted);
+    return sorted;
+  }
+
+  private void restore(@Nonnull final String key, @Nonnull final String serialized) {
+    final Samples keySamples = samples(key);
+    if (keySamples == null) {
+      return;
+    }
+    for (final String millis : serialized.split(SEPARATOR)) {
+      try {
+        keySamples.add(TimeUnit.MILLISECONDS.toNanos(Long.parseLong(millis.trim())));
+      } catch (NumberFormatException e) {
+        LOG.warn("Ignoring invalid wait profile sample {} of {}.", millis, key, e);
+      }
+    }
+  }
+
+  @Nullable
+  private Samples samples(@Nonnull final String key) {
+    final Samples existing = samples.get(key);
+    if (existing != null || samples.size() >= MAX_KEYS) {
+      return existing;
+    }
+    return samples.computeIfAbsent(key, Samples::new);
+  }
+
+  /**
+   * <p>
+   * Nearest-rank percentile of the given sorted samples.
+   * </p>
+   */
+  private static long percentile(@Nonnull final long[] sorted, final double percentile) {
+    final int rank = (int) Math.ceil(percentile / 100d * sorted.length);
+    return sorted[Math.max(0, Math.min(sorted.length, rank) - 1)];
+  }
+
+  @Override
+  public String toString() {
+    return MoreObjects.toStringHelper(this)
+                      .add("file", file)
+                      .add("samples", samples)
+                      .toString();
+  }
+
+  /**
+   * <p>
+   * Ring buffer of the most recent success times of a condition.
+   * </p>
+   */
+  private static final class Samples {
+    @Nonnull
+    private final String key;
+    private final long[] nanos = new long[MAX_SAMPLES];
+    private int count;
+    private int next;
+
+    private Samples(@Nonnull final String key) {
+      this.key = key;
+    }
+
+    private synchronized void add(final long sampleNanos) {
+      nanos[next] = sampleNanos;
+      next = (next + 1) % nanos.length;
+      count = Math.min(count + 1, nanos.length);
+    }
+
+    /**
+     * @return the samples, oldest first
+     */
+    @Nonnull
+    private synchronized long[] snapshot() {
+      final long[] snapshot = new long[count];
+      final int oldest = count < nanos.length ? 0 : next;
+      for (int i = 0; i < count; i++) {
+        snapshot[i] = nanos[(oldest + i) % nanos.length];
+      }
+      return snapshot;
+    }
+
+    @Nonnull
+    private String serialize() {
+      final StringBuilder serialized = new StringBuilder();
+      for (final long sampleNanos : snapshot()) {
+        if (serialized.length() > 0) {
+          serialized.append(SEPARATOR);
+        }
+        serialized.append(TimeUnit.NANOSECONDS.toMillis(sampleNanos));
+      }
+      return serialized.toString();
+    }
+
+    @Override
+    public String toString() {
+      return MoreObjects.toStringHelper(this)
+                        .add("key", key)
+                        .add("nanos", Arrays.toString(snapshot()))
+                        .toString();
+    }
+  }
+
+  private static final class ProfiledWaitFactory implements WaitFactory {
+    @Nonnull
+    private final WaitProfileStore store;
+    @Nonnull
+    private final BackoffPolicy fallback;
+    @Nonnull
+    private final TimeSource timeSource;
+    @Nonnull
+    private final Sleeper sleeper;
+
+    private ProfiledWaitFactory(@Nonnull final WaitProfileStore store,
+                                @Nonnull final BackoffPolicy fallback,
+                                @Nonnull final TimeSource timeSource,
+                                @Nonnull final Sleeper sleeper) {
+      this.store = store;
+      this.fallback = fallback;
+      this.timeSource = timeSource;
+      this.sleeper = sleeper;
+    }
+
+    @Nonnull
+    @Override
+    public Wait createWait(@Nonnull final Timeout timeout, @Nonnegative final double timeoutFactor, @Nonnull final WaitFailStrategy failStrategy) {
+      return new ProfiledWait(store, timeout, timeoutFactor, failStrategy, fallback, timeSource, sleeper);
+    }
+
+    @Override
+    public String toString() {
+      return MoreObjects.toStringHelper(this)
+                        .add("store", store)
+                        .add("fallback", fallback)
+                        .add("timeSource", timeSource)
+                        .add("sleeper", sleeper)
+                        .toString();
+    }
+  }
+
+  private static final class SaveStore implements Runnable {
+    @Nonnull
+    private final WaitProfileStore store;
+
+    private SaveStore(@Nonnull final WaitProfileStore store) {
+      this.store = store;
+    }
+
+    @Override
+    public void run() {
+      try {
+        store.save();
+      } catch (IOException e) {
+        LOG.warn("Failed to save wait profiles to {}.", store.file, e);
+      }
+    }
+  }
+}
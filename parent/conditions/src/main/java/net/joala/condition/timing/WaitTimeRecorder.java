@@ -0,0 +1,246 @@
+/*
+ * Copyright 2026 CoreMedia AG
+ *
+ * This file is part of Joala.
+ *
+ * Joala is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Joala is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Joala.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package net.joala.condition.timing;
+
+import com.google.common.base.MoreObjects;
+import net.joala.time.TimeFormat;
+
+import javax.annotation.Nonnegative;
+import javax.annotation.Nonnull;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+/**
+ * <p>
+ * Listener which records histograms of the total wait time, the number of polls and the state query latency
+ * of waits, keyed by {@link WaitObservation#getKey() condition message or expression description}. The
+ * {@link #summary() summary} lists the keys ordered by their total wait time, so that it tells which
+ * conditions consume the most time of a test suite.
+ * </p>
+ * <p>
+ * Recording is lock-free and does not allocate once a key is known. To bound the memory, keys beyond
+ * the maximum number of keys are recorded as {@value #OTHER_KEY}.
+ * </p>
+ * <p>
+ * Run tests with {@code -Djoala.wait.statistics=true} or call {@link #install()} to print the summary at JVM exit.
+ * </p>
+ *
+ * @see WaitListeners#STATISTICS_PROPERTY
+ * @since 10/18/26
+ */
+public class WaitTimeRecorder implements WaitListener {
+  /**
+   * Key to record waits with once the maximum number of keys is reached.
+   */
+  public static final String OTHER_KEY = "<other>";
+  private static final int DEFAULT_MAX_KEYS = 1000;
+
+  @Nonnull
+  private final ConcurrentMap<String, Statistics> statistics = new ConcurrentHashMap<>();
+  @Nonnegative
+  private final int maxKeys;
+
+  public WaitTimeRecorder() {
+    this(DEFAULT_MAX_KEYS);
+  }
+
+  /**
+   * <p>
+   * Recorder which keeps statistics for at most the given number of keys.
+   * </p>
+   *
+   * @param maxKeys maximum number of keys
+   */
+  public WaitTimeRecorder(@Nonnegative final int maxKeys) {
+    checkArgument(maxKeys > 0, "Maximum number of keys must be positive: %s", maxKeys);
+    this.maxKeys = maxKeys;
+  }
+
+  /**
+   * <p>
+   * Register a new recorder for all waits and print its summary to {@link System#out} at JVM exit.
+   * </p>
+   *
+   * @return the registered recorder
+   */
+  @Nonnull
+  public static WaitTimeRecorder install() {
+    final WaitTimeRecorder recorder = new WaitTimeRecorder();
+    WaitListeners.register(recorder);
+    Runtime.getRuntime().addShutdownHook(new Thread(new PrintSummary(recorder, System.out), "joala-wait-statistics"));
+    return recorder;
+  }
+
+  @Override
+  public void polled(@Nonnull final WaitObservation wait, @Nonnegative final long queryNanos, @Nonnull final PollOutcome outcome) {
+    statistics(wait).queryNanos.record(queryNanos);
+  }
+
+  @Override
+  public void succeeded(@Nonnull final WaitObservation wait, @Nonnegative final long totalNanos) {
+    final Statistics waitStatistics = statistics(wait);
+    waitStatistics.succeeded.increment();
+    waitStatistics.finished(wait, totalNanos);
+  }
+
+  @Override
+  public void timedOut(@Nonnull final WaitObservation wait, @Nonnegative final long totalNanos) {
+    final Statistics waitStatistics = statistics(wait);
+    waitStatistics.timedOut.increment();
+    waitStatistics.finished(wait, totalNanos);
+  }
+
+  @Override
+  public void aborted(@Nonnull final WaitObservation wait, @Nonnegative final long totalNanos) {
+    final Statistics waitStatistics = statistics(wait);
+    waitStatistics.aborted.increment();
+    waitStatistics.finished(wait, totalNanos);
+  }
+
+  @Nonnull
+  private Statistics statistics(@Nonnull final WaitObservation wait) {
+    final String key = wait.getKey();
+    final Statistics existing = statistics.get(key);
+    if (existing != null) {
+      return existing;
+    }
+    final String boundedKey = statistics.size() < maxKeys ? key : OTHER_KEY;
+    return statistics.computeIfAbsent(boundedKey, Statistics::new);
+  }
+
+  /**
+   * <p>
+   * Summary of all recorded waits, one line per key, ordered by total wait time.
+   * </p>
+   *
+   * @return the summary
+   */
+  @Nonnull
+  public String summary() {
+    final List<Statistics> ordered = new ArrayList<>(statistics.values());
+    ordered.sort(Comparator.comparingLong((Statistics s) -> s.waitNanos.sum()).reversed());
+    final StringBuilder summary = new StringBuilder("Wait statistics, ordered by total wait time:");
+    for (final Statistics waitStatistics : ordered) {
+      summary.append(System.lineSeparator()).append(waitStatistics.summary());
+    }
+    return summary.toString();
+  }
+
+  /**
+   * <p>
+   * Forget all recorded waits.
+   * </p>
+   */
+  public void reset() {
+    statistics.clear();
+  }
+
+  @Override
+  public String toString() {
+    return MoreObjects.toStringHelper(this)
+                      .add("statistics", statistics)
+                      .add("maxKeys", maxKeys)
+                      .toString();
+  }
+
+  private static String formatNanos(final long nanos) {
+    return TimeFormat.format(nanos, TimeUnit.NANOSECONDS);
+  }
+
+  private static final class Statistics {
+    @Nonnull
+    private final String key;
+    private final LogLinearHistogram waitNanos = new LogLinearHistogram();
+    private final LogLinearHistogram polls = new LogLinearHistogram();
+    private final LogLinearHistogram queryNanos = new LogLinearHistogram();
+    private final LongAdder succeeded = new LongAdder();
+    private final LongAdder timedOut = new LongAdder();
+    private final LongAdder aborted = new LongAdder();
+
+    private Statistics(@Nonnull final String key) {
+      this.key = key;
+    }
+
+    private void finished(@Nonnull final WaitObservation wait, final long totalNanos) {
+      waitNanos.record(totalNanos);
+      polls.record(wait.getPolls());
+    }
+
+    @Nonnull
+    private String summary() {
+      return String.format("%s: total %s in %d waits (%d succeeded, %d timed out, %d aborted)"
+                      + " - wait p50 %s, p99 %s, max %s - polls p50 %d, p99 %d, max %d - query p50 %s, p99 %s, max %s",
+              key,
+              formatNanos(waitNanos.sum()),
+              waitNanos.count(),
+              succeeded.sum(),
+              timedOut.sum(),
+              aborted.sum(),
+              formatNanos(waitNanos.percentile(50d)),
+              formatNanos(waitNanos.percentile(99d)),
+              formatNanos(waitNanos.max()),
+              polls.percentile(50d),
+              polls.percentile(99d),
+              polls.max(),
+              formatNanos(queryNanos.percentile(50d)),
+              formatNanos(queryNanos.percentile(99d)),
+              formatNanos(queryNanos.max()));
+    }
+
+    @Override
+    public String toString() {
+      return MoreObjects.toStringHelper(this)
+                        .add("key", key)
+                        .add("waitNanos", waitNanos)
+                        .add("polls", polls)
+                        .add("queryNanos", queryNanos)
+                        .add("succeeded", succeeded)
+                        .add("timedOut", timedOut)
+                        .add("aborted", aborted)
+                        .toString();
+    }
+  }
+
+  private static final class PrintSummary implements Runnable {
+    @Nonnull
+    private final WaitTimeRecorder recorder;
+    @Nonnull
+    private final PrintStream out;
+
+    private PrintSummary(@Nonnull final WaitTimeRecorder recorder, @Nonnull final PrintStream out) {
+      this.recorder = recorder;
+      this.out = out;
+    }
+
+    @Override
+    public void run() {
+      out.println(recorder.summary());
+    }
+  }
+}
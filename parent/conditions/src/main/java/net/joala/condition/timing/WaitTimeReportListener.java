@@ -0,0 +1,509 @@
+/*
+ * Copyright 2026 CoreMedia AG
+ *
+ * This file is part of Joala.
+ *
+ * Joala is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Joala is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Joala.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package net.joala.condition.timing;
+
+import com.google.common.base.MoreObjects;
+import net.joala.time.TimeFormat;
+import org.junit.runner.Description;
+import org.junit.runner.Result;
+import org.junit.runner.notification.RunListener;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.Nonnegative;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * <p>
+ * JUnit listener which observes all waits of a test run and writes a ranked report once the run
+ * finished. The report lists
+ * </p>
+ * <ul>
+ * <li>the conditions which spent the most time sleeping between polls,</li>
+ * <li>the tests which spent the most time sleeping between polls and</li>
+ * <li>the successful waits which came close to their timeout.</li>
+ * </ul>
+ * <p>
+ * Conditions are keyed by {@link WaitObservation#getKey() message or expression description}. Besides the
+ * sleep time the report contains the average number of polls until success, which hints at conditions
+ * which would benefit from a different backoff or from event-driven checks.
+ * </p>
+ * <p>
+ * The report is written as plain text to {@value #TEXT_FILE_NAME} and as JSON to {@value #JSON_FILE_NAME}
+ * in the directory given by the system property {@value #DIRECTORY_PROPERTY}, which defaults to
+ * {@value #DEFAULT_DIRECTORY}. Register the listener for example with Surefire:
+ * </p>
+ * <pre>{@code
+ * <properties>
+ *   <property>
+ *     <name>listener</name>
+ *     <value>net.joala.condition.timing.WaitTimeReportListener</value>
+ *   </property>
+ * </properties>
+ * }</pre>
+ *
+ * @since 10/18/26
+ */
+@RunListener.ThreadSafe
+public class WaitTimeReportListener extends RunListener {
+  /**
+   * System property for the directory to write the report to.
+   */
+  public static final String DIRECTORY_PROPERTY = "joala.wait.report.directory";
+  /**
+   * Default directory to write the report to.
+   */
+  public static final String DEFAULT_DIRECTORY = "target/joala";
+  /**
+   * Name of the plain text report.
+   */
+  public static final String TEXT_FILE_NAME = "wait-time-report.txt";
+  /**
+   * Name of the JSON report.
+   */
+  public static final String JSON_FILE_NAME = "wait-time-report.json";
+  /**
+   * Fraction of the timeout above which a successful wait counts as close to its timeout.
+   */
+  static final double CLOSE_TO_TIMEOUT = 0.8d;
+  private static final Logger LOG = LoggerFactory.getLogger(WaitTimeReportListener.class);
+  private static final String NO_TEST = "<no test>";
+  private static final int MAX_KEYS = 1000;
+  private static final int MAX_CLOSE_CALLS = 1000;
+  private static final int MAX_RANKED = 25;
+
+  @Nonnull
+  private final Path directory;
+  @Nonnull
+  private final Collector collector = new Collector();
+
+  public WaitTimeReportListener() {
+    this(Paths.get(System.getProperty(DIRECTORY_PROPERTY, DEFAULT_DIRECTORY)));
+  }
+
+  /**
+   * <p>
+   * Listener which writes its report to the given directory.
+   * </p>
+   *
+   * @param directory directory to write the report to; created if it does not exist
+   */
+  public WaitTimeReportListener(@Nonnull final Path directory) {
+    this.directory = checkNotNull(directory, "Directory must not be null.");
+  }
+
+  @Override
+  public void testRunStarted(final Description description) {
+    WaitListeners.register(collector);
+  }
+
+  @Override
+  public void testStarted(@Nonnull final Description description) {
+    collector.testStarted(testName(description));
+  }
+
+  @Override
+  public void testFinished(final Description description) {
+    collector.testFinished();
+  }
+
+  @Override
+  public void testRunFinished(final Result result) {
+    WaitListeners.unregister(collector);
+    try {
+      Files.createDirectories(directory);
+      Files.write(directory.resolve(TEXT_FILE_NAME), text().getBytes(StandardCharsets.UTF_8));
+      Files.write(directory.resolve(JSON_FILE_NAME), json().getBytes(StandardCharsets.UTF_8));
+    } catch (IOException e) {
+      LOG.warn("Failed to write wait time report to {}.", directory, e);
+    }
+  }
+
+  /**
+   * <p>
+   * The report as plain text.
+   * </p>
+   *
+   * @return the report
+   */
+  @Nonnull
+  public String text() {
+    final StringBuilder text = new StringBuilder("Wait time report");
+    appendText(text, "Conditions by sleep time:", ranked(collector.conditions.values()));
+    appendText(text, "Tests by sleep time:", ranked(collector.tests.values()));
+    text.append(System.lineSeparator()).append(System.lineSeparator())
+        .append(String.format(Locale.ROOT, "Successful waits close to their timeout (at least %d%%):", percent(CLOSE_TO_TIMEOUT)));
+    final List<CloseCall> closeCalls = rankedCloseCalls();
+    for (int i = 0; i < closeCalls.size(); i++) {
+      final CloseCall closeCall = closeCalls.get(i);
+      text.append(System.lineSeparator())
+          .append(String.format(Locale.ROOT, "%3d. %s in %s: %s of %s (%d%%)",
+                  i + 1,
+                  closeCall.condition,
+                  closeCall.test,
+                  formatNanos(closeCall.waitNanos),
+                  formatNanos(closeCall.timeoutNanos),
+                  percent(closeCall.ratio())));
+    }
+    return text.toString();
+  }
+
+  /**
+   * <p>
+   * The report as JSON.
+   * </p>
+   *
+   * @return the report
+   */
+  @Nonnull
+  public String json() {
+    final StringBuilder json = new StringBuilder("{");
+    appendJson(json, "conditions", ranked(collector.conditions.values()));
+    json.append(',');
+    appendJson(json, "tests", ranked(collector.tests.values()));
+    json.append(",\"closeToTimeout\":[");
+    final List<CloseCall> closeCalls = rankedCloseCalls();
+    for (int i = 0; i < closeCalls.size(); i++) {
+      final CloseCall closeCall = closeCalls.get(i);
+      if (i > 0) {
+        json.append(',');
+      }
+      json.append("{\"condition\":").append(quote(closeCall.condition))
+          .append(",\"test\":").append(quote(closeCall.test))
+          .append(",\"waitMillis\":").append(TimeUnit.NANOSECONDS.toMillis(closeCall.waitNanos))
+          .append(",\"timeoutMillis\":").append(TimeUnit.NANOSECONDS.toMillis(closeCall.timeoutNanos))
+          .append('}');
+    }
+    return json.append("]}").toString();
+  }
+
+  @Override
+  public String toString() {
+    return MoreObjects.toStringHelper(this)
+                      .add("directory", directory)
+                      .add("collector", collector)
+                      .toString();
+  }
+
+  private static void appendText(@Nonnull final StringBuilder text, @Nonnull final String heading, @Nonnull final List<Entry> entries) {
+    text.append(System.lineSeparator()).append(System.lineSeparator()).append(heading);
+    for (int i = 0; i < entries.size(); i++) {
+      final Entry entry = entries.get(i);
+      text.append(System.lineSeparator())
+          .append(String.format(Locale.ROOT, "%3d. %s: sleep %s, total %s in %d waits (%d succeeded, %d timed out, %d aborted), %.1f polls until success",
+                  i + 1,
+                  entry.name,
+                  formatNanos(entry.sleepNanos),
+                  formatNanos(entry.totalNanos),
+                  entry.waits,
+                  entry.succeeded,
+                  entry.timedOut,
+                  entry.aborted,
+                  entry.averagePollsUntilSuccess()));
+    }
+  }
+
+  private static void appendJson(@Nonnull final StringBuilder json, @Nonnull final String name, @Nonnull final List<Entry> entries) {
+    json.append(quote(name)).append(":[");
+    for (int i = 0; i < entries.size(); i++) {
+      final Entry entry = entries.get(i);
+      if (i > 0) {
+        json.append(',');
+      }
+      json.append("{\"name\":").append(quote(entry.name))
+          .append(",\"waits\":").append(entry.waits)
+          .append(",\"succeeded\":").append(entry.succeeded)
+          .append(",\"timedOut\":").append(entry.timedOut)
+          .append(",\"aborted\":").append(entry.aborted)
+          .append(",\"sleepMillis\":").append(TimeUnit.NANOSECONDS.toMillis(entry.sleepNanos))
+          .append(",\"totalMillis\":").append(TimeUnit.NANOSECONDS.toMillis(entry.totalNanos))
+          .append(",\"averagePollsUntilSuccess\":").append(String.format(Locale.ROOT, "%.1f", entry.averagePollsUntilSuccess()))
+          .append('}');
+    }
+    json.append(']');
+  }
+
+  @Nonnull
+  static String quote(@Nonnull final String text) {
+    final StringBuilder quoted = new StringBuilder(text.length() + 2).append('"');
+    for (int i = 0; i < text.length(); i++) {
+      final char c = text.charAt(i);
+      if (c == '"' || c == '\\') {
+        quoted.append('\\').append(c);
+      } else if (c < ' ') {
+        quoted.append(String.format(Locale.ROOT, "\\u%04x", (int) c));
+      } else {
+        quoted.append(c);
+      }
+    }
+    return quoted.append('"').toString();
+  }
+
+  /**
+   * <p>
+   * Snapshots of the given entries, ordered by sleep time, at most {@value #MAX_RANKED}.
+   * </p>
+   */
+  @Nonnull
+  private static List<Entry> ranked(@Nonnull final Collection<Entry> entries) {
+    final List<Entry> snapshots = new ArrayList<>(entries.size());
+    for (final Entry entry : entries) {
+      snapshots.add(entry.snapshot());
+    }
+    snapshots.sort(Comparator.comparingLong((Entry e) -> e.sleepNanos).reversed());
+    return snapshots.subList(0, Math.min(MAX_RANKED, snapshots.size()));
+  }
+
+  @Nonnull
+  private List<CloseCall> rankedCloseCalls() {
+    final List<CloseCall> closeCalls = new ArrayList<>(collector.closeCalls);
+    closeCalls.sort(Comparator.comparingDouble(CloseCall::ratio).reversed());
+    return closeCalls.subList(0, Math.min(MAX_RANKED, closeCalls.size()));
+  }
+
+  @Nonnull
+  private static String testName(@Nonnull final Description description) {
+    final String methodName = description.getMethodName();
+    return methodName == null ? description.getDisplayName() : description.getClassName() + '.' + methodName;
+  }
+
+  private static int percent(final double ratio) {
+    return (int) Math.round(ratio * 100d);
+  }
+
+  private static String formatNanos(final long nanos) {
+    return TimeFormat.format(nanos, TimeUnit.NANOSECONDS);
+  }
+
+  /**
+   * <p>
+   * Collects the waits and attributes them to the test running on the waiting thread. If the
+   * wait does not start on a test thread, it is attributed to the test started last.
+   * </p>
+   */
+  private static final class Collector implements WaitListener {
+    private final ThreadLocal<String> currentTest = new ThreadLocal<>();
+    @Nullable
+    private volatile String lastStartedTest;
+    private final ConcurrentMap<WaitObservation, String> testsOfWaits = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, Entry> conditions = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, Entry> tests = new ConcurrentHashMap<>();
+    private final Collection<CloseCall> closeCalls = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger closeCallCount = new AtomicInteger();
+
+    private void testStarted(@Nonnull final String test) {
+      currentTest.set(test);
+      lastStartedTest = test;
+    }
+
+    private void testFinished() {
+      currentTest.remove();
+    }
+
+    @Override
+    public void waitStarted(@Nonnull final WaitObservation wait) {
+      String test = currentTest.get();
+      if (test == null) {
+        test = MoreObjects.firstNonNull(lastStartedTest, NO_TEST);
+      }
+      testsOfWaits.put(wait, test);
+    }
+
+    @Override
+    public void succeeded(@Nonnull final WaitObservation wait, @Nonnegative final long totalNanos) {
+      final String test = finished(wait, totalNanos, Outcome.SUCCEEDED);
+      final long timeoutNanos = wait.getTimeoutNanos();
+      if (timeoutNanos > 0L && totalNanos >= CLOSE_TO_TIMEOUT * timeoutNanos
+              && closeCallCount.incrementAndGet() <= MAX_CLOSE_CALLS) {
+        closeCalls.add(new CloseCall(wait.getKey(), test, totalNanos, timeoutNanos));
+      }
+    }
+
+    @Override
+    public void timedOut(@Nonnull final WaitObservation wait, @Nonnegative final long totalNanos) {
+      finished(wait, totalNanos, Outcome.TIMED_OUT);
+    }
+
+    @Override
+    public void aborted(@Nonnull final WaitObservation wait, @Nonnegative final long totalNanos) {
+      finished(wait, totalNanos, Outcome.ABORTED);
+    }
+
+    @Nonnull
+    private String finished(@Nonnull final WaitObservation wait, final long totalNanos, @Nonnull final Outcome outcome) {
+      final String test = MoreObjects.firstNonNull(testsOfWaits.remove(wait), NO_TEST);
+      final long sleepNanos = Math.max(0L, totalNanos - wait.getQueryNanos());
+      entry(conditions, wait.getKey()).record(outcome, totalNanos, sleepNanos, wait.getPolls());
+      entry(tests, test).record(outcome, totalNanos, sleepNanos, wait.getPolls());
+      return test;
+    }
+
+    @Nonnull
+    private static Entry entry(@Nonnull final ConcurrentMap<String, Entry> entries, @Nonnull final String name) {
+      final Entry existing = entries.get(name);
+      if (existing != null) {
+        return existing;
+      }
+      final String boundedName = entries.size() < MAX_KEYS ? name : WaitTimeRecorder.OTHER_KEY;
+      return entries.computeIfAbsent(boundedName, Entry::new);
+    }
+
+    @Override
+    public String toString() {
+      return MoreObjects.toStringHelper(this)
+                        .add("lastStartedTest", lastStartedTest)
+                        .add("testsOfWaits", testsOfWaits)
+                        .add("conditions", conditions)
+                        .add("tests", tests)
+                        .add("closeCalls", closeCalls)
+                        .add("closeCallCount", closeCallCount)
+                        .toString();
+    }
+  }
+
+  private enum Outcome {
+    SUCCEEDED,
+    TIMED_OUT,
+    ABORTED
+  }
+
+  /**
+   * <p>
+   * Accumulated waits of a condition or of a test.
+   * </p>
+   */
+  private static final class Entry {
+    @Nonnull
+    private final String name;
+    private long waits;
+    private long succeeded;
+    private long timedOut;
+    private long aborted;
+    private long totalNanos;
+    private long sleepNanos;
+    private long pollsUntilSuccess;
+
+    private Entry(@Nonnull final String name) {
+      this.name = name;
+    }
+
+    private synchronized void record(@Nonnull final Outcome outcome, final long waitNanos, final long waitSleepNanos, final int polls) {
+      waits++;
+      totalNanos += waitNanos;
+      sleepNanos += waitSleepNanos;
+      switch (outcome) {
+        case SUCCEEDED:
+          succeeded++;
+          pollsUntilSuccess += polls;
+          break;
+        case TIMED_OUT:
+          timedOut++;
+          break;
+        default:
+          aborted++;
+          break;
+      }
+    }
+
+    private double averagePollsUntilSuccess() {
+      return succeeded == 0L ? 0d : (double) pollsUntilSuccess / succeeded;
+    }
+
+    @Nonnull
+    private synchronized Entry snapshot() {
+      final Entry snapshot = new Entry(name);
+      snapshot.waits = waits;
+      snapshot.succeeded = succeeded;
+      snapshot.timedOut = timedOut;
+      snapshot.aborted = aborted;
+      snapshot.totalNanos = totalNanos;
+      snapshot.sleepNanos = sleepNanos;
+      snapshot.pollsUntilSuccess = pollsUntilSuccess;
+      return snapshot;
+    }
+
+    @Override
+    public synchronized String toString() {
+      return MoreObjects.toStringHelper(this)
+                        .add("name", name)
+                        .add("waits", waits)
+                        .add("succeeded", succeeded)
+                        .add("timedOut", timedOut)
+                        .add("aborted", aborted)
+                        .add("totalNanos", totalNanos)
+                        .add("sleepNanos", sleepNanos)
+                        .add("pollsUntilSuccess", pollsUntilSuccess)
+                        .toString();
+    }
+  }
+
+  /**
+   * <p>
+   * A successful wait which came close to its timeout.
+   * </p>
+   */
+  private static final class CloseCall {
+    @Nonnull
+    private final String condition;
+    @Nonnull
+    private final String test;
+    private final long waitNanos;
+    private final long timeoutNanos;
+
+    private CloseCall(@Nonnull final String condition, @Nonnull final String test, final long waitNanos, final long timeoutNanos) {
+      this.condition = condition;
+      this.test = test;
+      this.waitNanos = waitNanos;
+      this.timeoutNanos = timeoutNanos;
+    }
+
+    private double ratio() {
+      return (double) waitNanos / timeoutNanos;
+    }
+
+    @Override
+    public String toString() {
+      return MoreObjects.toStringHelper(this)
+                        .add("condition", condition)
+                        .add("test", test)
+                        .add("waitNanos", waitNanos)
+                        .add("timeoutNanos", timeoutNanos)
+                        .toString();
+    }
+  }
+}
@@ -19,21 +19,69 @@
 
 package net.joala.condition.timing;
 
+import com.google.common.base.Supplier;
+
+import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 
+import static com.google.common.base.Preconditions.checkNotNull;
+
 /**
  * <p>
  * Exception which signals that a condition is not fulfilled within time.
  * </p>
+ * <p>
+ * The message may be rendered lazily, so that timeouts which are expected and thrown away do not pay
+ * for describing the failure.
+ * </p>
  *
  * @since 8/23/12
  */
 public final class WaitTimeoutException extends RuntimeException {
+  @Nullable
+  private final transient Supplier<String> lazyMessage;
+
   public WaitTimeoutException(@Nullable final String message) {
     super(message);
+    lazyMessage = null;
   }
 
   public WaitTimeoutException(@Nullable final String message, @Nullable final Throwable cause) {
     super(message, cause);
+    lazyMessage = null;
+  }
+
+  /**
+   * <p>
+   * Constructor with a message which is rendered when it is requested for the first time.
+   * </p>
+   *
+   * @param lazyMessage supplies the message; should be memoizing if requested repeatedly
+   * @param cause       the cause of the timeout
+   * @since 10/18/26
+   */
+  public WaitTimeoutException(@Nonnull final Supplier<String> lazyMessage, @Nullable final Throwable cause) {
+    super(null, cause);
+    checkNotNull(lazyMessage, "Message supplier must not be null.");
+    this.lazyMessage = lazyMessage;
+  }
+
+  @Override
+  public String getMessage() {
+    return lazyMessage == null ? super.getMessage() : lazyMessage.get();
+  }
+
+  /**
+   * Serialize with the rendered message, as the message supplier is not serializable.
+   *
+   * @return exception to serialize instead
+   */
+  private Object writeReplace() {
+    if (lazyMessage == null) {
+      return this;
+    }
+    final WaitTimeoutException rendered = new WaitTimeoutException(getMessage(), getCause());
+    rendered.setStackTrace(getStackTrace());
+    return rendered;
   }
 }
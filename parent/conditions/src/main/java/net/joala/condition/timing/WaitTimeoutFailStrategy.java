@@ -19,6 +19,8 @@
 
 package net.joala.condition.timing;
 
+import com.google.common.base.Supplier;
+import com.google.common.base.Suppliers;
 import org.hamcrest.Matcher;
 
 import javax.annotation.Nonnegative;
@@ -42,7 +44,17 @@ public class WaitTimeoutFailStrategy extends AbstractWaitFailStrategy {
                    @Nonnull final Object input,
                    @Nonnull final Throwable exception,
                    @Nonnegative final long consumedMillis) {
-    throw new WaitTimeoutException(addTimeoutDescription(reason, function, input, consumedMillis), exception);
+    failWithException(reason, function, input, exception, consumedMillis, null);
+  }
+
+  @Override
+  public void fail(@Nullable final String reason,
+                   @Nonnull final Object function,
+                   @Nonnull final Object input,
+                   @Nonnull final Throwable exception,
+                   @Nonnegative final long consumedMillis,
+                   @Nonnull final PollHistory history) {
+    failWithException(reason, function, input, exception, consumedMillis, history);
   }
 
   @Override
@@ -52,23 +64,51 @@ public class WaitTimeoutFailStrategy extends AbstractWaitFailStrategy {
                        @Nullable final T lastValue,
                        @Nonnull final Matcher<? super T> matcher,
                        @Nonnegative final long consumedMillis) {
-    match(reason, lastValue, matcher, new WaitTimeoutExceptionFailStrategy(function, input, consumedMillis));
+    match(reason, lastValue, matcher, new WaitTimeoutExceptionFailStrategy(function, input, consumedMillis, null));
+  }
+
+  @Override
+  public <T> void fail(@Nullable final String reason,
+                       @Nonnull final Object function,
+                       @Nonnull final Object input,
+                       @Nullable final T lastValue,
+                       @Nonnull final Matcher<? super T> matcher,
+                       @Nonnegative final long consumedMillis,
+                       @Nonnull final PollHistory history) {
+    match(reason, lastValue, matcher, new WaitTimeoutExceptionFailStrategy(function, input, consumedMillis, history));
+  }
+
+  private void failWithException(@Nullable final String reason,
+                                 @Nonnull final Object function,
+                                 @Nonnull final Object input,
+                                 @Nonnull final Throwable exception,
+                                 @Nonnegative final long consumedMillis,
+                                 @Nullable final PollHistory history) {
+    throw new WaitTimeoutException(lazyTimeoutDescription(Suppliers.ofInstance(reason), function, input, consumedMillis, history), exception);
   }
 
   private class WaitTimeoutExceptionFailStrategy implements FailStrategy {
     private final Object function;
     private final Object input;
     private final long consumedMillis;
+    @Nullable
+    private final PollHistory history;
 
-    private WaitTimeoutExceptionFailStrategy(final Object function, final Object input, final long consumedMillis) {
+    private WaitTimeoutExceptionFailStrategy(final Object function, final Object input, final long consumedMillis, @Nullable final PollHistory history) {
       this.function = function;
       this.input = input;
       this.consumedMillis = consumedMillis;
+      this.history = history;
     }
 
     @Override
     public void fail(final String message) {
-      throw new WaitTimeoutException(addTimeoutDescription(message, function, input, consumedMillis));
+      throw new WaitTimeoutException(addTimeoutDescription(message, function, input, consumedMillis, history));
+    }
+
+    @Override
+    public void fail(@Nonnull final Supplier<String> message) {
+      throw new WaitTimeoutException(lazyTimeoutDescription(message, function, input, consumedMillis, history), null);
     }
   }
 }
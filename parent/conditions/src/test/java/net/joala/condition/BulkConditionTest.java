@@ -0,0 +1,162 @@
+/*
+ * Copyright 2026 CoreMedia AG
+ *
+ * This file is part of Joala.
+ *
+ * Joala is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Joala is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Joala.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package net.joala.condition;
+
+import com.google.common.base.Function;
+import net.joala.condition.timing.WaitTimeoutException;
+import net.joala.expression.ExpressionEvaluationException;
+import net.joala.time.Timeout;
+import net.joala.time.TimeoutImpl;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Pattern;
+
+import static net.joala.testlet.ToStringTestlet.toStringTestlet;
+import static org.hamcrest.core.IsEqual.equalTo;
+import static org.hamcrest.core.IsNot.not;
+import static org.hamcrest.core.IsNull.nullValue;
+import static org.hamcrest.core.StringContains.containsString;
+import static org.hamcrest.number.OrderingComparison.greaterThanOrEqualTo;
+import static org.hamcrest.number.OrderingComparison.lessThan;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * <p>
+ * Tests {@link BulkCondition}.
+ * </p>
+ *
+ * @since 10/18/26
+ */
+public class BulkConditionTest {
+  private static final Timeout LONG_TIMEOUT = new TimeoutImpl(10L, TimeUnit.SECONDS);
+  private static final Timeout SHORT_TIMEOUT = new TimeoutImpl(100L, TimeUnit.MILLISECONDS);
+  private static final int KEY_COUNT = 10000;
+  private static final int ROUNDS = 4;
+
+  @Test
+  public void await_should_only_requery_unsatisfied_keys() throws Exception {
+    final List<Integer> queriedKeys = new ArrayList<>();
+    final AtomicInteger round = new AtomicInteger();
+    // Key k reaches its target state in round (k % ROUNDS) + 1.
+    final Function<Set<Integer>, Map<Integer, Integer>> batchQuery = keys -> {
+      queriedKeys.add(keys.size());
+      final int current = round.incrementAndGet();
+      final Map<Integer, Integer> values = new HashMap<>();
+      for (final Integer key : keys) {
+        values.put(key, current - key % ROUNDS);
+      }
+      return values;
+    };
+    final Map<Integer, Integer> result = new BulkCondition<>(LONG_TIMEOUT, keys(KEY_COUNT), batchQuery, greaterThanOrEqualTo(1)).await();
+    assertEquals("All keys should be satisfied.", KEY_COUNT, result.size());
+    assertEquals("Working set should shrink each round.", List.of(10000, 7500, 5000, 2500), queriedKeys);
+  }
+
+  @Test
+  public void await_should_report_progress() throws Exception {
+    final List<Integer> progress = new ArrayList<>();
+    final AtomicInteger round = new AtomicInteger();
+    new BulkCondition<>(LONG_TIMEOUT, keys(4), (Set<Integer> keys) -> {
+      final int current = round.incrementAndGet();
+      final Map<Integer, Integer> values = new HashMap<>();
+      for (final Integer key : keys) {
+        values.put(key, key < current ? 1 : 0);
+      }
+      return values;
+    }, equalTo(1)).withProgressListener((satisfied, total, unsatisfied) -> {
+      assertEquals("Total number of keys expected.", 4, total);
+      assertEquals("Unsatisfied keys should complement satisfied ones.", total - satisfied, unsatisfied.size());
+      progress.add(satisfied);
+    }).await();
+    assertEquals("Progress after each round expected.", List.of(1, 2, 3, 4), progress);
+  }
+
+  @Test
+  public void await_should_report_unsatisfied_keys_on_timeout() throws Exception {
+    try {
+      new BulkCondition<>(SHORT_TIMEOUT, keys(1000), (Set<Integer> keys) -> {
+        final Map<Integer, Integer> values = new HashMap<>();
+        for (final Integer key : keys) {
+          if (key != 0) {
+            values.put(key, key < 500 ? 1 : 0);
+          }
+        }
+        return values;
+      }, equalTo(1)).await();
+      fail("Bulk condition should have timed out.");
+    } catch (WaitTimeoutException e) {
+      final String message = e.getMessage();
+      assertThat("Number of unsatisfied keys expected.", message, containsString("<501> of <1000> keys still unsatisfied"));
+      assertThat("Missing key expected.", message, containsString("<0>: missing"));
+      assertThat("Unsatisfied key expected.", message, containsString("<500>: was <0>"));
+      assertThat("Satisfied key not expected.", message, not(containsString("<499>")));
+      assertThat("Number of reported keys should be limited.", message, containsString("... and <" + (501 - BulkCondition.MAX_REPORTED_KEYS) + "> more"));
+      assertThat("Message should stay short.", message.length(), lessThan(5000));
+    }
+  }
+
+  @Test
+  public void await_should_retry_failed_batch_queries() throws Exception {
+    final AtomicInteger round = new AtomicInteger();
+    final Map<Integer, Integer> result = new BulkCondition<>(LONG_TIMEOUT, keys(3), (Set<Integer> keys) -> {
+      if (round.incrementAndGet() == 1) {
+        throw new ExpressionEvaluationException("backend down");
+      }
+      final Map<Integer, Integer> values = new HashMap<>();
+      for (final Integer key : keys) {
+        values.put(key, 1);
+      }
+      return values;
+    }, equalTo(1)).await();
+    assertEquals("All keys should be satisfied after retry.", 3, result.size());
+  }
+
+  @Test(expected = AssertionError.class)
+  public void assertSatisfied_should_fail_with_assertion_error() throws Exception {
+    new BulkCondition<>(SHORT_TIMEOUT, keys(1), (Set<Integer> keys) -> new HashMap<Integer, Integer>(), equalTo(1)).assertSatisfied();
+  }
+
+  @Test
+  public void toString_should_contain_necessary_information() throws Throwable { // NOSONAR: from JUnit
+    toStringTestlet(new BulkCondition<>(SHORT_TIMEOUT, keys(1), (Set<Integer> keys) -> new HashMap<Integer, Integer>(), equalTo(1))
+            .withMessage("message"))
+            .excludeFieldNames(Pattern.compile("keys"))
+            .run();
+  }
+
+  private static List<Integer> keys(final int count) {
+    final List<Integer> keys = new ArrayList<>(count);
+    for (int i = 0; i < count; i++) {
+      keys.add(i);
+    }
+    return keys;
+  }
+}
@@ -0,0 +1,151 @@
+/*
+ * Copyright 2026 CoreMedia AG
+ *
+ * This file is part of Joala.
+ *
+ * Joala is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Joala is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Joala.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package net.joala.condition;
+
+import net.joala.condition.timing.WaitTimeoutException;
+import net.joala.expression.AbstractExpression;
+import net.joala.expression.ExpressionEvaluationException;
+import net.joala.time.Timeout;
+import net.joala.time.TimeoutImpl;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static net.joala.condition.Conditions.allOf;
+import static net.joala.condition.Conditions.anyOf;
+import static net.joala.condition.Conditions.expect;
+import static net.joala.testlet.ToStringTestlet.toStringTestlet;
+import static org.hamcrest.core.IsEqual.equalTo;
+import static org.hamcrest.core.IsNot.not;
+import static org.hamcrest.core.StringContains.containsString;
+import static org.hamcrest.number.OrderingComparison.greaterThanOrEqualTo;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+
+/**
+ * <p>
+ * Tests {@link Conditions} and {@link CompositeCondition}.
+ * </p>
+ *
+ * @since 10/18/26
+ */
+public class ConditionsTest {
+  private static final Timeout LONG_TIMEOUT = new TimeoutImpl(10L, TimeUnit.SECONDS);
+  private static final Timeout SHORT_TIMEOUT = new TimeoutImpl(100L, TimeUnit.MILLISECONDS);
+
+  @Test
+  public void allOf_should_wait_for_all_expectations_and_stop_polling_satisfied_ones() throws Exception {
+    final CountingExpression fast = new CountingExpression("fast");
+    final CountingExpression slow = new CountingExpression("slow");
+    final List<Expectation<?>> satisfied = allOf(LONG_TIMEOUT,
+            expect(condition(fast), greaterThanOrEqualTo(3)),
+            expect(condition(slow), greaterThanOrEqualTo(6))).await();
+    assertEquals("All expectations should be satisfied.", 2, satisfied.size());
+    assertEquals("Satisfied expectation should not be polled anymore.", 3, fast.count.get());
+    assertEquals("Unsatisfied expectation should be polled until satisfied.", 6, slow.count.get());
+  }
+
+  @Test
+  public void allOf_should_report_only_unsatisfied_expectations() throws Exception {
+    try {
+      allOf(SHORT_TIMEOUT,
+              expect(condition(new CountingExpression("first-expression")), greaterThanOrEqualTo(1)),
+              expect(condition(new CountingExpression("second-expression")), equalTo(-1))).await();
+      fail("Composite should have timed out.");
+    } catch (WaitTimeoutException e) {
+      assertThat("Unsatisfied expectation should be reported.", e.getMessage(), containsString("second-expression"));
+      assertThat("Satisfied expectation should not be reported.", e.getMessage(), not(containsString("first-expression")));
+    }
+  }
+
+  @Test
+  public void allOf_should_report_evaluation_failures() throws Exception {
+    final DefaultCondition<Integer> failing = new DefaultCondition<>(new AbstractExpression<Integer>() {
+      @Override
+      public Integer get() {
+        throw new ExpressionEvaluationException("backend down");
+      }
+    }, LONG_TIMEOUT);
+    try {
+      allOf(SHORT_TIMEOUT, failing).await();
+      fail("Composite should have timed out.");
+    } catch (WaitTimeoutException e) {
+      assertThat("Evaluation failure should be reported.", e.getMessage(), containsString("backend down"));
+    }
+  }
+
+  @Test
+  public void allOf_should_expect_boolean_conditions_to_become_true() throws Exception {
+    final AtomicInteger count = new AtomicInteger();
+    final DefaultBooleanCondition booleanCondition = new DefaultBooleanCondition(new AbstractExpression<Boolean>() {
+      @Override
+      public Boolean get() {
+        return count.incrementAndGet() >= 2;
+      }
+    }, LONG_TIMEOUT);
+    allOf(LONG_TIMEOUT, booleanCondition, condition(new CountingExpression("any"))).await();
+    assertEquals("Boolean condition should be polled until true.", 2, count.get());
+  }
+
+  @Test
+  public void anyOf_should_stop_at_first_satisfied_expectation() throws Exception {
+    final CountingExpression never = new CountingExpression("never");
+    final List<Expectation<?>> satisfied = anyOf(LONG_TIMEOUT,
+            expect(condition(never), equalTo(-1)),
+            expect(condition(new CountingExpression("eventually")), equalTo(3))).await();
+    assertEquals("One satisfied expectation expected.", 1, satisfied.size());
+    assertEquals("Polling should stop once any expectation is satisfied.", 3, never.count.get());
+  }
+
+  @Test(expected = AssertionError.class)
+  public void assertSatisfied_should_fail_with_assertion_error() throws Exception {
+    anyOf(SHORT_TIMEOUT, expect(condition(new CountingExpression("never")), equalTo(-1))).assertSatisfied();
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void allOf_should_require_expectations() throws Exception {
+    allOf(SHORT_TIMEOUT, new Expectation<?>[0]);
+  }
+
+  @Test
+  public void toString_should_contain_necessary_information() throws Throwable { // NOSONAR: from JUnit
+    toStringTestlet(allOf(SHORT_TIMEOUT, condition(new CountingExpression("any"))).withMessage("message")).run();
+  }
+
+  private static DefaultCondition<Integer> condition(final CountingExpression expression) {
+    return new DefaultCondition<>(expression, LONG_TIMEOUT);
+  }
+
+  private static final class CountingExpression extends AbstractExpression<Integer> {
+    private final AtomicInteger count = new AtomicInteger();
+
+    private CountingExpression(final String description) {
+      super(description);
+    }
+
+    @Override
+    public Integer get() {
+      return count.incrementAndGet();
+    }
+  }
+}
@@ -19,10 +19,19 @@
 
 package net.joala.condition;
 
+import net.joala.condition.timing.BackoffPolicies;
+import net.joala.condition.timing.DeceleratingWait;
+import net.joala.condition.timing.IdleStrategies;
+import net.joala.condition.timing.LowLatencyWait;
+import net.joala.condition.timing.WaitFactory;
 import net.joala.condition.timing.WaitTimeoutException;
 import net.joala.expression.Expression;
 import net.joala.expression.ExpressionEvaluationException;
+import net.joala.time.DeadlineContext;
+import net.joala.time.DeadlineExceededException;
 import net.joala.time.Timeout;
+import net.joala.time.TimeoutImpl;
+import net.joala.time.VirtualTimeSource;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.internal.AssumptionViolatedException;
@@ -32,18 +41,28 @@ import org.mockito.junit.MockitoJUnitRunner;
 
 import java.util.PrimitiveIterator;
 import java.util.Random;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Supplier;
 
 import static java.lang.String.format;
 import static net.joala.matcher.exception.MessageContains.messageContains;
 import static org.hamcrest.core.IsAnything.anything;
+import static org.hamcrest.core.IsEqual.equalTo;
+import static org.hamcrest.core.IsInstanceOf.instanceOf;
 import static org.hamcrest.core.IsNot.not;
+import static org.hamcrest.core.StringContains.containsString;
+import static org.hamcrest.number.OrderingComparison.lessThan;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertThat;
 import static org.junit.Assert.fail;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -116,6 +135,200 @@ public class DefaultConditionTest {
     condition.await(not(anything()));
   }
 
+  @Test
+  public void awaitAsync_should_complete_with_expression_value() throws Exception {
+    final String conditionValue = condition.awaitAsync(anything()).get(5L, TimeUnit.SECONDS);
+    assertEquals("Expression's value should have been returned.", expressionValue, conditionValue);
+  }
+
+  @Test
+  public void awaitAsync_should_complete_exceptionally_if_expression_does_not_match() throws Exception {
+    try {
+      condition.awaitAsync(not(anything())).get(5L, TimeUnit.SECONDS);
+      fail("WaitTimeoutException should have been raised.");
+    } catch (ExecutionException e) {
+      assertThat(e.getCause(), instanceOf(WaitTimeoutException.class));
+    }
+  }
+
+  @Test
+  public void await_should_return_expression_value_in_any_execution_mode() throws Exception {
+    for (final WaitExecutionMode mode : WaitExecutionMode.values()) {
+      final String conditionValue = new DefaultCondition<>(expression, timeout).withExecutionMode(mode).await(anything());
+      assertEquals(format("Expression's value should have been returned in mode %s.", mode), expressionValue, conditionValue);
+    }
+    condition.await();
+  }
+
+  @Test
+  public void assume_should_timeout_in_any_execution_mode() throws Exception {
+    for (final WaitExecutionMode mode : WaitExecutionMode.values()) {
+      try {
+        new DefaultCondition<>(expression, timeout).withExecutionMode(mode).assumeThat(not(anything()));
+        fail(format("AssumptionViolatedException should have been thrown in mode %s.", mode));
+      } catch (AssumptionViolatedException ignored) {
+        // fine
+      }
+    }
+    condition.await();
+  }
+
+  @Test
+  public void await_should_use_wait_factory_if_set() throws Exception {
+    final AtomicInteger createdWaits = new AtomicInteger();
+    final WaitFactory lowLatency = LowLatencyWait.factory(IdleStrategies.busySpin());
+    final WaitFactory waitFactory = (waitTimeout, factor, failStrategy) -> {
+      createdWaits.incrementAndGet();
+      return lowLatency.createWait(waitTimeout, factor, failStrategy);
+    };
+    final DefaultCondition<String> lowLatencyCondition = new DefaultCondition<>(expression, timeout).withWaitFactory(waitFactory);
+    assertEquals("Expression's value should have been returned.", expressionValue, lowLatencyCondition.await(anything()));
+    try {
+      lowLatencyCondition.assumeThat(not(anything()));
+      fail("AssumptionViolatedException should have been thrown.");
+    } catch (AssumptionViolatedException ignored) {
+      // fine
+    }
+    assertEquals("Wait factory should have been used for each wait.", 2, createdWaits.get());
+  }
+
+  @Test
+  public void awaitAsync_should_use_wait_factory_if_set() throws Exception {
+    final AtomicInteger createdWaits = new AtomicInteger();
+    final WaitFactory waitFactory = (waitTimeout, factor, failStrategy) -> {
+      createdWaits.incrementAndGet();
+      return new DeceleratingWait(waitTimeout, factor, failStrategy);
+    };
+    final DefaultCondition<String> factoryCondition = new DefaultCondition<>(expression, timeout).withWaitFactory(waitFactory);
+    assertEquals("Expression's value should have been returned.", expressionValue, factoryCondition.awaitAsync(anything()).get(5L, TimeUnit.SECONDS));
+    assertEquals("Wait factory should have been used.", 1, createdWaits.get());
+  }
+
+  @Test
+  public void await_should_reuse_wait_until_configuration_changes() throws Exception {
+    final AtomicInteger createdWaits = new AtomicInteger();
+    final WaitFactory waitFactory = (waitTimeout, factor, failStrategy) -> {
+      createdWaits.incrementAndGet();
+      return new DeceleratingWait(waitTimeout, factor, failStrategy);
+    };
+    final DefaultCondition<String> reusedCondition = new DefaultCondition<>(expression, timeout).withWaitFactory(waitFactory);
+    reusedCondition.await();
+    reusedCondition.await();
+    assertEquals("Wait should have been reused.", 1, createdWaits.get());
+    reusedCondition.withTimeoutFactor(2d).await();
+    assertEquals("Wait should have been recreated on changed configuration.", 2, createdWaits.get());
+  }
+
+  @Test
+  public void await_should_reuse_waits_per_fail_strategy_within_deadline_context() throws Exception {
+    final AtomicInteger createdWaits = new AtomicInteger();
+    final WaitFactory waitFactory = (waitTimeout, factor, failStrategy) -> {
+      createdWaits.incrementAndGet();
+      return new DeceleratingWait(waitTimeout, factor, failStrategy);
+    };
+    final DefaultCondition<String> reusedCondition = new DefaultCondition<>(expression, timeout).withWaitFactory(waitFactory);
+    try (DeadlineContext ignored = DeadlineContext.open(1L, TimeUnit.MINUTES)) {
+      for (int i = 0; i < 3; i++) {
+        reusedCondition.await();
+        reusedCondition.assertThat(anything());
+        reusedCondition.assumeThat(anything());
+      }
+    }
+    assertEquals("One wait per fail strategy should have been created.", 3, createdWaits.get());
+  }
+
+  @Test
+  public void assert_should_fail_on_virtual_time_without_sleeping() throws Exception {
+    final VirtualTimeSource time = new VirtualTimeSource();
+    final DefaultCondition<String> virtualTimeCondition = new DefaultCondition<>(expression, new TimeoutImpl(1L, TimeUnit.HOURS))
+            .withWaitFactory(DeceleratingWait.factory(BackoffPolicies.decelerating(), time, time));
+    try {
+      virtualTimeCondition.assertThat(not(anything()));
+      fail("AssertionError should have been thrown.");
+    } catch (AssertionError ignored) {
+      // fine
+    }
+    assertEquals("Virtual time should have reached the deadline.", TimeUnit.HOURS.toNanos(1L), time.nanoTime(), TimeUnit.MINUTES.toNanos(1L));
+    condition.await();
+  }
+
+  @Test
+  public void await_should_return_expression_value_with_single_flight() throws Exception {
+    final String conditionValue = new DefaultCondition<>(expression, timeout).withSingleFlight().await();
+    assertEquals("Expression's value should have been returned.", expressionValue, conditionValue);
+  }
+
+  @Test
+  public void await_should_be_capped_by_deadline_context() throws Exception {
+    final DefaultCondition<String> hourCondition = new DefaultCondition<>(expression, new TimeoutImpl(1L, TimeUnit.HOURS));
+    final long before = System.nanoTime();
+    try (DeadlineContext ignored = DeadlineContext.open(100L, TimeUnit.MILLISECONDS)) {
+      hourCondition.await(not(anything()));
+      fail("WaitTimeoutException should have been thrown.");
+    } catch (WaitTimeoutException ignored) {
+      // fine
+    }
+    assertThat("Wait should end with the budget of the context.", System.nanoTime() - before, lessThan(TimeUnit.SECONDS.toNanos(5L)));
+  }
+
+  @Test
+  public void await_should_fail_fast_if_deadline_context_is_spent() throws Exception {
+    final VirtualTimeSource time = new VirtualTimeSource();
+    try (DeadlineContext ignored = DeadlineContext.open(0L, TimeUnit.SECONDS, time)) {
+      condition.await();
+      fail("DeadlineExceededException should have been thrown.");
+    } catch (DeadlineExceededException ignored) {
+      // fine
+    }
+    verify(expression, never()).get();
+    condition.await();
+  }
+
+  @Test
+  public void await_should_propagate_deadline_context_to_scheduled_evaluations() throws Exception {
+    final AtomicReference<DeadlineContext> seen = new AtomicReference<>();
+    when(expression.get()).thenAnswer(invocation -> {
+      seen.set(DeadlineContext.current());
+      return expressionValue;
+    });
+    try (DeadlineContext context = DeadlineContext.open(1L, TimeUnit.MINUTES)) {
+      new DefaultCondition<>(expression, timeout).withExecutionMode(WaitExecutionMode.SCHEDULED).await();
+      assertSame("Evaluation should run within the context of the waiting thread.", context, seen.get());
+    }
+  }
+
+  @Test
+  public void assert_should_fail_fast_on_terminal_state() throws Exception {
+    final DefaultCondition<String> terminalCondition = new DefaultCondition<>(expression, new TimeoutImpl(1L, TimeUnit.HOURS))
+            .unlessReaches(equalTo(expressionValue));
+    try {
+      terminalCondition.assertThat(not(anything()));
+      fail("AssertionError should have been thrown.");
+    } catch (AssertionError e) {
+      assertThat("Terminal state should be reported.", e.getMessage(), containsString("Terminal state reached"));
+    }
+    verify(expression).get();
+    condition.await();
+  }
+
+  @Test
+  public void awaitAsync_should_fail_fast_on_terminal_state() throws Exception {
+    try {
+      new DefaultCondition<>(expression, new TimeoutImpl(1L, TimeUnit.HOURS)).unlessReaches(equalTo(expressionValue))
+              .awaitAsync(not(anything())).get(5L, TimeUnit.SECONDS);
+      fail("WaitTimeoutException should have been raised.");
+    } catch (ExecutionException e) {
+      assertThat("Terminal state should be reported.", e.getCause(), instanceOf(WaitTimeoutException.class));
+    }
+  }
+
+  @Test
+  public void run_finally_should_be_executed_on_awaitAsync_completion() throws Exception {
+    ((FailSafeCondition<String>) condition).runBefore(runnable).runFinally(runnable);
+    condition.awaitAsync(anything()).handle((value, failure) -> value).get(5L, TimeUnit.SECONDS);
+    verify(runnable, timeout(5000L).times(2)).run();
+  }
+
   @Test
   public void assume_should_timeout_if_expression_does_not_match() throws Exception {
     try {
@@ -0,0 +1,211 @@
+/*
+ * Copyright 2026 CoreMedia AG
+ *
+ * This file is part of Joala.
+ *
+ * Joala is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Joala is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Joala.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package net.joala.condition;
+
+import net.joala.expression.ExpressionEvaluationException;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.hamcrest.core.IsInstanceOf.instanceOf;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * <p>
+ * Tests {@link SingleFlight}.
+ * </p>
+ *
+ * @since 10/18/26
+ */
+public class SingleFlightTest {
+  private static final int THREADS = 8;
+
+  @Test
+  public void evaluate_should_share_result_of_evaluation_in_flight() throws Exception {
+    final SingleFlight singleFlight = new SingleFlight();
+    final Object key = new Object();
+    final AtomicInteger evaluations = new AtomicInteger();
+    final List<CompletableFuture<Object>> results = evaluateConcurrently(singleFlight, key, () -> {
+      evaluations.incrementAndGet();
+      return "result";
+    });
+    for (final CompletableFuture<Object> result : results) {
+      assertEquals("Shared result expected.", "result", result.get(5L, TimeUnit.SECONDS));
+    }
+    assertEquals("Only one evaluation expected.", 1, evaluations.get());
+  }
+
+  @Test
+  public void evaluate_should_share_failure_of_evaluation_in_flight() throws Exception {
+    final SingleFlight singleFlight = new SingleFlight();
+    final Object key = new Object();
+    final RuntimeException failure = new IllegalStateException("failed");
+    final List<CompletableFuture<Object>> results = evaluateConcurrently(singleFlight, key, () -> {
+      throw failure;
+    });
+    for (final CompletableFuture<Object> result : results) {
+      try {
+        result.get(5L, TimeUnit.SECONDS);
+      } catch (ExecutionException e) {
+        assertSame("Shared failure expected.", failure, e.getCause());
+      }
+    }
+  }
+
+  @Test
+  public void evaluate_should_evaluate_again_once_done() throws Exception {
+    final SingleFlight singleFlight = new SingleFlight();
+    final Object key = new Object();
+    final AtomicInteger evaluations = new AtomicInteger();
+    singleFlight.evaluate(key, evaluations::incrementAndGet);
+    assertEquals("Results should not be cached.", Integer.valueOf(2), singleFlight.evaluate(key, evaluations::incrementAndGet));
+  }
+
+  @Test
+  public void evaluate_should_not_join_evaluations_with_other_keys() throws Exception {
+    final SingleFlight singleFlight = new SingleFlight();
+    final Object otherKey = new Object();
+    final String result = singleFlight.evaluate(new Object(), () -> singleFlight.evaluate(otherKey, () -> "inner"));
+    assertEquals("Independent evaluation expected.", "inner", result);
+  }
+
+  @Test
+  public void identityKey_should_only_equal_key_of_same_object() throws Exception {
+    final String object = "object";
+    //noinspection RedundantStringConstructorCall
+    final String equalObject = new String(object);
+    assertEquals("Keys of same object should be equal.", SingleFlight.identityKey(object), SingleFlight.identityKey(object));
+    assertEquals("Keys of same object should have same hash code.",
+            SingleFlight.identityKey(object).hashCode(), SingleFlight.identityKey(object).hashCode());
+    assertNotSame("Precondition: distinct objects.", object, equalObject);
+    assertFalse("Keys of equal objects should differ.", SingleFlight.identityKey(object).equals(SingleFlight.identityKey(equalObject)));
+  }
+
+  @Test
+  public void evaluate_should_not_join_longer_than_given_time() throws Exception {
+    final SingleFlight singleFlight = new SingleFlight();
+    final Object key = new Object();
+    final CountDownLatch started = new CountDownLatch(1);
+    final CountDownLatch release = new CountDownLatch(1);
+    final CompletableFuture<Object> leading = CompletableFuture.supplyAsync(() -> singleFlight.evaluate(key, () -> {
+      started.countDown();
+      await(release);
+      return "late";
+    }));
+    try {
+      assertTrue("Leading evaluation should start.", started.await(5L, TimeUnit.SECONDS));
+      singleFlight.evaluate(key, () -> "own", TimeUnit.MILLISECONDS.toNanos(10L));
+      fail("Joining should have timed out.");
+    } catch (ExpressionEvaluationException ignored) {
+      // fine; ignorable for waits
+    } finally {
+      release.countDown();
+    }
+    assertEquals("Leading evaluation should not be affected.", "late", leading.get(5L, TimeUnit.SECONDS));
+  }
+
+  @Test
+  public void evaluate_should_preserve_interrupt_while_joining() throws Exception {
+    final SingleFlight singleFlight = new SingleFlight();
+    final Object key = new Object();
+    final CountDownLatch started = new CountDownLatch(1);
+    final CountDownLatch release = new CountDownLatch(1);
+    CompletableFuture.runAsync(() -> singleFlight.evaluate(key, () -> {
+      started.countDown();
+      await(release);
+      return null;
+    }));
+    try {
+      assertTrue("Leading evaluation should start.", started.await(5L, TimeUnit.SECONDS));
+      Thread.currentThread().interrupt();
+      singleFlight.evaluate(key, () -> "own");
+      fail("Joining should have been interrupted.");
+    } catch (ExpressionEvaluationException ignored) {
+      assertTrue("Interrupt flag should have been preserved.", Thread.interrupted());
+    } finally {
+      release.countDown();
+    }
+  }
+
+  /**
+   * Let the first thread evaluate and release the evaluation only after all other threads joined it.
+   */
+  private static List<CompletableFuture<Object>> evaluateConcurrently(final SingleFlight singleFlight,
+                                                                      final Object key,
+                                                                      final Supplier<Object> evaluation)
+          throws InterruptedException {
+    final CountDownLatch started = new CountDownLatch(1);
+    final CountDownLatch release = new CountDownLatch(1);
+    final List<CompletableFuture<Object>> results = new ArrayList<>(THREADS);
+    results.add(CompletableFuture.supplyAsync(() -> singleFlight.evaluate(key, () -> {
+      started.countDown();
+      await(release);
+      return evaluation.get();
+    })));
+    assertTrue("Leading evaluation should start.", started.await(5L, TimeUnit.SECONDS));
+    for (int i = 1; i < THREADS; i++) {
+      final CompletableFuture<Object> result = new CompletableFuture<>();
+      new Thread(() -> {
+        try {
+          result.complete(singleFlight.evaluate(key, evaluation));
+        } catch (RuntimeException e) {
+          result.completeExceptionally(e);
+        }
+      }).start();
+      results.add(result);
+    }
+    while (singleFlight.joined(key) < THREADS - 1) {
+      Thread.onSpinWait();
+    }
+    release.countDown();
+    for (final CompletableFuture<Object> result : results) {
+      try {
+        result.get(5L, TimeUnit.SECONDS);
+      } catch (ExecutionException e) {
+        assertThat("Failure of evaluation expected.", e.getCause(), instanceOf(RuntimeException.class));
+      } catch (TimeoutException e) {
+        throw new AssertionError("Evaluation should complete.", e);
+      }
+    }
+    return results;
+  }
+
+  private static void await(final CountDownLatch latch) {
+    try {
+      latch.await();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
@@ -0,0 +1,248 @@
+/*
+ * Copyright 2026 CoreMedia AG
+ *
+ * This file is part of Joala.
+ *
+ * Joala is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Joala is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Joala.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package net.joala.condition.timing;
+
+import com.google.common.base.Function;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import net.joala.time.Timeout;
+import net.joala.time.TimeoutImpl;
+import org.junit.Test;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static net.joala.testlet.ToStringTestlet.toStringTestlet;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.hamcrest.Matchers.startsWith;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * <p>
+ * Tests {@link AsyncWait}.
+ * </p>
+ *
+ * @since 10/18/26
+ */
+public class AsyncWaitTest {
+  private static final Timeout SHORT_TIMEOUT = new TimeoutImpl(50L, TimeUnit.MILLISECONDS);
+  private static final Timeout LONG_TIMEOUT = new TimeoutImpl(10L, TimeUnit.SECONDS);
+
+  @Test
+  public void untilAsync_completes_with_result_on_immediate_success() throws Exception {
+    final CountingFunction stateQuery = new CountingFunction();
+    final CompletableFuture<Integer> future = new AsyncWait(LONG_TIMEOUT).untilAsync(new Object(), stateQuery);
+    assertEquals("Result of first evaluation expected.", Integer.valueOf(1), future.get(5L, TimeUnit.SECONDS));
+    assertEquals("Only one evaluation expected.", 1, stateQuery.count());
+  }
+
+  @Test
+  public void untilAsync_polls_until_matcher_matches() throws Exception {
+    final CountingFunction stateQuery = new CountingFunction();
+    final CompletableFuture<Integer> future = new AsyncWait(LONG_TIMEOUT).untilAsync(new Object(), stateQuery, greaterThanOrEqualTo(3));
+    assertEquals("Result of third evaluation expected.", Integer.valueOf(3), future.get(5L, TimeUnit.SECONDS));
+  }
+
+  @Test
+  public void untilAsync_completes_exceptionally_on_timeout() throws Exception {
+    final CompletableFuture<Integer> future = new AsyncWait(SHORT_TIMEOUT).untilAsync(new Object(), new CountingFunction(), equalTo(-1));
+    try {
+      future.get(5L, TimeUnit.SECONDS);
+      fail("Wait should have timed out.");
+    } catch (ExecutionException e) {
+      assertThat(e.getCause(), instanceOf(WaitTimeoutException.class));
+    }
+  }
+
+  @Test
+  public void untilAsync_reports_last_ignorable_exception_on_timeout() throws Exception {
+    final Function<Object, Object> stateQuery = new Function<Object, Object>() {
+      @Override
+      public Object apply(@Nullable final Object input) {
+        throw new IgnorableStateQueryException(this);
+      }
+    };
+    final CompletableFuture<Object> future = new AsyncWait(SHORT_TIMEOUT).untilAsync(new Object(), stateQuery);
+    try {
+      future.get(5L, TimeUnit.SECONDS);
+      fail("Wait should have timed out.");
+    } catch (ExecutionException e) {
+      assertThat(e.getCause(), instanceOf(WaitTimeoutException.class));
+      assertThat(e.getCause().getCause(), instanceOf(IgnorableStateQueryException.class));
+    }
+  }
+
+  @Test
+  public void cancel_stops_polling() throws Exception {
+    final CountingFunction stateQuery = new CountingFunction();
+    final CompletableFuture<Integer> future = new AsyncWait(LONG_TIMEOUT).untilAsync(new Object(), stateQuery, equalTo(-1));
+    while (stateQuery.count() < 2) {
+      Thread.sleep(5L);
+    }
+    future.cancel(false);
+    final int countAfterCancel = stateQuery.count();
+    Thread.sleep(200L);
+    assertThat("At most an evaluation already in progress should have finished.", stateQuery.count(), lessThanOrEqualTo(countAfterCancel + 1));
+  }
+
+  @Test
+  public void cancellation_token_stops_polling_and_reports_cancellation() throws Exception {
+    final CountingFunction stateQuery = new CountingFunction();
+    final CancellationToken cancellation = new CancellationToken();
+    final CompletableFuture<Integer> future = new AsyncWait(LONG_TIMEOUT).untilAsync(null, new Object(), stateQuery, equalTo(-1), cancellation);
+    while (stateQuery.count() < 2) {
+      Thread.sleep(5L);
+    }
+    cancellation.cancel();
+    try {
+      future.get(5L, TimeUnit.SECONDS);
+      fail("Wait should have been cancelled.");
+    } catch (WaitCancelledException ignored) {
+      // fine; futures rethrow cancellation exceptions directly
+    }
+    final int countAfterCancel = stateQuery.count();
+    Thread.sleep(200L);
+    assertThat("At most an evaluation already in progress should have finished.", stateQuery.count(), lessThanOrEqualTo(countAfterCancel + 1));
+  }
+
+  @Test
+  public void until_blocks_until_result_is_available() throws Exception {
+    assertEquals("Result of second evaluation expected.", Integer.valueOf(2), new AsyncWait(LONG_TIMEOUT).until(new Object(), new CountingFunction(), equalTo(2)));
+  }
+
+  @Test(expected = WaitTimeoutException.class)
+  public void until_rethrows_exception_of_fail_strategy() throws Exception {
+    new AsyncWait(SHORT_TIMEOUT).until(new Object(), new CountingFunction(), equalTo(-1));
+  }
+
+  @Test
+  public void until_is_cancelled_on_interrupt() throws Exception {
+    final CountingFunction stateQuery = new CountingFunction();
+    final AtomicInteger cancelledCalls = new AtomicInteger();
+    final WaitFailStrategy failStrategy = new WaitTimeoutFailStrategy() {
+      @Override
+      public void cancelled(@Nullable final String reason, @Nonnull final Object function, @Nonnull final Object input, final long consumedMillis) {
+        cancelledCalls.incrementAndGet();
+        super.cancelled(reason, function, input, consumedMillis);
+      }
+    };
+    Thread.currentThread().interrupt();
+    try {
+      new AsyncWait(LONG_TIMEOUT, failStrategy).until("interrupted", new Object(), stateQuery, equalTo(-1));
+      fail("Wait should have been cancelled.");
+    } catch (WaitCancelledException e) {
+      assertTrue("Interrupt flag should have been restored.", Thread.interrupted());
+      assertEquals("Cancellation should have been reported to fail strategy once.", 1, cancelledCalls.get());
+      assertThat("Exception of fail strategy should have been rethrown.", e.getMessage(), startsWith("Wait cancelled: interrupted"));
+    }
+  }
+
+  @Test
+  public void untilAsync_is_cancelled_on_scheduler_shutdown() throws Exception {
+    final PollScheduler scheduler = new PollScheduler(1L, TimeUnit.MILLISECONDS, 8, 1);
+    final CountingFunction stateQuery = new CountingFunction();
+    final CompletableFuture<Integer> future = new AsyncWait(LONG_TIMEOUT, 1d, new WaitTimeoutFailStrategy(), scheduler)
+            .untilAsync(new Object(), stateQuery, equalTo(-1));
+    while (stateQuery.count() < 1) {
+      Thread.sleep(5L);
+    }
+    scheduler.shutdown();
+    try {
+      future.get(5L, TimeUnit.SECONDS);
+      fail("Wait should have been cancelled.");
+    } catch (WaitCancelledException ignored) {
+      // fine; futures rethrow cancellation exceptions directly
+    }
+  }
+
+  @Test
+  public void untilAsync_runs_state_queries_on_query_executor() throws Exception {
+    final PollScheduler scheduler = new PollScheduler(1L, TimeUnit.MILLISECONDS, 8, 1);
+    final ExecutorService queryExecutor = Executors.newSingleThreadExecutor(
+            new ThreadFactoryBuilder().setNameFormat("test-query-%d").build());
+    try {
+      final String threadName = new AsyncWait(LONG_TIMEOUT, 1d, new WaitTimeoutFailStrategy(), BackoffPolicies.decelerating(),
+              scheduler, queryExecutor).untilAsync(new Object(), input -> Thread.currentThread().getName())
+              .get(5L, TimeUnit.SECONDS);
+      assertEquals("State query should have run on query executor.", "test-query-0", threadName);
+    } finally {
+      queryExecutor.shutdownNow();
+      scheduler.shutdown();
+    }
+  }
+
+  @Test
+  public void until_reports_unexpected_exception_as_aborted() throws Exception {
+    final AtomicInteger aborted = new AtomicInteger();
+    final WaitListener listener = new WaitListener() {
+      @Override
+      public void aborted(@Nonnull final WaitObservation wait, final long totalNanos) {
+        aborted.incrementAndGet();
+      }
+    };
+    WaitListeners.register(listener);
+    try {
+      new AsyncWait(LONG_TIMEOUT).until(new Object(), input -> {
+        throw new IllegalStateException("broken");
+      });
+      fail("Exception of state query should have been rethrown.");
+    } catch (IllegalStateException ignored) {
+      // fine
+    } finally {
+      WaitListeners.unregister(listener);
+    }
+    assertEquals("Failed wait should have been reported as aborted.", 1, aborted.get());
+  }
+
+  @Test
+  public void toString_should_contain_necessary_information() throws Throwable { // NOSONAR: from JUnit
+    // The shared scheduler updates its metrics on each tick, use one which does not tick during the test.
+    final PollScheduler scheduler = new PollScheduler(1L, TimeUnit.HOURS, 1, 1);
+    try {
+      toStringTestlet(new AsyncWait(SHORT_TIMEOUT, 1d, new WaitTimeoutFailStrategy(), scheduler)).run();
+    } finally {
+      scheduler.shutdown();
+    }
+  }
+
+  private static final class CountingFunction implements Function<Object, Integer> {
+    private final AtomicInteger counter = new AtomicInteger();
+
+    @Override
+    public Integer apply(@Nullable final Object input) {
+      return counter.incrementAndGet();
+    }
+
+    int count() {
+      return counter.get();
+    }
+  }
+}
@@ -0,0 +1,241 @@
+/*
+ * Copyright 2026 CoreMedia AG
+ *
+ * This file is part of Joala.
+ *
+ * Joala is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Joala is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Joala.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package net.joala.condition.timing;
+
+import org.junit.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.Matchers.allOf;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThat;
+
+/**
+ * <p>
+ * Tests {@link BackoffPolicies}.
+ * </p>
+ *
+ * @since 10/18/26
+ */
+public class BackoffPoliciesTest {
+  private static final int ATTEMPTS = 6;
+
+  @Test
+  public void decelerating_grows_by_deceleration_factor() throws Exception {
+    assertArrayEquals(new long[]{10L, 11L, 12L, 13L, 14L, 16L}, delays(BackoffPolicies.decelerating(), 0L));
+  }
+
+  @Test
+  public void decelerating_adapts_to_evaluation_duration() throws Exception {
+    assertArrayEquals(new long[]{100L, 110L, 121L, 133L, 146L, 161L}, delays(BackoffPolicies.decelerating(), 100L));
+  }
+
+  @Test
+  public void exponential_is_capped_by_max_delay() throws Exception {
+    assertArrayEquals(new long[]{10L, 20L, 40L, 50L, 50L, 50L},
+            delays(BackoffPolicies.exponential(10L, 2d, 50L, TimeUnit.MILLISECONDS), 0L));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void exponential_requires_growing_factor() throws Exception {
+    BackoffPolicies.exponential(10L, 0.5d, 50L, TimeUnit.MILLISECONDS);
+  }
+
+  @Test
+  public void fibonacci_follows_fibonacci_sequence_up_to_max_delay() throws Exception {
+    assertArrayEquals(new long[]{10L, 10L, 20L, 30L, 50L, 60L},
+            delays(BackoffPolicies.fibonacci(10L, 60L, TimeUnit.MILLISECONDS), 0L));
+  }
+
+  @Test
+  public void fibonacci_adapts_to_evaluation_duration() throws Exception {
+    assertArrayEquals(new long[]{25L, 25L, 25L, 30L, 50L, 60L},
+            delays(BackoffPolicies.fibonacci(10L, 60L, TimeUnit.MILLISECONDS), 25L));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void fibonacci_requires_positive_initial_delay() throws Exception {
+    BackoffPolicies.fibonacci(0L, 60L, TimeUnit.MILLISECONDS);
+  }
+
+  @Test
+  public void fixedDelay_is_constant() throws Exception {
+    assertArrayEquals(new long[]{1000L, 1000L, 1000L, 1000L, 1000L, 1000L},
+            delays(BackoffPolicies.fixedDelay(1L, TimeUnit.SECONDS), 300L));
+  }
+
+  @Test
+  public void fixedRate_subtracts_evaluation_duration() throws Exception {
+    assertArrayEquals(new long[]{700L, 700L, 700L, 700L, 700L, 700L},
+            delays(BackoffPolicies.fixedRate(1L, TimeUnit.SECONDS), 300L));
+    assertArrayEquals(new long[]{0L, 0L, 0L, 0L, 0L, 0L},
+            delays(BackoffPolicies.fixedRate(1L, TimeUnit.SECONDS), 2000L));
+  }
+
+  @Test
+  public void decorrelatedJitter_stays_within_bounds() throws Exception {
+    final BackoffPolicy.Backoff backoff = BackoffPolicies.decorrelatedJitter(10L, 100L, TimeUnit.MILLISECONDS).start();
+    for (int i = 0; i < 1000; i++) {
+      assertThat(nextDelayMillis(backoff, 0L), allOf(greaterThanOrEqualTo(10L), lessThanOrEqualTo(100L)));
+    }
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void decorrelatedJitter_requires_base_below_max() throws Exception {
+    BackoffPolicies.decorrelatedJitter(100L, 10L, TimeUnit.MILLISECONDS);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void decorrelatedJitter_requires_positive_base_delay() throws Exception {
+    BackoffPolicies.decorrelatedJitter(0L, 10L, TimeUnit.MILLISECONDS);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void exponential_requires_initial_delay_within_max_delay() throws Exception {
+    BackoffPolicies.exponential(100L, 2d, 10L, TimeUnit.MILLISECONDS);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void fibonacci_requires_initial_delay_within_max_delay() throws Exception {
+    BackoffPolicies.fibonacci(100L, 10L, TimeUnit.MILLISECONDS);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void exponential_requires_positive_max_delay() throws Exception {
+    BackoffPolicies.exponential(0L, 2d, 0L, TimeUnit.MILLISECONDS);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void fixedDelay_requires_positive_delay() throws Exception {
+    BackoffPolicies.fixedDelay(0L, TimeUnit.MILLISECONDS);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void converging_requires_positive_max_delay() throws Exception {
+    BackoffPolicies.converging(0d, 0L, TimeUnit.MILLISECONDS);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void negative_delays_are_rejected() throws Exception {
+    BackoffPolicies.fixedDelay(-1L, TimeUnit.MILLISECONDS);
+  }
+
+  @Test
+  public void converging_sleeps_until_just_before_predicted_arrival() throws Exception {
+    final BackoffPolicy.Backoff backoff = BackoffPolicies.converging(100d, 1L, TimeUnit.SECONDS).start();
+    observe(backoff, 0L, 0);
+    observe(backoff, 10L, 10);
+    assertEquals(81L, nextDelayMillis(backoff, 0L));
+  }
+
+  @Test
+  public void converging_also_predicts_decreasing_states() throws Exception {
+    final BackoffPolicy.Backoff backoff = BackoffPolicies.converging(0d, 1L, TimeUnit.SECONDS).start();
+    observe(backoff, 0L, 100L);
+    observe(backoff, 10L, 90L);
+    observe(backoff, 20L, 80L);
+    assertEquals(72L, nextDelayMillis(backoff, 0L));
+  }
+
+  @Test
+  public void converging_is_capped_by_max_delay() throws Exception {
+    final BackoffPolicy.Backoff backoff = BackoffPolicies.converging(10000d, 50L, TimeUnit.MILLISECONDS).start();
+    observe(backoff, 0L, 0);
+    observe(backoff, 10L, 1);
+    assertEquals(50L, nextDelayMillis(backoff, 0L));
+  }
+
+  @Test
+  public void converging_does_not_collapse_near_target() throws Exception {
+    final BackoffPolicy.Backoff backoff = BackoffPolicies.converging(100d, 1L, TimeUnit.SECONDS).start();
+    observe(backoff, 0L, 0d);
+    observe(backoff, 10L, 99.999d);
+    assertEquals("Delay should not be shorter than the minimum delay.", 1L, nextDelayMillis(backoff, 0L));
+    assertEquals("Delay should not be shorter than the last evaluation.", 20L, nextDelayMillis(backoff, 20L));
+  }
+
+  @Test
+  public void converging_falls_back_to_decelerating_without_prediction() throws Exception {
+    final BackoffPolicy.Backoff backoff = BackoffPolicies.converging(100d, 1L, TimeUnit.SECONDS).start();
+    assertEquals("no samples", 10L, nextDelayMillis(backoff, 0L));
+    observe(backoff, 0L, 50);
+    assertEquals("single sample", 11L, nextDelayMillis(backoff, 0L));
+    observe(backoff, 10L, 40);
+    assertEquals("diverging", 12L, nextDelayMillis(backoff, 0L));
+  }
+
+  @Test
+  public void converging_ignores_states_of_other_types() throws Exception {
+    final BackoffPolicy.Backoff backoff =
+            BackoffPolicies.converging(String.class, String::length, 10d, 1L, TimeUnit.SECONDS).start();
+    observe(backoff, 0L, "");
+    observe(backoff, 5L, 42);
+    observe(backoff, 10L, null);
+    observe(backoff, 10L, "aaaaa");
+    assertEquals(9L, nextDelayMillis(backoff, 0L));
+  }
+
+  @Test
+  public void fixedDelay_supports_microseconds() throws Exception {
+    assertEquals(50000L, BackoffPolicies.fixedDelay(50L, TimeUnit.MICROSECONDS).start().nextDelayNanos(0L));
+  }
+
+  @Test
+  public void exponential_supports_sub_millisecond_delays() throws Exception {
+    final BackoffPolicy.Backoff backoff = BackoffPolicies.exponential(50L, 2d, 300L, TimeUnit.MICROSECONDS).start();
+    final long[] delays = new long[ATTEMPTS];
+    for (int i = 0; i < ATTEMPTS; i++) {
+      delays[i] = TimeUnit.NANOSECONDS.toMicros(backoff.nextDelayNanos(0L));
+    }
+    assertArrayEquals(new long[]{50L, 100L, 200L, 300L, 300L, 300L}, delays);
+  }
+
+  @Test
+  public void offset_delays_first_evaluation_only() throws Exception {
+    final BackoffPolicy.Backoff backoff = BackoffPolicies.offset(3L, TimeUnit.SECONDS, BackoffPolicies.fixedDelay(1L, TimeUnit.SECONDS)).start();
+    assertEquals("First evaluation should be delayed by offset.", TimeUnit.SECONDS.toNanos(3L), backoff.initialDelayNanos());
+    assertEquals("Subsequent delays should be taken from delegate.", 1000L, nextDelayMillis(backoff, 0L));
+  }
+
+  @Test
+  public void initialDelay_defaults_to_none() throws Exception {
+    assertEquals("Policies should evaluate right away by default.", 0L, BackoffPolicies.decelerating().start().initialDelayNanos());
+  }
+
+  private static long[] delays(final BackoffPolicy policy, final long evaluationMillis) {
+    final BackoffPolicy.Backoff backoff = policy.start();
+    final long[] result = new long[ATTEMPTS];
+    for (int i = 0; i < ATTEMPTS; i++) {
+      result[i] = nextDelayMillis(backoff, evaluationMillis);
+    }
+    return result;
+  }
+
+  private static long nextDelayMillis(final BackoffPolicy.Backoff backoff, final long evaluationMillis) {
+    return TimeUnit.NANOSECONDS.toMillis(backoff.nextDelayNanos(TimeUnit.MILLISECONDS.toNanos(evaluationMillis)));
+  }
+
+  private static void observe(final BackoffPolicy.Backoff backoff, final long timeMillis, final Object state) {
+    backoff.observe(TimeUnit.MILLISECONDS.toNanos(timeMillis), state);
+  }
+}
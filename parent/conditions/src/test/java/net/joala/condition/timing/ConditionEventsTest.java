@@ -0,0 +1,141 @@
+/*
+ * Copyright 2026 CoreMedia AG
+ *
+ * This file is part of Joala.
+ *
+ * Joala is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Joala is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Joala.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package net.joala.condition.timing;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import net.joala.time.TimeoutImpl;
+import net.joala.time.VirtualTimeSource;
+import org.hamcrest.Matchers;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import javax.annotation.Nonnull;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Tests the Flight Recorder events emitted by {@link ConditionEvents}.
+ *
+ * @since 10/18/26
+ */
+public class ConditionEventsTest {
+  @Rule
+  public final TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+  private final VirtualTimeSource time = new VirtualTimeSource();
+  private final DeceleratingWait wait = new DeceleratingWait(new TimeoutImpl(1L, TimeUnit.MINUTES), 2d, new WaitTimeoutFailStrategy(),
+          BackoffPolicies.fixedDelay(1L, TimeUnit.SECONDS), time, time);
+
+  @Test
+  public void should_record_wait_and_polls() throws IOException {
+    final AtomicInteger polls = new AtomicInteger();
+    final List<RecordedEvent> events = record(() -> wait.until("third time lucky", this, input -> polls.incrementAndGet(), Matchers.equalTo(3)));
+
+    final List<RecordedEvent> waits = ofType(events, ConditionWaitEvent.NAME);
+    assertEquals("One wait should be recorded.", 1, waits.size());
+    final RecordedEvent waitEvent = waits.get(0);
+    assertEquals("Wait message should be recorded.", "third time lucky", waitEvent.getString("message"));
+    assertEquals("Wait outcome should be recorded.", ConditionWaitEvent.SUCCEEDED, waitEvent.getString("outcome"));
+    assertEquals("Timeout with factor should be recorded.", TimeUnit.MINUTES.toNanos(2L), waitEvent.getDuration("timeout").toNanos());
+    assertEquals("Timeout factor should be recorded.", 2d, waitEvent.getDouble("factor"), 0d);
+    assertEquals("Polls should be recorded.", 3, waitEvent.getInt("polls"));
+    assertTrue("Wait should be recorded with stack trace.", waitEvent.getStackTrace() != null);
+
+    final List<RecordedEvent> pollEvents = ofType(events, ConditionPollEvent.NAME);
+    assertEquals("Each poll should be recorded.", 3, pollEvents.size());
+    for (int i = 0; i < pollEvents.size(); i++) {
+      assertEquals("Polls should be numbered.", i + 1, pollEvents.get(i).getInt("poll"));
+    }
+    assertEquals("First poll should mismatch.", WaitListener.PollOutcome.MISMATCHED.name(), pollEvents.get(0).getString("outcome"));
+    assertEquals("Last poll should match.", WaitListener.PollOutcome.MATCHED.name(), pollEvents.get(2).getString("outcome"));
+  }
+
+  @Test
+  public void should_record_timed_out_wait() throws IOException {
+    final List<RecordedEvent> events = record(() -> {
+      try {
+        wait.until("never", this, input -> false, Matchers.equalTo(true));
+        fail("Wait should have timed out.");
+      } catch (WaitTimeoutException ignored) {
+        // fine
+      }
+    });
+
+    final List<RecordedEvent> waits = ofType(events, ConditionWaitEvent.NAME);
+    assertEquals("One wait should be recorded.", 1, waits.size());
+    assertEquals("Wait outcome should be recorded.", ConditionWaitEvent.TIMED_OUT, waits.get(0).getString("outcome"));
+    assertEquals("Each poll should be recorded.", waits.get(0).getInt("polls"), ofType(events, ConditionPollEvent.NAME).size());
+  }
+
+  @Test
+  public void should_not_record_disabled_events() throws IOException {
+    try (Recording recording = new Recording()) {
+      recording.disable(ConditionWaitEvent.NAME);
+      recording.enable(ConditionPollEvent.NAME).withoutThreshold();
+      recording.start();
+      wait.until("polls only", this, input -> true, null);
+      recording.stop();
+      final List<RecordedEvent> events = dump(recording);
+      assertEquals("Disabled wait events should not be recorded.", 0, ofType(events, ConditionWaitEvent.NAME).size());
+      assertEquals("Enabled poll events should be recorded.", 1, ofType(events, ConditionPollEvent.NAME).size());
+    }
+  }
+
+  @Nonnull
+  private List<RecordedEvent> record(@Nonnull final Runnable runnable) throws IOException {
+    try (Recording recording = new Recording()) {
+      recording.enable(ConditionWaitEvent.NAME).withoutThreshold().withStackTrace();
+      recording.enable(ConditionPollEvent.NAME).withoutThreshold();
+      recording.start();
+      runnable.run();
+      recording.stop();
+      return dump(recording);
+    }
+  }
+
+  @Nonnull
+  private List<RecordedEvent> dump(@Nonnull final Recording recording) throws IOException {
+    final Path file = temporaryFolder.newFile("waits.jfr").toPath();
+    recording.dump(file);
+    return RecordingFile.readAllEvents(file);
+  }
+
+  @Nonnull
+  private static List<RecordedEvent> ofType(@Nonnull final List<RecordedEvent> events, @Nonnull final String name) {
+    final List<RecordedEvent> result = new ArrayList<>();
+    for (final RecordedEvent event : events) {
+      if (name.equals(event.getEventType().getName())) {
+        result.add(event);
+      }
+    }
+    return result;
+  }
+}
@@ -21,8 +21,14 @@ package net.joala.condition.timing;
 
 import com.google.common.base.Function;
 import com.google.common.base.MoreObjects;
+import com.sun.management.ThreadMXBean;
+import net.joala.condition.WaitAssertionFailStrategy;
+import net.joala.time.Sleeper;
+import net.joala.time.SystemTimeSource;
+import net.joala.time.TimeSource;
 import net.joala.time.Timeout;
 import net.joala.time.TimeoutImpl;
+import net.joala.time.VirtualTimeSource;
 import org.hamcrest.Matcher;
 import org.hamcrest.Matchers;
 import org.junit.Before;
@@ -34,27 +40,39 @@ import org.mockito.junit.MockitoJUnitRunner;
 import javax.annotation.Nonnegative;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
+import java.lang.management.ManagementFactory;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.LinkedList;
 import java.util.PrimitiveIterator.OfDouble;
 import java.util.PrimitiveIterator.OfLong;
 import java.util.Random;
+import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Supplier;
 
 import static java.lang.Math.round;
 import static java.lang.String.format;
 import static net.joala.testlet.ToStringTestlet.toStringTestlet;
-import static org.hamcrest.number.OrderingComparison.greaterThan;
+import static org.hamcrest.core.IsInstanceOf.instanceOf;
+import static org.hamcrest.core.IsNot.not;
+import static org.hamcrest.core.StringContains.containsString;
+import static org.hamcrest.number.OrderingComparison.greaterThanOrEqualTo;
+import static org.hamcrest.number.OrderingComparison.lessThan;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertThat;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
+import static org.junit.Assume.assumeTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.verify;
 
 /**
  * <p>
@@ -173,25 +191,345 @@ public class DeceleratingWaitTest {
     assertSuccessfulWait();
   }
 
-  @SuppressWarnings("MagicNumber")
   @Test
-  public void sleep_should_sleep_for_specified_millis() throws Exception {
-    final long sleepMillis = 200L;
+  public void until_polling_should_follow_backoff_policy() throws Exception {
+    final long fixedDelay = 42L;
+    expectedCalls = new ExpectedCallsBuilder()
+            .add(WaitCall.NOW, 0L)
+            .add(WaitCall.NOW, 0L)
+            .add(WaitCall.FUNCTION_RESULT, false)
+            .add(WaitCall.NOW, 0L)
+            .add(WaitCall.SLEEP, fixedDelay)
+            .add(WaitCall.NOW, fixedDelay)
+            .add(WaitCall.FUNCTION_RESULT, false)
+            .add(WaitCall.NOW, fixedDelay)
+            .add(WaitCall.SLEEP, fixedDelay)
+            .add(WaitCall.NOW, fixedDelay * 2)
+            .add(WaitCall.FUNCTION_RESULT, true)
+            .build();
+    assertSuccessfulWait(new TestedDeceleratingWait(timeout, BackoffPolicies.fixedDelay(fixedDelay, TimeUnit.MILLISECONDS)));
+  }
+
+  @Test
+  public void until_should_stop_querying_when_interrupted() throws Exception {
+    final int interruptAtQuery = 3;
+    final AtomicInteger queries = new AtomicInteger();
+    final DeceleratingWait wait = new DeceleratingWait(new TimeoutImpl(10L, TimeUnit.SECONDS), mockWaitFailStrategy);
     final long before = System.currentTimeMillis();
-    new DeceleratingWait(timeout, mockWaitFailStrategy).sleep(sleepMillis);
-    final long after = System.currentTimeMillis();
-    final long delay = after - before;
-    assertThat("Wait enough time.", delay, greaterThan(sleepMillis / 2));
+    try {
+      wait.until(mockInput, input -> {
+        if (queries.incrementAndGet() == interruptAtQuery) {
+          Thread.currentThread().interrupt();
+        }
+        return false;
+      }, Matchers.equalTo(true));
+      fail("Wait should have been cancelled.");
+    } catch (WaitCancelledException ignored) {
+      // fine
+    } finally {
+      assertTrue("Interrupt flag should be preserved.", Thread.interrupted());
+    }
+    assertEquals("No queries after interrupt.", interruptAtQuery, queries.get());
+    assertThat("Wait should end promptly.", System.currentTimeMillis() - before, lessThan(5000L));
+    verify(mockWaitFailStrategy).cancelled(isNull(), any(), any(), anyLong());
   }
 
   @Test
-  public void now_should_return_system_time_millis() throws Exception {
+  public void until_should_wake_up_and_stop_querying_when_token_cancelled() throws Exception {
+    final CancellationToken cancellation = new CancellationToken();
+    final AtomicInteger queries = new AtomicInteger();
+    final DeceleratingWait wait = new DeceleratingWait(new TimeoutImpl(10L, TimeUnit.SECONDS), 1d, mockWaitFailStrategy,
+            BackoffPolicies.fixedDelay(1L, TimeUnit.MINUTES));
+    final Thread canceller = new Thread(() -> {
+      while (queries.get() == 0) {
+        Thread.onSpinWait();
+      }
+      cancellation.cancel();
+    });
+    canceller.start();
     final long before = System.currentTimeMillis();
-    final long now = new DeceleratingWait(timeout, mockWaitFailStrategy).nowMillis();
-    final long after = System.currentTimeMillis();
-    // Check loosely in case the clock drifts.
-    assertTrue("now = " + now + " at " + before, before < now + 100);
-    assertTrue("now = " + now + " at " + after, after > now - 100);
+    try {
+      wait.until("message", mockInput, input -> {
+        queries.incrementAndGet();
+        return false;
+      }, Matchers.equalTo(true), cancellation);
+      fail("Wait should have been cancelled.");
+    } catch (WaitCancelledException e) {
+      assertThat(e.getMessage(), containsString("message"));
+    }
+    canceller.join();
+    assertEquals("No queries after cancellation.", 1, queries.get());
+    assertThat("Wait should wake up from sleep.", System.currentTimeMillis() - before, lessThan(5000L));
+    verify(mockWaitFailStrategy).cancelled(eq("message"), any(), any(), anyLong());
+  }
+
+  @Test
+  public void until_should_not_query_if_token_already_cancelled() throws Exception {
+    final CancellationToken cancellation = new CancellationToken();
+    cancellation.cancel();
+    final RuntimeException cancelledException = new IllegalStateException("cancelled");
+    doThrow(cancelledException).when(mockWaitFailStrategy).cancelled(any(), any(), any(), anyLong());
+    try {
+      new DeceleratingWait(timeout, mockWaitFailStrategy).until(null, mockInput, input -> {
+        fail("Query should not be evaluated.");
+        return true;
+      }, null, cancellation);
+      fail("Wait should have been cancelled.");
+    } catch (IllegalStateException e) {
+      assertSame("Exception of fail strategy should be propagated.", cancelledException, e);
+    }
+  }
+
+  @Test
+  public void until_should_time_out_on_virtual_time_without_sleeping() throws Exception {
+    final VirtualTimeSource time = new VirtualTimeSource();
+    final AtomicInteger queries = new AtomicInteger();
+    final DeceleratingWait wait = new DeceleratingWait(new TimeoutImpl(1L, TimeUnit.HOURS), 1d, new WaitTimeoutFailStrategy(),
+            BackoffPolicies.decelerating(), time, time);
+    final long before = System.nanoTime();
+    try {
+      wait.until(mockInput, input -> queries.incrementAndGet() < 0, Matchers.equalTo(true));
+      fail("Wait should have timed out.");
+    } catch (WaitTimeoutException e) {
+      assertThat("Timeout should be reported in virtual time.", e.getMessage(), containsString("60 min"));
+    }
+    assertThat("Virtual time should have passed the deadline.", time.nanoTime(), greaterThanOrEqualTo(TimeUnit.HOURS.toNanos(1L)));
+    assertThat("Decelerating polls expected.", queries.get(), lessThan(200));
+    assertThat("No real sleeping expected.", System.nanoTime() - before, lessThan(TimeUnit.SECONDS.toNanos(5L)));
+  }
+
+  @Test
+  public void until_should_fail_early_if_state_stalls() throws Exception {
+    final VirtualTimeSource time = new VirtualTimeSource();
+    final DeceleratingWait wait = new DeceleratingWait(new TimeoutImpl(1L, TimeUnit.HOURS), 1d, new WaitTimeoutFailStrategy(),
+            BackoffPolicies.decelerating(), time, time, null, new TimeoutImpl(10L, TimeUnit.SECONDS));
+    try {
+      wait.until("migration", mockInput, input -> "RUNNING", Matchers.equalTo("DONE"));
+      fail("Wait should have failed on stalled state.");
+    } catch (WaitTimeoutException e) {
+      assertThat("Stall should be reported.", e.getMessage(), containsString("No progress within"));
+    }
+    assertThat("Wait should end at the stall timeout.", time.nanoTime(), lessThan(TimeUnit.SECONDS.toNanos(20L)));
+  }
+
+  @Test
+  public void until_should_keep_waiting_while_state_changes() throws Exception {
+    final VirtualTimeSource time = new VirtualTimeSource();
+    final DeceleratingWait wait = new DeceleratingWait(new TimeoutImpl(1L, TimeUnit.HOURS), 1d, new WaitTimeoutFailStrategy(),
+            BackoffPolicies.decelerating(), time, time, null, new TimeoutImpl(10L, TimeUnit.SECONDS));
+    try {
+      wait.until(mockInput, input -> time.nanoTime(), Matchers.equalTo(-1L));
+      fail("Wait should have timed out.");
+    } catch (WaitTimeoutException e) {
+      assertThat("Hard timeout should be reported.", e.getMessage(), not(containsString("No progress within")));
+    }
+    assertThat("Wait should end at the hard timeout.", time.nanoTime(), greaterThanOrEqualTo(TimeUnit.HOURS.toNanos(1L)));
+  }
+
+  @Test
+  public void until_should_succeed_after_progress_within_stall_timeout() throws Exception {
+    final AtomicInteger queries = new AtomicInteger();
+    final Wait wait = DeceleratingWait.progressAware(BackoffPolicies.fixedDelay(1L, TimeUnit.MILLISECONDS), new TimeoutImpl(10L, TimeUnit.SECONDS))
+            .createWait(new TimeoutImpl(1L, TimeUnit.HOURS), 1d, new WaitTimeoutFailStrategy());
+    assertEquals("Progress expected.", Integer.valueOf(3), wait.until(mockInput, input -> queries.incrementAndGet(), Matchers.equalTo(3)));
+  }
+
+  @Test
+  public void until_should_report_poll_history_on_timeout() throws Exception {
+    final VirtualTimeSource time = new VirtualTimeSource();
+    final DeceleratingWait wait = new DeceleratingWait(new TimeoutImpl(10L, TimeUnit.SECONDS), 1d, new WaitTimeoutFailStrategy(),
+            BackoffPolicies.fixedDelay(1L, TimeUnit.SECONDS), time, time).withPollHistory(3, 2);
+    try {
+      wait.until("progress", mockInput, input -> TimeUnit.NANOSECONDS.toSeconds(time.nanoTime()) / 4L, Matchers.equalTo(-1L));
+      fail("Wait should have timed out.");
+    } catch (WaitTimeoutException e) {
+      assertThat("Most recent polls should be reported.", e.getMessage(), containsString("last 3 of 12 polls: [#10 at 9 s took 0 ns MISMATCHED, #11 at 10 s"));
+      assertThat("Most recent distinct states should be reported.", e.getMessage(), containsString("last 2 of 3 distinct states: [#5 at 4 s: <1L>, #9 at 8 s: <2L>]"));
+    }
+  }
+
+  @Test
+  public void until_should_report_unexpected_exception_as_aborted() throws Exception {
+    final AtomicInteger aborted = new AtomicInteger();
+    final WaitListener listener = new WaitListener() {
+      @Override
+      public void aborted(@Nonnull final WaitObservation wait, final long totalNanos) {
+        aborted.incrementAndGet();
+      }
+    };
+    WaitListeners.register(listener);
+    try {
+      new DeceleratingWait(new TimeoutImpl(10L, TimeUnit.SECONDS)).until(new Object(), input -> {
+        throw new IllegalStateException("broken");
+      });
+      fail("Exception of state query should have been rethrown.");
+    } catch (IllegalStateException ignored) {
+      // fine
+    } finally {
+      WaitListeners.unregister(listener);
+    }
+    assertEquals("Failed wait should have been reported as aborted.", 1, aborted.get());
+  }
+
+  @Test
+  public void until_should_report_poll_history_on_failed_assertion() throws Exception {
+    final VirtualTimeSource time = new VirtualTimeSource();
+    final DeceleratingWait wait = new DeceleratingWait(new TimeoutImpl(10L, TimeUnit.SECONDS), 1d, new WaitAssertionFailStrategy(),
+            BackoffPolicies.fixedDelay(1L, TimeUnit.SECONDS), time, time).withPollHistory(2, 0);
+    try {
+      wait.until("progress", mockInput, input -> false, Matchers.equalTo(true));
+      fail("Assertion should have failed.");
+    } catch (AssertionError e) {
+      assertThat("Most recent polls should be reported.", e.getMessage(), containsString("last 2 of 12 polls: [#11 at 10 s"));
+    }
+  }
+
+  @Test
+  public void until_should_poll_without_allocating() throws Exception {
+    final java.lang.management.ThreadMXBean threadBean = ManagementFactory.getThreadMXBean();
+    assumeTrue("Measuring allocations not supported.", threadBean instanceof ThreadMXBean
+            && ((ThreadMXBean) threadBean).isThreadAllocatedMemorySupported());
+    final ThreadMXBean threads = (ThreadMXBean) threadBean;
+    // Warm up, so that the measured polls are compiled.
+    for (int i = 0; i < 20; i++) {
+      allocatedBytes(threads, 10_000);
+    }
+    final long fewPolls = allocatedBytes(threads, 1_000);
+    final long manyPolls = allocatedBytes(threads, 101_000);
+    assertThat("Polls should not allocate.", (manyPolls - fewPolls) / 100_000d, lessThan(1d));
+  }
+
+  private static long allocatedBytes(@Nonnull final ThreadMXBean threads, final int polls) {
+    final SteppingTime time = new SteppingTime();
+    final DeceleratingWait wait = new DeceleratingWait(new TimeoutImpl(polls, TimeUnit.MICROSECONDS), 1d, new WaitTimeoutFailStrategy(),
+            BackoffPolicies.fixedDelay(1L, TimeUnit.MICROSECONDS), time, time);
+    final long threadId = Thread.currentThread().getId();
+    final long before = threads.getThreadAllocatedBytes(threadId);
+    try {
+      wait.until(time, input -> Boolean.FALSE, Matchers.equalTo(Boolean.TRUE));
+      fail("Wait should have timed out.");
+    } catch (WaitTimeoutException ignored) {
+      // fine
+    }
+    return threads.getThreadAllocatedBytes(threadId) - before;
+  }
+
+  @Test
+  public void until_should_stop_on_terminal_state() throws Exception {
+    final AtomicInteger queries = new AtomicInteger();
+    final DeceleratingWait wait = new DeceleratingWait(new TimeoutImpl(1L, TimeUnit.HOURS), new WaitTimeoutFailStrategy());
+    final long before = System.nanoTime();
+    try {
+      wait.until("job", mockInput, TerminalStates.unlessReaches(input -> queries.incrementAndGet(), greaterThanOrEqualTo(3)), Matchers.equalTo(-1));
+      fail("Wait should have failed on terminal state.");
+    } catch (WaitTimeoutException e) {
+      assertThat("Terminal state should be reported.", e.getMessage(), containsString("Terminal state reached: job"));
+    }
+    assertEquals("No queries after terminal state.", 3, queries.get());
+    assertThat("Wait should not wait for the timeout.", System.nanoTime() - before, lessThan(TimeUnit.SECONDS.toNanos(5L)));
+  }
+
+  @Test
+  public void until_should_report_terminal_state_to_fail_strategy() throws Exception {
+    try {
+      new DeceleratingWait(timeout, mockWaitFailStrategy).until(null, mockInput,
+              TerminalStates.unlessReaches(input -> "FAILED", Matchers.equalTo("FAILED")), Matchers.equalTo("SUCCEEDED"));
+      fail("Wait should have failed on terminal state.");
+    } catch (TerminalStateException e) {
+      assertEquals("Terminal state expected.", "FAILED", e.getState());
+    }
+    verify(mockWaitFailStrategy).terminal(isNull(), any(), eq(mockInput), eq("FAILED"), any(), anyLong());
+  }
+
+  @Test
+  public void until_should_abandon_state_query_exceeding_query_timeout() throws Exception {
+    final CountDownLatch interrupted = new CountDownLatch(1);
+    final DeceleratingWait wait = new DeceleratingWait(new TimeoutImpl(100L, TimeUnit.MILLISECONDS), 1d, new WaitTimeoutFailStrategy(),
+            BackoffPolicies.decelerating(), SystemTimeSource.INSTANCE, SystemTimeSource.INSTANCE,
+            QueryTimeout.pooled(100L, TimeUnit.MILLISECONDS));
+    final long before = System.nanoTime();
+    try {
+      wait.until(mockInput, input -> {
+        try {
+          Thread.sleep(TimeUnit.MINUTES.toMillis(1L));
+        } catch (InterruptedException e) {
+          interrupted.countDown();
+        }
+        return true;
+      });
+      fail("Wait should have timed out.");
+    } catch (WaitTimeoutException e) {
+      assertThat("Query timeout should be reported as cause.", e.getCause(), instanceOf(StateQueryTimeoutException.class));
+    }
+    assertThat("Wait should not wait for the hanging query.", System.nanoTime() - before, lessThan(TimeUnit.SECONDS.toNanos(5L)));
+    assertTrue("Abandoned query should be interrupted.", interrupted.await(5L, TimeUnit.SECONDS));
+  }
+
+  @Test
+  public void until_should_return_result_of_state_query_within_query_timeout() throws Exception {
+    final DeceleratingWait wait = new DeceleratingWait(timeout, 1d, mockWaitFailStrategy,
+            BackoffPolicies.decelerating(), SystemTimeSource.INSTANCE, SystemTimeSource.INSTANCE,
+            QueryTimeout.pooled(0L, TimeUnit.MILLISECONDS));
+    final AtomicInteger queries = new AtomicInteger();
+    assertEquals("Result of state query expected.", Integer.valueOf(2),
+            wait.until(mockInput, input -> queries.incrementAndGet(), Matchers.equalTo(2)));
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void until_should_propagate_failure_of_state_query_within_query_timeout() throws Exception {
+    final DeceleratingWait wait = new DeceleratingWait(timeout, 1d, mockWaitFailStrategy,
+            BackoffPolicies.decelerating(), SystemTimeSource.INSTANCE, SystemTimeSource.INSTANCE,
+            QueryTimeout.pooled(0L, TimeUnit.MILLISECONDS));
+    wait.until(mockInput, input -> {
+      throw new IllegalStateException("failed");
+    });
+  }
+
+  @SuppressWarnings("MagicNumber")
+  @Test
+  public void sleep_should_sleep_for_specified_nanos() throws Exception {
+    final long sleepNanos = TimeUnit.MILLISECONDS.toNanos(200L);
+    final long before = System.nanoTime();
+    new DeceleratingWait(timeout, mockWaitFailStrategy).sleepNanos(sleepNanos);
+    final long after = System.nanoTime();
+    assertThat("Wait enough time.", after - before, greaterThanOrEqualTo(sleepNanos));
+  }
+
+  @SuppressWarnings("MagicNumber")
+  @Test
+  public void sleep_should_support_sub_millisecond_delays() throws Exception {
+    final long sleepNanos = TimeUnit.MICROSECONDS.toNanos(100L);
+    final long before = System.nanoTime();
+    new DeceleratingWait(timeout, mockWaitFailStrategy).sleepNanos(sleepNanos);
+    final long after = System.nanoTime();
+    assertThat("Wait enough time.", after - before, greaterThanOrEqualTo(sleepNanos));
+    // Check loosely as the scheduler might not be precise on busy machines.
+    assertThat("Do not sleep a full millisecond tick.", after - before, lessThan(TimeUnit.MILLISECONDS.toNanos(50L)));
+  }
+
+  @Test
+  public void now_should_return_system_nano_time() throws Exception {
+    final long before = System.nanoTime();
+    final long now = new DeceleratingWait(timeout, mockWaitFailStrategy).nowNanos();
+    final long after = System.nanoTime();
+    assertTrue("now = " + now + " at " + before, now - before >= 0L);
+    assertTrue("now = " + now + " at " + after, after - now >= 0L);
+  }
+
+  @Test
+  public void until_should_not_oversleep_deadline() throws Exception {
+    expectedCalls = new ExpectedCallsBuilder()
+            .add(WaitCall.NOW, 0L)
+            .add(WaitCall.NOW, 0L)
+            .add(WaitCall.FUNCTION_RESULT, false)
+            .add(WaitCall.NOW, TIMEOUT_MILLIS - 1L)
+            .add(WaitCall.SLEEP, 1L)
+            .add(WaitCall.NOW, TIMEOUT_MILLIS)
+            .add(WaitCall.FUNCTION_RESULT, false)
+            .add(WaitCall.NOW, TIMEOUT_MILLIS + 1L)
+            .add(WaitCall.NOW, TIMEOUT_MILLIS + 1L)
+            .build();
+    assertFailedWait(new TestedDeceleratingWait(timeout, BackoffPolicies.fixedDelay(1L, TimeUnit.MINUTES)));
   }
 
   @Test
@@ -371,20 +709,24 @@ public class DeceleratingWaitTest {
       super(timeout, timeoutFactor);
     }
 
+    private TestedDeceleratingWait(@Nonnull final Timeout timeout, @Nonnull final BackoffPolicy backoffPolicy) {
+      super(timeout, backoffPolicy);
+    }
+
     void until() {
       this.until(RANDOM_STRING_SUPPLIER.get(), mockInput, stateQuery, Matchers.equalTo(Boolean.TRUE));
     }
 
     @Override
-    protected long nowMillis() {
-      return nextCall(WaitCall.NOW).asLong();
+    protected long nowNanos() {
+      return TimeUnit.MILLISECONDS.toNanos(nextCall(WaitCall.NOW).asLong());
     }
 
     @Override
-    protected void sleep(final long millis) {
+    protected void sleepNanos(final long nanos) {
       final ExpectedCall call = nextCall(WaitCall.SLEEP);
-      final long expected = call.asLong();
-      assertEquals(format("Expected number of milliseconds to wait (%s).", call), expected, millis);
+      final long expected = TimeUnit.MILLISECONDS.toNanos(call.asLong());
+      assertEquals(format("Expected number of nanoseconds to wait (%s).", call), expected, nanos);
     }
 
   }
@@ -415,6 +757,23 @@ public class DeceleratingWaitTest {
     return result;
   }
 
+  /**
+   * Time which only advances while sleeping, without any allocation.
+   */
+  private static final class SteppingTime implements TimeSource, Sleeper {
+    private long nowNanos;
+
+    @Override
+    public long nanoTime() {
+      return nowNanos;
+    }
+
+    @Override
+    public void sleep(final long nanos) {
+      nowNanos += nanos;
+    }
+  }
+
   private static final class ExpectedCallsBuilder {
     private final Collection<ExpectedCall> localExpectedCalls = new ArrayList<>();
 
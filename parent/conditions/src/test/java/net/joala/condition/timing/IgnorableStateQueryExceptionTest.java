@@ -0,0 +1,63 @@
+/*
+ * Copyright 2026 CoreMedia AG
+ *
+ * This file is part of Joala.
+ *
+ * Joala is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Joala is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Joala.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package net.joala.condition.timing;
+
+import com.google.common.base.Function;
+import com.google.common.base.Functions;
+import org.junit.Test;
+
+import static org.hamcrest.Matchers.emptyArray;
+import static org.hamcrest.Matchers.not;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertThat;
+
+/**
+ * Tests {@link IgnorableStateQueryException}.
+ *
+ * @since 10/18/26
+ */
+public class IgnorableStateQueryExceptionTest {
+  private final Function<Object, Object> stateQuery = Functions.identity();
+
+  @Test
+  public void stackless_should_not_fill_in_stack_trace() {
+    final IllegalStateException cause = new IllegalStateException("not yet");
+    final IgnorableStateQueryException exception = IgnorableStateQueryException.stackless(stateQuery, cause);
+    assertThat("No own stack trace expected.", exception.getStackTrace(), emptyArray());
+    assertThat("Stack trace of cause should be kept.", exception.getCause().getStackTrace(), not(emptyArray()));
+    assertSame("Cause should be kept.", cause, exception.getCause());
+  }
+
+  @Test
+  public void stackless_should_have_same_message_as_with_stack_trace() {
+    final IllegalStateException cause = new IllegalStateException("not yet");
+    assertEquals("Same message expected.",
+            new IgnorableStateQueryException(stateQuery, cause).getMessage(),
+            IgnorableStateQueryException.stackless(stateQuery, cause).getMessage());
+  }
+
+  @Test
+  public void stackless_should_have_same_message_as_with_stack_trace_without_cause() {
+    assertEquals("Same message expected.",
+            new IgnorableStateQueryException(stateQuery, (Throwable) null).getMessage(),
+            IgnorableStateQueryException.stackless(stateQuery, null).getMessage());
+  }
+}
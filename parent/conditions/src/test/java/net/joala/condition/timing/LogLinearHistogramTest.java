@@ -0,0 +1,65 @@
+/*
+ * Copyright 2026 CoreMedia AG
+ *
+ * This file is part of Joala.
+ *
+ * Joala is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Joala is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Joala.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package net.joala.condition.timing;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.hamcrest.Matchers.allOf;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThat;
+
+/**
+ * Tests {@link LogLinearHistogram}.
+ *
+ * @since 10/18/26
+ */
+public class LogLinearHistogramTest {
+  @Test
+  public void buckets_should_contain_their_values() {
+    final Random random = new Random();
+    for (int i = 0; i < 10_000; i++) {
+      final long value = random.nextLong() >>> 1 + random.nextInt(Long.SIZE - 1);
+      final int index = LogLinearHistogram.index(value);
+      assertThat("Value should be within bounds of its bucket.", value,
+              allOf(greaterThanOrEqualTo(LogLinearHistogram.lowerBound(index)), lessThanOrEqualTo(LogLinearHistogram.upperBound(index))));
+    }
+  }
+
+  @Test
+  public void percentiles_should_be_accurate_within_bucket_precision() {
+    final LogLinearHistogram histogram = new LogLinearHistogram();
+    for (long value = 1L; value <= 1000L; value++) {
+      histogram.record(value * 1000L);
+    }
+    assertEquals("Count expected.", 1000L, histogram.count());
+    assertEquals("Max expected.", 1_000_000L, histogram.max());
+    assertThat("Median expected.", histogram.percentile(50d), allOf(greaterThanOrEqualTo(500_000L), lessThanOrEqualTo(562_500L)));
+    assertThat("99th percentile expected.", histogram.percentile(99d), allOf(greaterThanOrEqualTo(990_000L), lessThanOrEqualTo(1_000_000L)));
+  }
+
+  @Test
+  public void percentile_of_empty_histogram_should_be_zero() {
+    assertEquals("Zero expected.", 0L, new LogLinearHistogram().percentile(99d));
+  }
+}
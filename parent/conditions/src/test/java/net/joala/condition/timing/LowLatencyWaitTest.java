@@ -0,0 +1,177 @@
+/*
+ * Copyright 2026 CoreMedia AG
+ *
+ * This file is part of Joala.
+ *
+ * Joala is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Joala is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Joala.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package net.joala.condition.timing;
+
+import net.joala.time.Timeout;
+import net.joala.time.TimeoutImpl;
+import org.junit.Test;
+
+import javax.annotation.Nonnull;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static java.lang.String.format;
+import static net.joala.testlet.ToStringTestlet.toStringTestlet;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.lessThan;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * <p>
+ * Tests {@link LowLatencyWait} with all built-in {@link IdleStrategies}.
+ * </p>
+ *
+ * @since 10/18/26
+ */
+public class LowLatencyWaitTest {
+  private static final Timeout SHORT_TIMEOUT = new TimeoutImpl(20L, TimeUnit.MILLISECONDS);
+  private static final Timeout LONG_TIMEOUT = new TimeoutImpl(10L, TimeUnit.SECONDS);
+  private static final List<IdleStrategy> STRATEGIES = Arrays.asList(
+          IdleStrategies.busySpin(),
+          IdleStrategies.yielding(),
+          IdleStrategies.spinThenPark(100, 100L, TimeUnit.MICROSECONDS),
+          IdleStrategies.park(50L, TimeUnit.MICROSECONDS));
+
+  @Test
+  public void until_detects_state_changed_by_other_thread() throws Exception {
+    for (final IdleStrategy strategy : STRATEGIES) {
+      final AtomicLong counter = new AtomicLong();
+      final Thread producer = new Thread(() -> {
+        for (int i = 0; i < 1000; i++) {
+          counter.incrementAndGet();
+        }
+      });
+      producer.start();
+      final Long result = new LowLatencyWait(LONG_TIMEOUT, strategy).until(counter, AtomicLong::get, equalTo(1000L));
+      producer.join();
+      assertEquals(format("Final state expected for %s.", strategy), Long.valueOf(1000L), result);
+    }
+  }
+
+  @Test
+  public void until_times_out() throws Exception {
+    for (final IdleStrategy strategy : STRATEGIES) {
+      final long before = System.nanoTime();
+      try {
+        new LowLatencyWait(SHORT_TIMEOUT, strategy).until(new AtomicLong(), AtomicLong::get, equalTo(1L));
+        fail(format("Wait should have timed out for %s.", strategy));
+      } catch (WaitTimeoutException ignored) {
+        // fine
+      }
+      assertThat(format("Should wait until timeout for %s.", strategy),
+              System.nanoTime() - before, greaterThanOrEqualTo(SHORT_TIMEOUT.in(TimeUnit.NANOSECONDS)));
+    }
+  }
+
+  @Test
+  public void until_stops_querying_when_interrupted() throws Exception {
+    for (final IdleStrategy strategy : STRATEGIES) {
+      final AtomicInteger queries = new AtomicInteger();
+      try {
+        new LowLatencyWait(LONG_TIMEOUT, strategy).until(queries, input -> {
+          if (input.incrementAndGet() == 3) {
+            Thread.currentThread().interrupt();
+          }
+          return false;
+        }, equalTo(true));
+        fail(format("Wait should have been cancelled for %s.", strategy));
+      } catch (WaitCancelledException ignored) {
+        // fine
+      } finally {
+        assertTrue(format("Interrupt flag should be preserved for %s.", strategy), Thread.interrupted());
+      }
+      assertEquals(format("No queries after interrupt for %s.", strategy), 3, queries.get());
+    }
+  }
+
+  @Test
+  public void until_does_not_idle_beyond_deadline() throws Exception {
+    final long before = System.nanoTime();
+    try {
+      new LowLatencyWait(SHORT_TIMEOUT, IdleStrategies.park(10L, TimeUnit.SECONDS)).until(new AtomicLong(), AtomicLong::get, equalTo(1L));
+      fail("Wait should have timed out.");
+    } catch (WaitTimeoutException ignored) {
+      // fine
+    }
+    assertThat("Parking should have been bounded by the deadline.", System.nanoTime() - before, lessThan(TimeUnit.SECONDS.toNanos(5L)));
+  }
+
+  @Test
+  public void until_is_reported_to_wait_listeners() throws Exception {
+    final WaitTimeRecorder recorder = new WaitTimeRecorder();
+    WaitListeners.register(recorder);
+    try {
+      final AtomicInteger polls = new AtomicInteger();
+      new LowLatencyWait(LONG_TIMEOUT, IdleStrategies.busySpin()).until("third time lucky", polls, AtomicInteger::incrementAndGet, equalTo(3));
+    } finally {
+      WaitListeners.unregister(recorder);
+    }
+    final String summary = recorder.summary();
+    assertThat("Wait should have been recorded.", summary, containsString("third time lucky: total"));
+    assertThat("Polls should have been recorded.", summary, containsString("polls p50 3, p99 3, max 3"));
+  }
+
+  @Test
+  public void until_reports_unexpected_exception_as_aborted() throws Exception {
+    final AtomicInteger aborted = new AtomicInteger();
+    final WaitListener listener = new WaitListener() {
+      @Override
+      public void aborted(@Nonnull final WaitObservation wait, final long totalNanos) {
+        aborted.incrementAndGet();
+      }
+    };
+    WaitListeners.register(listener);
+    try {
+      new LowLatencyWait(LONG_TIMEOUT, IdleStrategies.busySpin()).until(new Object(), input -> {
+        throw new IllegalStateException("broken");
+      });
+      fail("Exception of state query should have been rethrown.");
+    } catch (IllegalStateException ignored) {
+      // fine
+    } finally {
+      WaitListeners.unregister(listener);
+    }
+    assertEquals("Failed wait should have been reported as aborted.", 1, aborted.get());
+  }
+
+  @Test
+  public void factory_creates_low_latency_waits() throws Exception {
+    final Wait wait = LowLatencyWait.factory(IdleStrategies.busySpin()).createWait(LONG_TIMEOUT, 1d, new WaitTimeoutFailStrategy());
+    assertEquals("Factory should create low-latency waits.", LowLatencyWait.class, wait.getClass());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void negative_spins_are_rejected() throws Exception {
+    IdleStrategies.spinThenPark(-1, 1L, TimeUnit.MILLISECONDS);
+  }
+
+  @Test
+  public void toString_should_contain_necessary_information() throws Throwable { // NOSONAR: from JUnit
+    toStringTestlet(new LowLatencyWait(SHORT_TIMEOUT, IdleStrategies.busySpin())).run();
+  }
+}
@@ -0,0 +1,121 @@
+/*
+ * Copyright 2026 CoreMedia AG
+ *
+ * This file is part of Joala.
+ *
+ * Joala is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Joala is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Joala.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package net.joala.condition.timing;
+
+import org.hamcrest.StringDescription;
+import org.junit.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.lessThan;
+import static org.hamcrest.Matchers.not;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThat;
+
+/**
+ * Tests {@link PollHistory}.
+ *
+ * @since 10/18/26
+ */
+public class PollHistoryTest {
+  private static final long SECOND = TimeUnit.SECONDS.toNanos(1L);
+
+  @Test
+  public void should_keep_most_recent_polls() {
+    final PollHistory history = new PollHistory(2, 0);
+    for (int i = 0; i < 5; i++) {
+      history.polled(i * SECOND, 3_000_000L, WaitListener.PollOutcome.MISMATCHED);
+    }
+    final String description = StringDescription.toString(history);
+    assertThat("Most recent polls should be kept.", description,
+            containsString("last 2 of 5 polls: [#4 at 3 s took 3 ms MISMATCHED, #5 at 4 s took 3 ms MISMATCHED]"));
+  }
+
+  @Test
+  public void should_keep_most_recent_distinct_states() {
+    final PollHistory history = new PollHistory(0, 2);
+    final String[] states = {"a", "a", "b", "b", "c", "a"};
+    for (int i = 0; i < states.length; i++) {
+      history.polled(i * SECOND, 0L, WaitListener.PollOutcome.MISMATCHED);
+      history.evaluated(i * SECOND, states[i]);
+    }
+    assertEquals("Only changes should count as distinct states.", 4, history.getDistinctStates());
+    assertThat("Most recent distinct states should be kept.", StringDescription.toString(history),
+            containsString("last 2 of 4 distinct states: [#5 at 4 s: \"c\", #6 at 5 s: \"a\"]"));
+  }
+
+  @Test
+  public void should_report_outcomes() {
+    final PollHistory history = new PollHistory(2, 0);
+    history.polled(0L, 0L, WaitListener.PollOutcome.IGNORED_EXCEPTION);
+    history.polled(2 * SECOND, 0L, WaitListener.PollOutcome.MISMATCHED);
+    final String description = StringDescription.toString(history);
+    assertThat("Ignored exceptions should be reported.", description, containsString("#1 at 0 ns took 0 ns IGNORED_EXCEPTION"));
+    assertThat("Mismatches should be reported.", description, containsString("#2 at 2 s took 0 ns MISMATCHED"));
+  }
+
+  @Test
+  public void should_describe_states_lazily() {
+    final AtomicInteger described = new AtomicInteger();
+    final Object state = new Object() {
+      @Override
+      public String toString() {
+        described.incrementAndGet();
+        return "state";
+      }
+    };
+    final PollHistory history = new PollHistory(1, 1);
+    history.polled(0L, 0L, WaitListener.PollOutcome.MISMATCHED);
+    history.evaluated(0L, state);
+    assertEquals("States should not be described while recording.", 0, described.get());
+    StringDescription.toString(history);
+    assertEquals("States should be described with the history.", 1, described.get());
+  }
+
+  @Test
+  public void should_truncate_huge_states() {
+    final PollHistory history = new PollHistory(0, 1);
+    history.polled(0L, 0L, WaitListener.PollOutcome.MISMATCHED);
+    history.evaluated(0L, new String(new char[100_000]).replace('\0', 'x'));
+    final String description = StringDescription.toString(history);
+    assertThat("Huge states should be truncated.", description.length(), lessThan(PollHistory.MAX_STATE_LENGTH * 2));
+    assertThat("Truncation should be reported.", description, containsString("characters truncated"));
+  }
+
+  @Test
+  public void should_keep_constant_size_for_long_waits() {
+    final PollHistory history = new PollHistory(4, 2);
+    for (int i = 0; i < 1_000_000; i++) {
+      history.polled(i, 1L, WaitListener.PollOutcome.MISMATCHED);
+      history.evaluated(i, i);
+    }
+    final String description = StringDescription.toString(history);
+    assertEquals("All polls should be counted.", 1_000_000, history.getPolls());
+    assertThat("Description should only contain kept polls.", description, not(containsString("#999996 ")));
+    assertThat("Description should contain most recent poll.", description, containsString("#1000000 "));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void should_reject_negative_capacity() {
+    new PollHistory(-1, 0);
+  }
+}
@@ -0,0 +1,159 @@
+/*
+ * Copyright 2026 CoreMedia AG
+ *
+ * This file is part of Joala.
+ *
+ * Joala is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Joala is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Joala.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package net.joala.condition.timing;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * <p>
+ * Tests {@link PollScheduler}.
+ * </p>
+ *
+ * @since 10/18/26
+ */
+public class PollSchedulerTest {
+  private static final int SMALL_WHEEL_SIZE = 8;
+  private static final int WORKER_COUNT = 2;
+
+  private PollScheduler scheduler;
+
+  @Before
+  public void setUp() throws Exception {
+    scheduler = new PollScheduler(1L, TimeUnit.MILLISECONDS, SMALL_WHEEL_SIZE, WORKER_COUNT);
+  }
+
+  @After
+  public void tearDown() throws Exception {
+    scheduler.shutdown();
+  }
+
+  @Test
+  public void schedule_runs_poll_not_before_its_deadline() throws Exception {
+    final long delayMillis = 30L;
+    final AtomicLong ranAfterNanos = new AtomicLong();
+    final CountDownLatch latch = new CountDownLatch(1);
+    final long start = System.nanoTime();
+    scheduler.schedule(() -> {
+      ranAfterNanos.set(System.nanoTime() - start);
+      latch.countDown();
+    }, delayMillis, TimeUnit.MILLISECONDS);
+    assertTrue("Poll should have been run.", latch.await(5L, TimeUnit.SECONDS));
+    assertThat("Poll must not run before its deadline.", ranAfterNanos.get(), greaterThanOrEqualTo(TimeUnit.MILLISECONDS.toNanos(delayMillis)));
+  }
+
+  @Test
+  public void schedule_handles_delays_spanning_several_rounds_of_the_wheel() throws Exception {
+    final long delayMillis = SMALL_WHEEL_SIZE * 5L + 3L;
+    final AtomicLong ranAfterNanos = new AtomicLong();
+    final CountDownLatch latch = new CountDownLatch(1);
+    final long start = System.nanoTime();
+    scheduler.schedule(() -> {
+      ranAfterNanos.set(System.nanoTime() - start);
+      latch.countDown();
+    }, delayMillis, TimeUnit.MILLISECONDS);
+    assertTrue("Poll should have been run.", latch.await(5L, TimeUnit.SECONDS));
+    assertThat("Poll must not run before its deadline.", ranAfterNanos.get(), greaterThanOrEqualTo(TimeUnit.MILLISECONDS.toNanos(delayMillis)));
+  }
+
+  @Test
+  public void schedule_runs_many_polls() throws Exception {
+    final int count = 10000;
+    final CountDownLatch latch = new CountDownLatch(count);
+    for (int i = 0; i < count; i++) {
+      scheduler.schedule(latch::countDown, i % 50, TimeUnit.MILLISECONDS);
+    }
+    assertTrue("All polls should have been run.", latch.await(10L, TimeUnit.SECONDS));
+    assertEquals("No polls should be pending.", 0L, scheduler.queueDepth());
+  }
+
+  @Test
+  public void cancel_prevents_poll_from_being_run() throws Exception {
+    final AtomicBoolean ran = new AtomicBoolean();
+    final PollScheduler.ScheduledPoll poll = scheduler.schedule(() -> ran.set(true), 20L, TimeUnit.MILLISECONDS);
+    assertTrue("Poll should have been cancelled.", poll.cancel());
+    assertFalse("Second cancel should not succeed.", poll.cancel());
+    assertEquals("No polls should be pending.", 0L, scheduler.queueDepth());
+    Thread.sleep(100L);
+    assertFalse("Cancelled poll must not run.", ran.get());
+  }
+
+  @Test
+  public void queueDepth_reports_pending_polls() throws Exception {
+    scheduler.schedule(() -> {
+    }, 1L, TimeUnit.MINUTES);
+    scheduler.schedule(() -> {
+    }, 1L, TimeUnit.MINUTES);
+    assertEquals("Pending polls should be reported.", 2L, scheduler.queueDepth());
+  }
+
+  @Test
+  public void tickLag_is_reported() throws Exception {
+    Thread.sleep(20L);
+    assertThat("Tick lag should be available.", scheduler.tickLag(TimeUnit.NANOSECONDS), greaterThanOrEqualTo(0L));
+  }
+
+  @Test
+  public void schedule_wakes_up_idle_ticker() throws Exception {
+    // let the ticker fall asleep as no poll is pending
+    Thread.sleep(50L);
+    final long delayMillis = 10L;
+    final AtomicLong ranAfterNanos = new AtomicLong();
+    final CountDownLatch latch = new CountDownLatch(1);
+    final long start = System.nanoTime();
+    scheduler.schedule(() -> {
+      ranAfterNanos.set(System.nanoTime() - start);
+      latch.countDown();
+    }, delayMillis, TimeUnit.MILLISECONDS);
+    assertTrue("Poll should have been run.", latch.await(5L, TimeUnit.SECONDS));
+    assertThat("Poll must not run before its deadline.", ranAfterNanos.get(), greaterThanOrEqualTo(TimeUnit.MILLISECONDS.toNanos(delayMillis)));
+  }
+
+  @Test
+  public void shutdown_runs_shutdown_handlers_of_pending_polls() throws Exception {
+    final AtomicBoolean ran = new AtomicBoolean();
+    final CountDownLatch shutDown = new CountDownLatch(2);
+    scheduler.schedule(() -> ran.set(true), shutDown::countDown, 1L, TimeUnit.MINUTES);
+    scheduler.schedule(() -> ran.set(true), shutDown::countDown, 1L, TimeUnit.HOURS);
+    scheduler.shutdown();
+    assertTrue("Shutdown handlers should have been run.", shutDown.await(5L, TimeUnit.SECONDS));
+    assertFalse("Polls must not run after shutdown.", ran.get());
+    assertEquals("No polls should be pending.", 0L, scheduler.queueDepth());
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void schedule_fails_after_shutdown() throws Exception {
+    scheduler.shutdown();
+    scheduler.schedule(() -> {
+    }, 1L, TimeUnit.MILLISECONDS);
+  }
+}
@@ -0,0 +1,207 @@
+/*
+ * Copyright 2026 CoreMedia AG
+ *
+ * This file is part of Joala.
+ *
+ * Joala is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Joala is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Joala.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package net.joala.condition.timing;
+
+import com.google.common.base.Function;
+import org.junit.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static net.joala.testlet.ToStringTestlet.toStringTestlet;
+import static org.hamcrest.number.OrderingComparison.lessThan;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * <p>
+ * Tests {@link QueryTimeout}.
+ * </p>
+ *
+ * @since 10/18/26
+ */
+public class QueryTimeoutTest {
+  private static final long LONG_BUDGET_NANOS = TimeUnit.MINUTES.toNanos(1L);
+  private static final int TRAINING_QUERIES = 16;
+
+  @Test
+  public void apply_should_fail_with_state_query_timeout_if_query_hangs() throws Exception {
+    final CountDownLatch interrupted = new CountDownLatch(1);
+    try {
+      QueryTimeout.pooled(10L, TimeUnit.MILLISECONDS).apply("input", input -> hang(interrupted), 0L);
+      fail("Query should have timed out.");
+    } catch (StateQueryTimeoutException ignored) {
+    }
+    assertTrue("Abandoned query should be interrupted.", interrupted.await(5L, TimeUnit.SECONDS));
+  }
+
+  @Test
+  public void hedged_apply_should_use_first_result_to_arrive() throws Exception {
+    final QueryTimeout queryTimeout = QueryTimeout.pooled(0L, TimeUnit.MILLISECONDS).hedged(50d, 1);
+    train(queryTimeout);
+    final CountDownLatch interrupted = new CountDownLatch(1);
+    final AtomicInteger queries = new AtomicInteger();
+    final long before = System.nanoTime();
+    final String result = queryTimeout.apply("input", input -> queries.incrementAndGet() == 1 ? hang(interrupted) : "hedge",
+            LONG_BUDGET_NANOS);
+    assertEquals("Result of hedged query expected.", "hedge", result);
+    assertThat("Hedged query should not wait for the slow query.", System.nanoTime() - before, lessThan(TimeUnit.SECONDS.toNanos(5L)));
+    assertTrue("Slow query should be interrupted.", interrupted.await(5L, TimeUnit.SECONDS));
+  }
+
+  @Test
+  public void hedged_apply_should_not_hedge_without_observed_latencies() throws Exception {
+    final AtomicInteger queries = new AtomicInteger();
+    final QueryTimeout queryTimeout = QueryTimeout.pooled(0L, TimeUnit.MILLISECONDS).hedged(50d, 1);
+    queryTimeout.apply("input", input -> {
+      queries.incrementAndGet();
+      sleep(50L);
+      return input;
+    }, LONG_BUDGET_NANOS);
+    assertEquals("Query should not be hedged.", 1, queries.get());
+  }
+
+  @Test
+  public void hedged_apply_should_respect_in_flight_limit() throws Exception {
+    final QueryTimeout queryTimeout = QueryTimeout.pooled(0L, TimeUnit.MILLISECONDS).hedged(50d, 1);
+    train(queryTimeout);
+    final CountDownLatch release = new CountDownLatch(1);
+    final AtomicInteger queries = new AtomicInteger();
+    final Function<String, String> blockingQuery = input -> {
+      queries.incrementAndGet();
+      awaitUninterruptibly(release);
+      return input;
+    };
+    final Thread hedgingWait = new Thread(() -> {
+      try {
+        queryTimeout.apply("input", blockingQuery, LONG_BUDGET_NANOS);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+    });
+    hedgingWait.start();
+    while (queries.get() < 2) {
+      Thread.onSpinWait();
+    }
+    try {
+      queryTimeout.apply("input", blockingQuery, TimeUnit.MILLISECONDS.toNanos(200L));
+      fail("Query should have timed out.");
+    } catch (StateQueryTimeoutException ignored) {
+    } finally {
+      release.countDown();
+    }
+    hedgingWait.join();
+    assertEquals("Second wait should not hedge while the first hedge is in flight.", 3, queries.get());
+  }
+
+  @Test
+  public void hedged_apply_should_release_permit_of_rejected_hedge() throws Exception {
+    final RejectingExecutor executor = new RejectingExecutor();
+    try {
+      final QueryTimeout queryTimeout = QueryTimeout.on(executor, 0L, TimeUnit.MILLISECONDS).hedged(50d, 1);
+      train(queryTimeout);
+      // Accept the first query only, reject its hedge.
+      executor.accepted.set(1);
+      assertEquals("Result of first query expected.", "slow", queryTimeout.apply("input", input -> {
+        sleep(50L);
+        return "slow";
+      }, LONG_BUDGET_NANOS));
+      executor.accepted.set(Integer.MAX_VALUE);
+      final CountDownLatch interrupted = new CountDownLatch(1);
+      final AtomicInteger queries = new AtomicInteger();
+      assertEquals("Rejected hedge should not keep its permit.", "hedge",
+              queryTimeout.apply("input", input -> queries.incrementAndGet() == 1 ? hang(interrupted) : "hedge", LONG_BUDGET_NANOS));
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void hedged_should_reject_invalid_percentile() throws Exception {
+    QueryTimeout.pooled(0L, TimeUnit.MILLISECONDS).hedged(0d, 1);
+  }
+
+  @Test
+  public void toString_should_contain_necessary_information() throws Throwable { // NOSONAR: from JUnit
+    toStringTestlet(QueryTimeout.pooled(10L, TimeUnit.MILLISECONDS).hedged(95d, 2)).run();
+  }
+
+  private static void train(final QueryTimeout queryTimeout) throws InterruptedException {
+    for (int i = 0; i < TRAINING_QUERIES; i++) {
+      queryTimeout.apply("input", input -> input, LONG_BUDGET_NANOS);
+    }
+  }
+
+  private static String hang(final CountDownLatch interrupted) {
+    try {
+      Thread.sleep(TimeUnit.MINUTES.toMillis(1L));
+    } catch (InterruptedException e) {
+      interrupted.countDown();
+    }
+    return "hung";
+  }
+
+  private static void sleep(final long millis) {
+    try {
+      Thread.sleep(millis);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  private static void awaitUninterruptibly(final CountDownLatch latch) {
+    boolean interrupted = false;
+    while (latch.getCount() > 0L) {
+      try {
+        latch.await();
+      } catch (InterruptedException e) {
+        interrupted = true;
+      }
+    }
+    if (interrupted) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  /**
+   * Cached thread pool which rejects tasks once the given number of tasks has been accepted.
+   */
+  private static final class RejectingExecutor extends ThreadPoolExecutor {
+    private final AtomicInteger accepted = new AtomicInteger(Integer.MAX_VALUE);
+
+    private RejectingExecutor() {
+      super(0, Integer.MAX_VALUE, 1L, TimeUnit.MINUTES, new SynchronousQueue<>());
+    }
+
+    @Override
+    public void execute(final Runnable command) {
+      if (accepted.getAndDecrement() <= 0) {
+        throw new RejectedExecutionException("Rejected for testing.");
+      }
+      super.execute(command);
+    }
+  }
+}
@@ -0,0 +1,72 @@
+/*
+ * Copyright 2026 CoreMedia AG
+ *
+ * This file is part of Joala.
+ *
+ * Joala is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Joala is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Joala.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package net.joala.condition.timing;
+
+import com.google.common.base.Function;
+import org.junit.Test;
+
+import javax.annotation.Nullable;
+
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assume.assumeFalse;
+import static org.junit.Assume.assumeTrue;
+
+/**
+ * <p>
+ * Tests {@link VirtualThreadWait}.
+ * </p>
+ *
+ * @since 10/18/26
+ */
+public class VirtualThreadWaitTest {
+  @Test
+  public void until_runs_delegate_in_other_thread() throws Exception {
+    assumeTrue("Virtual threads required.", VirtualThreadWait.isAvailable());
+    final Thread caller = Thread.currentThread();
+    final Thread waiter = new VirtualThreadWait(new DeceleratingWait()).until(new Object(), new CurrentThreadFunction());
+    assertNotSame("Wait should have been performed in another thread.", caller, waiter);
+  }
+
+  @Test(expected = WaitTimeoutException.class)
+  public void until_rethrows_exceptions_of_delegate() throws Exception {
+    assumeTrue("Virtual threads required.", VirtualThreadWait.isAvailable());
+    new VirtualThreadWait(new DeceleratingWait()).until(new Object(), new CurrentThreadFunction(), nullValue());
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void constructor_fails_if_virtual_threads_are_not_available() throws Exception {
+    assumeFalse("Virtual threads must not be available.", VirtualThreadWait.isAvailable());
+    new VirtualThreadWait(new DeceleratingWait());
+  }
+
+  @Test
+  public void isAvailable_reflects_runtime_version() throws Exception {
+    assertEquals("Virtual threads are available as of Java 21.", Runtime.version().feature() >= 21, VirtualThreadWait.isAvailable());
+  }
+
+  private static final class CurrentThreadFunction implements Function<Object, Thread> {
+    @Override
+    public Thread apply(@Nullable final Object input) {
+      return Thread.currentThread();
+    }
+  }
+}
@@ -19,6 +19,7 @@
 
 package net.joala.condition.timing;
 
+import com.google.common.base.Strings;
 import org.apache.commons.text.RandomStringGenerator;
 import org.hamcrest.Matchers;
 import org.junit.Test;
@@ -192,6 +193,44 @@ public abstract class WaitFailStrategyTest<S extends WaitFailStrategy, T extends
     }
   }
 
+  @Test
+  public void cancelled_should_throw_cancellation_exception_containing_message() throws Exception {
+    final S strategy = getFailStrategy();
+    final String message = FAIL_MESSAGE_PROVIDER.get();
+    try {
+      strategy.cancelled(message, failedFunction, failedInput, CONSUMED_MILLIS_PROVIDER.get());
+      fail("Exception should have been thrown.");
+    } catch (WaitCancelledException e) {
+      assertThat("Message should be contained in exception message.", e.getMessage(), containsString(message));
+    }
+  }
+
+  @Test
+  public void fail_should_truncate_huge_descriptions() throws Exception {
+    final S strategy = getFailStrategy();
+    final String hugeInput = Strings.repeat("x", 100 * AbstractWaitFailStrategy.MAX_DESCRIPTION_LENGTH);
+    try {
+      strategy.fail(FAIL_MESSAGE_PROVIDER.get(), failedFunction, hugeInput, failedLastValue, Matchers.nullValue(), CONSUMED_MILLIS_PROVIDER.get());
+      fail("Exception should have been thrown.");
+    } catch (Throwable t) {
+      assertThat("Raised exception should be of expected type.", t, Matchers.instanceOf(getRaisedExceptionType()));
+      assertThat("Description should have been truncated.", t.getMessage(), containsString("characters truncated"));
+      assertThat("Message should be short.", t.getMessage().length(), Matchers.lessThan(10 * AbstractWaitFailStrategy.MAX_DESCRIPTION_LENGTH));
+    }
+  }
+
+  @Test
+  public void terminal_should_throw_expected_exception_type_mentioning_terminal_state() throws Exception {
+    final S strategy = getFailStrategy();
+    final String message = FAIL_MESSAGE_PROVIDER.get();
+    try {
+      strategy.terminal(message, failedFunction, failedInput, failedLastValue, Matchers.equalTo(failedLastValue), CONSUMED_MILLIS_PROVIDER.get());
+      fail("Exception should have been thrown.");
+    } catch (Throwable t) {
+      assertThat("Raised exception should be of expected type.", t, Matchers.instanceOf(getRaisedExceptionType()));
+      assertThat("Terminal state should be mentioned.", t.getMessage(), containsString("Terminal state reached: " + message));
+    }
+  }
 
   protected abstract Class<T> getRaisedExceptionType();
 
@@ -0,0 +1,157 @@
+/*
+ * Copyright 2026 CoreMedia AG
+ *
+ * This file is part of Joala.
+ *
+ * Joala is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Joala is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Joala.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package net.joala.condition.timing;
+
+import net.joala.time.Timeout;
+import net.joala.time.TimeoutImpl;
+import net.joala.time.VirtualTimeSource;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static net.joala.testlet.ToStringTestlet.toStringTestlet;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThan;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertThat;
+
+/**
+ * Tests {@link WaitProfileStore}.
+ *
+ * @since 10/18/26
+ */
+public class WaitProfileStoreTest {
+  private static final String KEY = "cache warmup";
+  private static final long WARMUP_MILLIS = 4000L;
+  private static final BackoffPolicy FALLBACK = BackoffPolicies.fixedDelay(100L, TimeUnit.MILLISECONDS);
+
+  @Rule
+  public final TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+  private final VirtualTimeSource time = new VirtualTimeSource();
+
+  @Test
+  public void should_use_fallback_without_enough_observations() throws IOException {
+    final WaitProfileStore store = WaitProfileStore.load(profileFile());
+    for (int i = 1; i < WaitProfileStore.MIN_SAMPLES; i++) {
+      awaitWarmup(store);
+    }
+    assertSame("Fallback should be used.", FALLBACK, store.backoffPolicy(KEY, FALLBACK));
+    assertNull("No timeout should be suggested.", store.suggestedTimeout(KEY));
+  }
+
+  @Test
+  public void should_skip_early_polls_once_learned() throws IOException {
+    final WaitProfileStore store = WaitProfileStore.load(profileFile());
+    int unprofiledPolls = 0;
+    for (int i = 0; i < WaitProfileStore.MIN_SAMPLES; i++) {
+      unprofiledPolls = awaitWarmup(store);
+    }
+    final long before = time.nanoTime();
+    final int profiledPolls = awaitWarmup(store);
+    assertThat("Profile should save polls.", profiledPolls, lessThan(unprofiledPolls / 4));
+    assertThat("Profile should not delay success much.", TimeUnit.NANOSECONDS.toMillis(time.nanoTime() - before), lessThanOrEqualTo(WARMUP_MILLIS + 250L));
+  }
+
+  @Test
+  public void should_suggest_timeout_with_headroom() throws IOException {
+    final WaitProfileStore store = WaitProfileStore.load(profileFile());
+    for (int i = 0; i < WaitProfileStore.MIN_SAMPLES; i++) {
+      awaitWarmup(store);
+    }
+    final Timeout timeout = store.suggestedTimeout(KEY);
+    assertNotNull("Timeout should be suggested.", timeout);
+    assertEquals("Suggested timeout should be p99 with headroom.", 8000L, timeout.in(TimeUnit.MILLISECONDS));
+  }
+
+  @Test
+  public void should_persist_profiles_across_runs() throws IOException {
+    final Path file = profileFile();
+    final WaitProfileStore store = WaitProfileStore.load(file);
+    for (int i = 0; i < WaitProfileStore.MIN_SAMPLES; i++) {
+      awaitWarmup(store);
+    }
+    store.save();
+    assertThat("Samples should be stored in milliseconds.", read(file), containsString("cache\\ warmup=4000,4000,4000"));
+    final Timeout timeout = WaitProfileStore.load(file).suggestedTimeout(KEY);
+    assertNotNull("Profile should be loaded.", timeout);
+    assertEquals("Loaded profile should suggest same timeout.", 8000L, timeout.in(TimeUnit.MILLISECONDS));
+  }
+
+  @Test
+  public void should_remember_most_recent_samples_only() throws IOException {
+    final Path file = profileFile();
+    final WaitProfileStore store = WaitProfileStore.load(file);
+    for (int i = 0; i < WaitProfileStore.MAX_SAMPLES; i++) {
+      store.record(KEY, TimeUnit.SECONDS.toNanos(100L));
+    }
+    for (int i = 0; i < WaitProfileStore.MAX_SAMPLES; i++) {
+      store.record(KEY, TimeUnit.SECONDS.toNanos(1L));
+    }
+    final Timeout timeout = store.suggestedTimeout(KEY);
+    assertNotNull("Timeout should be suggested.", timeout);
+    assertEquals("Old samples should be forgotten.", 2000L, timeout.in(TimeUnit.MILLISECONDS));
+  }
+
+  @Test
+  public void should_ignore_invalid_samples() throws IOException {
+    final Path file = profileFile();
+    Files.write(file, "cache\\ warmup=1000,oops,1000,1000\n".getBytes(StandardCharsets.UTF_8));
+    final Timeout timeout = WaitProfileStore.load(file).suggestedTimeout(KEY);
+    assertNotNull("Valid samples should be loaded.", timeout);
+    assertEquals("Valid samples should be used.", 2000L, timeout.in(TimeUnit.MILLISECONDS));
+  }
+
+  @Test
+  public void toString_should_contain_field_values() throws Throwable {
+    toStringTestlet(WaitProfileStore.load(profileFile())).run();
+  }
+
+  private int awaitWarmup(final WaitProfileStore store) {
+    final Wait wait = store.waitFactory(FALLBACK, time, time).createWait(new TimeoutImpl(1L, TimeUnit.MINUTES), 1d, new WaitTimeoutFailStrategy());
+    final long warmedUp = time.nanoTime() + TimeUnit.MILLISECONDS.toNanos(WARMUP_MILLIS);
+    final AtomicInteger polls = new AtomicInteger();
+    wait.until(KEY, this, input -> {
+      polls.incrementAndGet();
+      return time.nanoTime() - warmedUp >= 0L;
+    }, is(true));
+    return polls.get();
+  }
+
+  private Path profileFile() throws IOException {
+    return temporaryFolder.newFolder().toPath().resolve("wait-profiles.properties");
+  }
+
+  private static String read(final Path file) throws IOException {
+    return new String(Files.readAllBytes(file), StandardCharsets.UTF_8);
+  }
+}
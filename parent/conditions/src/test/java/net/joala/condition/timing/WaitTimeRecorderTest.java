@@ -0,0 +1,107 @@
+/*
+ * Copyright 2026 CoreMedia AG
+ *
+ * This file is part of Joala.
+ *
+ * Joala is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Joala is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Joala.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package net.joala.condition.timing;
+
+import net.joala.time.TimeoutImpl;
+import net.joala.time.VirtualTimeSource;
+import org.hamcrest.Matchers;
+import org.junit.After;
+import org.junit.Test;
+
+import javax.annotation.Nonnegative;
+import javax.annotation.Nonnull;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static net.joala.testlet.ToStringTestlet.toStringTestlet;
+import static org.hamcrest.Matchers.containsString;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+
+/**
+ * Tests {@link WaitTimeRecorder} and the notification of {@link WaitListener}s.
+ *
+ * @since 10/18/26
+ */
+public class WaitTimeRecorderTest {
+  private final WaitTimeRecorder recorder = new WaitTimeRecorder();
+  private final VirtualTimeSource time = new VirtualTimeSource();
+  private final DeceleratingWait wait = new DeceleratingWait(new TimeoutImpl(1L, TimeUnit.MINUTES), 1d, new WaitTimeoutFailStrategy(),
+          BackoffPolicies.fixedDelay(1L, TimeUnit.SECONDS), time, time);
+
+  @After
+  public void tearDown() {
+    WaitListeners.unregister(recorder);
+  }
+
+  @Test
+  public void should_record_successful_waits_by_message() {
+    WaitListeners.register(recorder);
+    final AtomicInteger polls = new AtomicInteger();
+    wait.until("third time lucky", this, input -> polls.incrementAndGet(), Matchers.equalTo(3));
+    final String summary = recorder.summary();
+    assertThat("Message should be the key.", summary, containsString("third time lucky: total 2 s in 1 waits (1 succeeded, 0 timed out, 0 aborted)"));
+    assertThat("Polls should be recorded.", summary, containsString("polls p50 3, p99 3, max 3"));
+  }
+
+  @Test
+  public void should_record_timed_out_waits() {
+    WaitListeners.register(recorder);
+    try {
+      wait.until("never", this, input -> false, Matchers.equalTo(true));
+      fail("Wait should have timed out.");
+    } catch (WaitTimeoutException ignored) {
+      // fine
+    }
+    assertThat("Timeout should be recorded.", recorder.summary(), containsString("never: total 60 s in 1 waits (0 succeeded, 1 timed out, 0 aborted)"));
+  }
+
+  @Test
+  public void should_not_record_without_registration() {
+    wait.until("unobserved", this, input -> true, null);
+    assertEquals("Nothing should be recorded.", "Wait statistics, ordered by total wait time:", recorder.summary());
+  }
+
+  @Test
+  public void failing_listener_should_not_affect_wait() {
+    final WaitListener failing = new FailingWaitListener();
+    WaitListeners.register(failing);
+    WaitListeners.register(recorder);
+    try {
+      assertEquals("Wait should succeed.", Boolean.TRUE, wait.until("failing listener", this, input -> true, null));
+    } finally {
+      WaitListeners.unregister(failing);
+    }
+    assertThat("Other listeners should be notified.", recorder.summary(), containsString("failing listener"));
+  }
+
+  @Test
+  public void toString_should_contain_necessary_information() throws Throwable { // NOSONAR: from JUnit
+    toStringTestlet(recorder).run();
+  }
+
+  private static final class FailingWaitListener implements WaitListener {
+    @Override
+    public void polled(@Nonnull final WaitObservation wait, @Nonnegative final long queryNanos, @Nonnull final PollOutcome outcome) {
+      throw new IllegalStateException("Failing listener.");
+    }
+  }
+}
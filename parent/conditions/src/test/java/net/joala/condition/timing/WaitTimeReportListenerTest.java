@@ -0,0 +1,119 @@
+/*
+ * Copyright 2026 CoreMedia AG
+ *
+ * This file is part of Joala.
+ *
+ * Joala is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Joala is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Joala.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package net.joala.condition.timing;
+
+import net.joala.time.TimeoutImpl;
+import net.joala.time.VirtualTimeSource;
+import org.hamcrest.Matchers;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.JUnitCore;
+import org.junit.runner.Result;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static net.joala.testlet.ToStringTestlet.toStringTestlet;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.lessThan;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests {@link WaitTimeReportListener}.
+ *
+ * @since 10/18/26
+ */
+public class WaitTimeReportListenerTest {
+  @Rule
+  public final TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+  public static class WaitingTest {
+    private final VirtualTimeSource time = new VirtualTimeSource();
+
+    @Test
+    public void polls_three_times() {
+      final AtomicInteger polls = new AtomicInteger();
+      minutesWait(10L).until("third time lucky", this, input -> polls.incrementAndGet(), Matchers.equalTo(3));
+    }
+
+    @Test
+    public void almost_times_out() {
+      final AtomicInteger polls = new AtomicInteger();
+      minutesWait(10L).until("close call", this, input -> polls.incrementAndGet(), Matchers.equalTo(10));
+    }
+
+    private Wait minutesWait(final long timeoutMinutes) {
+      return new DeceleratingWait(new TimeoutImpl(timeoutMinutes, TimeUnit.MINUTES), 1d, new WaitTimeoutFailStrategy(),
+              BackoffPolicies.fixedDelay(1L, TimeUnit.MINUTES), time, time);
+    }
+  }
+
+  @Test
+  public void should_write_ranked_text_report() throws IOException {
+    final Path directory = run();
+    final String text = read(directory.resolve(WaitTimeReportListener.TEXT_FILE_NAME));
+    assertThat("Conditions should be ranked by sleep time.", text.indexOf("close call: sleep 9 min"), lessThan(text.indexOf("third time lucky: sleep 2 min")));
+    assertThat("Average polls until success should be reported.", text, containsString("third time lucky: sleep 2 min, total 2 min in 1 waits (1 succeeded, 0 timed out, 0 aborted), 3.0 polls until success"));
+    assertThat("Tests should be reported.", text, containsString(WaitingTest.class.getName() + ".almost_times_out: sleep 9 min"));
+    assertThat("Close calls should be reported.", text, containsString("close call in " + WaitingTest.class.getName() + ".almost_times_out: 9 min of 10 min (90%)"));
+    assertThat("Waits far from their timeout should not be close calls.", text, Matchers.not(containsString("third time lucky in ")));
+  }
+
+  @Test
+  public void should_write_json_report() throws IOException {
+    final Path directory = run();
+    final String json = read(directory.resolve(WaitTimeReportListener.JSON_FILE_NAME));
+    assertTrue("JSON should be an object.", json.startsWith("{\"conditions\":[{\"name\":\"close call\",\"waits\":1"));
+    assertThat("Tests should be contained.", json, containsString("\"tests\":[{\"name\":\"" + WaitingTest.class.getName() + ".almost_times_out\""));
+    assertThat("Close calls should be contained.", json, containsString(
+            "\"closeToTimeout\":[{\"condition\":\"close call\",\"test\":\"" + WaitingTest.class.getName() + ".almost_times_out\",\"waitMillis\":540000,\"timeoutMillis\":600000}]}"));
+  }
+
+  @Test
+  public void quote_should_escape_json_strings() {
+    assertEquals("Quotes, backslashes and control characters should be escaped.",
+            "\"say \\\"a\\\\b\\\"\\u000a\"", WaitTimeReportListener.quote("say \"a\\b\"\n"));
+  }
+
+  @Test
+  public void toString_should_contain_field_values() throws Throwable {
+    toStringTestlet(new WaitTimeReportListener(temporaryFolder.getRoot().toPath())).run();
+  }
+
+  private Path run() throws IOException {
+    final Path directory = temporaryFolder.newFolder().toPath().resolve("report");
+    final JUnitCore core = new JUnitCore();
+    core.addListener(new WaitTimeReportListener(directory));
+    final Result result = core.run(WaitingTest.class);
+    assertTrue("Waiting tests should pass.", result.wasSuccessful());
+    return directory;
+  }
+
+  private static String read(final Path file) throws IOException {
+    return new String(Files.readAllBytes(file), StandardCharsets.UTF_8);
+  }
+}
@@ -19,6 +19,18 @@
 
 package net.joala.condition.timing;
 
+import org.hamcrest.Description;
+import org.hamcrest.Matchers;
+import org.hamcrest.SelfDescribing;
+import org.junit.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.core.StringContains.containsString;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+
 /**
  * @since 8/27/12
  */
@@ -32,4 +44,28 @@ public class WaitTimeoutFailStrategyTest extends WaitFailStrategyTest<WaitTimeou
   protected WaitTimeoutFailStrategy getFailStrategy() {
     return new WaitTimeoutFailStrategy();
   }
+
+  @Test
+  public void fail_should_describe_failure_only_on_request() throws Exception {
+    final CountingInput input = new CountingInput();
+    try {
+      getFailStrategy().fail("reason", "function", input, "lastValue", Matchers.equalTo("expected"), 1L);
+      fail("Exception should have been thrown.");
+    } catch (WaitTimeoutException e) {
+      assertEquals("Input should not have been described yet.", 0, input.descriptions.get());
+      assertThat("Message should be rendered on request.", e.getMessage(), containsString("reason"));
+      assertThat("Message should be stable.", e.getMessage(), containsString("reason"));
+      assertEquals("Input should have been described once.", 1, input.descriptions.get());
+    }
+  }
+
+  private static final class CountingInput implements SelfDescribing {
+    private final AtomicInteger descriptions = new AtomicInteger();
+
+    @Override
+    public void describeTo(final Description description) {
+      descriptions.incrementAndGet();
+      description.appendText("counting input");
+    }
+  }
 }
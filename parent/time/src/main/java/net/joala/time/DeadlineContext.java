@@ -0,0 +1,320 @@
+/*
+ * Copyright 2026 CoreMedia AG
+ *
+ * This file is part of Joala.
+ *
+ * Joala is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Joala is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Joala.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package net.joala.time;
+
+import com.google.common.base.MoreObjects;
+
+import javax.annotation.Nonnegative;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.concurrent.Callable;
+import java.util.concurrent.TimeUnit;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+import static com.google.common.base.Preconditions.checkState;
+
+/**
+ * <p>
+ * Time budget for a scope, like a test step which awaits several conditions in sequence. Timeouts
+ * {@link #capped(Timeout) capped} by the context never exceed the remaining budget of the context
+ * which is current for the thread:
+ * </p>
+ * <pre>{@code
+ * try (DeadlineContext step = DeadlineContext.open(30L, TimeUnit.SECONDS)) {
+ *   first.await();
+ *   second.await(); // waits at most for what first left over
+ * }
+ * }</pre>
+ * <p>
+ * Contexts can be nested; a nested context never extends the deadline of its parent. Closing a context
+ * makes its parent current again. To let tasks in other threads use the context of the current thread,
+ * wrap them by {@link #propagate(Runnable)} or {@link #propagate(Callable)}.
+ * </p>
+ *
+ * @since 10/18/26
+ */
+public final class DeadlineContext implements AutoCloseable {
+  private static final ThreadLocal<DeadlineContext> CURRENT = new ThreadLocal<>();
+
+  @Nullable
+  private final DeadlineContext parent;
+  @Nonnull
+  private final TimeSource timeSource;
+  private final long deadlineNanos;
+  private boolean closed;
+  /**
+   * The most recently capped timeout. Capped timeouts compute the remaining budget on each call, thus
+   * handing out the same instance again keeps callers which cache by timeout effective.
+   */
+  @Nullable
+  private transient volatile CappedTimeout lastCapped;
+
+  private DeadlineContext(@Nullable final DeadlineContext parent, @Nonnull final TimeSource timeSource, final long deadlineNanos) {
+    this.parent = parent;
+    this.timeSource = timeSource;
+    this.deadlineNanos = deadlineNanos;
+  }
+
+  /**
+   * <p>
+   * Open a context with the given budget and make it current for this thread. If another context is current,
+   * the new context uses its time source and ends at the latest with it.
+   * </p>
+   *
+   * @param budget the time budget of the scope
+   * @param unit   unit of the budget
+   * @return the opened context; close it at the end of the scope
+   */
+  @Nonnull
+  public static DeadlineContext open(@Nonnegative final long budget, @Nonnull final TimeUnit unit) {
+    final DeadlineContext current = CURRENT.get();
+    return open(budget, unit, current == null ? SystemTimeSource.INSTANCE : current.timeSource);
+  }
+
+  /**
+   * <p>
+   * Open a context with the given budget measured by the given time source and make it current for this thread.
+   * </p>
+   *
+   * @param budget     the time budget of the scope
+   * @param unit       unit of the budget
+   * @param timeSource source of the time to measure the budget
+   * @return the opened context; close it at the end of the scope
+   */
+  @Nonnull
+  public static DeadlineContext open(@Nonnegative final long budget, @Nonnull final TimeUnit unit, @Nonnull final TimeSource timeSource) {
+    checkArgument(budget >= 0L, "Budget must not be negative: %s", budget);
+    checkNotNull(unit, "Time unit must not be null.");
+    checkNotNull(timeSource, "Time source must not be null.");
+    final DeadlineContext parent = CURRENT.get();
+    long deadlineNanos = timeSource.nanoTime() + unit.toNanos(budget);
+    if (parent != null && parent.timeSource == timeSource && parent.deadlineNanos - deadlineNanos < 0L) {
+      deadlineNanos = parent.deadlineNanos;
+    }
+    final DeadlineContext context = new DeadlineContext(parent, timeSource, deadlineNanos);
+    CURRENT.set(context);
+    return context;
+  }
+
+  /**
+   * <p>
+   * The context which is current for this thread.
+   * </p>
+   *
+   * @return current context; {@code null} if none
+   */
+  @Nullable
+  public static DeadlineContext current() {
+    return CURRENT.get();
+  }
+
+  /**
+   * <p>
+   * Cap the given timeout by the remaining budget of the current context. The remaining budget is determined
+   * whenever the timeout gets queried.
+   * </p>
+   *
+   * @param timeout the timeout to cap
+   * @return the capped timeout; the given timeout if no context is current
+   * @throws DeadlineExceededException if the budget of the current context is already spent
+   */
+  @Nonnull
+  public static Timeout capped(@Nonnull final Timeout timeout) {
+    checkNotNull(timeout, "Timeout must not be null.");
+    final DeadlineContext current = CURRENT.get();
+    if (current == null) {
+      return timeout;
+    }
+    current.checkNotExpired();
+    return current.cap(timeout);
+  }
+
+  /**
+   * <p>
+   * Let the given task run within the context which is current for this thread at the time of this call.
+   * </p>
+   *
+   * @param task the task to wrap
+   * @return wrapped task; the given task if no context is current
+   */
+  @Nonnull
+  public static Runnable propagate(@Nonnull final Runnable task) {
+    checkNotNull(task, "Task must not be null.");
+    final DeadlineContext captured = CURRENT.get();
+    if (captured == null) {
+      return task;
+    }
+    return () -> {
+      final DeadlineContext previous = CURRENT.get();
+      CURRENT.set(captured);
+      try {
+        task.run();
+      } finally {
+        restore(previous);
+      }
+    };
+  }
+
+  /**
+   * <p>
+   * Let the given task run within the context which is current for this thread at the time of this call.
+   * </p>
+   *
+   * @param task the task to wrap
+   * @param <T>  result type of the task
+   * @return wrapped task; the given task if no context is current
+   */
+  @Nonnull
+  public static <T> Callable<T> propagate(@Nonnull final Callable<T> task) {
+    checkNotNull(task, "Task must not be null.");
+    final DeadlineContext captured = CURRENT.get();
+    if (captured == null) {
+      return task;
+    }
+    return () -> {
+      final DeadlineContext previous = CURRENT.get();
+      CURRENT.set(captured);
+      try {
+        return task.call();
+      } finally {
+        restore(previous);
+      }
+    };
+  }
+
+  /**
+   * <p>
+   * The remaining budget of this context.
+   * </p>
+   *
+   * @param unit unit of the result
+   * @return remaining budget; 0 if spent
+   */
+  @Nonnegative
+  public long remaining(@Nonnull final TimeUnit unit) {
+    checkNotNull(unit, "Time unit must not be null.");
+    return unit.convert(Math.max(0L, deadlineNanos - timeSource.nanoTime()), TimeUnit.NANOSECONDS);
+  }
+
+  /**
+   * <p>
+   * Signals if the budget of this context is spent.
+   * </p>
+   *
+   * @return {@code true} if the deadline has been reached
+   */
+  public boolean isExpired() {
+    return timeSource.nanoTime() - deadlineNanos >= 0L;
+  }
+
+  /**
+   * <p>
+   * Fail if the budget of this context is spent.
+   * </p>
+   *
+   * @throws DeadlineExceededException if the deadline has been reached
+   */
+  public void checkNotExpired() {
+    if (isExpired()) {
+      throw new DeadlineExceededException("Time budget of deadline context spent.");
+    }
+  }
+
+  /**
+   * <p>
+   * Close this context and make its parent current again.
+   * </p>
+   *
+   * @throws IllegalStateException if this context is not the current context of this thread
+   */
+  @Override
+  public void close() {
+    if (closed) {
+      return;
+    }
+    checkState(CURRENT.get() == this, "Deadline context must be closed by its thread in reverse order of opening.");
+    closed = true;
+    restore(parent);
+  }
+
+  @Nonnull
+  private Timeout cap(@Nonnull final Timeout timeout) {
+    final CappedTimeout last = lastCapped;
+    if (last != null && last.timeout == timeout) {
+      return last;
+    }
+    final CappedTimeout capped = new CappedTimeout(timeout, this);
+    lastCapped = capped;
+    return capped;
+  }
+
+  private static void restore(@Nullable final DeadlineContext context) {
+    if (context == null) {
+      CURRENT.remove();
+    } else {
+      CURRENT.set(context);
+    }
+  }
+
+  @Override
+  public String toString() {
+    return MoreObjects.toStringHelper(this)
+                      .add("parent", parent)
+                      .add("timeSource", timeSource)
+                      .add("deadlineNanos", deadlineNanos)
+                      .add("closed", closed)
+                      .toString();
+  }
+
+  private static final class CappedTimeout implements Timeout {
+    @Nonnull
+    private final Timeout timeout;
+    @Nonnull
+    private final DeadlineContext context;
+
+    private CappedTimeout(@Nonnull final Timeout timeout, @Nonnull final DeadlineContext context) {
+      this.timeout = timeout;
+      this.context = context;
+    }
+
+    @Override
+    @Nonnegative
+    @SuppressWarnings("PMD.ShortMethodName")
+    public long in(@Nonnull final TimeUnit targetUnit) {
+      return in(targetUnit, 1d);
+    }
+
+    @Override
+    @Nonnegative
+    @SuppressWarnings("PMD.ShortMethodName")
+    public long in(@Nonnull final TimeUnit targetUnit, @Nonnegative final double factor) {
+      return Math.min(timeout.in(targetUnit, factor), context.remaining(targetUnit));
+    }
+
+    @Override
+    public String toString() {
+      return MoreObjects.toStringHelper(this)
+                        .add("timeout", timeout)
+                        .add("context", context)
+                        .toString();
+    }
+  }
+}
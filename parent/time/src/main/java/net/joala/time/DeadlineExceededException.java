@@ -0,0 +1,35 @@
+/*
+ * Copyright 2026 CoreMedia AG
+ *
+ * This file is part of Joala.
+ *
+ * Joala is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Joala is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Joala.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package net.joala.time;
+
+import javax.annotation.Nullable;
+
+/**
+ * <p>
+ * Signals that the budget of a {@link DeadlineContext} is spent.
+ * </p>
+ *
+ * @since 10/18/26
+ */
+public class DeadlineExceededException extends RuntimeException {
+  public DeadlineExceededException(@Nullable final String message) {
+    super(message);
+  }
+}
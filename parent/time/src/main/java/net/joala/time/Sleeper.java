@@ -0,0 +1,44 @@
+/*
+ * Copyright 2026 CoreMedia AG
+ *
+ * This file is part of Joala.
+ *
+ * Joala is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Joala is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Joala.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package net.joala.time;
+
+import javax.annotation.Nonnegative;
+
+/**
+ * <p>
+ * Pauses the current thread. Allows to replace real sleeping, for example by a {@link VirtualTimeSource}
+ * in tests.
+ * </p>
+ *
+ * @see TimeSource
+ * @see SystemTimeSource
+ * @since 10/18/26
+ */
+public interface Sleeper {
+  /**
+   * <p>
+   * Sleep the given number of nanoseconds as measured by the corresponding {@link TimeSource}.
+   * </p>
+   *
+   * @param nanos how long to sleep
+   * @throws InterruptedException if the current thread has been interrupted
+   */
+  void sleep(@Nonnegative long nanos) throws InterruptedException;
+}
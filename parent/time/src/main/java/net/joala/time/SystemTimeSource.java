@@ -0,0 +1,53 @@
+/*
+ * Copyright 2026 CoreMedia AG
+ *
+ * This file is part of Joala.
+ *
+ * Joala is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Joala is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Joala.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package net.joala.time;
+
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * <p>
+ * Time source and sleeper based on the system's monotonic clock {@link System#nanoTime()}. Sleeping parks the
+ * current thread instead of using {@link Thread#sleep(long)}, so that delays of some microseconds are possible.
+ * </p>
+ *
+ * @since 10/18/26
+ */
+public enum SystemTimeSource implements TimeSource, Sleeper {
+  INSTANCE;
+
+  @Override
+  public long nanoTime() {
+    return System.nanoTime();
+  }
+
+  @Override
+  public void sleep(final long nanos) throws InterruptedException {
+    final long wakeUpTimeNanos = System.nanoTime() + nanos;
+    long remainingNanos = nanos;
+    while (remainingNanos > 0L) {
+      LockSupport.parkNanos(this, remainingNanos);
+      if (Thread.interrupted()) {
+        throw new InterruptedException("Interrupted while sleeping.");
+      }
+      // Park may return spuriously.
+      remainingNanos = wakeUpTimeNanos - System.nanoTime();
+    }
+  }
+}
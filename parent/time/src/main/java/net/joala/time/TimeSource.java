@@ -0,0 +1,42 @@
+/*
+ * Copyright 2026 CoreMedia AG
+ *
+ * This file is part of Joala.
+ *
+ * Joala is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Joala is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Joala.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package net.joala.time;
+
+/**
+ * <p>
+ * Source of a monotonic time used to measure timeouts. Allows to replace the system time, for example
+ * by a {@link VirtualTimeSource} in tests.
+ * </p>
+ *
+ * @see Sleeper
+ * @see SystemTimeSource
+ * @since 10/18/26
+ */
+public interface TimeSource {
+  /**
+   * <p>
+   * Get the current value of the time source in nanoseconds. As for {@link System#nanoTime()} the value is only
+   * meaningful compared to other values of the same time source.
+   * </p>
+   *
+   * @return current time in nanoseconds
+   */
+  long nanoTime();
+}
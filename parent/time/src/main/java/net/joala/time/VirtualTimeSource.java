@@ -0,0 +1,205 @@
+/*
+ * Copyright 2026 CoreMedia AG
+ *
+ * This file is part of Joala.
+ *
+ * Joala is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Joala is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Joala.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package net.joala.time;
+
+import com.google.common.base.MoreObjects;
+
+import javax.annotation.Nonnegative;
+import javax.annotation.Nonnull;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+import static java.lang.Thread.currentThread;
+
+/**
+ * <p>
+ * Virtual time for tests. Sleeping threads do not consume real time: as soon as every
+ * {@link #register() registered} thread sleeps, the time advances instantly to the earliest
+ * wake-up time of all sleeping threads. Thus tests which wait for timeouts finish in
+ * milliseconds but still observe the same sequence of events as with real time.
+ * </p>
+ * <p>
+ * For single-threaded tests no registration is required: a sleeping thread which is not
+ * registered never blocks the time from advancing. Register threads which change the
+ * observed state concurrently, so that the time does not run ahead of them while they are
+ * busy. Registered threads which terminate are ignored.
+ * </p>
+ * <p>
+ * <strong>Usage:</strong>
+ * </p>
+ * <pre>{@code
+ * VirtualTimeSource time = new VirtualTimeSource();
+ * Wait wait = new DeceleratingWait(timeout, 1d, failStrategy, BackoffPolicies.decelerating(), time, time);
+ * }</pre>
+ *
+ * @since 10/18/26
+ */
+public class VirtualTimeSource implements TimeSource, Sleeper {
+  @Nonnull
+  private final Object lock = new Object();
+  /**
+   * Registered threads. Guarded by lock.
+   */
+  @Nonnull
+  private final Set<Thread> participants = new HashSet<>();
+  /**
+   * Sleeping threads and their wake-up times. Guarded by lock.
+   */
+  @Nonnull
+  private final Map<Thread, Long> sleepers = new HashMap<>();
+  /**
+   * The current virtual time. Guarded by lock.
+   */
+  private long nowNanos;
+
+  /**
+   * <p>
+   * Create a virtual time source starting at zero.
+   * </p>
+   */
+  public VirtualTimeSource() {
+    this(0L);
+  }
+
+  /**
+   * <p>
+   * Create a virtual time source starting at the given time.
+   * </p>
+   *
+   * @param startNanos initial time in nanoseconds
+   */
+  public VirtualTimeSource(final long startNanos) {
+    nowNanos = startNanos;
+  }
+
+  @Override
+  public long nanoTime() {
+    synchronized (lock) {
+      return nowNanos;
+    }
+  }
+
+  /**
+   * <p>
+   * Register the current thread. The time does not advance while a registered thread is not sleeping.
+   * </p>
+   */
+  public void register() {
+    synchronized (lock) {
+      participants.add(currentThread());
+    }
+  }
+
+  /**
+   * <p>
+   * Deregister the current thread, so that the time may advance while the thread is busy.
+   * </p>
+   */
+  public void deregister() {
+    synchronized (lock) {
+      participants.remove(currentThread());
+      advanceIfIdle();
+    }
+  }
+
+  /**
+   * <p>
+   * Explicitly advance the time, waking up all threads whose wake-up time has been reached.
+   * </p>
+   *
+   * @param amount amount of time to advance
+   * @param unit   unit of the amount
+   */
+  public void advance(@Nonnegative final long amount, @Nonnull final TimeUnit unit) {
+    checkNotNull(unit, "Time unit must not be null.");
+    checkArgument(amount >= 0L, "Time can only advance: %s", amount);
+    synchronized (lock) {
+      nowNanos += unit.toNanos(amount);
+      lock.notifyAll();
+    }
+  }
+
+  @Override
+  public void sleep(final long nanos) throws InterruptedException {
+    if (Thread.interrupted()) {
+      throw new InterruptedException("Interrupted before sleeping.");
+    }
+    if (nanos <= 0L) {
+      return;
+    }
+    final Thread current = currentThread();
+    synchronized (lock) {
+      final long wakeUpNanos = nowNanos + nanos;
+      sleepers.put(current, wakeUpNanos);
+      try {
+        advanceIfIdle();
+        while (nowNanos - wakeUpNanos < 0L) {
+          lock.wait();
+        }
+      } finally {
+        sleepers.remove(current);
+        // Unregistered threads do not block the time, so others may advance now.
+        advanceIfIdle();
+      }
+    }
+  }
+
+  /**
+   * Advance to the earliest wake-up time if all registered threads sleep. Requires to hold the lock.
+   */
+  private void advanceIfIdle() {
+    if (sleepers.isEmpty()) {
+      return;
+    }
+    for (final Thread participant : participants) {
+      if (participant.isAlive() && !sleepers.containsKey(participant)) {
+        return;
+      }
+    }
+    long earliestWakeUpNanos = Long.MAX_VALUE;
+    boolean first = true;
+    for (final long wakeUpNanos : sleepers.values()) {
+      if (first || wakeUpNanos - earliestWakeUpNanos < 0L) {
+        earliestWakeUpNanos = wakeUpNanos;
+        first = false;
+      }
+    }
+    if (earliestWakeUpNanos - nowNanos > 0L) {
+      nowNanos = earliestWakeUpNanos;
+    }
+    lock.notifyAll();
+  }
+
+  @Override
+  public String toString() {
+    synchronized (lock) {
+      return MoreObjects.toStringHelper(this)
+                        .add("nowNanos", nowNanos)
+                        .add("participants", participants.size())
+                        .add("sleepers", sleepers.size())
+                        .toString();
+    }
+  }
+}
@@ -0,0 +1,142 @@
+/*
+ * Copyright 2026 CoreMedia AG
+ *
+ * This file is part of Joala.
+ *
+ * Joala is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Joala is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Joala.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package net.joala.time;
+
+import org.junit.Test;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static net.joala.testlet.ToStringTestlet.toStringTestlet;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Tests {@link DeadlineContext}.
+ *
+ * @since 10/18/26
+ */
+@SuppressWarnings("ProhibitedExceptionDeclared")
+public class DeadlineContextTest {
+  private static final Timeout HOUR = new TimeoutImpl(1L, TimeUnit.HOURS);
+
+  @Test
+  public void capped_timeout_should_not_exceed_remaining_budget() throws Exception {
+    final VirtualTimeSource time = new VirtualTimeSource();
+    try (DeadlineContext ignored = DeadlineContext.open(10L, TimeUnit.SECONDS, time)) {
+      final Timeout capped = DeadlineContext.capped(HOUR);
+      assertEquals("Timeout should be capped by budget.", 10L, capped.in(TimeUnit.SECONDS));
+      time.advance(4L, TimeUnit.SECONDS);
+      assertEquals("Remaining budget should be determined on query.", 6L, capped.in(TimeUnit.SECONDS, 2d));
+      assertEquals("Shorter timeouts should not be changed.", 1L, DeadlineContext.capped(new TimeoutImpl(1L, TimeUnit.SECONDS)).in(TimeUnit.SECONDS));
+    }
+  }
+
+  @Test
+  public void capped_should_return_same_timeout_for_same_context() throws Exception {
+    try (DeadlineContext ignored = DeadlineContext.open(10L, TimeUnit.SECONDS)) {
+      assertSame("Capped timeout should be reused.", DeadlineContext.capped(HOUR), DeadlineContext.capped(HOUR));
+    }
+  }
+
+  @Test
+  public void capped_should_return_timeout_unchanged_without_context() throws Exception {
+    assertSame("Timeout should not be wrapped.", HOUR, DeadlineContext.capped(HOUR));
+  }
+
+  @Test
+  public void capped_should_fail_fast_if_budget_spent() throws Exception {
+    final VirtualTimeSource time = new VirtualTimeSource();
+    try (DeadlineContext context = DeadlineContext.open(1L, TimeUnit.SECONDS, time)) {
+      time.advance(1L, TimeUnit.SECONDS);
+      assertTrue("Context should be expired.", context.isExpired());
+      DeadlineContext.capped(HOUR);
+      fail("Spent budget should be signalled.");
+    } catch (DeadlineExceededException ignored) {
+    }
+    assertNull("Context should have been closed.", DeadlineContext.current());
+  }
+
+  @Test
+  public void nested_context_should_not_extend_parent_deadline() throws Exception {
+    final VirtualTimeSource time = new VirtualTimeSource();
+    try (DeadlineContext parent = DeadlineContext.open(10L, TimeUnit.SECONDS, time)) {
+      try (DeadlineContext child = DeadlineContext.open(1L, TimeUnit.MINUTES)) {
+        assertSame("Child should be current.", child, DeadlineContext.current());
+        assertEquals("Child should end with parent.", 10L, child.remaining(TimeUnit.SECONDS));
+      }
+      try (DeadlineContext child = DeadlineContext.open(2L, TimeUnit.SECONDS)) {
+        assertEquals("Child may end before parent.", 2L, child.remaining(TimeUnit.SECONDS));
+      }
+      assertSame("Parent should be current again.", parent, DeadlineContext.current());
+    }
+    assertNull("No context expected after closing.", DeadlineContext.current());
+  }
+
+  @Test
+  public void propagate_should_run_task_in_captured_context() throws Exception {
+    final AtomicReference<DeadlineContext> seen = new AtomicReference<>();
+    final Runnable task;
+    final Callable<DeadlineContext> callable;
+    try (DeadlineContext context = DeadlineContext.open(1L, TimeUnit.MINUTES)) {
+      task = DeadlineContext.propagate(() -> seen.set(DeadlineContext.current()));
+      callable = DeadlineContext.propagate(DeadlineContext::current);
+      final Thread thread = new Thread(task);
+      thread.start();
+      thread.join();
+      assertSame("Context should be propagated to other thread.", context, seen.get());
+      assertSame("Context should be propagated to callable.", context, callable.call());
+    }
+    task.run();
+    assertNull("Context should be restored after task.", DeadlineContext.current());
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void close_should_fail_if_closed_out_of_order() throws Exception {
+    try (DeadlineContext parent = DeadlineContext.open(1L, TimeUnit.MINUTES)) {
+      final DeadlineContext child = DeadlineContext.open(1L, TimeUnit.MINUTES);
+      try {
+        parent.close();
+      } finally {
+        child.close();
+      }
+    }
+  }
+
+  @Test
+  public void isExpired_should_be_false_within_budget() throws Exception {
+    try (DeadlineContext context = DeadlineContext.open(1L, TimeUnit.MINUTES)) {
+      assertFalse("Context should not be expired.", context.isExpired());
+    }
+  }
+
+  @Test
+  public void toString_should_contain_necessary_information() throws Throwable { // NOSONAR: from JUnit
+    try (DeadlineContext context = DeadlineContext.open(1L, TimeUnit.MINUTES)) {
+      // the cached capped timeout refers back to the context
+      toStringTestlet(context).excludeTransientFields().run();
+    }
+  }
+}
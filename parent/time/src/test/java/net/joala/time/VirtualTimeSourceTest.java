@@ -0,0 +1,149 @@
+/*
+ * Copyright 2026 CoreMedia AG
+ *
+ * This file is part of Joala.
+ *
+ * Joala is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Joala is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Joala.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package net.joala.time;
+
+import org.junit.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
+
+import static net.joala.testlet.ToStringTestlet.toStringTestlet;
+import static org.hamcrest.Matchers.lessThan;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests {@link VirtualTimeSource}.
+ *
+ * @since 10/18/26
+ */
+@SuppressWarnings("ProhibitedExceptionDeclared")
+public class VirtualTimeSourceTest {
+  private static final long HOUR_NANOS = TimeUnit.HOURS.toNanos(1L);
+
+  @Test
+  public void sleep_advances_time_instantly() throws Exception {
+    final VirtualTimeSource time = new VirtualTimeSource();
+    final long before = System.nanoTime();
+    time.sleep(HOUR_NANOS);
+    assertEquals("Virtual time should have advanced by sleep duration.", HOUR_NANOS, time.nanoTime());
+    assertThat("Sleep should not consume real time.", System.nanoTime() - before, lessThan(TimeUnit.SECONDS.toNanos(5L)));
+  }
+
+  @Test
+  public void time_starts_at_given_value() throws Exception {
+    assertEquals("Start time should be respected.", 42L, new VirtualTimeSource(42L).nanoTime());
+  }
+
+  @Test
+  public void advance_moves_time_forward() throws Exception {
+    final VirtualTimeSource time = new VirtualTimeSource();
+    time.advance(2L, TimeUnit.SECONDS);
+    assertEquals("Time should have advanced.", TimeUnit.SECONDS.toNanos(2L), time.nanoTime());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void advance_rejects_going_back_in_time() throws Exception {
+    new VirtualTimeSource().advance(-1L, TimeUnit.SECONDS);
+  }
+
+  @Test
+  public void time_does_not_advance_while_registered_thread_is_busy() throws Exception {
+    final VirtualTimeSource time = new VirtualTimeSource();
+    final CountDownLatch registered = new CountDownLatch(1);
+    final CountDownLatch release = new CountDownLatch(1);
+    final AtomicLong wakeUpTime = new AtomicLong(-1L);
+    final Thread worker = new Thread(() -> {
+      time.register();
+      registered.countDown();
+      try {
+        release.await();
+        time.sleep(HOUR_NANOS);
+        wakeUpTime.set(time.nanoTime());
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      } finally {
+        time.deregister();
+      }
+    });
+    worker.start();
+    registered.await();
+    final Thread sleeper = new Thread(() -> {
+      try {
+        time.sleep(1L);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+    });
+    sleeper.start();
+    sleeper.join(200L);
+    assertTrue("Sleeper should wait for busy registered thread.", sleeper.isAlive());
+    assertEquals("Time should not have advanced.", 0L, time.nanoTime());
+    release.countDown();
+    sleeper.join(5000L);
+    worker.join(5000L);
+    assertFalse("Sleeper should have woken up.", sleeper.isAlive());
+    assertEquals("Registered thread should wake up at its wake-up time.", HOUR_NANOS, wakeUpTime.get());
+  }
+
+  @Test
+  public void sleepers_wake_up_in_order_of_their_wake_up_times() throws Exception {
+    final VirtualTimeSource time = new VirtualTimeSource();
+    final AtomicLong shortWakeUp = new AtomicLong(-1L);
+    final AtomicLong longWakeUp = new AtomicLong(-1L);
+    final Thread longSleeper = new Thread(() -> {
+      try {
+        time.sleep(2L * HOUR_NANOS);
+        longWakeUp.set(time.nanoTime());
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+    });
+    time.register();
+    try {
+      longSleeper.start();
+      while (longSleeper.getState() != Thread.State.WAITING) {
+        Thread.yield();
+      }
+      time.sleep(HOUR_NANOS);
+      shortWakeUp.set(time.nanoTime());
+    } finally {
+      time.deregister();
+    }
+    longSleeper.join(5000L);
+    assertEquals("Short sleeper should wake up first.", HOUR_NANOS, shortWakeUp.get());
+    assertEquals("Long sleeper should wake up at its own time.", 2L * HOUR_NANOS, longWakeUp.get());
+  }
+
+  @Test(expected = InterruptedException.class)
+  public void sleep_fails_if_interrupted() throws Exception {
+    Thread.currentThread().interrupt();
+    new VirtualTimeSource().sleep(HOUR_NANOS);
+  }
+
+  @Test
+  public void toString_should_contain_necessary_information() throws Throwable { // NOSONAR: from JUnit
+    toStringTestlet(new VirtualTimeSource()).excludeFieldNames(Pattern.compile("lock|participants|sleepers")).run();
+  }
+}